@@ -5,51 +5,126 @@ import com.empresa.empleados.model.Gerente;
 import com.empresa.empleados.model.JefeArea;
 import com.empresa.empleados.model.Supervisor;
 import com.empresa.empleados.model.Tecnico;
+import com.empresa.empleados.utils.IndiceTrigramas;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Repositorio para gestionar la persistencia de empleados
-
+ * Cada empleado recibe al registrarse un id numérico (ver Empleado.getId) que
+ * es su posición en un arreglo denso; los ids liberados por las bajas se
+ * reutilizan, por lo que obtener, actualizar y eliminar por id cuestan O(1).
+ * Como un id reutilizado no dice cuándo se registró el empleado, los listados
+ * siguen aparte el orden de alta: un empleado nuevo siempre aparece al final.
+ * Un empleado conserva su id mientras siga registrado, aunque cambie de nombre,
+ * y solo puede pertenecer a un repositorio a la vez: los demás lo rechazan
+ * hasta que se elimine del primero.
+ * El nombre completo normalizado (sin espacios extremos y en minúsculas) es un
+ * índice sobre los ids, por lo que las operaciones por nombre también son O(1).
+ * Si se cambia el nombre de un empleado ya registrado, debe llamarse a
+ * actualizarEmpleado para que el índice use el nombre nuevo.
+ * Además mantiene índices secundarios (tipo, primer apellido, mes de nacimiento
+ * y los que se registren con registrarIndice), que también se recalculan para
+ * un empleado cuando se pasa por actualizarEmpleado, y un índice de trigramas
+ * para las búsquedas parciales por nombre.
+ * Si se pidió su feed de cambios (obtenerFeedCambios), cada alta,
+ * actualización, baja y limpieza se publica en él con un número de secuencia
  */
 public class EmpleadoRepository {
     
-    private final List<Empleado> empleados;
+    // Nombres de los índices secundarios predefinidos
+    public static final String INDICE_TIPO = "tipo";
+    public static final String INDICE_PRIMER_APELLIDO = "primerApellido";
+    public static final String INDICE_MES_NACIMIENTO = "mesNacimiento";
+    
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    // Almacenamiento principal: el id de cada empleado es su posición (null si está libre)
+    private Empleado[] empleadosPorId;
+    // Clave de nombre con la que se indexó cada id, para reindexar si se renombra
+    private String[] clavePorId;
+    // Ids liberados por las bajas, usados como pila
+    private int[] idsLibres;
+    private int totalIdsLibres;
+    // Primer id nunca asignado
+    private int siguienteId;
+    private int totalEmpleados;
+    // Empleados en orden de alta, con null en el lugar de cada baja; se
+    // compacta cuando las bajas llegan a la mitad
+    private Empleado[] enOrden;
+    private int totalEnOrden;
+    // Lugar que ocupa cada id en enOrden
+    private int[] lugarPorId;
+    // Índice por nombre normalizado -> id
+    private final Map<String, Integer> idPorNombre;
+    // Índices secundarios registrados, por nombre
+    private final Map<String, IndiceSecundario<?>> indices;
+    private final IndiceSecundario<String> indiceTipo;
+    private final IndiceSecundario<String> indicePrimerApellido;
+    private final IndiceSecundario<Integer> indiceMesNacimiento;
+    private final IndiceTrigramas indiceNombres;
+    // Feed de cambios; null hasta que alguien lo pide. Es volatile porque los
+    // suscriptores pueden pedirlo desde otros hilos
+    private volatile FeedCambios feedCambios;
+    // Identifica a este repositorio ante Empleado.asignarId
+    private final Object propietario = new Object();
     
     /**
      * Constructor que inicializa la lista de empleados
      */
     public EmpleadoRepository() {
-        this.empleados = new ArrayList<>();
+        this.empleadosPorId = new Empleado[CAPACIDAD_INICIAL];
+        this.clavePorId = new String[CAPACIDAD_INICIAL];
+        this.idsLibres = new int[CAPACIDAD_INICIAL];
+        this.enOrden = new Empleado[CAPACIDAD_INICIAL];
+        this.lugarPorId = new int[CAPACIDAD_INICIAL];
+        this.idPorNombre = new HashMap<>();
+        this.indices = new LinkedHashMap<>();
+        this.indiceNombres = new IndiceTrigramas();
+        this.indiceTipo = crearIndice(INDICE_TIPO, e -> normalizarTipo(e.getTipoEmpleado()));
+        this.indicePrimerApellido = crearIndice(INDICE_PRIMER_APELLIDO,
+                e -> e.getPrimerApellido() == null ? null : e.getPrimerApellido().toLowerCase());
+        this.indiceMesNacimiento = crearIndice(INDICE_MES_NACIMIENTO,
+                e -> e.getFechaNacimiento() == null ? null : e.getFechaNacimiento().getMonthValue());
     }
     
     /**
      * Constructor que inicializa el repositorio con una lista de empleados
+     * Los empleados nulos o con nombre repetido se descartan
      * @param empleados Lista inicial de empleados
      */
     public EmpleadoRepository(List<Empleado> empleados) {
-        if (empleados == null) {
-            this.empleados = new ArrayList<>();
-        } else {
-            this.empleados = new ArrayList<>(empleados);
-        }
+        this();
+        cargar(empleados);
     }
     
-   
+    /**
+     * Normaliza un nombre completo para usarlo como clave del índice
+     * @param nombreCompleto Nombre completo del empleado
+     * @return Clave normalizada, o null si el nombre es nulo o vacío
+     */
+    static String normalizarClave(String nombreCompleto) {
+        if (nombreCompleto == null) {
+            return null;
+        }
+        String clave = nombreCompleto.trim().toLowerCase();
+        return clave.isEmpty() ? null : clave;
+    }
     
     /**
-     * Agrega un nuevo empleado al repositorio
+     * Agrega un nuevo empleado al repositorio y le asigna un id
      * @param empleado Empleado a agregar
      * @return true si se agregó correctamente
      */
     public boolean agregarEmpleado(Empleado empleado) {
-        if (empleado == null || existeEmpleado(empleado.getNombreCompleto())) {
-            return false;
-        }
-        return empleados.add(empleado);
+        return agregar(empleado);
     }
     
     /**
@@ -58,13 +133,54 @@ public class EmpleadoRepository {
      * @return Número de empleados agregados
      */
     public int agregarEmpleados(List<Empleado> nuevosEmpleados) {
+        return cargar(nuevosEmpleados);
+    }
+    
+    // Los constructores usan estos métodos privados en lugar de los públicos,
+    // que una subclase podría sobrescribir
+    private boolean agregar(Empleado empleado) {
+        // Un id asignado indica que ya está registrado, aquí o en otro repositorio
+        if (empleado == null || empleado.getId() >= 0) {
+            return false;
+        }
+        String clave = normalizarClave(empleado.getNombreCompleto());
+        if (clave == null || idPorNombre.containsKey(clave)) {
+            return false;
+        }
+        int id = asignarId();
+        empleadosPorId[id] = empleado;
+        clavePorId[id] = clave;
+        anotarEnOrden(id, empleado);
+        empleado.asignarId(propietario, id);
+        idPorNombre.put(clave, id);
+        totalEmpleados++;
+        indexar(empleado);
+        FeedCambios feed = feedCambios;
+        if (feed != null) {
+            feed.publicar(FeedCambios.TipoCambio.AGREGADO, id, empleado, null);
+        }
+        return true;
+    }
+    
+    private int cargar(List<Empleado> nuevosEmpleados) {
         if (nuevosEmpleados == null) {
             return 0;
         }
+        // Las altas se publican juntas en el feed, como un solo lote
+        FeedCambios feed = feedCambios;
+        if (feed != null) {
+            feed.iniciarLote();
+        }
         int agregados = 0;
-        for (Empleado empleado : nuevosEmpleados) {
-            if (agregarEmpleado(empleado)) {
-                agregados++;
+        try {
+            for (Empleado empleado : nuevosEmpleados) {
+                if (agregar(empleado)) {
+                    agregados++;
+                }
+            }
+        } finally {
+            if (feed != null) {
+                feed.terminarLote();
             }
         }
         return agregados;
@@ -79,14 +195,22 @@ public class EmpleadoRepository {
         if (nombreCompleto == null || nombreCompleto.trim().isEmpty()) {
             return Optional.empty();
         }
-        String nombreBusqueda = nombreCompleto.trim().toLowerCase();
-        return empleados.stream()
-                .filter(e -> e.getNombreCompleto().toLowerCase().equals(nombreBusqueda))
-                .findFirst();
+        Integer id = idPorNombre.get(normalizarClave(nombreCompleto));
+        return id == null ? Optional.empty() : Optional.of(empleadosPorId[id]);
+    }
+    
+    /**
+     * Busca un empleado por su id
+     * @param id Id asignado por el repositorio
+     * @return Optional con el empleado, o vacío si el id no está ocupado
+     */
+    public Optional<Empleado> buscarPorId(int id) {
+        return id >= 0 && id < siguienteId ? Optional.ofNullable(empleadosPorId[id]) : Optional.empty();
     }
     
     /**
      * Actualiza un empleado existente (basado en nombre completo)
+     * Si el propio empleado registrado fue renombrado, se reindexa con su nuevo nombre
      * @param empleadoActualizado Empleado con los datos actualizados
      * @return true si se actualizó correctamente
      */
@@ -94,13 +218,50 @@ public class EmpleadoRepository {
         if (empleadoActualizado == null) {
             return false;
         }
-        Optional<Empleado> existente = buscarPorNombreCompleto(empleadoActualizado.getNombreCompleto());
-        if (existente.isPresent()) {
-            int index = empleados.indexOf(existente.get());
-            empleados.set(index, empleadoActualizado);
-            return true;
+        String clave = normalizarClave(empleadoActualizado.getNombreCompleto());
+        if (clave == null) {
+            return false;
+        }
+        Integer id = idPorNombre.get(clave);
+        if (id == null) {
+            if (!estaRegistrado(empleadoActualizado)) {
+                return false;
+            }
+            // El mismo objeto cambió de nombre después de registrarse
+            id = empleadoActualizado.getId();
+        } else if (empleadosPorId[id] != empleadoActualizado && empleadoActualizado.getId() >= 0) {
+            // Otro empleado registrado (aquí o en otro repositorio) con un nombre ya ocupado
+            return false;
+        }
+        reemplazar(id, clave, empleadoActualizado);
+        return true;
+    }
+    
+    /**
+     * Reemplaza el empleado que ocupa un id, que conserva su posición
+     * Si el nombre cambia, el índice por nombre se actualiza
+     * @param id Id del empleado a reemplazar
+     * @param empleadoActualizado Empleado con los datos actualizados
+     * @return false si el id no está ocupado, si el nombre pertenece a otro
+     *         empleado o si el empleado ya está registrado con otro id o en otro repositorio
+     */
+    public boolean actualizarPorId(int id, Empleado empleadoActualizado) {
+        if (empleadoActualizado == null || !buscarPorId(id).isPresent()) {
+            return false;
+        }
+        String clave = normalizarClave(empleadoActualizado.getNombreCompleto());
+        if (clave == null) {
+            return false;
+        }
+        Integer idNombre = idPorNombre.get(clave);
+        if (idNombre != null && idNombre != id) {
+            return false;
+        }
+        if (empleadoActualizado.getId() >= 0 && empleadosPorId[id] != empleadoActualizado) {
+            return false;
         }
-        return false;
+        reemplazar(id, clave, empleadoActualizado);
+        return true;
     }
     
     /**
@@ -109,16 +270,53 @@ public class EmpleadoRepository {
      * @return true si se eliminó correctamente
      */
     public boolean eliminarEmpleado(String nombreCompleto) {
-        Optional<Empleado> empleado = buscarPorNombreCompleto(nombreCompleto);
-        return empleado.isPresent() && empleados.remove(empleado.get());
+        String clave = normalizarClave(nombreCompleto);
+        if (clave == null) {
+            return false;
+        }
+        Integer id = idPorNombre.get(clave);
+        return id != null && eliminarPorId(id);
     }
     
     /**
-     * Obtiene todos los empleados registrados
+     * Elimina un empleado por su id; el id queda libre para una nueva alta
+     * @param id Id del empleado
+     * @return true si se eliminó correctamente
+     */
+    public boolean eliminarPorId(int id) {
+        if (id < 0 || id >= siguienteId || empleadosPorId[id] == null) {
+            return false;
+        }
+        Empleado eliminado = empleadosPorId[id];
+        idPorNombre.remove(clavePorId[id]);
+        empleadosPorId[id] = null;
+        clavePorId[id] = null;
+        eliminado.asignarId(propietario, -1);
+        liberarId(id);
+        totalEmpleados--;
+        quitarDelOrden(id);
+        desindexar(eliminado);
+        FeedCambios feed = feedCambios;
+        if (feed != null) {
+            feed.publicar(FeedCambios.TipoCambio.ELIMINADO, id, eliminado, null);
+        }
+        return true;
+    }
+    
+    /**
+     * Obtiene todos los empleados registrados, en orden de alta
+     * Un empleado reemplazado con actualizarEmpleado o actualizarPorId conserva
+     * el lugar del original
      * @return Lista de empleados
      */
     public List<Empleado> obtenerTodosLosEmpleados() {
-        return new ArrayList<>(empleados);
+        List<Empleado> todos = new ArrayList<>(totalEmpleados);
+        for (int lugar = 0; lugar < totalEnOrden; lugar++) {
+            if (enOrden[lugar] != null) {
+                todos.add(enOrden[lugar]);
+            }
+        }
+        return todos;
     }
     
     /**
@@ -126,20 +324,271 @@ public class EmpleadoRepository {
      * @return Total de empleados
      */
     public int obtenerTotalEmpleados() {
-        return empleados.size();
+        return totalEmpleados;
     }
     
     /**
      * Limpia todos los empleados del repositorio
      */
     public void limpiarRepositorio() {
-        empleados.clear();
+        for (int id = 0; id < siguienteId; id++) {
+            if (empleadosPorId[id] != null) {
+                empleadosPorId[id].asignarId(propietario, -1);
+            }
+        }
+        Arrays.fill(empleadosPorId, 0, siguienteId, null);
+        Arrays.fill(clavePorId, 0, siguienteId, null);
+        Arrays.fill(enOrden, 0, totalEnOrden, null);
+        totalEnOrden = 0;
+        idPorNombre.clear();
+        siguienteId = 0;
+        totalIdsLibres = 0;
+        totalEmpleados = 0;
+        for (IndiceSecundario<?> indice : indices.values()) {
+            indice.limpiar();
+        }
+        indiceNombres.limpiar();
+        FeedCambios feed = feedCambios;
+        if (feed != null) {
+            feed.publicar(FeedCambios.TipoCambio.LIMPIADO, -1, null, null);
+        }
+    }
+    
+    // =============== FEED DE CAMBIOS ===============
+    
+    /**
+     * Obtiene el feed de cambios del repositorio, creándolo con la capacidad
+     * predeterminada la primera vez (si ya existe, se devuelve con la suya)
+     * Solo se publican los cambios posteriores a su creación. Puede llamarse
+     * desde cualquier hilo: todos reciben el mismo feed
+     * @return Feed en el que se publica cada modificación del repositorio
+     */
+    public FeedCambios obtenerFeedCambios() {
+        FeedCambios feed = feedCambios;
+        return feed != null ? feed : crearFeedCambios(FeedCambios.CAPACIDAD_PREDETERMINADA);
+    }
+    
+    /**
+     * Obtiene el feed de cambios del repositorio, creándolo la primera vez
+     * @param capacidad Capacidad del búfer (se redondea a potencia de 2)
+     * @return Feed en el que se publica cada modificación del repositorio
+     * @throws IllegalArgumentException si el feed ya existe con otra capacidad
+     */
+    public FeedCambios obtenerFeedCambios(int capacidad) {
+        FeedCambios feed = feedCambios;
+        if (feed == null) {
+            feed = crearFeedCambios(capacidad);
+        }
+        if (feed.getCapacidad() != FeedCambios.redondearCapacidad(capacidad)) {
+            throw new IllegalArgumentException("El feed de cambios ya existe con capacidad "
+                    + feed.getCapacidad() + ", no " + capacidad);
+        }
+        return feed;
+    }
+    
+    private synchronized FeedCambios crearFeedCambios(int capacidad) {
+        FeedCambios feed = feedCambios;
+        if (feed == null) {
+            feed = new FeedCambios(capacidad);
+            feedCambios = feed;
+        }
+        return feed;
+    }
+    
+    // =============== IDS ===============
+    
+    /**
+     * Indica si el empleado ocupa su id en este repositorio
+     */
+    private boolean estaRegistrado(Empleado empleado) {
+        int id = empleado.getId();
+        return id >= 0 && id < siguienteId && empleadosPorId[id] == empleado;
+    }
+    
+    /**
+     * Toma un id libre, o el siguiente nunca usado ampliando los arreglos si hace falta
+     */
+    private int asignarId() {
+        if (totalIdsLibres > 0) {
+            return idsLibres[--totalIdsLibres];
+        }
+        if (siguienteId == empleadosPorId.length) {
+            int capacidad = empleadosPorId.length * 2;
+            empleadosPorId = Arrays.copyOf(empleadosPorId, capacidad);
+            clavePorId = Arrays.copyOf(clavePorId, capacidad);
+            lugarPorId = Arrays.copyOf(lugarPorId, capacidad);
+        }
+        return siguienteId++;
+    }
+    
+    private void liberarId(int id) {
+        if (totalIdsLibres == idsLibres.length) {
+            idsLibres = Arrays.copyOf(idsLibres, idsLibres.length * 2);
+        }
+        idsLibres[totalIdsLibres++] = id;
+    }
+    
+    /**
+     * Pone a un empleado recién registrado al final del orden de alta
+     */
+    private void anotarEnOrden(int id, Empleado empleado) {
+        if (totalEnOrden == enOrden.length) {
+            enOrden = Arrays.copyOf(enOrden, enOrden.length * 2);
+        }
+        lugarPorId[id] = totalEnOrden;
+        enOrden[totalEnOrden++] = empleado;
+    }
+    
+    /**
+     * Deja vacío el lugar de un id dado de baja; si los lugares vacíos llegan
+     * a la mitad, compacta el orden (costo amortizado O(1) por baja)
+     */
+    private void quitarDelOrden(int id) {
+        enOrden[lugarPorId[id]] = null;
+        if (totalEnOrden > CAPACIDAD_INICIAL && totalEmpleados <= totalEnOrden / 2) {
+            int destino = 0;
+            for (int lugar = 0; lugar < totalEnOrden; lugar++) {
+                Empleado empleado = enOrden[lugar];
+                if (empleado != null) {
+                    lugarPorId[empleado.getId()] = destino;
+                    enOrden[destino++] = empleado;
+                }
+            }
+            Arrays.fill(enOrden, destino, totalEnOrden, null);
+            totalEnOrden = destino;
+        }
+    }
+    
+    /**
+     * Coloca un empleado en un id ocupado, actualizando el índice por nombre y los secundarios
+     */
+    private void reemplazar(int id, String clave, Empleado nuevo) {
+        Empleado anterior = empleadosPorId[id];
+        if (!clave.equals(clavePorId[id])) {
+            idPorNombre.remove(clavePorId[id]);
+            idPorNombre.put(clave, id);
+            clavePorId[id] = clave;
+        }
+        if (anterior != nuevo) {
+            anterior.asignarId(propietario, -1);
+            empleadosPorId[id] = nuevo;
+            enOrden[lugarPorId[id]] = nuevo;
+            nuevo.asignarId(propietario, id);
+        }
+        reindexar(anterior, nuevo);
+        FeedCambios feed = feedCambios;
+        if (feed != null) {
+            feed.publicar(FeedCambios.TipoCambio.ACTUALIZADO, id, nuevo, anterior);
+        }
+    }
+    
+    // =============== ÍNDICES SECUNDARIOS ===============
+    
+    /**
+     * Registra un índice secundario sobre un campo de los empleados
+     * El índice se construye con los empleados actuales y se mantiene al día
+     * en cada alta, actualización, baja y limpieza del repositorio
+     * @param nombre Nombre único del índice
+     * @param extractor Función que obtiene la clave a indexar de un empleado
+     * @return El índice registrado, que puede consultarse directamente
+     */
+    public <K> IndiceSecundario<K> registrarIndice(String nombre, Function<Empleado, K> extractor) {
+        if (nombre != null && indices.containsKey(nombre)) {
+            throw new IllegalArgumentException("Ya existe un índice con el nombre: " + nombre);
+        }
+        return crearIndice(nombre, extractor);
+    }
+    
+    private <K> IndiceSecundario<K> crearIndice(String nombre, Function<Empleado, K> extractor) {
+        IndiceSecundario<K> indice = new IndiceSecundario<>(nombre, extractor);
+        for (int lugar = 0; lugar < totalEnOrden; lugar++) {
+            if (enOrden[lugar] != null) {
+                indice.agregar(enOrden[lugar]);
+            }
+        }
+        indices.put(nombre, indice);
+        return indice;
+    }
+    
+    /**
+     * Elimina un índice secundario registrado por el usuario
+     * Los índices predefinidos no pueden eliminarse porque las consultas los usan
+     * @param nombre Nombre del índice
+     * @return true si se eliminó
+     */
+    public boolean eliminarIndice(String nombre) {
+        if (INDICE_TIPO.equals(nombre) || INDICE_PRIMER_APELLIDO.equals(nombre)
+                || INDICE_MES_NACIMIENTO.equals(nombre)) {
+            throw new IllegalArgumentException("No se puede eliminar el índice predefinido: " + nombre);
+        }
+        return indices.remove(nombre) != null;
+    }
+    
+    /**
+     * Busca empleados en un índice secundario registrado
+     * @param nombre Nombre del índice
+     * @param clave Clave a buscar
+     * @return Lista de empleados con esa clave
+     */
+    @SuppressWarnings("unchecked")
+    public <K> List<Empleado> buscarPorIndice(String nombre, K clave) {
+        IndiceSecundario<K> indice = (IndiceSecundario<K>) indices.get(nombre);
+        if (indice == null) {
+            throw new IllegalArgumentException("No existe un índice con el nombre: " + nombre);
+        }
+        return indice.buscar(clave);
+    }
+    
+    /**
+     * Obtiene el tamaño y tiempo de construcción del índice de búsqueda parcial por nombre
+     */
+    public IndiceTrigramas.EstadisticasIndice obtenerEstadisticasIndiceNombres() {
+        return indiceNombres.obtenerEstadisticas();
+    }
+    
+    private void indexar(Empleado empleado) {
+        for (IndiceSecundario<?> indice : indices.values()) {
+            indice.agregar(empleado);
+        }
+        indiceNombres.agregar(empleado);
+    }
+    
+    private void desindexar(Empleado empleado) {
+        for (IndiceSecundario<?> indice : indices.values()) {
+            indice.remover(empleado);
+        }
+        indiceNombres.remover(empleado);
+    }
+    
+    private void reindexar(Empleado anterior, Empleado nuevo) {
+        desindexar(anterior);
+        indexar(nuevo);
+    }
+    
+    /**
+     * Normaliza el tipo de empleado para el índice por tipo (ignora mayúsculas)
+     */
+    private static String normalizarTipo(String tipoEmpleado) {
+        return tipoEmpleado == null ? null : tipoEmpleado.toLowerCase();
+    }
+    
+    /**
+     * Obtiene los empleados de un tipo como lista de la subclase indicada
+     */
+    private <T extends Empleado> List<T> obtenerPorClase(String tipoEmpleado, Class<T> clase) {
+        List<T> resultado = new ArrayList<>();
+        for (Empleado empleado : indiceTipo.vista(normalizarTipo(tipoEmpleado))) {
+            if (clase.isInstance(empleado)) {
+                resultado.add(clase.cast(empleado));
+            }
+        }
+        return resultado;
     }
     
     // =============== CONSULTAS ESPECÍFICAS ===============
     
     /**
-     * Busca empleados por nombre (coincidencia parcial, ignora mayúsculas)
+     * Busca empleados por nombre (coincidencia parcial, ignora mayúsculas y tildes)
      * @param nombre Nombre o parte del nombre a buscar
      * @return Lista de empleados que coinciden
      */
@@ -147,10 +596,7 @@ public class EmpleadoRepository {
         if (nombre == null || nombre.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        String nombreBusqueda = nombre.trim().toLowerCase();
-        return empleados.stream()
-                .filter(e -> e.getNombreCompleto().toLowerCase().contains(nombreBusqueda))
-                .collect(Collectors.toList());
+        return indiceNombres.buscar(nombre);
     }
     
     /**
@@ -162,10 +608,7 @@ public class EmpleadoRepository {
         if (apellido == null || apellido.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        String apellidoBusqueda = apellido.trim().toLowerCase();
-        return empleados.stream()
-                .filter(e -> e.getPrimerApellido().toLowerCase().equals(apellidoBusqueda))
-                .collect(Collectors.toList());
+        return indicePrimerApellido.buscar(apellido.trim().toLowerCase());
     }
     
     /**
@@ -177,39 +620,28 @@ public class EmpleadoRepository {
         if (tipoEmpleado == null) {
             return new ArrayList<>();
         }
-        return empleados.stream()
-                .filter(e -> e.getTipoEmpleado().equalsIgnoreCase(tipoEmpleado))
-                .collect(Collectors.toList());
+        return indiceTipo.buscar(normalizarTipo(tipoEmpleado));
     }
     
     /**
      * Obtiene solo los gerentes
      */
     public List<Gerente> obtenerGerentes() {
-        return empleados.stream()
-                .filter(e -> e instanceof Gerente)
-                .map(e -> (Gerente) e)
-                .collect(Collectors.toList());
+        return obtenerPorClase("GERENTE", Gerente.class);
     }
     
     /**
      * Obtiene solo los jefes de área
      */
     public List<JefeArea> obtenerJefesArea() {
-        return empleados.stream()
-                .filter(e -> e instanceof JefeArea)
-                .map(e -> (JefeArea) e)
-                .collect(Collectors.toList());
+        return obtenerPorClase("JEFE DE ÁREA", JefeArea.class);
     }
     
     /**
      * Obtiene solo los supervisores
      */
     public List<Supervisor> obtenerSupervisores() {
-        return empleados.stream()
-                .filter(e -> e instanceof Supervisor)
-                .map(e -> (Supervisor) e)
-                .collect(Collectors.toList());
+        return obtenerPorClase("SUPERVISOR", Supervisor.class);
     }
     
     /**
@@ -217,10 +649,7 @@ public class EmpleadoRepository {
      * @return Lista de técnicos
      */
     public List<Tecnico> obtenerTecnicos() {
-        return empleados.stream()
-                .filter(e -> e instanceof Tecnico)
-                .map(e -> (Tecnico) e)
-                .collect(Collectors.toList());
+        return obtenerPorClase("TÉCNICO", Tecnico.class);
     }
     
     /**
@@ -231,9 +660,7 @@ public class EmpleadoRepository {
         if (mes < 1 || mes > 12) {
             return new ArrayList<>();
         }
-        return empleados.stream()
-                .filter(e -> e.getFechaNacimiento().getMonthValue() == mes)
-                .collect(Collectors.toList());
+        return indiceMesNacimiento.buscar(mes);
     }
     
     // =============== VALIDACIONES ===============
@@ -244,6 +671,6 @@ public class EmpleadoRepository {
      * @return true si el empleado existe
      */
     public boolean existeEmpleado(String nombreCompleto) {
-        return buscarPorNombreCompleto(nombreCompleto).isPresent();
+        return idPorNombre.containsKey(normalizarClave(nombreCompleto));
     }
 }
\ No newline at end of file
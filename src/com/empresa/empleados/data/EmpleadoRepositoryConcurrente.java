@@ -0,0 +1,470 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.Empleado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Repositorio de empleados seguro para uso concurrente
+ * Las lecturas no toman bloqueos: las búsquedas por nombre usan un
+ * ConcurrentHashMap y los listados leen arreglos inmutables publicados en
+ * campos volatile (copia en escritura).
+ * Los empleados se reparten en segmentos según el hash de su nombre
+ * normalizado; cada segmento tiene su propio bloqueo y su propio arreglo, de
+ * modo que las escrituras sobre segmentos distintos avanzan en paralelo y cada
+ * una copia solo su segmento. Las operaciones sobre todo el repositorio
+ * (obtenerTotalEmpleados, limpiarRepositorio, obtenerTodosLosEmpleados) toman
+ * los bloqueos de todos los segmentos en orden para ver un estado consistente.
+ * Con un solo segmento (constructor por defecto) obtenerTodosLosEmpleados
+ * devuelve la instantánea sin copiar y en orden de inserción; con varios, el
+ * orden es por segmento
+ */
+public class EmpleadoRepositoryConcurrente {
+    
+    private static final Empleado[] VACIO = new Empleado[0];
+    private static final int MAXIMO_SEGMENTOS = 1 << 16;
+    
+    private final Segmento[] segmentos;
+    private final Map<String, Empleado> empleadosPorNombre;
+    
+    /**
+     * Constructor que inicializa el repositorio vacío con un solo segmento
+     */
+    public EmpleadoRepositoryConcurrente() {
+        this(1);
+    }
+    
+    /**
+     * Constructor del modo segmentado
+     * @param numeroSegmentos Número de segmentos; se redondea a la siguiente potencia de 2
+     */
+    public EmpleadoRepositoryConcurrente(int numeroSegmentos) {
+        if (numeroSegmentos < 1 || numeroSegmentos > MAXIMO_SEGMENTOS) {
+            throw new IllegalArgumentException("El número de segmentos debe estar entre 1 y " + MAXIMO_SEGMENTOS);
+        }
+        int potencia = Integer.highestOneBit(numeroSegmentos);
+        if (potencia < numeroSegmentos) {
+            potencia <<= 1;
+        }
+        this.segmentos = new Segmento[potencia];
+        for (int i = 0; i < potencia; i++) {
+            segmentos[i] = new Segmento();
+        }
+        this.empleadosPorNombre = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Constructor que inicializa el repositorio con una lista de empleados
+     * Los empleados nulos o con nombre repetido se descartan
+     * @param empleados Lista inicial de empleados
+     */
+    public EmpleadoRepositoryConcurrente(List<Empleado> empleados) {
+        this();
+        cargar(empleados);
+    }
+    
+    /**
+     * Obtiene el número de segmentos del repositorio
+     */
+    public int getNumeroSegmentos() {
+        return segmentos.length;
+    }
+    
+    /**
+     * Agrega un nuevo empleado al repositorio
+     * @param empleado Empleado a agregar
+     * @return true si se agregó correctamente
+     */
+    public boolean agregarEmpleado(Empleado empleado) {
+        if (empleado == null) {
+            return false;
+        }
+        String clave = EmpleadoRepository.normalizarClave(empleado.getNombreCompleto());
+        if (clave == null) {
+            return false;
+        }
+        Segmento segmento = segmentoDe(clave);
+        segmento.adquirir();
+        try {
+            if (empleadosPorNombre.putIfAbsent(clave, empleado) != null) {
+                return false;
+            }
+            Empleado[] actual = segmento.instantanea;
+            Empleado[] nueva = Arrays.copyOf(actual, actual.length + 1);
+            nueva[actual.length] = empleado;
+            segmento.instantanea = nueva;
+            return true;
+        } finally {
+            segmento.liberar();
+        }
+    }
+    
+    /**
+     * Agrega múltiples empleados al repositorio publicando un arreglo por segmento
+     * @param nuevosEmpleados Lista de empleados a agregar
+     * @return Número de empleados agregados
+     */
+    public int agregarEmpleados(List<Empleado> nuevosEmpleados) {
+        return cargar(nuevosEmpleados);
+    }
+    
+    // El constructor usa este método privado en lugar de agregarEmpleados,
+    // que una subclase podría sobrescribir
+    private int cargar(List<Empleado> nuevosEmpleados) {
+        if (nuevosEmpleados == null || nuevosEmpleados.isEmpty()) {
+            return 0;
+        }
+        // Agrupar por segmento para copiar cada arreglo una sola vez
+        List<List<Empleado>> porSegmento = new ArrayList<>(segmentos.length);
+        List<List<String>> clavesPorSegmento = new ArrayList<>(segmentos.length);
+        for (int i = 0; i < segmentos.length; i++) {
+            porSegmento.add(new ArrayList<>());
+            clavesPorSegmento.add(new ArrayList<>());
+        }
+        for (Empleado empleado : nuevosEmpleados) {
+            if (empleado == null) {
+                continue;
+            }
+            String clave = EmpleadoRepository.normalizarClave(empleado.getNombreCompleto());
+            if (clave != null) {
+                int indice = indiceSegmento(clave);
+                porSegmento.get(indice).add(empleado);
+                clavesPorSegmento.get(indice).add(clave);
+            }
+        }
+        
+        int agregados = 0;
+        for (int i = 0; i < segmentos.length; i++) {
+            List<Empleado> grupo = porSegmento.get(i);
+            if (grupo.isEmpty()) {
+                continue;
+            }
+            List<String> claves = clavesPorSegmento.get(i);
+            Segmento segmento = segmentos[i];
+            segmento.adquirir();
+            try {
+                Empleado[] actual = segmento.instantanea;
+                Empleado[] nueva = Arrays.copyOf(actual, actual.length + grupo.size());
+                int total = actual.length;
+                for (int j = 0; j < grupo.size(); j++) {
+                    if (empleadosPorNombre.putIfAbsent(claves.get(j), grupo.get(j)) == null) {
+                        nueva[total++] = grupo.get(j);
+                    }
+                }
+                if (total > actual.length) {
+                    segmento.instantanea = total == nueva.length ? nueva : Arrays.copyOf(nueva, total);
+                    agregados += total - actual.length;
+                }
+            } finally {
+                segmento.liberar();
+            }
+        }
+        return agregados;
+    }
+    
+    /**
+     * Busca un empleado por su nombre completo (coincidencia exacta, ignora mayúsculas)
+     * No toma bloqueos
+     * @param nombreCompleto Nombre completo del empleado
+     * @return Optional con el empleado encontrado, o vacío si no existe
+     */
+    public Optional<Empleado> buscarPorNombreCompleto(String nombreCompleto) {
+        String clave = EmpleadoRepository.normalizarClave(nombreCompleto);
+        return clave == null ? Optional.empty() : Optional.ofNullable(empleadosPorNombre.get(clave));
+    }
+    
+    /**
+     * Verifica si existe un empleado con el mismo nombre completo
+     * @param nombreCompleto Nombre completo del empleado
+     */
+    public boolean existeEmpleado(String nombreCompleto) {
+        return buscarPorNombreCompleto(nombreCompleto).isPresent();
+    }
+    
+    /**
+     * Actualiza un empleado existente (basado en nombre completo)
+     * Solo bloquea el segmento al que pertenece el empleado
+     * @param empleadoActualizado Empleado con los datos actualizados
+     * @return true si se actualizó correctamente
+     */
+    public boolean actualizarEmpleado(Empleado empleadoActualizado) {
+        if (empleadoActualizado == null) {
+            return false;
+        }
+        String clave = EmpleadoRepository.normalizarClave(empleadoActualizado.getNombreCompleto());
+        if (clave == null) {
+            return false;
+        }
+        Segmento segmento = segmentoDe(clave);
+        segmento.adquirir();
+        try {
+            Empleado existente = empleadosPorNombre.get(clave);
+            if (existente == null) {
+                return false;
+            }
+            Empleado[] actual = segmento.instantanea;
+            Empleado[] nueva = actual.clone();
+            nueva[posicionDe(actual, existente)] = empleadoActualizado;
+            empleadosPorNombre.put(clave, empleadoActualizado);
+            segmento.instantanea = nueva;
+            return true;
+        } finally {
+            segmento.liberar();
+        }
+    }
+    
+    /**
+     * Elimina un empleado por su nombre completo
+     * Solo bloquea el segmento al que pertenece el empleado
+     * @param nombreCompleto Nombre completo del empleado
+     * @return true si se eliminó correctamente
+     */
+    public boolean eliminarEmpleado(String nombreCompleto) {
+        String clave = EmpleadoRepository.normalizarClave(nombreCompleto);
+        if (clave == null) {
+            return false;
+        }
+        Segmento segmento = segmentoDe(clave);
+        segmento.adquirir();
+        try {
+            Empleado eliminado = empleadosPorNombre.remove(clave);
+            if (eliminado == null) {
+                return false;
+            }
+            Empleado[] actual = segmento.instantanea;
+            int posicion = posicionDe(actual, eliminado);
+            Empleado[] nueva = new Empleado[actual.length - 1];
+            System.arraycopy(actual, 0, nueva, 0, posicion);
+            System.arraycopy(actual, posicion + 1, nueva, posicion, actual.length - posicion - 1);
+            segmento.instantanea = nueva;
+            return true;
+        } finally {
+            segmento.liberar();
+        }
+    }
+    
+    /**
+     * Limpia todos los empleados del repositorio
+     * Bloquea todos los segmentos, por lo que ninguna escritura queda a medias
+     */
+    public void limpiarRepositorio() {
+        adquirirTodos();
+        try {
+            empleadosPorNombre.clear();
+            for (Segmento segmento : segmentos) {
+                segmento.instantanea = VACIO;
+            }
+        } finally {
+            liberarTodos();
+        }
+    }
+    
+    /**
+     * Obtiene una instantánea inmutable de todos los empleados
+     * Las escrituras posteriores no la modifican. Con un segmento no copia ni
+     * toma bloqueos; con varios, bloquea todos los segmentos solo para leer sus
+     * arreglos y los concatena fuera de los bloqueos
+     * @return Lista inmutable de empleados
+     */
+    public List<Empleado> obtenerTodosLosEmpleados() {
+        if (segmentos.length == 1) {
+            return Collections.unmodifiableList(Arrays.asList(segmentos[0].instantanea));
+        }
+        Empleado[][] partes = new Empleado[segmentos.length][];
+        int total = 0;
+        adquirirTodos();
+        try {
+            for (int i = 0; i < segmentos.length; i++) {
+                partes[i] = segmentos[i].instantanea;
+                total += partes[i].length;
+            }
+        } finally {
+            liberarTodos();
+        }
+        Empleado[] todos = new Empleado[total];
+        int posicion = 0;
+        for (Empleado[] parte : partes) {
+            System.arraycopy(parte, 0, todos, posicion, parte.length);
+            posicion += parte.length;
+        }
+        return Collections.unmodifiableList(Arrays.asList(todos));
+    }
+    
+    /**
+     * Obtiene el número total de empleados de forma consistente entre segmentos
+     */
+    public int obtenerTotalEmpleados() {
+        if (segmentos.length == 1) {
+            return segmentos[0].instantanea.length;
+        }
+        adquirirTodos();
+        try {
+            int total = 0;
+            for (Segmento segmento : segmentos) {
+                total += segmento.instantanea.length;
+            }
+            return total;
+        } finally {
+            liberarTodos();
+        }
+    }
+    
+    /**
+     * Obtiene empleados por tipo/rol recorriendo una instantánea
+     * @param tipoEmpleado Tipo de empleado (GERENTE, JEFE DE ÁREA, SUPERVISOR, TÉCNICO)
+     */
+    public List<Empleado> obtenerPorTipo(String tipoEmpleado) {
+        List<Empleado> resultado = new ArrayList<>();
+        if (tipoEmpleado == null) {
+            return resultado;
+        }
+        for (Empleado empleado : obtenerTodosLosEmpleados()) {
+            if (empleado.getTipoEmpleado().equalsIgnoreCase(tipoEmpleado)) {
+                resultado.add(empleado);
+            }
+        }
+        return resultado;
+    }
+    
+    // =============== MÉTRICAS DE CONTENCIÓN ===============
+    
+    /**
+     * Obtiene las métricas de contención de cada segmento
+     * @return Lista con una entrada por segmento, en orden
+     */
+    public List<MetricasSegmento> obtenerMetricasSegmentos() {
+        List<MetricasSegmento> metricas = new ArrayList<>(segmentos.length);
+        for (int i = 0; i < segmentos.length; i++) {
+            Segmento segmento = segmentos[i];
+            metricas.add(new MetricasSegmento(i, segmento.instantanea.length, segmento.adquisiciones,
+                    segmento.contendidas, segmento.nanosEspera));
+        }
+        return metricas;
+    }
+    
+    /**
+     * Reinicia los contadores de contención de todos los segmentos
+     */
+    public void reiniciarMetricas() {
+        adquirirTodos();
+        try {
+            for (Segmento segmento : segmentos) {
+                segmento.adquisiciones = 0;
+                segmento.contendidas = 0;
+                segmento.nanosEspera = 0;
+            }
+        } finally {
+            liberarTodos();
+        }
+    }
+    
+    // =============== SEGMENTOS ===============
+    
+    private int indiceSegmento(String clave) {
+        int hash = clave.hashCode();
+        hash ^= (hash >>> 16); // Mezclar los bits altos como HashMap
+        return hash & (segmentos.length - 1);
+    }
+    
+    private Segmento segmentoDe(String clave) {
+        return segmentos[indiceSegmento(clave)];
+    }
+    
+    private void adquirirTodos() {
+        // Siempre en el mismo orden para evitar interbloqueos
+        for (Segmento segmento : segmentos) {
+            segmento.adquirir();
+        }
+    }
+    
+    private void liberarTodos() {
+        for (int i = segmentos.length - 1; i >= 0; i--) {
+            segmentos[i].liberar();
+        }
+    }
+    
+    private static int posicionDe(Empleado[] empleados, Empleado buscado) {
+        for (int i = 0; i < empleados.length; i++) {
+            if (empleados[i] == buscado) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Instantánea inconsistente con el índice por nombre");
+    }
+    
+    /**
+     * Segmento del repositorio: bloqueo, arreglo inmutable y contadores
+     * Los contadores solo se escriben con el bloqueo tomado
+     */
+    private static final class Segmento {
+        private final ReentrantLock bloqueo = new ReentrantLock();
+        private volatile Empleado[] instantanea = VACIO;
+        private volatile long adquisiciones;
+        private volatile long contendidas;
+        private volatile long nanosEspera;
+        
+        void adquirir() {
+            if (bloqueo.tryLock()) {
+                adquisiciones++;
+                return;
+            }
+            long inicio = System.nanoTime();
+            bloqueo.lock();
+            nanosEspera += System.nanoTime() - inicio;
+            contendidas++;
+            adquisiciones++;
+        }
+        
+        void liberar() {
+            bloqueo.unlock();
+        }
+    }
+    
+    /**
+     * Clase interna con las métricas de contención de un segmento
+     */
+    public static class MetricasSegmento {
+        private final int segmento;
+        private final int empleados;
+        private final long adquisiciones;
+        private final long adquisicionesContendidas;
+        private final long nanosEspera;
+        
+        public MetricasSegmento(int segmento, int empleados, long adquisiciones,
+                                long adquisicionesContendidas, long nanosEspera) {
+            this.segmento = segmento;
+            this.empleados = empleados;
+            this.adquisiciones = adquisiciones;
+            this.adquisicionesContendidas = adquisicionesContendidas;
+            this.nanosEspera = nanosEspera;
+        }
+        
+        // Getters
+        public int getSegmento() { return segmento; }
+        public int getEmpleados() { return empleados; }
+        public long getAdquisiciones() { return adquisiciones; }
+        public long getAdquisicionesContendidas() { return adquisicionesContendidas; }
+        public long getNanosEspera() { return nanosEspera; }
+        
+        /**
+         * Porcentaje de adquisiciones que tuvieron que esperar
+         */
+        public double getPorcentajeContencion() {
+            return adquisiciones == 0 ? 0.0 : (adquisicionesContendidas * 100.0) / adquisiciones;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Segmento %d - Empleados: %d - Adquisiciones: %d - Contendidas: %d (%.1f%%) - Espera: %.3f ms",
+                    segmento, empleados, adquisiciones, adquisicionesContendidas,
+                    getPorcentajeContencion(), nanosEspera / 1_000_000.0);
+        }
+    }
+}
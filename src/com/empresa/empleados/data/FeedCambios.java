@@ -0,0 +1,585 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.Empleado;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed ordenado de los cambios de un EmpleadoRepository
+ * Cada alta, actualización, baja y limpieza del repositorio publica un Cambio
+ * con un número de secuencia creciente en un búfer circular de capacidad fija.
+ * Hay un solo productor (el repositorio, que no es seguro para escrituras
+ * concurrentes) y cualquier cantidad de suscripciones, cada una con su propio
+ * cursor y su propia estrategia de espera, que leen sin bloqueos: el productor
+ * escribe el cambio en su casilla y después publica la secuencia en un campo
+ * volatile, y los suscriptores leen hasta la última secuencia publicada.
+ * Las casillas se reutilizan, así que publicar no crea objetos; a cambio, el
+ * productor espera antes de pisar una casilla que la suscripción más atrasada
+ * todavía no leyó. Esa espera tiene límite: si el cursor de la suscripción más
+ * atrasada no avanza durante getEsperaMaximaNanos (un segundo por omisión),
+ * el productor la desconecta y sigue, para que un lector cuyo hilo murió o que
+ * dejó de consumir sin cerrar la suscripción no detenga al repositorio (que ya
+ * aplicó el cambio que está publicando). Una suscripción desconectada lanza
+ * IllegalStateException en su siguiente lectura. Las suscripciones deben
+ * cerrarse cuando ya no se usen.
+ * Los cambios de un mismo agregarEmpleados se publican juntos al final del
+ * lote (o antes, si el lote no cabe en el búfer) y comparten número de lote
+ */
+public class FeedCambios {
+
+    public static final int CAPACIDAD_PREDETERMINADA = 1 << 14;
+    public static final int CAPACIDAD_MAXIMA = 1 << 30;
+    public static final long ESPERA_MAXIMA_PREDETERMINADA_NANOS = 1_000_000_000L;
+
+    /**
+     * Tipo de modificación del repositorio
+     */
+    public enum TipoCambio {
+        AGREGADO, ACTUALIZADO, ELIMINADO, LIMPIADO
+    }
+
+    private static final Suscripcion[] SIN_SUSCRIPCIONES = new Suscripcion[0];
+
+    private final Cambio[] casillas;
+    private final int mascara;
+    // Última secuencia visible para los suscriptores (-1: ninguna)
+    private final Secuencia publicada = new Secuencia(-1);
+    private volatile Suscripcion[] suscripciones = SIN_SUSCRIPCIONES;
+    // Tiempo que el productor espera a un lector sin avance antes de desconectarlo
+    private volatile long esperaMaximaNanos = ESPERA_MAXIMA_PREDETERMINADA_NANOS;
+
+    // Estado del productor, que solo lee y escribe el hilo del repositorio
+    private long escrita = -1;
+    private int profundidadLote;
+    private long loteActual = -1;
+    // Cursor mínimo de las suscripciones vistas, para no recorrerlas en cada cambio
+    private long minimoSuscripciones = Long.MAX_VALUE;
+    private Suscripcion[] suscripcionesVistas = SIN_SUSCRIPCIONES;
+
+    /**
+     * Crea un feed con la capacidad predeterminada
+     */
+    public FeedCambios() {
+        this(CAPACIDAD_PREDETERMINADA);
+    }
+
+    /**
+     * Crea un feed con una capacidad dada (se redondea hacia arriba a potencia de 2)
+     * @param capacidad Cantidad de cambios que puede retener sin que los lean todos
+     */
+    public FeedCambios(int capacidad) {
+        int potencia = redondearCapacidad(capacidad);
+        this.casillas = new Cambio[potencia];
+        for (int i = 0; i < potencia; i++) {
+            casillas[i] = new Cambio();
+        }
+        this.mascara = potencia - 1;
+    }
+
+    public int getCapacidad() {
+        return casillas.length;
+    }
+
+    public long getEsperaMaximaNanos() {
+        return esperaMaximaNanos;
+    }
+
+    /**
+     * Cambia cuánto espera el productor a una suscripción que no avanza antes de desconectarla
+     * @param nanos Espera máxima sin avance, en nanosegundos
+     */
+    public void setEsperaMaximaNanos(long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("La espera máxima debe ser positiva");
+        }
+        this.esperaMaximaNanos = nanos;
+    }
+
+    /**
+     * Obtiene la capacidad real de un feed creado con la capacidad pedida
+     * @param capacidad Capacidad pedida
+     * @return Menor potencia de 2 mayor o igual a la capacidad
+     */
+    static int redondearCapacidad(int capacidad) {
+        if (capacidad < 1 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y " + CAPACIDAD_MAXIMA);
+        }
+        int potencia = Integer.highestOneBit(capacidad);
+        return potencia < capacidad ? potencia << 1 : potencia;
+    }
+
+    /**
+     * Obtiene la última secuencia publicada
+     * @return Secuencia del último cambio visible, o -1 si no hubo ninguno
+     */
+    public long getUltimaSecuencia() {
+        return publicada.obtener();
+    }
+
+    /**
+     * Suscribe un lector que usa la espera predeterminada (activa y luego durmiendo)
+     * @return Suscripción que empieza después del último cambio publicado
+     */
+    public Suscripcion suscribir() {
+        return suscribir(EstrategiaEspera.durmiendo(EstrategiaEspera.NANOS_DORMIR_PREDETERMINADO));
+    }
+
+    /**
+     * Suscribe un lector con una estrategia de espera
+     * La suscripción solo ve los cambios publicados después de crearla
+     * @param espera Cómo espera el lector cuando no hay cambios nuevos
+     * @return Suscripción que empieza después del último cambio publicado
+     */
+    public Suscripcion suscribir(EstrategiaEspera espera) {
+        if (espera == null) {
+            throw new IllegalArgumentException("La estrategia de espera no puede ser nula");
+        }
+        Suscripcion suscripcion = new Suscripcion(this, espera, publicada.obtener());
+        synchronized (this) {
+            Suscripcion[] actuales = suscripciones;
+            Suscripcion[] nuevas = Arrays.copyOf(actuales, actuales.length + 1);
+            nuevas[actuales.length] = suscripcion;
+            suscripciones = nuevas;
+        }
+        // Se vuelve a leer después de publicar el arreglo: desde aquí el productor
+        // ya respeta este cursor, y lo anterior a él pudo haberse pisado
+        suscripcion.cursor.guardar(publicada.obtener());
+        return suscripcion;
+    }
+
+    private synchronized void desuscribir(Suscripcion suscripcion) {
+        Suscripcion[] actuales = suscripciones;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] == suscripcion) {
+                Suscripcion[] nuevas = new Suscripcion[actuales.length - 1];
+                System.arraycopy(actuales, 0, nuevas, 0, i);
+                System.arraycopy(actuales, i + 1, nuevas, i, actuales.length - i - 1);
+                suscripciones = nuevas;
+                return;
+            }
+        }
+    }
+
+    // =============== PRODUCTOR (solo el hilo del repositorio) ===============
+
+    /**
+     * Agrupa los cambios siguientes en un lote hasta terminarLote
+     * Los lotes pueden anidarse; solo el más externo publica
+     */
+    void iniciarLote() {
+        if (profundidadLote++ == 0) {
+            loteActual = -1;
+        }
+    }
+
+    /**
+     * Cierra un lote y, si es el más externo, publica sus cambios
+     */
+    void terminarLote() {
+        if (profundidadLote == 0) {
+            throw new IllegalStateException("No hay un lote abierto");
+        }
+        if (--profundidadLote == 0) {
+            publicarPendientes();
+        }
+    }
+
+    /**
+     * Escribe un cambio en la siguiente casilla; fuera de un lote lo publica enseguida
+     * @return Secuencia asignada al cambio
+     */
+    long publicar(TipoCambio tipo, int id, Empleado empleado, Empleado anterior) {
+        long secuencia = escrita + 1;
+        esperarCasilla(secuencia);
+        if (profundidadLote == 0 || loteActual < 0) {
+            loteActual = secuencia;
+        }
+        Cambio cambio = casillas[(int) secuencia & mascara];
+        cambio.secuencia = secuencia;
+        cambio.lote = loteActual;
+        cambio.tipo = tipo;
+        cambio.id = id;
+        cambio.empleado = empleado;
+        cambio.anterior = anterior;
+        escrita = secuencia;
+        if (profundidadLote == 0) {
+            publicarPendientes();
+        }
+        return secuencia;
+    }
+
+    private void publicarPendientes() {
+        if (publicada.obtener() == escrita) {
+            return;
+        }
+        publicada.guardar(escrita);
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.espera.avisar();
+        }
+    }
+
+    /**
+     * Espera a que todas las suscripciones hayan leído el cambio que ocupaba la
+     * casilla de la secuencia (el de secuencia - capacidad)
+     * Desconecta a las suscripciones más atrasadas si el mínimo de los cursores
+     * no avanza durante la espera máxima
+     */
+    private void esperarCasilla(long secuencia) {
+        long necesaria = secuencia - casillas.length;
+        if (necesaria < 0 || (necesaria <= minimoSuscripciones && suscripciones == suscripcionesVistas)) {
+            return;
+        }
+        // Los lectores solo avanzan hasta lo publicado: un lote debe publicarse antes de esperar
+        publicarPendientes();
+        int vueltas = 0;
+        long minimoAnterior = Long.MIN_VALUE;
+        long inicioSinAvance = 0;
+        while (true) {
+            Suscripcion[] vistas = suscripciones;
+            long minimo = Long.MAX_VALUE;
+            for (Suscripcion suscripcion : vistas) {
+                minimo = Math.min(minimo, suscripcion.cursor.obtener());
+            }
+            suscripcionesVistas = vistas;
+            minimoSuscripciones = minimo;
+            if (necesaria <= minimo) {
+                return;
+            }
+            if (minimo != minimoAnterior) {
+                minimoAnterior = minimo;
+                inicioSinAvance = System.nanoTime();
+            } else if (System.nanoTime() - inicioSinAvance > esperaMaximaNanos) {
+                for (Suscripcion suscripcion : vistas) {
+                    if (suscripcion.cursor.obtener() == minimo) {
+                        suscripcion.desconectar();
+                    }
+                }
+                continue;
+            }
+            if (++vueltas < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+    }
+
+    /**
+     * Un cambio del repositorio
+     * El objeto es una casilla del búfer que se reutiliza: solo es válido
+     * durante la llamada al manejador que lo recibe
+     */
+    public static final class Cambio {
+        private long secuencia;
+        private long lote;
+        private TipoCambio tipo;
+        private int id;
+        private Empleado empleado;
+        private Empleado anterior;
+
+        private Cambio() {
+        }
+
+        // Getters
+        public long getSecuencia() { return secuencia; }
+        public long getLote() { return lote; }
+        public TipoCambio getTipo() { return tipo; }
+        public int getId() { return id; }
+        // Empleado agregado, actualizado o eliminado (null en LIMPIADO)
+        public Empleado getEmpleado() { return empleado; }
+        // Empleado que ocupaba el id antes de una actualización (puede ser el mismo objeto)
+        public Empleado getAnterior() { return anterior; }
+
+        @Override
+        public String toString() {
+            return "#" + secuencia + " " + tipo + (id >= 0 ? " id=" + id : "");
+        }
+    }
+
+    /**
+     * Recibe los cambios de una suscripción, en orden de secuencia
+     */
+    @FunctionalInterface
+    public interface ManejadorCambios {
+
+        /**
+         * @param cambio Cambio recibido (no debe guardarse: su casilla se reutiliza)
+         * @param ultimoDisponible true si es el último cambio publicado hasta ahora
+         */
+        void procesar(Cambio cambio, boolean ultimoDisponible);
+    }
+
+    /**
+     * Lector del feed con su propio cursor
+     * Debe usarse desde un solo hilo a la vez
+     */
+    public static final class Suscripcion implements AutoCloseable {
+        private final FeedCambios feed;
+        private final EstrategiaEspera espera;
+        // Última secuencia leída
+        private final Secuencia cursor;
+        private volatile boolean cerrada;
+        // true si el productor la cerró por no avanzar a tiempo
+        private volatile boolean desconectada;
+
+        private Suscripcion(FeedCambios feed, EstrategiaEspera espera, long inicio) {
+            this.feed = feed;
+            this.espera = espera;
+            this.cursor = new Secuencia(inicio);
+        }
+
+        /**
+         * Espera hasta que haya al menos un cambio nuevo y procesa todos los disponibles
+         * @param manejador Receptor de los cambios
+         * @return Cantidad de cambios procesados
+         * @throws InterruptedException si se interrumpe el hilo mientras espera
+         */
+        public long procesar(ManejadorCambios manejador) throws InterruptedException {
+            verificarAbierta(manejador);
+            long disponible = espera.esperar(cursor.obtener() + 1, feed);
+            return procesarHasta(disponible, manejador);
+        }
+
+        /**
+         * Procesa los cambios ya publicados sin esperar
+         * @param manejador Receptor de los cambios
+         * @return Cantidad de cambios procesados (0 si no había ninguno)
+         */
+        public long procesarDisponibles(ManejadorCambios manejador) {
+            verificarAbierta(manejador);
+            return procesarHasta(feed.publicada.obtener(), manejador);
+        }
+
+        private long procesarHasta(long disponible, ManejadorCambios manejador) {
+            long inicio = cursor.obtener();
+            long secuencia = inicio;
+            try {
+                while (secuencia < disponible) {
+                    if (desconectada) {
+                        throw new IllegalStateException("La suscripción se desconectó por no leer a tiempo");
+                    }
+                    secuencia++;
+                    manejador.procesar(feed.casillas[(int) secuencia & feed.mascara], secuencia == disponible);
+                }
+            } finally {
+                // Si el manejador falla, el cambio que falló queda marcado como leído
+                cursor.guardar(secuencia);
+            }
+            return secuencia - inicio;
+        }
+
+        private void verificarAbierta(ManejadorCambios manejador) {
+            if (manejador == null) {
+                throw new IllegalArgumentException("El manejador no puede ser nulo");
+            }
+            if (desconectada) {
+                throw new IllegalStateException("La suscripción se desconectó por no leer a tiempo");
+            }
+            if (cerrada) {
+                throw new IllegalStateException("La suscripción está cerrada");
+            }
+        }
+
+        /**
+         * Indica si el productor la desconectó por no avanzar durante la espera máxima
+         */
+        public boolean isDesconectada() {
+            return desconectada;
+        }
+
+        /**
+         * Secuencia del último cambio leído
+         */
+        public long getCursor() {
+            return cursor.obtener();
+        }
+
+        /**
+         * Cambios publicados que esta suscripción todavía no leyó
+         */
+        public long getPendientes() {
+            return feed.publicada.obtener() - cursor.obtener();
+        }
+
+        /**
+         * Deja de frenar al productor; la suscripción ya no puede usarse
+         */
+        @Override
+        public void close() {
+            if (!cerrada) {
+                cerrada = true;
+                feed.desuscribir(this);
+            }
+        }
+
+        private void desconectar() {
+            desconectada = true;
+            close();
+        }
+    }
+
+    /**
+     * Forma en que una suscripción espera un cambio que todavía no se publicó
+     */
+    public interface EstrategiaEspera {
+
+        long NANOS_DORMIR_PREDETERMINADO = 50_000;
+
+        /**
+         * Espera hasta que la secuencia esté publicada
+         * @param secuencia Secuencia esperada
+         * @param feed Feed que publica la secuencia
+         * @return Última secuencia publicada (al menos la esperada)
+         * @throws InterruptedException si se interrumpe el hilo mientras espera
+         */
+        long esperar(long secuencia, FeedCambios feed) throws InterruptedException;
+
+        /**
+         * Aviso del productor después de cada publicación
+         */
+        default void avisar() {
+        }
+
+        /**
+         * Espera activa: menor latencia, pero ocupa un núcleo entero
+         */
+        static EstrategiaEspera activa() {
+            return (secuencia, feed) -> {
+                long publicada;
+                while ((publicada = feed.getUltimaSecuencia()) < secuencia) {
+                    verificarInterrupcion();
+                    Thread.onSpinWait();
+                }
+                return publicada;
+            };
+        }
+
+        /**
+         * Espera activa breve y luego cede el procesador a otros hilos
+         */
+        static EstrategiaEspera cediendo() {
+            return (secuencia, feed) -> {
+                long publicada;
+                int vueltas = 0;
+                while ((publicada = feed.getUltimaSecuencia()) < secuencia) {
+                    verificarInterrupcion();
+                    if (++vueltas < 100) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                return publicada;
+            };
+        }
+
+        /**
+         * Espera activa breve, luego cede y después duerme entre consultas
+         * @param nanos Tiempo que duerme entre consultas
+         */
+        static EstrategiaEspera durmiendo(long nanos) {
+            if (nanos < 1) {
+                throw new IllegalArgumentException("El tiempo de espera debe ser mayor que cero");
+            }
+            return (secuencia, feed) -> {
+                long publicada;
+                int vueltas = 0;
+                while ((publicada = feed.getUltimaSecuencia()) < secuencia) {
+                    verificarInterrupcion();
+                    if (++vueltas < 100) {
+                        Thread.onSpinWait();
+                    } else if (vueltas < 200) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(nanos);
+                    }
+                }
+                return publicada;
+            };
+        }
+
+        /**
+         * Bloquea el hilo hasta que el productor avise; no consume procesador,
+         * pero cada publicación con lectores esperando toma un bloqueo
+         */
+        static EstrategiaEspera bloqueante() {
+            return new EsperaBloqueante();
+        }
+
+        private static void verificarInterrupcion() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Espera de cambios interrumpida");
+            }
+        }
+    }
+
+    private static final class EsperaBloqueante implements EstrategiaEspera {
+        private final ReentrantLock bloqueo = new ReentrantLock();
+        private final Condition publicado = bloqueo.newCondition();
+        private final AtomicInteger esperando = new AtomicInteger();
+
+        @Override
+        public long esperar(long secuencia, FeedCambios feed) throws InterruptedException {
+            long publicada = feed.getUltimaSecuencia();
+            if (publicada >= secuencia) {
+                return publicada;
+            }
+            bloqueo.lockInterruptibly();
+            try {
+                // Se anota antes de volver a leer: el productor publica y después
+                // lee este contador, así que uno de los dos ve al otro
+                esperando.incrementAndGet();
+                try {
+                    while ((publicada = feed.getUltimaSecuencia()) < secuencia) {
+                        publicado.await();
+                    }
+                } finally {
+                    esperando.decrementAndGet();
+                }
+            } finally {
+                bloqueo.unlock();
+            }
+            return publicada;
+        }
+
+        @Override
+        public void avisar() {
+            if (esperando.get() > 0) {
+                bloqueo.lock();
+                try {
+                    publicado.signalAll();
+                } finally {
+                    bloqueo.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Secuencia compartida entre hilos, rodeada de relleno para que no comparta
+     * línea de caché con otras que escriben hilos distintos
+     */
+    private static final class Secuencia {
+        @SuppressWarnings("unused")
+        private long r1, r2, r3, r4, r5, r6, r7;
+        private volatile long valor;
+        @SuppressWarnings("unused")
+        private long r9, r10, r11, r12, r13, r14, r15;
+
+        Secuencia(long inicial) {
+            valor = inicial;
+        }
+
+        long obtener() {
+            return valor;
+        }
+
+        void guardar(long nuevo) {
+            valor = nuevo;
+        }
+    }
+}
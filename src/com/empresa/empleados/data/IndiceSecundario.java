@@ -0,0 +1,118 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.Empleado;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Índice secundario sobre un campo de los empleados de un EmpleadoRepository
+ * Agrupa a los empleados por la clave que devuelve el extractor, de modo que
+ * una consulta cuesta tiempo proporcional al tamaño del resultado.
+ * El repositorio lo mantiene al día en cada alta, actualización, baja y limpieza
+ * @param <K> Tipo de la clave indexada
+ */
+public class IndiceSecundario<K> {
+    
+    private final String nombre;
+    private final Function<Empleado, K> extractor;
+    private final Map<K, Set<Empleado>> empleadosPorClave;
+    // Clave con la que se indexó cada empleado, para poder retirarlo aunque sus datos cambien
+    private final Map<Empleado, K> clavePorEmpleado;
+    
+    /**
+     * Constructor del índice
+     * @param nombre Nombre con el que se registra el índice
+     * @param extractor Función que obtiene la clave de un empleado
+     */
+    IndiceSecundario(String nombre, Function<Empleado, K> extractor) {
+        if (nombre == null || nombre.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre del índice no puede estar vacío");
+        }
+        if (extractor == null) {
+            throw new IllegalArgumentException("El extractor del índice no puede ser nulo");
+        }
+        this.nombre = nombre;
+        this.extractor = extractor;
+        this.empleadosPorClave = new HashMap<>();
+        this.clavePorEmpleado = new IdentityHashMap<>();
+    }
+    
+    public String getNombre() { return nombre; }
+    
+    /**
+     * Indexa un empleado con el valor actual de su campo
+     */
+    void agregar(Empleado empleado) {
+        K clave = extractor.apply(empleado);
+        clavePorEmpleado.put(empleado, clave);
+        empleadosPorClave.computeIfAbsent(clave, k -> new LinkedHashSet<>()).add(empleado);
+    }
+    
+    /**
+     * Retira un empleado del índice usando la clave con la que fue indexado
+     */
+    void remover(Empleado empleado) {
+        if (!clavePorEmpleado.containsKey(empleado)) {
+            return;
+        }
+        K clave = clavePorEmpleado.remove(empleado);
+        Set<Empleado> empleados = empleadosPorClave.get(clave);
+        if (empleados != null) {
+            empleados.remove(empleado);
+            if (empleados.isEmpty()) {
+                empleadosPorClave.remove(clave);
+            }
+        }
+    }
+    
+    /**
+     * Vacía el índice
+     */
+    void limpiar() {
+        empleadosPorClave.clear();
+        clavePorEmpleado.clear();
+    }
+    
+    /**
+     * Obtiene los empleados indexados con una clave
+     * @param clave Clave a buscar
+     * @return Lista nueva con los empleados encontrados (vacía si no hay)
+     */
+    public List<Empleado> buscar(K clave) {
+        Set<Empleado> empleados = empleadosPorClave.get(clave);
+        return empleados == null ? new ArrayList<>() : new ArrayList<>(empleados);
+    }
+    
+    /**
+     * Vista de solo lectura de los empleados indexados con una clave
+     * @param clave Clave a buscar
+     */
+    Set<Empleado> vista(K clave) {
+        Set<Empleado> empleados = empleadosPorClave.get(clave);
+        return empleados == null ? Collections.emptySet() : Collections.unmodifiableSet(empleados);
+    }
+    
+    /**
+     * Cuenta los empleados indexados con una clave sin crear listas
+     * @param clave Clave a buscar
+     */
+    public int contar(K clave) {
+        Set<Empleado> empleados = empleadosPorClave.get(clave);
+        return empleados == null ? 0 : empleados.size();
+    }
+    
+    /**
+     * Obtiene las claves distintas presentes en el índice
+     */
+    public Set<K> obtenerClaves() {
+        return Collections.unmodifiableSet(empleadosPorClave.keySet());
+    }
+}
@@ -0,0 +1,94 @@
+package com.empresa.empleados.model;
+
+import java.text.Collator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Claves de ordenamiento de nombres con las reglas del español
+ * Una clave es el CollationKey del Collator español en bytes: compararlas con
+ * Arrays.compareUnsigned da el mismo orden que Collator.compare (tildes como
+ * diferencia secundaria, Ñ después de N) sin recorrer las reglas en cada
+ * comparación. Generar una clave es caro (microsegundos), pero los nombres y
+ * apellidos se repiten mucho en una nómina, así que las claves de cada texto
+ * se recuerdan en una tabla de acceso directo de tamaño fijo
+ */
+public final class ClavesOrdenEspanol {
+
+    private static final int CAPACIDAD = 4096;
+    // Separador entre las claves de cada parte: menor que cualquier peso del Collator
+    private static final byte[] SEPARADOR = {0, 0};
+    private static final byte[] VACIA = new byte[0];
+
+    // Un Collator no es seguro entre hilos: cada hilo usa su propia copia
+    private static final ThreadLocal<Collator> COLLATOR =
+            ThreadLocal.withInitial(() -> Collator.getInstance(Locale.forLanguageTag("es")));
+    private static final AtomicReferenceArray<Entrada> CLAVES_RECIENTES = new AtomicReferenceArray<>(CAPACIDAD);
+
+    /**
+     * Constructor privado para evitar instanciación (clase utilitaria)
+     */
+    private ClavesOrdenEspanol() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene la clave de ordenamiento de un texto
+     * @param texto Texto a ordenar (null se ordena como texto vacío)
+     * @return Clave compartida; no debe modificarse
+     */
+    public static byte[] clave(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return VACIA;
+        }
+        int casilla = (texto.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(CAPACIDAD));
+        Entrada entrada = CLAVES_RECIENTES.get(casilla);
+        if (entrada != null && entrada.texto.equals(texto)) {
+            return entrada.clave;
+        }
+        byte[] clave = COLLATOR.get().getCollationKey(texto).toByteArray();
+        CLAVES_RECIENTES.lazySet(casilla, new Entrada(texto, clave));
+        return clave;
+    }
+
+    /**
+     * Obtiene la clave que ordena por varias partes, en orden de prioridad
+     * Las claves de las partes se unen con un separador menor que cualquier
+     * peso, de modo que una parte que es prefijo de otra queda antes y la
+     * siguiente parte solo decide cuando las anteriores son iguales
+     * @param partes Textos a ordenar, del más al menos importante
+     * @return Clave nueva
+     */
+    public static byte[] claveCompuesta(String... partes) {
+        byte[][] claves = new byte[partes.length][];
+        int longitud = SEPARADOR.length * Math.max(partes.length - 1, 0);
+        for (int i = 0; i < partes.length; i++) {
+            claves[i] = clave(partes[i]);
+            longitud += claves[i].length;
+        }
+        byte[] compuesta = new byte[longitud];
+        int posicion = 0;
+        for (int i = 0; i < claves.length; i++) {
+            if (i > 0) {
+                System.arraycopy(SEPARADOR, 0, compuesta, posicion, SEPARADOR.length);
+                posicion += SEPARADOR.length;
+            }
+            System.arraycopy(claves[i], 0, compuesta, posicion, claves[i].length);
+            posicion += claves[i].length;
+        }
+        return compuesta;
+    }
+
+    /**
+     * Texto con su clave (inmutable, para publicarla sin bloqueos)
+     */
+    private static final class Entrada {
+        private final String texto;
+        private final byte[] clave;
+
+        private Entrada(String texto, byte[] clave) {
+            this.texto = texto;
+            this.clave = clave;
+        }
+    }
+}
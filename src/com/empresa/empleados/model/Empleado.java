@@ -3,6 +3,8 @@ package com.empresa.empleados.model;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
 
 // Clase base de Empleado
 public abstract class Empleado {
@@ -16,10 +18,44 @@ public abstract class Empleado {
     protected String telefono;
     protected String email;
     protected double sueldoBase;
+    // Identificador numérico asignado por EmpleadoRepository (-1 si no está registrado)
+    private int id = -1;
+    // Repositorio que asignó el id; null si no está registrado en ninguno
+    private Object repositorio;
+    // Valores de nómina ya calculados; null cuando algún dato cambió
+    private volatile ValoresNomina valoresNomina;
+    // Clave de ordenamiento por apellidos en español; null cuando cambió algún nombre
+    private volatile byte[] claveOrdenApellidos;
+    // Número de modificaciones; cambia en cada invalidarCache()
+    private volatile int version;
+    // Observadores avisados en cada modificación
+    private ObservadorEmpleado[] observadores = SIN_OBSERVADORES;
     
-    // Constantes para los descuentos
-    protected static final double DESCUENTO_ISSS = 0.075;  
-    protected static final double DESCUENTO_AFP = 0.0775;  
+    // Tasas de la tabla predeterminada; los cálculos usan la tabla vigente de RegistroTablasImpuestos
+    protected static final double DESCUENTO_ISSS = TablaImpuestos.PREDETERMINADA.getTasaISSS();
+    protected static final double DESCUENTO_AFP = TablaImpuestos.PREDETERMINADA.getTasaAFP();
+    
+    private static final ObservadorEmpleado[] SIN_OBSERVADORES = new ObservadorEmpleado[0];
+    
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    
+    // Datos comunes del recibo; cada subclase agrega los suyos en escribirDetalleRecibo
+    private static final PlantillaRecibo PLANTILLA_RECIBO = PlantillaRecibo.compilar(
+        "=== %s ===\n" +
+        "Nombre: %s\n" +
+        "Dirección: %s\n" +
+        "Fecha Nacimiento: %s (Edad: %d años)\n" +
+        "Sexo: %s\n" +
+        "Teléfono: %s\n" +
+        "Email: %s\n" +
+        "Sueldo Base: $%.2f\n" +
+        "Bonificaciones: $%.2f\n" +
+        "Sueldo Total: $%.2f\n" +
+        "Descuento ISSS (7.5%%): $%.2f\n" +
+        "Descuento AFP (7.75%%): $%.2f\n" +
+        "Descuento Renta: $%.2f\n" +
+        "Total Descuentos: $%.2f\n" +
+        "Salario Neto: $%.2f\n");
     
     // Constructor de la clase
     public Empleado(String nombres, String primerApellido, String segundoApellido, 
@@ -46,17 +82,88 @@ public abstract class Empleado {
     public String getTelefono() { return telefono; }
     public String getEmail() { return email; }
     public double getSueldoBase() { return sueldoBase; }
+    public int getId() { return id; }
+    public int getVersion() { return version; }
     
     // Métodos setters
-    public void setNombres(String nombres) { this.nombres = nombres; }
-    public void setPrimerApellido(String primerApellido) { this.primerApellido = primerApellido; }
-    public void setSegundoApellido(String segundoApellido) { this.segundoApellido = segundoApellido; }
-    public void setDireccion(String direccion) { this.direccion = direccion; }
-    public void setFechaNacimiento(LocalDate fechaNacimiento) { this.fechaNacimiento = fechaNacimiento; }
-    public void setSexo(char sexo) { this.sexo = sexo; }
-    public void setTelefono(String telefono) { this.telefono = telefono; }
-    public void setEmail(String email) { this.email = email; }
-    public void setSueldoBase(double sueldoBase) { this.sueldoBase = sueldoBase; }
+    public void setNombres(String nombres) { this.nombres = nombres; claveOrdenApellidos = null; invalidarCache(); }
+    public void setPrimerApellido(String primerApellido) { this.primerApellido = primerApellido; claveOrdenApellidos = null; invalidarCache(); }
+    public void setSegundoApellido(String segundoApellido) { this.segundoApellido = segundoApellido; claveOrdenApellidos = null; invalidarCache(); }
+    public void setDireccion(String direccion) { this.direccion = direccion; invalidarCache(); }
+    public void setFechaNacimiento(LocalDate fechaNacimiento) { this.fechaNacimiento = fechaNacimiento; invalidarCache(); }
+    public void setSexo(char sexo) { this.sexo = sexo; invalidarCache(); }
+    public void setTelefono(String telefono) { this.telefono = telefono; invalidarCache(); }
+    public void setEmail(String email) { this.email = email; invalidarCache(); }
+    public void setSueldoBase(double sueldoBase) { this.sueldoBase = sueldoBase; invalidarCache(); }
+    
+    /**
+     * Asigna o libera (id -1) el id del empleado dentro de un repositorio
+     * Solo el repositorio que lo registró puede cambiar o liberar su id, así
+     * un empleado no queda registrado en dos repositorios a la vez
+     * @param repositorio Repositorio que asigna el id
+     * @param id Id asignado, o -1 para liberarlo
+     * @throws IllegalStateException si el empleado pertenece a otro repositorio
+     */
+    public void asignarId(Object repositorio, int id) {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("El repositorio no puede ser nulo");
+        }
+        if (this.repositorio != null && this.repositorio != repositorio) {
+            throw new IllegalStateException("El empleado ya está registrado en otro repositorio");
+        }
+        this.id = id;
+        this.repositorio = id < 0 ? null : repositorio;
+    }
+    
+    /**
+     * Descarta los valores de nómina calculados y avisa a los observadores
+     * Toda modificación de un dato del empleado (setters y métodos que agregan
+     * o quitan elementos de sus listas) debe llamarlo. También avanza la
+     * versión, así quien guardó getVersion() sabe si el empleado cambió
+     * sin tener que registrarse como observador
+     */
+    protected void invalidarCache() {
+        valoresNomina = null;
+        // Los datos del empleado no se modifican desde varios hilos a la vez
+        version++;
+        for (ObservadorEmpleado observador : observadores) {
+            observador.empleadoModificado(this);
+        }
+    }
+    
+    /**
+     * Registra un observador que será avisado de cada modificación
+     * @param observador Observador a registrar (se ignora si ya estaba registrado)
+     */
+    public void agregarObservador(ObservadorEmpleado observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("El observador no puede ser nulo");
+        }
+        for (ObservadorEmpleado registrado : observadores) {
+            if (registrado == observador) {
+                return;
+            }
+        }
+        ObservadorEmpleado[] nuevos = Arrays.copyOf(observadores, observadores.length + 1);
+        nuevos[observadores.length] = observador;
+        observadores = nuevos;
+    }
+    
+    /**
+     * Quita un observador registrado
+     * @param observador Observador a quitar
+     */
+    public void removerObservador(ObservadorEmpleado observador) {
+        for (int i = 0; i < observadores.length; i++) {
+            if (observadores[i] == observador) {
+                ObservadorEmpleado[] nuevos = new ObservadorEmpleado[observadores.length - 1];
+                System.arraycopy(observadores, 0, nuevos, 0, i);
+                System.arraycopy(observadores, i + 1, nuevos, i, nuevos.length - i);
+                observadores = nuevos;
+                return;
+            }
+        }
+    }
     
     // Para calcular la edad del empleado
     public int calcularEdad() {
@@ -68,38 +175,51 @@ public abstract class Empleado {
         return nombres + " " + primerApellido + " " + segundoApellido;
     }
     
-    // Calcula el descuento de ISSS
+    // Calcula el descuento de ISSS (sin tope) con la tabla vigente
     public double calcularDescuentoISSS(double sueldoTotal) {
-        return sueldoTotal * DESCUENTO_ISSS;
+        return calcularDescuentoISSS(sueldoTotal, RegistroTablasImpuestos.obtenerVigente());
     }
     
-    // Calcula el descuento de AFP
+    // Calcula el descuento de AFP (sin tope) con la tabla vigente
     public double calcularDescuentoAFP(double sueldoTotal) {
-        return sueldoTotal * DESCUENTO_AFP;
+        return calcularDescuentoAFP(sueldoTotal, RegistroTablasImpuestos.obtenerVigente());
     }
     
     /**
-     * Calcula el descuento de renta
+     * Calcula el descuento de renta con los tramos de la tabla vigente
+     * Con la tabla predeterminada:
      * Hasta $472.00 - 0%
      * De $472.01 a $895.24 - 10% sobre el exceso de $472.00
      * De $895.25 a $2,038.10 - $42.32 + 20% sobre el exceso de $895.24
      * Más de $2,038.10 - $270.90 + 30% sobre el exceso de $2,038.10
      */
     public double calcularDescuentoRenta(double sueldoTotal) {
-        if (sueldoTotal <= 472.00) {
-            return 0.0;
-        } else if (sueldoTotal <= 895.24) {
-            return (sueldoTotal - 472.00) * 0.10;
-        } else if (sueldoTotal <= 2038.10) {
-            return 42.32 + ((sueldoTotal - 895.24) * 0.20);
-        } else {
-            return 270.90 + ((sueldoTotal - 2038.10) * 0.30);
-        }
+        return RegistroTablasImpuestos.obtenerVigente().calcularDescuentoRenta(sueldoTotal);
     }
     
     // Calcula el total de descuentos
     public double calcularTotalDescuentos(double sueldoTotal) {
-        return calcularDescuentoISSS(sueldoTotal) + calcularDescuentoAFP(sueldoTotal) + calcularDescuentoRenta(sueldoTotal);
+        return calcularTotalDescuentos(sueldoTotal, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el total de descuentos con una tabla de impuestos dada (por
+     * ejemplo, la de un período histórico)
+     * @param sueldoTotal Sueldo total del empleado
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public double calcularTotalDescuentos(double sueldoTotal, TablaImpuestos tabla) {
+        return calcularDescuentoISSS(sueldoTotal, tabla) + calcularDescuentoAFP(sueldoTotal, tabla)
+                + tabla.calcularDescuentoRenta(sueldoTotal);
+    }
+    
+    // El ISSS y la AFP del empleado no aplican los topes de CalculadoraDescuentos
+    private static double calcularDescuentoISSS(double sueldoTotal, TablaImpuestos tabla) {
+        return sueldoTotal * tabla.getTasaISSS();
+    }
+    
+    private static double calcularDescuentoAFP(double sueldoTotal, TablaImpuestos tabla) {
+        return sueldoTotal * tabla.getTasaAFP();
     }
     
     // Método abstracto para calcular bonificaciones, implementado por las subclases
@@ -107,13 +227,47 @@ public abstract class Empleado {
     
     // Calcula el sueldo total incluyendo bonificaciones
     public double calcularSueldoConBonificaciones() {
-        return sueldoBase + calcularBonificaciones();
+        return obtenerValoresNomina().sueldoTotal;
+    }
+    
+    // Calcula el total de descuentos sobre el sueldo total del empleado
+    public double calcularTotalDescuentos() {
+        return obtenerValoresNomina().totalDescuentos;
     }
     
     // Calcula el salario neto (después de descuentos, considerando bonificaciones)
     public double calcularSalarioNeto() {
-        double sueldoConBonificaciones = calcularSueldoConBonificaciones();
-        return sueldoConBonificaciones - calcularTotalDescuentos(sueldoConBonificaciones);
+        return obtenerValoresNomina().salarioNeto;
+    }
+    
+    /**
+     * Obtiene los valores de nómina, calculándolos solo si algún dato o la
+     * tabla de impuestos vigente cambió desde el último cálculo
+     */
+    private ValoresNomina obtenerValoresNomina() {
+        ValoresNomina valores = valoresNomina;
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        if (valores == null || valores.tabla != tabla) {
+            valores = new ValoresNomina(this, tabla);
+            valoresNomina = valores;
+        }
+        return valores;
+    }
+    
+    /**
+     * Obtiene la clave de ordenamiento por apellidos con las reglas del español
+     * Ordena por primer apellido, segundo apellido y nombres (ver ClavesOrdenEspanol).
+     * Se calcula una vez y se recalcula solo si cambia alguno de los nombres.
+     * El arreglo es compartido y no debe modificarse
+     * @return Clave para comparar con Arrays.compareUnsigned
+     */
+    public byte[] getClaveOrdenApellidos() {
+        byte[] clave = claveOrdenApellidos;
+        if (clave == null) {
+            clave = ClavesOrdenEspanol.claveCompuesta(primerApellido, segundoApellido, nombres);
+            claveOrdenApellidos = clave;
+        }
+        return clave;
     }
     
     /**
@@ -123,40 +277,124 @@ public abstract class Empleado {
     
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        double sueldoConBonificaciones = calcularSueldoConBonificaciones();
-        return String.format(
-            "=== %s ===\n" +
-            "Nombre: %s\n" +
-            "Dirección: %s\n" +
-            "Fecha Nacimiento: %s (Edad: %d años)\n" +
-            "Sexo: %s\n" +
-            "Teléfono: %s\n" +
-            "Email: %s\n" +
-            "Sueldo Base: $%.2f\n" +
-            "Bonificaciones: $%.2f\n" +
-            "Sueldo Total: $%.2f\n" +
-            "Descuento ISSS (7.5%%): $%.2f\n" +
-            "Descuento AFP (7.75%%): $%.2f\n" +
-            "Descuento Renta: $%.2f\n" +
-            "Total Descuentos: $%.2f\n" +
-            "Salario Neto: $%.2f\n",
-            getTipoEmpleado(),
-            getNombreCompleto(),
-            direccion,
-            fechaNacimiento.format(formatter),
-            calcularEdad(),
-            (sexo == 'M') ? "Masculino" : "Femenino",
-            telefono,
-            email,
-            sueldoBase,
-            calcularBonificaciones(),
-            sueldoConBonificaciones,
-            calcularDescuentoISSS(sueldoConBonificaciones),
-            calcularDescuentoAFP(sueldoConBonificaciones),
-            calcularDescuentoRenta(sueldoConBonificaciones),
-            calcularTotalDescuentos(sueldoConBonificaciones),
-            calcularSalarioNeto()
-        );
+        return escribirRecibo(new StringBuilder(1024), LocalDate.now()).toString();
+    }
+    
+    /**
+     * Escribe el recibo del empleado (el mismo texto que toString) en el buffer
+     * Para generar muchos recibos conviene reutilizar el buffer y pasar la misma
+     * fecha de referencia, así no se consulta el reloj por cada empleado
+     * @param destino Buffer donde se agrega el recibo
+     * @param hoy Fecha con la que se calcula la edad
+     * @return El mismo destino, para encadenar
+     */
+    public StringBuilder escribirRecibo(StringBuilder destino, LocalDate hoy) {
+        ValoresNomina valores = obtenerValoresNomina();
+        PLANTILLA_RECIBO.llenar(destino)
+            .texto(getTipoEmpleado())
+            .texto(getNombreCompleto())
+            .texto(direccion)
+            .texto(formatearFecha(fechaNacimiento))
+            .entero(calcularEdad(fechaNacimiento, hoy))
+            .texto((sexo == 'M') ? "Masculino" : "Femenino")
+            .texto(telefono)
+            .texto(email)
+            .decimal(sueldoBase)
+            .decimal(valores.bonificaciones)
+            .decimal(valores.sueldoTotal)
+            .decimal(valores.descuentoISSS)
+            .decimal(valores.descuentoAFP)
+            .decimal(valores.descuentoRenta)
+            .decimal(valores.totalDescuentos)
+            .decimal(valores.salarioNeto)
+            .fin();
+        escribirDetalleRecibo(destino);
+        return destino;
+    }
+    
+    /**
+     * Agrega al recibo los datos propios del tipo de empleado
+     * @param destino Buffer donde se escribe, a continuación de los datos comunes
+     */
+    protected void escribirDetalleRecibo(StringBuilder destino) {
+    }
+    
+    /**
+     * Agrega una línea "titulo: a, b, c" si la lista no está vacía
+     */
+    protected static void escribirLista(StringBuilder destino, String titulo, List<String> valores) {
+        if (valores.isEmpty()) {
+            return;
+        }
+        destino.append(titulo);
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                destino.append(", ");
+            }
+            destino.append(valores.get(i));
+        }
+        destino.append('\n');
+    }
+    
+    // dd/MM/yyyy sin pasar por el DateTimeFormatter en los años de cuatro dígitos
+    private static String formatearFecha(LocalDate fecha) {
+        int anio = fecha.getYear();
+        if (anio < 1 || anio > 9999) {
+            return fecha.format(FORMATO_FECHA);
+        }
+        char[] texto = new char[10];
+        escribirDosDigitos(texto, 0, fecha.getDayOfMonth());
+        texto[2] = '/';
+        escribirDosDigitos(texto, 3, fecha.getMonthValue());
+        texto[5] = '/';
+        escribirDosDigitos(texto, 6, anio / 100);
+        escribirDosDigitos(texto, 8, anio % 100);
+        return new String(texto);
+    }
+    
+    private static void escribirDosDigitos(char[] texto, int posicion, int valor) {
+        texto[posicion] = (char) ('0' + valor / 10);
+        texto[posicion + 1] = (char) ('0' + valor % 10);
+    }
+    
+    // Mismo resultado que Period.between(nacimiento, hoy).getYears() sin crear el Period
+    private static int calcularEdad(LocalDate nacimiento, LocalDate hoy) {
+        if (nacimiento.isAfter(hoy)) {
+            return Period.between(nacimiento, hoy).getYears();
+        }
+        int edad = hoy.getYear() - nacimiento.getYear();
+        if (hoy.getMonthValue() < nacimiento.getMonthValue()
+                || (hoy.getMonthValue() == nacimiento.getMonthValue()
+                    && hoy.getDayOfMonth() < nacimiento.getDayOfMonth())) {
+            edad--;
+        }
+        return edad;
+    }
+    
+    /**
+     * Valores de nómina calculados de una vez
+     * Es inmutable para que otros hilos nunca vean un cálculo a medias
+     */
+    private static final class ValoresNomina {
+        private final double bonificaciones;
+        private final double sueldoTotal;
+        private final double descuentoISSS;
+        private final double descuentoAFP;
+        private final double descuentoRenta;
+        private final double totalDescuentos;
+        private final double salarioNeto;
+        // Tabla con la que se calcularon los descuentos
+        private final TablaImpuestos tabla;
+        
+        private ValoresNomina(Empleado empleado, TablaImpuestos tabla) {
+            this.tabla = tabla;
+            this.bonificaciones = empleado.calcularBonificaciones();
+            this.sueldoTotal = empleado.sueldoBase + bonificaciones;
+            this.descuentoISSS = calcularDescuentoISSS(sueldoTotal, tabla);
+            this.descuentoAFP = calcularDescuentoAFP(sueldoTotal, tabla);
+            this.descuentoRenta = tabla.calcularDescuentoRenta(sueldoTotal);
+            this.totalDescuentos = descuentoISSS + descuentoAFP + descuentoRenta;
+            this.salarioNeto = sueldoTotal - totalDescuentos;
+        }
     }
 }
\ No newline at end of file
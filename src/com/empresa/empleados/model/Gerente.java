@@ -2,10 +2,21 @@ package com.empresa.empleados.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formatter;
 import java.util.List;
 
 // Salario fijo de $5,000
 public class Gerente extends Empleado {
+    // Formato de una línea del reporte
+    private static final String FORMATO_RESUMEN_GERENCIAL = "Gerente %s - Depto: %s - Empleados a cargo: %d - Auto empresa: %s";
+    // Datos propios del recibo, a continuación de los comunes
+    private static final PlantillaRecibo PLANTILLA_RECIBO_GERENTE = PlantillaRecibo.compilar(
+        "Departamento: %s\n" +
+        "Empleados a cargo: %d\n" +
+        "Auto de empresa: %s\n" +
+        "Bonificación por gestión: $%.2f\n" +
+        "Bonificación por auto: $%.2f\n");
     // Atributos específicos del gerente
     private String departamento;
     private List<String> equiposACargo;
@@ -38,29 +49,34 @@ public class Gerente extends Empleado {
     
     // Getters
     public String getDepartamento() { return departamento; }
-    public List<String> getEquiposACargo() { return equiposACargo; }
+    public List<String> getEquiposACargo() { return Collections.unmodifiableList(equiposACargo); }
     public int getNumeroEmpleadosACargo() { return numeroEmpleadosACargo; }
     public boolean isTieneAutoEmpresa() { return tieneAutoEmpresa; }
     
     // Setters
-    public void setDepartamento(String departamento) { this.departamento = departamento; }
+    public void setDepartamento(String departamento) { this.departamento = departamento; invalidarCache(); }
     public void setNumeroEmpleadosACargo(int numeroEmpleadosACargo) { 
-        this.numeroEmpleadosACargo = numeroEmpleadosACargo; 
+        this.numeroEmpleadosACargo = numeroEmpleadosACargo;
+        invalidarCache();
     }
     public void setTieneAutoEmpresa(boolean tieneAutoEmpresa) { 
-        this.tieneAutoEmpresa = tieneAutoEmpresa; 
+        this.tieneAutoEmpresa = tieneAutoEmpresa;
+        invalidarCache();
     }
     
     // Agrega un equipo a la lista de equipos a cargo
     public void agregarEquipoACargo(String nombreEquipo) {
         if (!equiposACargo.contains(nombreEquipo)) {
             equiposACargo.add(nombreEquipo);
+            invalidarCache();
         }
     }
     
     // Elimina un equipo de la lista de equipos a cargo
     public void removerEquipoACargo(String nombreEquipo) {
-        equiposACargo.remove(nombreEquipo);
+        if (equiposACargo.remove(nombreEquipo)) {
+            invalidarCache();
+        }
     }
     
     // Calcula bonificación por gestión (5% del sueldo base por cada 10 empleados)
@@ -89,34 +105,30 @@ public class Gerente extends Empleado {
     }
     
     public String getResumenGerencial() {
-        return String.format("Gerente %s - Depto: %s - Empleados a cargo: %d - Auto empresa: %s",
+        return String.format(FORMATO_RESUMEN_GERENCIAL,
+                getNombreCompleto(), departamento, numeroEmpleadosACargo, 
+                tieneAutoEmpresa ? "Sí" : "No");
+    }
+    
+    /**
+     * Escribe el mismo resumen que getResumenGerencial directamente en un Formatter, sin crear el String
+     * @param destino Formatter del reporte
+     */
+    public void escribirResumenGerencial(Formatter destino) {
+        destino.format(FORMATO_RESUMEN_GERENCIAL,
                 getNombreCompleto(), departamento, numeroEmpleadosACargo, 
                 tieneAutoEmpresa ? "Sí" : "No");
     }
     
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(super.toString());
-        sb.append(String.format(
-            "Departamento: %s\n" +
-            "Empleados a cargo: %d\n" +
-            "Auto de empresa: %s\n" +
-            "Bonificación por gestión: $%.2f\n" +
-            "Bonificación por auto: $%.2f\n",
-            departamento,
-            numeroEmpleadosACargo,
-            tieneAutoEmpresa ? "Sí" : "No",
-            calcularBonificacionGestion(),
-            calcularBonificacionAuto()
-        ));
-        
-        if (!equiposACargo.isEmpty()) {
-            sb.append("Equipos a cargo: ");
-            sb.append(String.join(", ", equiposACargo));
-            sb.append("\n");
-        }
-        
-        return sb.toString();
+    protected void escribirDetalleRecibo(StringBuilder destino) {
+        PLANTILLA_RECIBO_GERENTE.llenar(destino)
+            .texto(departamento)
+            .entero(numeroEmpleadosACargo)
+            .texto(tieneAutoEmpresa ? "Sí" : "No")
+            .decimal(calcularBonificacionGestion())
+            .decimal(calcularBonificacionAuto())
+            .fin();
+        escribirLista(destino, "Equipos a cargo: ", equiposACargo);
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.empresa.empleados.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formatter;
 import java.util.List;
 
 /**
@@ -9,6 +11,20 @@ import java.util.List;
  * Salario fijo de $1,500
  */
 public class JefeArea extends Empleado {
+    // Formato de una línea del reporte
+    private static final String FORMATO_RESUMEN_JEFE_AREA = "Jefe de Área %s - Área: %s (%s) - Subordinados: %d - Metas: %.1f%%";
+    // Datos propios del recibo, a continuación de los comunes
+    private static final PlantillaRecibo PLANTILLA_RECIBO_JEFE_AREA = PlantillaRecibo.compilar(
+        "Área a cargo: %s\n" +
+        "Tipo de área: %s\n" +
+        "Número de subordinados: %d\n" +
+        "Maneja presupuesto: %s\n" +
+        "Presupuesto anual a cargo: $%.2f\n" +
+        "Metas cumplidas: %d de %d (%.1f%%)\n" +
+        "Bonificación por liderazgo: $%.2f\n" +
+        "Bonificación por presupuesto: $%.2f\n" +
+        "Bonificación por metas: $%.2f\n" +
+        "Bonificación por tipo de área: $%.2f\n");
     // Atributos específicos del jefe de área
     private String area;
     private List<String> subAreasACargo;
@@ -46,7 +62,7 @@ public class JefeArea extends Empleado {
     
     // Getters
     public String getArea() { return area; }
-    public List<String> getSubAreasACargo() { return subAreasACargo; }
+    public List<String> getSubAreasACargo() { return Collections.unmodifiableList(subAreasACargo); }
     public int getNumeroSubordinados() { return numeroSubordinados; }
     public String getTipoArea() { return tipoArea; }
     public boolean isManejaPresupuesto() { return manejaPresupuesto; }
@@ -55,24 +71,28 @@ public class JefeArea extends Empleado {
     public int getTotalMetas() { return totalMetas; }
     
     // Setters
-    public void setArea(String area) { this.area = area; }
-    public void setNumeroSubordinados(int numeroSubordinados) { this.numeroSubordinados = numeroSubordinados; }
-    public void setTipoArea(String tipoArea) { this.tipoArea = tipoArea; }
-    public void setManejaPresupuesto(boolean manejaPresupuesto) { this.manejaPresupuesto = manejaPresupuesto; }
+    public void setArea(String area) { this.area = area; invalidarCache(); }
+    public void setNumeroSubordinados(int numeroSubordinados) { this.numeroSubordinados = numeroSubordinados; invalidarCache(); }
+    public void setTipoArea(String tipoArea) { this.tipoArea = tipoArea; invalidarCache(); }
+    public void setManejaPresupuesto(boolean manejaPresupuesto) { this.manejaPresupuesto = manejaPresupuesto; invalidarCache(); }
     public void setPresupuestoAnualACargo(double presupuestoAnualACargo) { 
-        this.presupuestoAnualACargo = presupuestoAnualACargo; 
+        this.presupuestoAnualACargo = presupuestoAnualACargo;
+        invalidarCache();
     }
-    public void setMetasAlcanzadas(int metasAlcanzadas) { this.metasAlcanzadas = metasAlcanzadas; }
-    public void setTotalMetas(int totalMetas) { this.totalMetas = totalMetas; }
+    public void setMetasAlcanzadas(int metasAlcanzadas) { this.metasAlcanzadas = metasAlcanzadas; invalidarCache(); }
+    public void setTotalMetas(int totalMetas) { this.totalMetas = totalMetas; invalidarCache(); }
     
     public void agregarSubArea(String nombreSubArea) {
         if (!subAreasACargo.contains(nombreSubArea)) {
             subAreasACargo.add(nombreSubArea);
+            invalidarCache();
         }
     }
     
     public void removerSubArea(String nombreSubArea) {
-        subAreasACargo.remove(nombreSubArea);
+        if (subAreasACargo.remove(nombreSubArea)) {
+            invalidarCache();
+        }
     }
     
     public double calcularPorcentajeCumplimientoMetas() {
@@ -118,44 +138,37 @@ public class JefeArea extends Empleado {
     }
     
     public String getResumenJefeArea() {
-        return String.format("Jefe de Área %s - Área: %s (%s) - Subordinados: %d - Metas: %.1f%%",
+        return String.format(FORMATO_RESUMEN_JEFE_AREA,
+                getNombreCompleto(), area, tipoArea, numeroSubordinados, 
+                calcularPorcentajeCumplimientoMetas());
+    }
+    
+    /**
+     * Escribe el mismo resumen que getResumenJefeArea directamente en un Formatter, sin crear el String
+     * @param destino Formatter del reporte
+     */
+    public void escribirResumenJefeArea(Formatter destino) {
+        destino.format(FORMATO_RESUMEN_JEFE_AREA,
                 getNombreCompleto(), area, tipoArea, numeroSubordinados, 
                 calcularPorcentajeCumplimientoMetas());
     }
     
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(super.toString());
-        sb.append(String.format(
-            "Área a cargo: %s\n" +
-            "Tipo de área: %s\n" +
-            "Número de subordinados: %d\n" +
-            "Maneja presupuesto: %s\n" +
-            "Presupuesto anual a cargo: $%.2f\n" +
-            "Metas cumplidas: %d de %d (%.1f%%)\n" +
-            "Bonificación por liderazgo: $%.2f\n" +
-            "Bonificación por presupuesto: $%.2f\n" +
-            "Bonificación por metas: $%.2f\n" +
-            "Bonificación por tipo de área: $%.2f\n",
-            area,
-            tipoArea,
-            numeroSubordinados,
-            manejaPresupuesto ? "Sí" : "No",
-            presupuestoAnualACargo,
-            metasAlcanzadas, totalMetas, calcularPorcentajeCumplimientoMetas(),
-            calcularBonificacionLiderazgo(),
-            calcularBonificacionPresupuesto(),
-            calcularBonificacionMetas(),
-            calcularBonificacionTipoArea()
-        ));
-        
-        if (!subAreasACargo.isEmpty()) {
-            sb.append("Sub-áreas a cargo: ");
-            sb.append(String.join(", ", subAreasACargo));
-            sb.append("\n");
-        }
-        
-        return sb.toString();
+    protected void escribirDetalleRecibo(StringBuilder destino) {
+        PLANTILLA_RECIBO_JEFE_AREA.llenar(destino)
+            .texto(area)
+            .texto(tipoArea)
+            .entero(numeroSubordinados)
+            .texto(manejaPresupuesto ? "Sí" : "No")
+            .decimal(presupuestoAnualACargo)
+            .entero(metasAlcanzadas)
+            .entero(totalMetas)
+            .decimal(calcularPorcentajeCumplimientoMetas())
+            .decimal(calcularBonificacionLiderazgo())
+            .decimal(calcularBonificacionPresupuesto())
+            .decimal(calcularBonificacionMetas())
+            .decimal(calcularBonificacionTipoArea())
+            .fin();
+        escribirLista(destino, "Sub-áreas a cargo: ", subAreasACargo);
     }
 }
\ No newline at end of file
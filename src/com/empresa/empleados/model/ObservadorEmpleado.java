@@ -0,0 +1,16 @@
+package com.empresa.empleados.model;
+
+/**
+ * Recibe un aviso cada vez que cambia algún dato de un empleado
+ * Se registra con Empleado.agregarObservador; el aviso llega después de que el
+ * dato cambió, por lo que el empleado ya devuelve los valores nuevos
+ */
+@FunctionalInterface
+public interface ObservadorEmpleado {
+    
+    /**
+     * Se llama después de modificar un dato del empleado
+     * @param empleado Empleado modificado
+     */
+    void empleadoModificado(Empleado empleado);
+}
@@ -0,0 +1,180 @@
+package com.empresa.empleados.model;
+
+import com.empresa.empleados.utils.FormatoDecimal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plantilla de recibo precompilada
+ * Se construye una sola vez por tipo de empleado a partir del mismo patrón que
+ * usaría String.format (%s, %d, %.Nf y %%), separando los textos fijos de los
+ * huecos. Al llenarla los textos fijos se copian tal cual y los valores se
+ * escriben directo en el StringBuilder del llamador, sin volver a analizar el
+ * patrón ni convertir los números a objetos
+ */
+public final class PlantillaRecibo {
+
+    private static final int TEXTO = -1;
+    private static final int ENTERO = -2;
+
+    private final String[] literales;
+    /** Por cada hueco: TEXTO, ENTERO o el número de decimales */
+    private final int[] huecos;
+    private final int longitudLiterales;
+
+    private PlantillaRecibo(String[] literales, int[] huecos) {
+        this.literales = literales;
+        this.huecos = huecos;
+        int longitud = 0;
+        for (String literal : literales) {
+            longitud += literal.length();
+        }
+        this.longitudLiterales = longitud;
+    }
+
+    /**
+     * Compila un patrón con la sintaxis de String.format
+     * Solo se aceptan %s, %d, %.Nf (N de 0 a FormatoDecimal.MAX_DECIMALES) y %%
+     * @param patron Patrón del recibo
+     * @return Plantilla lista para llenarse
+     */
+    public static PlantillaRecibo compilar(String patron) {
+        if (patron == null) {
+            throw new IllegalArgumentException("El patrón no puede ser nulo");
+        }
+        List<String> literales = new ArrayList<>();
+        List<Integer> huecos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        int i = 0;
+        while (i < patron.length()) {
+            char c = patron.charAt(i++);
+            if (c != '%') {
+                actual.append(c);
+                continue;
+            }
+            if (i >= patron.length()) {
+                throw new IllegalArgumentException("Patrón incompleto al final: " + patron);
+            }
+            char tipo = patron.charAt(i++);
+            if (tipo == '%') {
+                actual.append('%');
+                continue;
+            }
+            int hueco;
+            if (tipo == 's') {
+                hueco = TEXTO;
+            } else if (tipo == 'd') {
+                hueco = ENTERO;
+            } else if (tipo == '.' && i + 1 < patron.length() && patron.charAt(i + 1) == 'f'
+                    && Character.isDigit(patron.charAt(i))
+                    && patron.charAt(i) - '0' <= FormatoDecimal.MAX_DECIMALES) {
+                hueco = patron.charAt(i) - '0';
+                i += 2;
+            } else {
+                throw new IllegalArgumentException("Especificador no soportado en la posición " + (i - 2) + ": " + patron);
+            }
+            literales.add(actual.toString());
+            huecos.add(hueco);
+            actual.setLength(0);
+        }
+        literales.add(actual.toString());
+
+        int[] tipos = new int[huecos.size()];
+        for (int j = 0; j < tipos.length; j++) {
+            tipos[j] = huecos.get(j);
+        }
+        return new PlantillaRecibo(literales.toArray(new String[0]), tipos);
+    }
+
+    /**
+     * Empieza a llenar la plantilla sobre el buffer indicado
+     * Los valores deben agregarse en el mismo orden que los huecos del patrón
+     * @param destino Buffer donde se escribe el recibo
+     * @return Llenado en curso; termina con {@link Llenado#fin()}
+     */
+    public Llenado llenar(StringBuilder destino) {
+        destino.ensureCapacity(destino.length() + longitudLiterales + huecos.length * 12);
+        destino.append(literales[0]);
+        return new Llenado(destino);
+    }
+
+    /**
+     * Cantidad de huecos del patrón
+     */
+    public int getCantidadHuecos() {
+        return huecos.length;
+    }
+
+    /**
+     * Llenado en curso de una plantilla
+     * Cada valor se escribe seguido del texto fijo que le sigue en el patrón
+     */
+    public final class Llenado {
+        private final StringBuilder destino;
+        private int siguiente;
+
+        private Llenado(StringBuilder destino) {
+            this.destino = destino;
+        }
+
+        /**
+         * Llena un hueco %s
+         */
+        public Llenado texto(String valor) {
+            esperar(TEXTO, "%s");
+            destino.append(valor);
+            return avanzar();
+        }
+
+        /**
+         * Llena un hueco %d
+         */
+        public Llenado entero(long valor) {
+            esperar(ENTERO, "%d");
+            FormatoDecimal.agregarEntero(destino, valor);
+            return avanzar();
+        }
+
+        /**
+         * Llena un hueco %.Nf con los decimales definidos en el patrón
+         */
+        public Llenado decimal(double valor) {
+            if (siguiente >= huecos.length || huecos[siguiente] < 0) {
+                throw new IllegalStateException("Se esperaba " + descripcion() + " y se recibió un decimal");
+            }
+            FormatoDecimal.agregar(destino, valor, huecos[siguiente]);
+            return avanzar();
+        }
+
+        /**
+         * Verifica que se llenaron todos los huecos
+         * @return El buffer con el recibo escrito
+         */
+        public StringBuilder fin() {
+            if (siguiente != huecos.length) {
+                throw new IllegalStateException("Faltan " + (huecos.length - siguiente) + " valores por llenar");
+            }
+            return destino;
+        }
+
+        private void esperar(int tipo, String especificador) {
+            if (siguiente >= huecos.length || huecos[siguiente] != tipo) {
+                throw new IllegalStateException("Se esperaba " + descripcion() + " y se recibió " + especificador);
+            }
+        }
+
+        private String descripcion() {
+            if (siguiente >= huecos.length) {
+                return "ningún valor más";
+            }
+            int tipo = huecos[siguiente];
+            return tipo == TEXTO ? "%s" : tipo == ENTERO ? "%d" : "%." + tipo + "f";
+        }
+
+        private Llenado avanzar() {
+            destino.append(literales[++siguiente]);
+            return this;
+        }
+    }
+}
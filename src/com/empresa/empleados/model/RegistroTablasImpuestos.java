@@ -0,0 +1,141 @@
+package com.empresa.empleados.model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro global de tablas de impuestos ordenadas por fecha de vigencia
+ * El estado completo (fechas, tablas y tabla vigente hoy) es un objeto
+ * inmutable detrás de un AtomicReference: registrar una tabla publica un
+ * estado nuevo de un solo golpe, sin bloquear a los cálculos en curso, que
+ * terminan con la tabla que ya habían tomado. La tabla de un período
+ * histórico se ubica por búsqueda binaria sobre las fechas (O(log períodos)).
+ * La consulta de la tabla vigente solo mira el reloj cuando hay una tabla
+ * registrada con fecha futura
+ */
+public final class RegistroTablasImpuestos {
+
+    private static final AtomicReference<Estado> ESTADO =
+            new AtomicReference<>(new Estado(new TablaImpuestos[] {TablaImpuestos.PREDETERMINADA}));
+
+    /**
+     * Constructor privado para evitar instanciación (clase utilitaria)
+     */
+    private RegistroTablasImpuestos() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene la tabla vigente hoy
+     * @return Tabla con la mayor fecha de vigencia que no sea posterior a hoy
+     */
+    public static TablaImpuestos obtenerVigente() {
+        Estado estado = ESTADO.get();
+        if (estado.siguienteCambioMillis != Long.MAX_VALUE && System.currentTimeMillis() >= estado.siguienteCambioMillis) {
+            // Llegó la fecha de una tabla futura: se recalcula la vigente
+            Estado actualizado = new Estado(estado.tablas);
+            ESTADO.compareAndSet(estado, actualizado);
+            return actualizado.vigente;
+        }
+        return estado.vigente;
+    }
+
+    /**
+     * Obtiene la tabla que aplica en una fecha
+     * @param fecha Fecha del período a calcular
+     * @return Tabla con la mayor fecha de vigencia que no sea posterior a la fecha
+     */
+    public static TablaImpuestos obtenerTabla(LocalDate fecha) {
+        if (fecha == null) {
+            throw new IllegalArgumentException("La fecha no puede ser nula");
+        }
+        Estado estado = ESTADO.get();
+        int indice = estado.buscar(fecha);
+        if (indice < 0) {
+            throw new IllegalArgumentException("No hay tabla de impuestos vigente en " + fecha);
+        }
+        return estado.tablas[indice];
+    }
+
+    /**
+     * Registra una tabla; si ya hay una con la misma fecha de vigencia, la reemplaza
+     * @param tabla Tabla a registrar
+     */
+    public static void registrar(TablaImpuestos tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla de impuestos no puede ser nula");
+        }
+        Estado actual;
+        Estado nuevo;
+        do {
+            actual = ESTADO.get();
+            TablaImpuestos[] tablas = actual.tablas;
+            int posicion = Arrays.binarySearch(actual.fechas, tabla.getVigenteDesde());
+            TablaImpuestos[] copia;
+            if (posicion >= 0) {
+                copia = tablas.clone();
+                copia[posicion] = tabla;
+            } else {
+                int insercion = -posicion - 1;
+                copia = new TablaImpuestos[tablas.length + 1];
+                System.arraycopy(tablas, 0, copia, 0, insercion);
+                copia[insercion] = tabla;
+                System.arraycopy(tablas, insercion, copia, insercion + 1, tablas.length - insercion);
+            }
+            nuevo = new Estado(copia);
+        } while (!ESTADO.compareAndSet(actual, nuevo));
+    }
+
+    /**
+     * Obtiene todas las tablas registradas, en orden de vigencia
+     * @return Lista inmutable de tablas
+     */
+    public static List<TablaImpuestos> obtenerTablas() {
+        return Collections.unmodifiableList(Arrays.asList(ESTADO.get().tablas));
+    }
+
+    /**
+     * Deja el registro solo con la tabla predeterminada
+     */
+    public static void restablecer() {
+        ESTADO.set(new Estado(new TablaImpuestos[] {TablaImpuestos.PREDETERMINADA}));
+    }
+
+    /**
+     * Estado inmutable del registro
+     */
+    private static final class Estado {
+        private final TablaImpuestos[] tablas;
+        private final LocalDate[] fechas;
+        private final TablaImpuestos vigente;
+        // Instante en que entra en vigencia la siguiente tabla (Long.MAX_VALUE si no hay)
+        private final long siguienteCambioMillis;
+
+        private Estado(TablaImpuestos[] tablas) {
+            this.tablas = tablas;
+            this.fechas = new LocalDate[tablas.length];
+            for (int i = 0; i < tablas.length; i++) {
+                fechas[i] = tablas[i].getVigenteDesde();
+            }
+            ZoneId zona = ZoneId.systemDefault();
+            int indice = buscar(LocalDate.now(zona));
+            // Con fechas futuras solamente, se usa la más antigua hasta que llegue su fecha
+            this.vigente = tablas[Math.max(indice, 0)];
+            this.siguienteCambioMillis = indice + 1 < tablas.length
+                    ? fechas[indice + 1].atStartOfDay(zona).toInstant().toEpochMilli()
+                    : Long.MAX_VALUE;
+        }
+
+        /**
+         * Índice de la última tabla con vigencia no posterior a la fecha (-1 si no hay)
+         */
+        private int buscar(LocalDate fecha) {
+            int posicion = Arrays.binarySearch(fechas, fecha);
+            return posicion >= 0 ? posicion : -posicion - 2;
+        }
+    }
+}
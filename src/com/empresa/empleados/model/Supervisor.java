@@ -2,9 +2,24 @@ package com.empresa.empleados.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formatter;
 import java.util.List;
 
 public class Supervisor extends Empleado {
+    // Formato de una línea del reporte
+    private static final String FORMATO_RESUMEN_SUPERVISOR = "Supervisor %s - Depto: %s - Tipo: %s - Subordinados: %d - Incidentes Resueltos: %.1f%%";
+    // Datos propios del recibo, a continuación de los comunes
+    private static final PlantillaRecibo PLANTILLA_RECIBO_SUPERVISOR = PlantillaRecibo.compilar(
+        "Departamento: %s\n" +
+        "Tipo de supervisión: %s\n" +
+        "Número de subordinados: %d\n" +
+        "Lidera equipo: %s\n" +
+        "Días trabajados en el mes: %d\n" +
+        "Incidentes resueltos: %d de %d (%.1f%%)\n" +
+        "Bonificación por incidentes: $%.2f\n" +
+        "Bonificación por asistencia: $%.2f\n" +
+        "Bonificación por liderazgo: $%.2f\n");
     private static final double SUELDO_SUPERVISOR = 1000.00;
     private String departamento;
     private String tipoSupervision; // "Directa", "Indirecta", "Mixta"
@@ -47,25 +62,28 @@ public class Supervisor extends Empleado {
     public int getDiasTrabajadosMes() { return diasTrabajadosMes; }
     public int getIncidentesResueltos() { return incidentesResueltos; }
     public int getTotalIncidentes() { return totalIncidentes; }
-    public List<String> getEquiposSupervisados() { return equiposSupervisados; }
+    public List<String> getEquiposSupervisados() { return Collections.unmodifiableList(equiposSupervisados); }
 
     // Setters
-    public void setDepartamento(String departamento) { this.departamento = departamento; }
-    public void setTipoSupervision(String tipoSupervision) { this.tipoSupervision = tipoSupervision; }
-    public void setNumeroSubordinados(int numeroSubordinados) { this.numeroSubordinados = numeroSubordinados; }
-    public void setLideraEquipo(boolean lideraEquipo) { this.lideraEquipo = lideraEquipo; }
-    public void setDiasTrabajadosMes(int diasTrabajadosMes) { this.diasTrabajadosMes = diasTrabajadosMes; }
-    public void setIncidentesResueltos(int incidentesResueltos) { this.incidentesResueltos = incidentesResueltos; }
-    public void setTotalIncidentes(int totalIncidentes) { this.totalIncidentes = totalIncidentes; }
+    public void setDepartamento(String departamento) { this.departamento = departamento; invalidarCache(); }
+    public void setTipoSupervision(String tipoSupervision) { this.tipoSupervision = tipoSupervision; invalidarCache(); }
+    public void setNumeroSubordinados(int numeroSubordinados) { this.numeroSubordinados = numeroSubordinados; invalidarCache(); }
+    public void setLideraEquipo(boolean lideraEquipo) { this.lideraEquipo = lideraEquipo; invalidarCache(); }
+    public void setDiasTrabajadosMes(int diasTrabajadosMes) { this.diasTrabajadosMes = diasTrabajadosMes; invalidarCache(); }
+    public void setIncidentesResueltos(int incidentesResueltos) { this.incidentesResueltos = incidentesResueltos; invalidarCache(); }
+    public void setTotalIncidentes(int totalIncidentes) { this.totalIncidentes = totalIncidentes; invalidarCache(); }
 
     public void agregarEquipoSupervisado(String nombreEquipo) {
         if (!equiposSupervisados.contains(nombreEquipo)) {
             equiposSupervisados.add(nombreEquipo);
+            invalidarCache();
         }
     }
 
     public void removerEquipoSupervisado(String nombreEquipo) {
-        equiposSupervisados.remove(nombreEquipo);
+        if (equiposSupervisados.remove(nombreEquipo)) {
+            invalidarCache();
+        }
     }
 
     // Calculate incident resolution percentage
@@ -101,42 +119,36 @@ public class Supervisor extends Empleado {
     }
 
     public String getResumenSupervisor() {
-        return String.format("Supervisor %s - Depto: %s - Tipo: %s - Subordinados: %d - Incidentes Resueltos: %.1f%%",
+        return String.format(FORMATO_RESUMEN_SUPERVISOR,
+                getNombreCompleto(), departamento, tipoSupervision, numeroSubordinados,
+                calcularPorcentajeIncidentesResueltos());
+    }
+    
+    /**
+     * Escribe el mismo resumen que getResumenSupervisor directamente en un Formatter, sin crear el String
+     * @param destino Formatter del reporte
+     */
+    public void escribirResumenSupervisor(Formatter destino) {
+        destino.format(FORMATO_RESUMEN_SUPERVISOR,
                 getNombreCompleto(), departamento, tipoSupervision, numeroSubordinados,
                 calcularPorcentajeIncidentesResueltos());
     }
 
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(super.toString());
-        sb.append(String.format(
-            "Departamento: %s\n" +
-            "Tipo de supervisión: %s\n" +
-            "Número de subordinados: %d\n" +
-            "Lidera equipo: %s\n" +
-            "Días trabajados en el mes: %d\n" +
-            "Incidentes resueltos: %d de %d (%.1f%%)\n" +
-            "Bonificación por incidentes: $%.2f\n" +
-            "Bonificación por asistencia: $%.2f\n" +
-            "Bonificación por liderazgo: $%.2f\n",
-            departamento,
-            tipoSupervision,
-            numeroSubordinados,
-            lideraEquipo ? "Sí" : "No",
-            diasTrabajadosMes,
-            incidentesResueltos, totalIncidentes, calcularPorcentajeIncidentesResueltos(),
-            calcularBonificacionIncidentes(),
-            calcularBonificacionAsistencia(),
-            calcularBonificacionLiderazgo()
-        ));
-
-        if (!equiposSupervisados.isEmpty()) {
-            sb.append("Equipos supervisados: ");
-            sb.append(String.join(", ", equiposSupervisados));
-            sb.append("\n");
-        }
-
-        return sb.toString();
+    protected void escribirDetalleRecibo(StringBuilder destino) {
+        PLANTILLA_RECIBO_SUPERVISOR.llenar(destino)
+            .texto(departamento)
+            .texto(tipoSupervision)
+            .entero(numeroSubordinados)
+            .texto(lideraEquipo ? "Sí" : "No")
+            .entero(diasTrabajadosMes)
+            .entero(incidentesResueltos)
+            .entero(totalIncidentes)
+            .decimal(calcularPorcentajeIncidentesResueltos())
+            .decimal(calcularBonificacionIncidentes())
+            .decimal(calcularBonificacionAsistencia())
+            .decimal(calcularBonificacionLiderazgo())
+            .fin();
+        escribirLista(destino, "Equipos supervisados: ", equiposSupervisados);
     }
 }
\ No newline at end of file
@@ -0,0 +1,358 @@
+package com.empresa.empleados.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Tabla de descuentos de ley (ISSS, AFP y renta) vigente desde una fecha
+ * Es inmutable: una vez publicada en RegistroTablasImpuestos puede usarse desde
+ * cualquier hilo sin sincronización. Los tramos de renta se guardan como
+ * arreglos planos ordenados por el exceso a partir del cual aplican: el
+ * descuento se calcula sin ramas y el número de tramo por búsqueda binaria.
+ *
+ * Formato de archivo (java.util.Properties):
+ * <pre>
+ * vigenteDesde=2025-01-01
+ * isss.tasa=0.075
+ * isss.salarioMaximo=1000.00
+ * afp.tasa=0.0775
+ * afp.salarioMaximo=6500.00
+ * renta.tramo.2.desde=472.00
+ * renta.tramo.2.cuotaFija=0.00
+ * renta.tramo.2.tasa=0.10
+ * renta.tramo.3.desde=895.24
+ * ...
+ * </pre>
+ * El tramo 1 (exento) es implícito; los demás se numeran desde 2 sin huecos.
+ * Las tasas admiten hasta cuatro decimales y los montos hasta dos, para que la
+ * misma tabla pueda aplicarse en centavos exactos
+ */
+public final class TablaImpuestos {
+
+    /**
+     * Tabla de ley vigente al escribir este código; aplica desde siempre
+     */
+    public static final TablaImpuestos PREDETERMINADA = new TablaImpuestos(
+        LocalDate.MIN,
+        0.075, 1000.00,
+        0.0775, 6500.00,
+        new double[] {472.00, 895.24, 2038.10},
+        new double[] {0.00, 42.32, 270.90},
+        new double[] {0.10, 0.20, 0.30}
+    );
+
+    private final LocalDate vigenteDesde;
+    private final double tasaISSS;
+    private final double salarioMaximoISSS;
+    private final double topeISSS;
+    private final double tasaAFP;
+    private final double salarioMaximoAFP;
+    private final double topeAFP;
+    // Tramo gravado k: cuotasFijasRenta[k] + (sueldo - excesosRenta[k]) * tasasRenta[k]
+    private final double[] excesosRenta;
+    private final double[] cuotasFijasRenta;
+    private final double[] tasasRenta;
+
+    // Los mismos valores en centavos y tasas en diezmilésimas
+    private final long tasaISSSDiezmilesimas;
+    private final long topeISSSCentavos;
+    private final long tasaAFPDiezmilesimas;
+    private final long topeAFPCentavos;
+    private final long[] excesosRentaCentavos;
+    private final long[] cuotasFijasRentaCentavos;
+    private final long[] tasasRentaDiezmilesimas;
+
+    /**
+     * Crea una tabla de impuestos
+     * @param vigenteDesde Fecha desde la que aplica la tabla
+     * @param tasaISSS Tasa de ISSS (0.075 = 7.5%)
+     * @param salarioMaximoISSS Salario sobre el que se topa el ISSS
+     * @param tasaAFP Tasa de AFP
+     * @param salarioMaximoAFP Salario sobre el que se topa la AFP
+     * @param excesosRenta Monto a partir del cual aplica cada tramo gravado (ascendente)
+     * @param cuotasFijasRenta Cuota fija de cada tramo gravado
+     * @param tasasRenta Tasa sobre el exceso de cada tramo gravado
+     */
+    public TablaImpuestos(LocalDate vigenteDesde,
+                          double tasaISSS, double salarioMaximoISSS,
+                          double tasaAFP, double salarioMaximoAFP,
+                          double[] excesosRenta, double[] cuotasFijasRenta, double[] tasasRenta) {
+        if (vigenteDesde == null) {
+            throw new IllegalArgumentException("La fecha de vigencia no puede ser nula");
+        }
+        if (excesosRenta == null || cuotasFijasRenta == null || tasasRenta == null) {
+            throw new IllegalArgumentException("Los tramos de renta no pueden ser nulos");
+        }
+        if (excesosRenta.length != cuotasFijasRenta.length || excesosRenta.length != tasasRenta.length) {
+            throw new IllegalArgumentException("Cada tramo de renta debe tener exceso, cuota fija y tasa");
+        }
+        this.vigenteDesde = vigenteDesde;
+        this.tasaISSS = tasaISSS;
+        this.salarioMaximoISSS = salarioMaximoISSS;
+        this.topeISSS = salarioMaximoISSS * tasaISSS;
+        this.tasaAFP = tasaAFP;
+        this.salarioMaximoAFP = salarioMaximoAFP;
+        this.topeAFP = salarioMaximoAFP * tasaAFP;
+        this.excesosRenta = excesosRenta.clone();
+        this.cuotasFijasRenta = cuotasFijasRenta.clone();
+        this.tasasRenta = tasasRenta.clone();
+
+        this.tasaISSSDiezmilesimas = aTasa(tasaISSS, "isss.tasa");
+        this.topeISSSCentavos = aTope(aCentavos(salarioMaximoISSS, "isss.salarioMaximo"), tasaISSS);
+        this.tasaAFPDiezmilesimas = aTasa(tasaAFP, "afp.tasa");
+        this.topeAFPCentavos = aTope(aCentavos(salarioMaximoAFP, "afp.salarioMaximo"), tasaAFP);
+
+        int tramos = excesosRenta.length;
+        this.excesosRentaCentavos = new long[tramos];
+        this.cuotasFijasRentaCentavos = new long[tramos];
+        this.tasasRentaDiezmilesimas = new long[tramos];
+        for (int k = 0; k < tramos; k++) {
+            String clave = "renta.tramo." + (k + 2);
+            excesosRentaCentavos[k] = aCentavos(excesosRenta[k], clave + ".desde");
+            cuotasFijasRentaCentavos[k] = aCentavos(cuotasFijasRenta[k], clave + ".cuotaFija");
+            tasasRentaDiezmilesimas[k] = aTasa(tasasRenta[k], clave + ".tasa");
+            if (k > 0 && !(excesosRenta[k] > excesosRenta[k - 1])) {
+                throw new IllegalArgumentException("Los tramos de renta deben estar en orden ascendente: " + clave);
+            }
+        }
+    }
+
+    // =============== CARGA ===============
+
+    /**
+     * Carga una tabla desde un archivo en formato Properties
+     * @param lector Lector del archivo
+     * @return Tabla cargada
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static TablaImpuestos cargar(Reader lector) throws IOException {
+        if (lector == null) {
+            throw new IllegalArgumentException("El lector no puede ser nulo");
+        }
+        Properties propiedades = new Properties();
+        propiedades.load(lector);
+        return desdePropiedades(propiedades);
+    }
+
+    /**
+     * Crea una tabla a partir de propiedades ya leídas
+     * @param propiedades Propiedades con las claves del formato de archivo
+     * @return Tabla creada
+     */
+    public static TablaImpuestos desdePropiedades(Properties propiedades) {
+        if (propiedades == null) {
+            throw new IllegalArgumentException("Las propiedades no pueden ser nulas");
+        }
+        LocalDate vigenteDesde;
+        try {
+            vigenteDesde = LocalDate.parse(obligatoria(propiedades, "vigenteDesde"));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en vigenteDesde: " + propiedades.getProperty("vigenteDesde"), e);
+        }
+        List<double[]> tramos = new ArrayList<>();
+        for (int numero = 2; propiedades.getProperty("renta.tramo." + numero + ".desde") != null; numero++) {
+            String clave = "renta.tramo." + numero;
+            tramos.add(new double[] {
+                numero(propiedades, clave + ".desde"),
+                numero(propiedades, clave + ".cuotaFija"),
+                numero(propiedades, clave + ".tasa")
+            });
+        }
+        double[] excesos = new double[tramos.size()];
+        double[] cuotas = new double[tramos.size()];
+        double[] tasas = new double[tramos.size()];
+        for (int k = 0; k < tramos.size(); k++) {
+            excesos[k] = tramos.get(k)[0];
+            cuotas[k] = tramos.get(k)[1];
+            tasas[k] = tramos.get(k)[2];
+        }
+        return new TablaImpuestos(vigenteDesde,
+                numero(propiedades, "isss.tasa"), numero(propiedades, "isss.salarioMaximo"),
+                numero(propiedades, "afp.tasa"), numero(propiedades, "afp.salarioMaximo"),
+                excesos, cuotas, tasas);
+    }
+
+    // =============== CÁLCULO ===============
+
+    /**
+     * Calcula el descuento de ISSS aplicando el tope
+     * @param sueldoBruto Sueldo bruto
+     */
+    public double calcularDescuentoISSS(double sueldoBruto) {
+        if (sueldoBruto <= 0) return 0.0;
+        return Math.min(sueldoBruto * tasaISSS, topeISSS);
+    }
+
+    /**
+     * Calcula el descuento de AFP aplicando el tope
+     * @param sueldoBruto Sueldo bruto
+     */
+    public double calcularDescuentoAFP(double sueldoBruto) {
+        if (sueldoBruto <= 0) return 0.0;
+        return Math.min(sueldoBruto * tasaAFP, topeAFP);
+    }
+
+    /**
+     * Calcula el descuento de renta
+     * Evalúa la fórmula de cada tramo y se queda con la del último tramo
+     * superado, sin saltos que dependan del sueldo: con las pocas decenas de
+     * tramos de una tabla real es más rápido que ubicar el tramo por búsqueda
+     * binaria, porque los sueldos de una nómina caen en tramos impredecibles
+     * @param sueldoBruto Sueldo bruto
+     */
+    public double calcularDescuentoRenta(double sueldoBruto) {
+        return calcularDescuentoRenta(sueldoBruto, excesosRenta, cuotasFijasRenta, tasasRenta);
+    }
+
+    /**
+     * Calcula el descuento de renta sobre arreglos de tramos ya copiados
+     * Los ciclos por lotes toman los arreglos una vez (getExcesosRenta, ...)
+     * para que el JIT los mantenga en registros
+     * @param sueldoBruto Sueldo bruto
+     * @param excesos Excesos de los tramos gravados
+     * @param cuotasFijas Cuotas fijas de los tramos gravados
+     * @param tasas Tasas de los tramos gravados
+     */
+    public static double calcularDescuentoRenta(double sueldoBruto, double[] excesos,
+                                                double[] cuotasFijas, double[] tasas) {
+        // NaN supera todos los tramos, así que el resultado es NaN
+        double renta = 0.0;
+        for (int k = 0; k < excesos.length; k++) {
+            double tramo = cuotasFijas[k] + ((sueldoBruto - excesos[k]) * tasas[k]);
+            renta = sueldoBruto <= excesos[k] ? renta : tramo;
+        }
+        return renta;
+    }
+
+    /**
+     * Obtiene el tramo de renta de un sueldo (1 es el tramo exento)
+     * @param sueldoBruto Sueldo bruto
+     */
+    public int obtenerTramoRenta(double sueldoBruto) {
+        return contarTramosSuperados(sueldoBruto) + 1;
+    }
+
+    /**
+     * Obtiene el tramo de renta de un sueldo en centavos (1 es el tramo exento)
+     * @param sueldoBrutoCentavos Sueldo bruto en centavos
+     */
+    public int obtenerTramoRenta(long sueldoBrutoCentavos) {
+        int bajo = 0;
+        int alto = excesosRentaCentavos.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (sueldoBrutoCentavos > excesosRentaCentavos[medio]) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo + 1;
+    }
+
+    /**
+     * Cuenta por búsqueda binaria los excesos que el sueldo supera (NaN los
+     * supera todos y queda en el último tramo)
+     */
+    private int contarTramosSuperados(double sueldoBruto) {
+        int bajo = 0;
+        int alto = excesosRenta.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (!(sueldoBruto <= excesosRenta[medio])) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    // Getters
+    public LocalDate getVigenteDesde() { return vigenteDesde; }
+    public double getTasaISSS() { return tasaISSS; }
+    public double getSalarioMaximoISSS() { return salarioMaximoISSS; }
+    public double getTopeISSS() { return topeISSS; }
+    public double getTasaAFP() { return tasaAFP; }
+    public double getSalarioMaximoAFP() { return salarioMaximoAFP; }
+    public double getTopeAFP() { return topeAFP; }
+    public int getNumeroTramosGravados() { return excesosRenta.length; }
+    public double getExcesoRenta(int tramo) { return excesosRenta[tramo]; }
+    public double getCuotaFijaRenta(int tramo) { return cuotasFijasRenta[tramo]; }
+    public double getTasaRenta(int tramo) { return tasasRenta[tramo]; }
+    // Copias de los arreglos de tramos, para cálculos por lotes que los toman una vez
+    public double[] getExcesosRenta() { return excesosRenta.clone(); }
+    public double[] getCuotasFijasRenta() { return cuotasFijasRenta.clone(); }
+    public double[] getTasasRenta() { return tasasRenta.clone(); }
+
+    // Getters en centavos (tasas en diezmilésimas: 750 = 7.50%)
+    public long getTasaISSSDiezmilesimas() { return tasaISSSDiezmilesimas; }
+    public long getTopeISSSCentavos() { return topeISSSCentavos; }
+    public long getTasaAFPDiezmilesimas() { return tasaAFPDiezmilesimas; }
+    public long getTopeAFPCentavos() { return topeAFPCentavos; }
+    public long getExcesoRentaCentavos(int tramo) { return excesosRentaCentavos[tramo]; }
+    public long getCuotaFijaRentaCentavos(int tramo) { return cuotasFijasRentaCentavos[tramo]; }
+    public long getTasaRentaDiezmilesimas(int tramo) { return tasasRentaDiezmilesimas[tramo]; }
+
+    @Override
+    public String toString() {
+        return "Tabla de impuestos vigente desde " + (vigenteDesde.equals(LocalDate.MIN) ? "siempre" : vigenteDesde)
+                + " (" + (excesosRenta.length + 1) + " tramos de renta)";
+    }
+
+    // =============== VALIDACIÓN ===============
+
+    private static String obligatoria(Properties propiedades, String clave) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null || valor.trim().isEmpty()) {
+            throw new IllegalArgumentException("Falta la clave " + clave + " en la tabla de impuestos");
+        }
+        return valor.trim();
+    }
+
+    private static double numero(Properties propiedades, String clave) {
+        String valor = obligatoria(propiedades, clave);
+        try {
+            return Double.parseDouble(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido en " + clave + ": " + valor, e);
+        }
+    }
+
+    private static long aTasa(double tasa, String clave) {
+        if (!(tasa >= 0 && tasa <= 1)) {
+            throw new IllegalArgumentException("La tasa " + clave + " debe estar entre 0 y 1: " + tasa);
+        }
+        return escalar(tasa, 4, clave);
+    }
+
+    private static long aCentavos(double monto, String clave) {
+        if (!(monto >= 0) || Double.isInfinite(monto)) {
+            throw new IllegalArgumentException("El monto " + clave + " debe ser un número no negativo: " + monto);
+        }
+        return escalar(monto, 2, clave);
+    }
+
+    private static long escalar(double valor, int decimales, String clave) {
+        try {
+            return BigDecimal.valueOf(valor).movePointRight(decimales).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El valor de " + clave + " admite como máximo " + decimales
+                    + " decimales: " + valor, e);
+        }
+    }
+
+    private static long aTope(long salarioMaximoCentavos, double tasa) {
+        return BigDecimal.valueOf(salarioMaximoCentavos)
+                .multiply(BigDecimal.valueOf(tasa))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
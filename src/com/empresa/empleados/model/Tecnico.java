@@ -2,9 +2,22 @@ package com.empresa.empleados.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formatter;
 import java.util.List;
 
 public class Tecnico extends Empleado {
+    // Formato de una línea del reporte
+    private static final String FORMATO_RESUMEN_TECNICO = "Técnico %s - Especialidad: %s - Turno: %s - Horas extra: %d";
+    // Datos propios del recibo, a continuación de los comunes
+    private static final PlantillaRecibo PLANTILLA_RECIBO_TECNICO = PlantillaRecibo.compilar(
+        "Especialidad: %s\n" +
+        "Horas extra: %d\n" +
+        "Turno: %s\n" +
+        "Es líder: %s\n" +
+        "Bonificación por certificaciones: $%.2f\n" +
+        "Bonificación por horas extra: $%.2f\n" +
+        "Bonificación por liderazgo: $%.2f\n");
     private static final double SUELDO_TECNICO = 800.00;
     private String especialidad;
     private int horasExtrasMes;
@@ -38,22 +51,25 @@ public class Tecnico extends Empleado {
     public int getHorasExtrasMes() { return horasExtrasMes; }
     public String getTurno() { return turno; }
     public boolean isEsLider() { return esLider; }
-    public List<String> getCertificaciones() { return certificaciones; }
+    public List<String> getCertificaciones() { return Collections.unmodifiableList(certificaciones); }
 
     // Setters
-    public void setEspecialidad(String especialidad) { this.especialidad = especialidad; }
-    public void setHorasExtrasMes(int horasExtrasMes) { this.horasExtrasMes = horasExtrasMes; }
-    public void setTurno(String turno) { this.turno = turno; }
-    public void setEsLider(boolean esLider) { this.esLider = esLider; }
+    public void setEspecialidad(String especialidad) { this.especialidad = especialidad; invalidarCache(); }
+    public void setHorasExtrasMes(int horasExtrasMes) { this.horasExtrasMes = horasExtrasMes; invalidarCache(); }
+    public void setTurno(String turno) { this.turno = turno; invalidarCache(); }
+    public void setEsLider(boolean esLider) { this.esLider = esLider; invalidarCache(); }
 
     public void agregarCertificacion(String certificacion) {
         if (!certificaciones.contains(certificacion)) {
             certificaciones.add(certificacion);
+            invalidarCache();
         }
     }
 
     public void removerCertificacion(String certificacion) {
-        certificaciones.remove(certificacion);
+        if (certificaciones.remove(certificacion)) {
+            invalidarCache();
+        }
     }
 
     // Bonifications
@@ -80,37 +96,30 @@ public class Tecnico extends Empleado {
     }
 
     public String getResumenTecnico() {
-        return String.format("Técnico %s - Especialidad: %s - Turno: %s - Horas extra: %d",
+        return String.format(FORMATO_RESUMEN_TECNICO,
+                getNombreCompleto(), especialidad, turno, horasExtrasMes);
+    }
+    
+    /**
+     * Escribe el mismo resumen que getResumenTecnico directamente en un Formatter, sin crear el String
+     * @param destino Formatter del reporte
+     */
+    public void escribirResumenTecnico(Formatter destino) {
+        destino.format(FORMATO_RESUMEN_TECNICO,
                 getNombreCompleto(), especialidad, turno, horasExtrasMes);
     }
 
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(super.toString());
-        sb.append(String.format(
-            "Especialidad: %s\n" +
-            "Horas extra: %d\n" +
-            "Turno: %s\n" +
-            "Es líder: %s\n" +
-            "Bonificación por certificaciones: $%.2f\n" +
-            "Bonificación por horas extra: $%.2f\n" +
-            "Bonificación por liderazgo: $%.2f\n",
-            especialidad,
-            horasExtrasMes,
-            turno,
-            esLider ? "Sí" : "No",
-            calcularBonificacionCertificaciones(),
-            calcularBonificacionHorasExtras(),
-            calcularBonificacionLiderazgo()
-        ));
-
-        if (!certificaciones.isEmpty()) {
-            sb.append("Certificaciones: ");
-            sb.append(String.join(", ", certificaciones));
-            sb.append("\n");
-        }
-
-        return sb.toString();
+    protected void escribirDetalleRecibo(StringBuilder destino) {
+        PLANTILLA_RECIBO_TECNICO.llenar(destino)
+            .texto(especialidad)
+            .entero(horasExtrasMes)
+            .texto(turno)
+            .texto(esLider ? "Sí" : "No")
+            .decimal(calcularBonificacionCertificaciones())
+            .decimal(calcularBonificacionHorasExtras())
+            .decimal(calcularBonificacionLiderazgo())
+            .fin();
+        escribirLista(destino, "Certificaciones: ", certificaciones);
     }
 }
\ No newline at end of file
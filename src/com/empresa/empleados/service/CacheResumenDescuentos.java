@@ -0,0 +1,164 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de resúmenes de descuentos por sueldo bruto
+ * Muchos empleados comparten el mismo sueldo bruto (cada Tecnico empieza en
+ * $800.00 y cada Gerente en $5,000.00), así que el resumen se calcula una vez
+ * y se reutiliza. Es una tabla de acceso directo: el sueldo en centavos elige
+ * una sola casilla y un resumen nuevo reemplaza al que la ocupaba, de modo
+ * que la memoria no crece más allá de la capacidad y no hay que desalojar.
+ * Un acierto exige el mismo sueldo bit a bit y la misma tabla de impuestos,
+ * así que los resúmenes son idénticos a los de CalculadoraDescuentos y un
+ * cambio de la tabla vigente invalida la caché sin avisarle. Es segura para
+ * uso concurrente sin bloqueos: ResumenDescuentos es inmutable y cada casilla
+ * se lee y se escribe de forma atómica
+ */
+public class CacheResumenDescuentos {
+
+    public static final int CAPACIDAD_PREDETERMINADA = 4096;
+    public static final int CAPACIDAD_MAXIMA = 1 << 24;
+
+    private final AtomicReferenceArray<CalculadoraDescuentos.ResumenDescuentos> casillas;
+    // Desplazamiento del hash multiplicativo para obtener log2(capacidad) bits
+    private final int desplazamiento;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * Crea una caché con la capacidad predeterminada
+     */
+    public CacheResumenDescuentos() {
+        this(CAPACIDAD_PREDETERMINADA);
+    }
+
+    /**
+     * Crea una caché con una capacidad dada (se redondea hacia arriba a potencia de 2)
+     * @param capacidad Número de sueldos distintos que puede recordar (mínimo 2)
+     */
+    public CacheResumenDescuentos(int capacidad) {
+        if (capacidad < 1 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y " + CAPACIDAD_MAXIMA);
+        }
+        // Al menos 2 casillas para que el desplazamiento sea menor que 64
+        int potencia = Math.max(Integer.highestOneBit(capacidad), 2);
+        if (potencia < capacidad) {
+            potencia <<= 1;
+        }
+        this.casillas = new AtomicReferenceArray<>(potencia);
+        this.desplazamiento = 64 - Integer.numberOfTrailingZeros(potencia);
+    }
+
+    /**
+     * Obtiene el resumen de descuentos de un sueldo con la tabla vigente
+     * @param sueldoBruto Sueldo bruto
+     * @return Resumen idéntico al de CalculadoraDescuentos.obtenerResumenDescuentos
+     */
+    public CalculadoraDescuentos.ResumenDescuentos obtener(double sueldoBruto) {
+        return obtener(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+
+    /**
+     * Obtiene el resumen de descuentos de un sueldo con una tabla dada
+     * @param sueldoBruto Sueldo bruto
+     * @param tabla Tabla de impuestos a aplicar
+     * @return Resumen idéntico al de CalculadoraDescuentos.obtenerResumenDescuentos
+     */
+    public CalculadoraDescuentos.ResumenDescuentos obtener(double sueldoBruto, TablaImpuestos tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla de impuestos no puede ser nula");
+        }
+        int casilla = casilla(sueldoBruto);
+        CalculadoraDescuentos.ResumenDescuentos resumen = casillas.get(casilla);
+        if (resumen != null && resumen.getTabla() == tabla
+                && Double.doubleToLongBits(resumen.getSueldoBruto()) == Double.doubleToLongBits(sueldoBruto)) {
+            aciertos.increment();
+            return resumen;
+        }
+        fallos.increment();
+        resumen = CalculadoraDescuentos.obtenerResumenDescuentos(sueldoBruto, tabla);
+        // Si otro hilo escribió la casilla mientras tanto, gana el último: ambos valores son correctos
+        casillas.lazySet(casilla, resumen);
+        return resumen;
+    }
+
+    /**
+     * Vacía la caché (los contadores se conservan)
+     */
+    public void limpiar() {
+        for (int i = 0; i < casillas.length(); i++) {
+            casillas.set(i, null);
+        }
+    }
+
+    /**
+     * Pone en cero los contadores de aciertos y fallos
+     */
+    public void reiniciarEstadisticas() {
+        aciertos.reset();
+        fallos.reset();
+    }
+
+    /**
+     * Obtiene los contadores de uso de la caché
+     * @return Estadísticas de aciertos y fallos
+     */
+    public EstadisticasCache obtenerEstadisticas() {
+        return new EstadisticasCache(aciertos.sum(), fallos.sum(), casillas.length());
+    }
+
+    public int getCapacidad() {
+        return casillas.length();
+    }
+
+    /**
+     * Casilla de un sueldo: hash multiplicativo (Fibonacci) de sus centavos
+     * Los centavos reparten bien los sueldos redondos, que son los que se repiten
+     */
+    private int casilla(double sueldoBruto) {
+        long centavos = Math.round(sueldoBruto * 100);
+        return (int) ((centavos * 0x9E3779B97F4A7C15L) >>> desplazamiento);
+    }
+
+    /**
+     * Clase interna con los contadores de uso de la caché
+     */
+    public static class EstadisticasCache {
+        private final long aciertos;
+        private final long fallos;
+        private final int capacidad;
+
+        public EstadisticasCache(long aciertos, long fallos, int capacidad) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.capacidad = capacidad;
+        }
+
+        // Getters
+        public long getAciertos() { return aciertos; }
+        public long getFallos() { return fallos; }
+        public int getCapacidad() { return capacidad; }
+
+        public double getTasaAciertos() {
+            long consultas = aciertos + fallos;
+            return consultas == 0 ? 0.0 : (double) aciertos / consultas;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "=== CACHÉ DE RESÚMENES DE DESCUENTOS ===\n" +
+                "Aciertos: %d\n" +
+                "Fallos: %d\n" +
+                "Tasa de aciertos: %.2f%%\n" +
+                "Capacidad: %d",
+                aciertos, fallos, getTasaAciertos() * 100, capacidad
+            );
+        }
+    }
+}
@@ -1,29 +1,36 @@
 package com.empresa.empleados.service;
 
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+
 /**
  * Clase utilitaria para el cálculo de descuentos de ley 
+ * Las tasas, topes y tramos salen de la tabla vigente de
+ * RegistroTablasImpuestos; cada método tiene una variante que recibe la tabla
+ * para calcular períodos históricos. Los cálculos por lotes toman la tabla una
+ * sola vez, así que un cambio de tabla no afecta a un lote a medio calcular
  */
 public class CalculadoraDescuentos {
     
-    // Constantes de descuentos de ley
-    public static final double TASA_ISSS = 0.075;      // 7.5%
-    public static final double TASA_AFP = 0.0775;      // 7.75%
+    // Valores de la tabla predeterminada (TablaImpuestos.PREDETERMINADA)
+    public static final double TASA_ISSS = TablaImpuestos.PREDETERMINADA.getTasaISSS();      // 7.5%
+    public static final double TASA_AFP = TablaImpuestos.PREDETERMINADA.getTasaAFP();        // 7.75%
     
     // Constantes para el cálculo de renta
-    public static final double RENTA_TRAMO_1_LIMITE = 472.00;
-    public static final double RENTA_TRAMO_2_LIMITE = 895.24;
-    public static final double RENTA_TRAMO_3_LIMITE = 2038.10;
+    public static final double RENTA_TRAMO_1_LIMITE = TablaImpuestos.PREDETERMINADA.getExcesoRenta(0);
+    public static final double RENTA_TRAMO_2_LIMITE = TablaImpuestos.PREDETERMINADA.getExcesoRenta(1);
+    public static final double RENTA_TRAMO_3_LIMITE = TablaImpuestos.PREDETERMINADA.getExcesoRenta(2);
     
-    public static final double RENTA_TRAMO_2_BASE = 42.32;
-    public static final double RENTA_TRAMO_3_BASE = 270.90;
+    public static final double RENTA_TRAMO_2_BASE = TablaImpuestos.PREDETERMINADA.getCuotaFijaRenta(1);
+    public static final double RENTA_TRAMO_3_BASE = TablaImpuestos.PREDETERMINADA.getCuotaFijaRenta(2);
     
-    public static final double RENTA_TASA_TRAMO_2 = 0.10;   // 10%
-    public static final double RENTA_TASA_TRAMO_3 = 0.20;   // 20%
-    public static final double RENTA_TASA_TRAMO_4 = 0.30;   // 30%
+    public static final double RENTA_TASA_TRAMO_2 = TablaImpuestos.PREDETERMINADA.getTasaRenta(0);   // 10%
+    public static final double RENTA_TASA_TRAMO_3 = TablaImpuestos.PREDETERMINADA.getTasaRenta(1);   // 20%
+    public static final double RENTA_TASA_TRAMO_4 = TablaImpuestos.PREDETERMINADA.getTasaRenta(2);   // 30%
     
     // Límites máximos de descuentos (topes)
-    public static final double TOPE_ISSS = 1000.00 * TASA_ISSS;  // Tope sobre $1,000
-    public static final double TOPE_AFP = 6500.00 * TASA_AFP;    // Tope sobre $6,500
+    public static final double TOPE_ISSS = TablaImpuestos.PREDETERMINADA.getTopeISSS();  // Tope sobre $1,000
+    public static final double TOPE_AFP = TablaImpuestos.PREDETERMINADA.getTopeAFP();    // Tope sobre $6,500
     
     /**
      * Constructor privado para evitar instanciación (clase utilitaria)
@@ -37,10 +44,7 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto del empleado
      */
     public static double calcularDescuentoISSS(double sueldoBruto) {
-        if (sueldoBruto <= 0) return 0.0;
-        
-        double descuento = sueldoBruto * TASA_ISSS;
-        return Math.min(descuento, TOPE_ISSS); // Aplicar tope máximo
+        return RegistroTablasImpuestos.obtenerVigente().calcularDescuentoISSS(sueldoBruto);
     }
     
     /**
@@ -48,10 +52,7 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto del empleado
      */
     public static double calcularDescuentoAFP(double sueldoBruto) {
-        if (sueldoBruto <= 0) return 0.0;
-        
-        double descuento = sueldoBruto * TASA_AFP;
-        return Math.min(descuento, TOPE_AFP); // Aplicar tope máximo
+        return RegistroTablasImpuestos.obtenerVigente().calcularDescuentoAFP(sueldoBruto);
     }
     
     /**
@@ -59,23 +60,7 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto del empleado
      */
     public static double calcularDescuentoRenta(double sueldoBruto) {
-        if (sueldoBruto <= 0) return 0.0;
-        
-        if (sueldoBruto <= RENTA_TRAMO_1_LIMITE) {
-            // Tramo 1: Hasta $472.00 - 0%
-            return 0.0;
-        } else if (sueldoBruto <= RENTA_TRAMO_2_LIMITE) {
-            // Tramo 2: De $472.01 a $895.24 - 10% sobre el exceso de $472.00
-            return (sueldoBruto - RENTA_TRAMO_1_LIMITE) * RENTA_TASA_TRAMO_2;
-        } else if (sueldoBruto <= RENTA_TRAMO_3_LIMITE) {
-            // Tramo 3: De $895.25 a $2,038.10 - $42.32 + 20% sobre el exceso de $895.24
-            return RENTA_TRAMO_2_BASE + 
-                   ((sueldoBruto - RENTA_TRAMO_2_LIMITE) * RENTA_TASA_TRAMO_3);
-        } else {
-            // Tramo 4: Más de $2,038.10 - $270.90 + 30% sobre el exceso de $2,038.10
-            return RENTA_TRAMO_3_BASE + 
-                   ((sueldoBruto - RENTA_TRAMO_3_LIMITE) * RENTA_TASA_TRAMO_4);
-        }
+        return RegistroTablasImpuestos.obtenerVigente().calcularDescuentoRenta(sueldoBruto);
     }
     
     /**
@@ -83,9 +68,18 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto del empleado
      */
     public static double calcularTotalDescuentos(double sueldoBruto) {
-        return calcularDescuentoISSS(sueldoBruto) + 
-               calcularDescuentoAFP(sueldoBruto) + 
-               calcularDescuentoRenta(sueldoBruto);
+        return calcularTotalDescuentos(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el total de descuentos de ley con una tabla dada
+     * @param sueldoBruto Sueldo bruto del empleado
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static double calcularTotalDescuentos(double sueldoBruto, TablaImpuestos tabla) {
+        return tabla.calcularDescuentoISSS(sueldoBruto) + 
+               tabla.calcularDescuentoAFP(sueldoBruto) + 
+               tabla.calcularDescuentoRenta(sueldoBruto);
     }
     
     /**
@@ -101,13 +95,142 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto del empleado
      */
     public static ResumenDescuentos obtenerResumenDescuentos(double sueldoBruto) {
-        double isss = calcularDescuentoISSS(sueldoBruto);
-        double afp = calcularDescuentoAFP(sueldoBruto);
-        double renta = calcularDescuentoRenta(sueldoBruto);
+        return obtenerResumenDescuentos(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Obtiene un resumen detallado de todos los descuentos con una tabla dada
+     * @param sueldoBruto Sueldo bruto del empleado
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static ResumenDescuentos obtenerResumenDescuentos(double sueldoBruto, TablaImpuestos tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla de impuestos no puede ser nula");
+        }
+        double isss = tabla.calcularDescuentoISSS(sueldoBruto);
+        double afp = tabla.calcularDescuentoAFP(sueldoBruto);
+        double renta = tabla.calcularDescuentoRenta(sueldoBruto);
         double total = isss + afp + renta;
         double neto = sueldoBruto - total;
         
-        return new ResumenDescuentos(sueldoBruto, isss, afp, renta, total, neto);
+        return new ResumenDescuentos(sueldoBruto, isss, afp, renta, total, neto, tabla);
+    }
+    
+    // =============== CÁLCULO POR LOTES ===============
+    
+    /**
+     * Calcula los descuentos de un lote de sueldos brutos sin crear objetos
+     * Los resultados son idénticos bit a bit a los de los métodos individuales.
+     * El ciclo usa min/max y selecciones en lugar de ramas para que el JIT
+     * pueda compilarlo con instrucciones condicionales o vectoriales
+     * @param sueldosBrutos Sueldos brutos de entrada
+     * @param isss Arreglo de salida para el descuento de ISSS
+     * @param afp Arreglo de salida para el descuento de AFP
+     * @param renta Arreglo de salida para el descuento de renta
+     * @param total Arreglo de salida para el total de descuentos
+     * @param neto Arreglo de salida para el salario neto
+     */
+    public static void calcularDescuentosLote(double[] sueldosBrutos, double[] isss, double[] afp,
+                                              double[] renta, double[] total, double[] neto) {
+        if (sueldosBrutos == null) {
+            throw new IllegalArgumentException("El arreglo de sueldos brutos no puede ser nulo");
+        }
+        calcularDescuentosLote(sueldosBrutos, 0, sueldosBrutos.length, isss, afp, renta, total, neto);
+    }
+    
+    /**
+     * Calcula los descuentos de un rango de un lote de sueldos brutos
+     * La posición i de cada arreglo de salida corresponde a sueldosBrutos[i]
+     * @param sueldosBrutos Sueldos brutos de entrada
+     * @param desde Primera posición a calcular
+     * @param cantidad Número de sueldos a calcular
+     * @param isss Arreglo de salida para el descuento de ISSS
+     * @param afp Arreglo de salida para el descuento de AFP
+     * @param renta Arreglo de salida para el descuento de renta
+     * @param total Arreglo de salida para el total de descuentos
+     * @param neto Arreglo de salida para el salario neto
+     */
+    public static void calcularDescuentosLote(double[] sueldosBrutos, int desde, int cantidad,
+                                              double[] isss, double[] afp, double[] renta,
+                                              double[] total, double[] neto) {
+        int hasta = validarLote(sueldosBrutos, desde, cantidad, isss, afp, renta, total, neto);
+        calcularDescuentosLote(RegistroTablasImpuestos.obtenerVigente(), sueldosBrutos, desde, hasta,
+                isss, afp, renta, total, neto);
+    }
+    
+    private static void calcularDescuentosLote(TablaImpuestos tabla, double[] sueldosBrutos, int desde, int hasta,
+                                               double[] isss, double[] afp, double[] renta,
+                                               double[] total, double[] neto) {
+        double tasaISSS = tabla.getTasaISSS();
+        double topeISSS = tabla.getTopeISSS();
+        double tasaAFP = tabla.getTasaAFP();
+        double topeAFP = tabla.getTopeAFP();
+        double[] excesos = tabla.getExcesosRenta();
+        double[] cuotasFijas = tabla.getCuotasFijasRenta();
+        double[] tasas = tabla.getTasasRenta();
+        for (int i = desde; i < hasta; i++) {
+            double s = sueldosBrutos[i];
+            // max(…, 0) reproduce el "si el sueldo es <= 0, el descuento es 0"
+            double descuentoISSS = Math.min(Math.max(s * tasaISSS, 0.0), topeISSS);
+            double descuentoAFP = Math.min(Math.max(s * tasaAFP, 0.0), topeAFP);
+            double descuentoRenta = TablaImpuestos.calcularDescuentoRenta(s, excesos, cuotasFijas, tasas);
+            double totalDescuentos = descuentoISSS + descuentoAFP + descuentoRenta;
+            isss[i] = descuentoISSS;
+            afp[i] = descuentoAFP;
+            renta[i] = descuentoRenta;
+            total[i] = totalDescuentos;
+            // Debe ser la última escritura (ver calcularSalariosNetosLote)
+            neto[i] = s - totalDescuentos;
+        }
+    }
+    
+    /**
+     * Calcula solo los salarios netos de un lote de sueldos brutos
+     * @param sueldosBrutos Sueldos brutos de entrada
+     * @param netos Arreglo de salida para los salarios netos
+     */
+    public static void calcularSalariosNetosLote(double[] sueldosBrutos, double[] netos) {
+        if (sueldosBrutos == null || netos == null) {
+            throw new IllegalArgumentException("Los arreglos del lote no pueden ser nulos");
+        }
+        if (netos.length < sueldosBrutos.length) {
+            throw new IllegalArgumentException("El arreglo de salida es más corto que el de sueldos brutos");
+        }
+        // netos recibe todas las salidas: el salario neto es la última que se escribe
+        calcularDescuentosLote(RegistroTablasImpuestos.obtenerVigente(), sueldosBrutos, 0, sueldosBrutos.length,
+                netos, netos, netos, netos, netos);
+    }
+    
+    /**
+     * Calcula los descuentos de todos los sueldos de un lote reutilizable
+     * @param lote Lote con los sueldos brutos ya cargados
+     */
+    public static void calcularDescuentosLote(LoteDescuentos lote) {
+        if (lote == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo");
+        }
+        lote.tabla = RegistroTablasImpuestos.obtenerVigente();
+        calcularDescuentosLote(lote.tabla, lote.sueldosBrutos, 0, lote.tamano, lote.descuentosISSS,
+                lote.descuentosAFP, lote.descuentosRenta, lote.totalesDescuentos, lote.salariosNetos);
+    }
+    
+    private static int validarLote(double[] sueldosBrutos, int desde, int cantidad, double[]... salidas) {
+        if (sueldosBrutos == null) {
+            throw new IllegalArgumentException("El arreglo de sueldos brutos no puede ser nulo");
+        }
+        if (desde < 0 || cantidad < 0 || desde > sueldosBrutos.length - cantidad) {
+            throw new IllegalArgumentException("Rango fuera del arreglo de sueldos brutos");
+        }
+        int hasta = desde + cantidad;
+        for (double[] salida : salidas) {
+            if (salida == null) {
+                throw new IllegalArgumentException("Los arreglos de salida no pueden ser nulos");
+            }
+            if (salida.length < hasta) {
+                throw new IllegalArgumentException("Un arreglo de salida es más corto que el rango a calcular");
+            }
+        }
+        return hasta;
     }
     
     /**
@@ -115,7 +238,7 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto a verificar
      */
     public static boolean esExentoDeRenta(double sueldoBruto) {
-        return sueldoBruto <= RENTA_TRAMO_1_LIMITE;
+        return obtenerTramoRenta(sueldoBruto) == 1;
     }
     
     /**
@@ -123,10 +246,75 @@ public class CalculadoraDescuentos {
      * @param sueldoBruto Sueldo bruto
      */
     public static int obtenerTramoRenta(double sueldoBruto) {
-        if (sueldoBruto <= RENTA_TRAMO_1_LIMITE) return 1;
-        if (sueldoBruto <= RENTA_TRAMO_2_LIMITE) return 2;
-        if (sueldoBruto <= RENTA_TRAMO_3_LIMITE) return 3;
-        return 4;
+        return RegistroTablasImpuestos.obtenerVigente().obtenerTramoRenta(sueldoBruto);
+    }
+    
+    /**
+     * Clase interna con los arreglos de un cálculo por lotes
+     * Se crea una vez con la capacidad necesaria y puede reutilizarse entre
+     * cálculos; los arreglos se exponen directamente para no copiarlos
+     */
+    public static class LoteDescuentos {
+        private final double[] sueldosBrutos;
+        private final double[] descuentosISSS;
+        private final double[] descuentosAFP;
+        private final double[] descuentosRenta;
+        private final double[] totalesDescuentos;
+        private final double[] salariosNetos;
+        private int tamano;
+        // Tabla con la que se hizo el último cálculo
+        private TablaImpuestos tabla = TablaImpuestos.PREDETERMINADA;
+        
+        public LoteDescuentos(int capacidad) {
+            if (capacidad < 0) {
+                throw new IllegalArgumentException("La capacidad no puede ser negativa");
+            }
+            this.sueldosBrutos = new double[capacidad];
+            this.descuentosISSS = new double[capacidad];
+            this.descuentosAFP = new double[capacidad];
+            this.descuentosRenta = new double[capacidad];
+            this.totalesDescuentos = new double[capacidad];
+            this.salariosNetos = new double[capacidad];
+        }
+        
+        /**
+         * Agrega un sueldo bruto al final del lote
+         */
+        public void agregarSueldoBruto(double sueldoBruto) {
+            if (tamano == sueldosBrutos.length) {
+                throw new IllegalStateException("El lote está lleno");
+            }
+            sueldosBrutos[tamano++] = sueldoBruto;
+        }
+        
+        /**
+         * Vacía el lote para reutilizarlo sin crear arreglos nuevos
+         */
+        public void limpiar() {
+            tamano = 0;
+        }
+        
+        /**
+         * Crea el resumen de descuentos de una posición del lote ya calculado
+         */
+        public ResumenDescuentos obtenerResumen(int indice) {
+            if (indice < 0 || indice >= tamano) {
+                throw new IndexOutOfBoundsException("Índice fuera del lote: " + indice);
+            }
+            return new ResumenDescuentos(sueldosBrutos[indice], descuentosISSS[indice], descuentosAFP[indice],
+                    descuentosRenta[indice], totalesDescuentos[indice], salariosNetos[indice], tabla);
+        }
+        
+        // Getters
+        public int getTamano() { return tamano; }
+        public TablaImpuestos getTabla() { return tabla; }
+        public int getCapacidad() { return sueldosBrutos.length; }
+        public double[] getSueldosBrutos() { return sueldosBrutos; }
+        public double[] getDescuentosISSS() { return descuentosISSS; }
+        public double[] getDescuentosAFP() { return descuentosAFP; }
+        public double[] getDescuentosRenta() { return descuentosRenta; }
+        public double[] getTotalesDescuentos() { return totalesDescuentos; }
+        public double[] getSalariosNetos() { return salariosNetos; }
     }
     
     /**
@@ -139,10 +327,22 @@ public class CalculadoraDescuentos {
         private final double descuentoRenta;
         private final double totalDescuentos;
         private final double salarioNeto;
+        private final TablaImpuestos tabla;
         
         public ResumenDescuentos(double sueldoBruto, double descuentoISSS, 
                                double descuentoAFP, double descuentoRenta, 
                                double totalDescuentos, double salarioNeto) {
+            this(sueldoBruto, descuentoISSS, descuentoAFP, descuentoRenta, totalDescuentos, salarioNeto,
+                    TablaImpuestos.PREDETERMINADA);
+        }
+        
+        public ResumenDescuentos(double sueldoBruto, double descuentoISSS, 
+                               double descuentoAFP, double descuentoRenta, 
+                               double totalDescuentos, double salarioNeto, TablaImpuestos tabla) {
+            if (tabla == null) {
+                throw new IllegalArgumentException("La tabla de impuestos no puede ser nula");
+            }
+            this.tabla = tabla;
             this.sueldoBruto = sueldoBruto;
             this.descuentoISSS = descuentoISSS;
             this.descuentoAFP = descuentoAFP;
@@ -158,6 +358,7 @@ public class CalculadoraDescuentos {
         public double getDescuentoRenta() { return descuentoRenta; }
         public double getTotalDescuentos() { return totalDescuentos; }
         public double getSalarioNeto() { return salarioNeto; }
+        public TablaImpuestos getTabla() { return tabla; }
         
         @Override
         public String toString() {
@@ -169,9 +370,9 @@ public class CalculadoraDescuentos {
                 "Total Descuentos: $%.2f\n" +
                 "Salario Neto: $%.2f",
                 sueldoBruto,
-                TASA_ISSS * 100,
+                tabla.getTasaISSS() * 100,
                 descuentoISSS,
-                TASA_AFP * 100,
+                tabla.getTasaAFP() * 100,
                 descuentoAFP,
                 descuentoRenta,
                 totalDescuentos,
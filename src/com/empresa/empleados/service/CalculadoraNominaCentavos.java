@@ -0,0 +1,257 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+import com.empresa.empleados.utils.Centavos;
+
+import java.util.List;
+
+/**
+ * Cálculo de descuentos de ley en aritmética de punto fijo (long en centavos)
+ * Los cálculos por sueldo aplican las mismas reglas que CalculadoraDescuentos
+ * (topes de ISSS y AFP y renta por tramos, tomados de la tabla de impuestos
+ * vigente). Los totales de una nómina (calcularTotales) aplican en cambio las
+ * reglas de Empleado, sin topes de ISSS ni AFP, para coincidir con los demás
+ * totales de NominaServices. Cada descuento se redondea a centavos con HALF_UP
+ * en el momento de calcularlo. El total de descuentos es la suma exacta de los
+ * tres descuentos redondeados y el neto es bruto - total, así que todos los
+ * totales de nómina cuadran al centavo. Las operaciones trabajan con primitivos
+ * y no crean objetos
+ */
+public class CalculadoraNominaCentavos {
+    
+    // Mayor sueldo que puede multiplicarse por una tasa sin desbordar un long
+    public static final long SUELDO_MAXIMO = Long.MAX_VALUE / 10_000;
+    
+    /**
+     * Constructor privado para evitar instanciación (clase utilitaria)
+     */
+    private CalculadoraNominaCentavos() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+    
+    /**
+     * Calcula el descuento de ISSS con tope
+     * @param sueldoBruto Sueldo bruto en centavos
+     */
+    public static long calcularDescuentoISSS(long sueldoBruto) {
+        return calcularDescuentoISSS(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el descuento de AFP con tope
+     * @param sueldoBruto Sueldo bruto en centavos
+     */
+    public static long calcularDescuentoAFP(long sueldoBruto) {
+        return calcularDescuentoAFP(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el descuento de renta según la tabla progresiva
+     * @param sueldoBruto Sueldo bruto en centavos
+     */
+    public static long calcularDescuentoRenta(long sueldoBruto) {
+        return calcularDescuentoRenta(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el total de descuentos (suma exacta de los descuentos redondeados)
+     * @param sueldoBruto Sueldo bruto en centavos
+     */
+    public static long calcularTotalDescuentos(long sueldoBruto) {
+        return calcularTotalDescuentos(sueldoBruto, RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Calcula el salario neto
+     * @param sueldoBruto Sueldo bruto en centavos
+     */
+    public static long calcularSalarioNeto(long sueldoBruto) {
+        return sueldoBruto - calcularTotalDescuentos(sueldoBruto);
+    }
+    
+    /**
+     * Calcula el descuento de ISSS con tope según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularDescuentoISSS(long sueldoBruto, TablaImpuestos tabla) {
+        if (sueldoBruto <= 0) return 0;
+        return Math.min(porcentaje(sueldoBruto, tabla.getTasaISSSDiezmilesimas()), tabla.getTopeISSSCentavos());
+    }
+    
+    /**
+     * Calcula el descuento de AFP con tope según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularDescuentoAFP(long sueldoBruto, TablaImpuestos tabla) {
+        if (sueldoBruto <= 0) return 0;
+        return Math.min(porcentaje(sueldoBruto, tabla.getTasaAFPDiezmilesimas()), tabla.getTopeAFPCentavos());
+    }
+    
+    /**
+     * Calcula el descuento de ISSS de un empleado (sin tope, como
+     * Empleado.calcularDescuentoISSS) según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularDescuentoISSSEmpleado(long sueldoBruto, TablaImpuestos tabla) {
+        if (sueldoBruto <= 0) return 0;
+        return porcentaje(sueldoBruto, tabla.getTasaISSSDiezmilesimas());
+    }
+    
+    /**
+     * Calcula el descuento de AFP de un empleado (sin tope, como
+     * Empleado.calcularDescuentoAFP) según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularDescuentoAFPEmpleado(long sueldoBruto, TablaImpuestos tabla) {
+        if (sueldoBruto <= 0) return 0;
+        return porcentaje(sueldoBruto, tabla.getTasaAFPDiezmilesimas());
+    }
+    
+    /**
+     * Calcula el descuento de renta según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularDescuentoRenta(long sueldoBruto, TablaImpuestos tabla) {
+        int k = tabla.obtenerTramoRenta(sueldoBruto) - 2;
+        if (k < 0) {
+            return 0;
+        }
+        return tabla.getCuotaFijaRentaCentavos(k)
+                + porcentaje(sueldoBruto - tabla.getExcesoRentaCentavos(k), tabla.getTasaRentaDiezmilesimas(k));
+    }
+    
+    /**
+     * Calcula el total de descuentos según una tabla dada
+     * @param sueldoBruto Sueldo bruto en centavos
+     * @param tabla Tabla de impuestos a aplicar
+     */
+    public static long calcularTotalDescuentos(long sueldoBruto, TablaImpuestos tabla) {
+        return calcularDescuentoISSS(sueldoBruto, tabla) + calcularDescuentoAFP(sueldoBruto, tabla)
+                + calcularDescuentoRenta(sueldoBruto, tabla);
+    }
+    
+    /**
+     * Calcula los descuentos de un lote de sueldos sin crear objetos
+     * La posición i de cada arreglo de salida corresponde a sueldosBrutos[i]
+     * @param sueldosBrutos Sueldos brutos en centavos
+     * @param isss Arreglo de salida para el descuento de ISSS
+     * @param afp Arreglo de salida para el descuento de AFP
+     * @param renta Arreglo de salida para el descuento de renta
+     * @param total Arreglo de salida para el total de descuentos
+     * @param neto Arreglo de salida para el salario neto
+     */
+    public static void calcularDescuentosLote(long[] sueldosBrutos, long[] isss, long[] afp,
+                                              long[] renta, long[] total, long[] neto) {
+        if (sueldosBrutos == null || isss == null || afp == null || renta == null || total == null || neto == null) {
+            throw new IllegalArgumentException("Los arreglos del lote no pueden ser nulos");
+        }
+        int n = sueldosBrutos.length;
+        if (isss.length < n || afp.length < n || renta.length < n || total.length < n || neto.length < n) {
+            throw new IllegalArgumentException("Un arreglo de salida es más corto que el de sueldos brutos");
+        }
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        for (int i = 0; i < n; i++) {
+            long s = sueldosBrutos[i];
+            long descuentoISSS = calcularDescuentoISSS(s, tabla);
+            long descuentoAFP = calcularDescuentoAFP(s, tabla);
+            long descuentoRenta = calcularDescuentoRenta(s, tabla);
+            long totalDescuentos = descuentoISSS + descuentoAFP + descuentoRenta;
+            isss[i] = descuentoISSS;
+            afp[i] = descuentoAFP;
+            renta[i] = descuentoRenta;
+            total[i] = totalDescuentos;
+            neto[i] = s - totalDescuentos;
+        }
+    }
+    
+    /**
+     * Obtiene el sueldo bruto (con bonificaciones) de un empleado en centavos
+     * @param empleado Empleado
+     */
+    public static long obtenerSueldoBruto(Empleado empleado) {
+        return Centavos.desdeDouble(empleado.calcularSueldoConBonificaciones());
+    }
+    
+    /**
+     * Calcula los totales de una nómina al centavo con las reglas de Empleado
+     * (ISSS y AFP sin tope), igual que los totales en double de la nómina
+     * @param empleados Empleados de la nómina
+     * @return Totales en centavos
+     * @throws ArithmeticException si algún total no cabe en un long
+     */
+    public static TotalesCentavos calcularTotales(List<Empleado> empleados) {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        long bruto = 0;
+        long isss = 0;
+        long afp = 0;
+        long renta = 0;
+        for (Empleado empleado : empleados) {
+            long sueldoBruto = obtenerSueldoBruto(empleado);
+            bruto = Math.addExact(bruto, sueldoBruto);
+            isss = Math.addExact(isss, calcularDescuentoISSSEmpleado(sueldoBruto, tabla));
+            afp = Math.addExact(afp, calcularDescuentoAFPEmpleado(sueldoBruto, tabla));
+            renta = Math.addExact(renta, calcularDescuentoRenta(sueldoBruto, tabla));
+        }
+        return new TotalesCentavos(empleados.size(), bruto, isss, afp, renta);
+    }
+    
+    /**
+     * Aplica una tasa a un monto no negativo, redondeando HALF_UP
+     */
+    private static long porcentaje(long centavos, long tasaDiezmilesimas) {
+        if (centavos > SUELDO_MAXIMO) {
+            throw new IllegalArgumentException("Sueldo fuera del rango soportado: " + centavos + " centavos");
+        }
+        return (centavos * tasaDiezmilesimas + 5_000) / 10_000;
+    }
+    
+    /**
+     * Clase interna con los totales de una nómina en centavos
+     */
+    public static class TotalesCentavos {
+        private final int totalEmpleados;
+        private final long totalBruto;
+        private final long totalISSS;
+        private final long totalAFP;
+        private final long totalRenta;
+        
+        public TotalesCentavos(int totalEmpleados, long totalBruto, long totalISSS, long totalAFP, long totalRenta) {
+            this.totalEmpleados = totalEmpleados;
+            this.totalBruto = totalBruto;
+            this.totalISSS = totalISSS;
+            this.totalAFP = totalAFP;
+            this.totalRenta = totalRenta;
+        }
+        
+        // Getters
+        public int getTotalEmpleados() { return totalEmpleados; }
+        public long getTotalBruto() { return totalBruto; }
+        public long getTotalISSS() { return totalISSS; }
+        public long getTotalAFP() { return totalAFP; }
+        public long getTotalRenta() { return totalRenta; }
+        public long getTotalDescuentos() { return totalISSS + totalAFP + totalRenta; }
+        public long getTotalNeto() { return totalBruto - getTotalDescuentos(); }
+        
+        @Override
+        public String toString() {
+            return "=== TOTALES DE NÓMINA (CENTAVOS EXACTOS) ===\n" +
+                   "Total de empleados: " + totalEmpleados + "\n" +
+                   "Sueldo bruto total: $" + Centavos.formatear(totalBruto) + "\n" +
+                   "ISSS: $" + Centavos.formatear(totalISSS) + "\n" +
+                   "AFP: $" + Centavos.formatear(totalAFP) + "\n" +
+                   "Renta: $" + Centavos.formatear(totalRenta) + "\n" +
+                   "Descuentos totales: $" + Centavos.formatear(getTotalDescuentos()) + "\n" +
+                   "Salario neto total: $" + Centavos.formatear(getTotalNeto());
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.PlantillaRecibo;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+import com.empresa.empleados.utils.SumaCompensada;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Corrida de nómina en etapas encadenadas por colas acotadas
+ * Cada etapa corre en su propio hilo y pasa lotes de empleados a la siguiente:
+ * instantánea, bonificaciones, descuentos, agregación y emisión de recibos.
+ * Las colas tienen capacidad fija, así que una etapa rápida se bloquea cuando
+ * la siguiente no da abasto (contrapresión) y la memoria en vuelo queda
+ * acotada a capacidadCola lotes por cola. Las cifras de cada empleado se
+ * calculan una sola vez y viajan en el lote hasta la emisión; como cada etapa
+ * procesa los lotes en orden, los totales son idénticos en cada corrida
+ */
+public class CorridaNomina {
+
+    public static final int CAPACIDAD_COLA_PREDETERMINADA = 16;
+    public static final int TAMANO_LOTE_PREDETERMINADO = 1024;
+
+    // Una línea del recibo emitido por la corrida
+    private static final PlantillaRecibo PLANTILLA_LINEA = PlantillaRecibo.compilar(
+        "%s (%s) - Bruto: $%.2f - Descuentos: $%.2f - Neto: $%.2f\n");
+
+    // Marca de fin de datos que cada etapa reenvía a la siguiente
+    private static final Lote FIN = new Lote(0);
+
+    private final int capacidadCola;
+    private final int tamanoLote;
+    private final ThreadFactory fabricaHilos;
+
+    /**
+     * Constructor con la capacidad de cola y el tamaño de lote predeterminados
+     */
+    public CorridaNomina() {
+        this(CAPACIDAD_COLA_PREDETERMINADA, TAMANO_LOTE_PREDETERMINADO);
+    }
+
+    /**
+     * Constructor que corre las etapas en hilos daemon propios
+     * @param capacidadCola Lotes que caben en cada cola entre etapas
+     * @param tamanoLote Empleados por lote
+     */
+    public CorridaNomina(int capacidadCola, int tamanoLote) {
+        this(capacidadCola, tamanoLote, tarea -> {
+            Thread hilo = new Thread(tarea);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Constructor con una fábrica de hilos propia para las etapas
+     * @param capacidadCola Lotes que caben en cada cola entre etapas
+     * @param tamanoLote Empleados por lote
+     * @param fabricaHilos Fábrica de los hilos de las etapas
+     */
+    public CorridaNomina(int capacidadCola, int tamanoLote, ThreadFactory fabricaHilos) {
+        if (capacidadCola < 1) {
+            throw new IllegalArgumentException("La capacidad de las colas debe ser mayor que cero");
+        }
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que cero");
+        }
+        if (fabricaHilos == null) {
+            throw new IllegalArgumentException("La fábrica de hilos no puede ser nula");
+        }
+        this.capacidadCola = capacidadCola;
+        this.tamanoLote = tamanoLote;
+        this.fabricaHilos = fabricaHilos;
+    }
+
+    /**
+     * Ejecuta la corrida sin escribir recibos (la etapa de emisión solo los cuenta)
+     * @param empleados Empleados de la nómina (sin nulos)
+     * @return Totales de la corrida y estadísticas de cada etapa
+     */
+    public ResultadoCorrida ejecutar(List<Empleado> empleados) {
+        try {
+            return ejecutar(empleados, null);
+        } catch (IOException e) {
+            // Sin destino no hay escritura que pueda fallar
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Ejecuta la corrida y escribe una línea de recibo por empleado
+     * El destino se vacía (flush) al terminar, pero no se cierra
+     * @param empleados Empleados de la nómina (sin nulos)
+     * @param destino Destino de los recibos, o null para no escribirlos
+     * @return Totales de la corrida y estadísticas de cada etapa
+     * @throws IOException si falla la escritura de los recibos
+     */
+    public ResultadoCorrida ejecutar(List<Empleado> empleados, Writer destino) throws IOException {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        Empleado[] instantanea = empleados.toArray(new Empleado[0]);
+        // Toda la corrida usa la misma tabla, aunque cambie la vigente mientras tanto
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+
+        ArrayBlockingQueue<Lote> aBonificaciones = new ArrayBlockingQueue<>(capacidadCola);
+        ArrayBlockingQueue<Lote> aDescuentos = new ArrayBlockingQueue<>(capacidadCola);
+        ArrayBlockingQueue<Lote> aAgregacion = new ArrayBlockingQueue<>(capacidadCola);
+        ArrayBlockingQueue<Lote> aEmision = new ArrayBlockingQueue<>(capacidadCola);
+
+        Control control = new Control();
+        EtapaAgregacion agregacion = new EtapaAgregacion(control, aAgregacion, aEmision);
+        EtapaEmision emision = new EtapaEmision(control, aEmision, destino);
+        Etapa[] etapas = {
+            new EtapaInstantanea(control, instantanea, tamanoLote, aBonificaciones),
+            new EtapaBonificaciones(control, aBonificaciones, aDescuentos),
+            new EtapaDescuentos(control, aDescuentos, aAgregacion, tabla),
+            agregacion,
+            emision
+        };
+
+        long inicio = System.nanoTime();
+        Thread[] hilos = new Thread[etapas.length];
+        for (int i = 0; i < etapas.length; i++) {
+            hilos[i] = fabricaHilos.newThread(etapas[i]);
+            if (hilos[i] == null) {
+                throw new IllegalStateException("La fábrica no creó el hilo de la etapa " + etapas[i].nombre);
+            }
+            hilos[i].setName("corrida-nomina-" + etapas[i].nombre);
+        }
+        control.hilos = hilos;
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        try {
+            for (Thread hilo : hilos) {
+                hilo.join();
+            }
+        } catch (InterruptedException e) {
+            control.detener();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La corrida de nómina fue interrumpida", e);
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        Throwable error = control.error;
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("Falló una etapa de la corrida de nómina", error);
+        }
+
+        List<EstadisticasEtapa> estadisticas = new ArrayList<>(etapas.length);
+        for (Etapa etapa : etapas) {
+            estadisticas.add(etapa.obtenerEstadisticas());
+        }
+        Map<String, Double> costoPorTipo = new HashMap<>();
+        for (Map.Entry<String, SumaCompensada> entrada : agregacion.netoPorTipo.entrySet()) {
+            costoPorTipo.put(entrada.getKey(), entrada.getValue().obtener());
+        }
+        MotorNominaParalelo.TotalesNomina totales = new MotorNominaParalelo.TotalesNomina(
+            instantanea.length, agregacion.bruto.obtener(), agregacion.descuentos.obtener(), agregacion.neto.obtener());
+        return new ResultadoCorrida(totales, costoPorTipo, emision.recibos, duracion, estadisticas);
+    }
+
+    public int getCapacidadCola() { return capacidadCola; }
+    public int getTamanoLote() { return tamanoLote; }
+
+    /**
+     * Estado compartido por las etapas de una corrida
+     * La primera etapa que falla guarda su error e interrumpe a las demás, que
+     * pueden estar bloqueadas esperando o entregando un lote
+     */
+    private static final class Control {
+        private volatile Thread[] hilos;
+        private volatile Throwable error;
+
+        synchronized void fallar(Throwable e) {
+            if (error == null) {
+                error = e;
+                detener();
+            }
+        }
+
+        void detener() {
+            Thread[] actuales = hilos;
+            if (actuales != null) {
+                for (Thread hilo : actuales) {
+                    if (hilo != Thread.currentThread()) {
+                        hilo.interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lote de empleados con sus cifras, en arreglos paralelos
+     * Cada etapa llena sus columnas y lo pasa a la siguiente; ningún lote está
+     * en dos etapas a la vez, así que no necesita sincronización propia
+     */
+    private static final class Lote {
+        final Empleado[] empleados;
+        final String[] tipos;
+        final double[] sueldosBase;
+        final double[] sueldosBrutos;
+        final double[] descuentosISSS;
+        final double[] descuentosAFP;
+        final double[] descuentosRenta;
+        final double[] totalesDescuentos;
+        final double[] salariosNetos;
+        int cantidad;
+
+        Lote(int capacidad) {
+            empleados = new Empleado[capacidad];
+            tipos = new String[capacidad];
+            sueldosBase = new double[capacidad];
+            sueldosBrutos = new double[capacidad];
+            descuentosISSS = new double[capacidad];
+            descuentosAFP = new double[capacidad];
+            descuentosRenta = new double[capacidad];
+            totalesDescuentos = new double[capacidad];
+            salariosNetos = new double[capacidad];
+        }
+    }
+
+    /**
+     * Etapa de la corrida: toma lotes de su cola de entrada, los procesa y los
+     * deja en su cola de salida, midiendo el tiempo de trabajo, de espera y de
+     * bloqueo por contrapresión
+     */
+    private abstract static class Etapa implements Runnable {
+        final String nombre;
+        final Control control;
+        private final ArrayBlockingQueue<Lote> entrada;
+        private final ArrayBlockingQueue<Lote> salida;
+
+        private long empleados;
+        private long lotes;
+        private long nanosActivo;
+        private long nanosEsperaEntrada;
+        private long nanosBloqueoSalida;
+        private long nanosTotales;
+        private long sumaProfundidad;
+        private int profundidadMaxima;
+
+        Etapa(String nombre, Control control, ArrayBlockingQueue<Lote> entrada, ArrayBlockingQueue<Lote> salida) {
+            this.nombre = nombre;
+            this.control = control;
+            this.entrada = entrada;
+            this.salida = salida;
+        }
+
+        @Override
+        public final void run() {
+            long inicio = System.nanoTime();
+            try {
+                if (entrada == null) {
+                    producir();
+                } else {
+                    while (true) {
+                        long espera = System.nanoTime();
+                        Lote lote = entrada.take();
+                        long desde = System.nanoTime();
+                        nanosEsperaEntrada += desde - espera;
+                        if (lote == FIN) {
+                            break;
+                        }
+                        procesar(lote);
+                        nanosActivo += System.nanoTime() - desde;
+                        contar(lote);
+                        entregar(lote);
+                    }
+                }
+                long desde = System.nanoTime();
+                terminar();
+                nanosActivo += System.nanoTime() - desde;
+                entregar(FIN);
+            } catch (Throwable e) {
+                // Si otra etapa falló antes, esta fue interrumpida y se informa el primer error
+                control.fallar(e);
+            } finally {
+                nanosTotales = System.nanoTime() - inicio;
+            }
+        }
+
+        /**
+         * Genera los lotes (solo la primera etapa, que no tiene cola de entrada)
+         */
+        void producir() throws InterruptedException {
+        }
+
+        /**
+         * Procesa un lote recibido de la etapa anterior
+         */
+        void procesar(Lote lote) throws IOException {
+        }
+
+        /**
+         * Se llama una vez cuando ya no quedan lotes
+         */
+        void terminar() throws IOException {
+        }
+
+        final void contar(Lote lote) {
+            empleados += lote.cantidad;
+            lotes++;
+        }
+
+        final void medirActivo(long nanos) {
+            nanosActivo += nanos;
+        }
+
+        final void entregar(Lote lote) throws InterruptedException {
+            if (salida == null) {
+                return;
+            }
+            int profundidad = salida.size();
+            sumaProfundidad += profundidad;
+            profundidadMaxima = Math.max(profundidadMaxima, profundidad);
+            if (!salida.offer(lote)) {
+                // Cola llena: la etapa espera a que la siguiente avance
+                long desde = System.nanoTime();
+                salida.put(lote);
+                nanosBloqueoSalida += System.nanoTime() - desde;
+            }
+        }
+
+        // Se llama después de join, que publica los contadores del hilo de la etapa
+        EstadisticasEtapa obtenerEstadisticas() {
+            // El FIN también pasa por la cola de salida, pero no es un lote de datos
+            long entregas = salida == null ? 0 : lotes + 1;
+            double profundidadPromedio = entregas == 0 ? 0.0 : (double) sumaProfundidad / entregas;
+            return new EstadisticasEtapa(nombre, empleados, lotes, nanosActivo, nanosEsperaEntrada,
+                nanosBloqueoSalida, nanosTotales, profundidadMaxima, profundidadPromedio,
+                salida == null ? 0 : salida.size() + salida.remainingCapacity());
+        }
+    }
+
+    /**
+     * Toma la instantánea: copia de la lista de empleados y sueldo base y tipo
+     * de cada uno al momento de armar el lote
+     */
+    private static final class EtapaInstantanea extends Etapa {
+        private final Empleado[] instantanea;
+        private final int tamanoLote;
+
+        EtapaInstantanea(Control control, Empleado[] instantanea, int tamanoLote, ArrayBlockingQueue<Lote> salida) {
+            super("instantanea", control, null, salida);
+            this.instantanea = instantanea;
+            this.tamanoLote = tamanoLote;
+        }
+
+        @Override
+        void producir() throws InterruptedException {
+            for (int desde = 0; desde < instantanea.length; desde += tamanoLote) {
+                long inicio = System.nanoTime();
+                int cantidad = Math.min(tamanoLote, instantanea.length - desde);
+                Lote lote = new Lote(cantidad);
+                for (int i = 0; i < cantidad; i++) {
+                    Empleado empleado = instantanea[desde + i];
+                    lote.empleados[i] = empleado;
+                    lote.tipos[i] = empleado.getTipoEmpleado();
+                    lote.sueldosBase[i] = empleado.getSueldoBase();
+                }
+                lote.cantidad = cantidad;
+                medirActivo(System.nanoTime() - inicio);
+                contar(lote);
+                entregar(lote);
+            }
+        }
+    }
+
+    private static final class EtapaBonificaciones extends Etapa {
+        EtapaBonificaciones(Control control, ArrayBlockingQueue<Lote> entrada, ArrayBlockingQueue<Lote> salida) {
+            super("bonificaciones", control, entrada, salida);
+        }
+
+        @Override
+        void procesar(Lote lote) {
+            for (int i = 0; i < lote.cantidad; i++) {
+                lote.sueldosBrutos[i] = lote.sueldosBase[i] + lote.empleados[i].calcularBonificaciones();
+            }
+        }
+    }
+
+    private static final class EtapaDescuentos extends Etapa {
+        private final TablaImpuestos tabla;
+
+        EtapaDescuentos(Control control, ArrayBlockingQueue<Lote> entrada, ArrayBlockingQueue<Lote> salida,
+                TablaImpuestos tabla) {
+            super("descuentos", control, entrada, salida);
+            this.tabla = tabla;
+        }
+
+        @Override
+        void procesar(Lote lote) {
+            // Mismas fórmulas y orden de suma que Empleado.calcularTotalDescuentos:
+            // ISSS y AFP sin topes, así que el total es idéntico al del empleado
+            double tasaISSS = tabla.getTasaISSS();
+            double tasaAFP = tabla.getTasaAFP();
+            for (int i = 0; i < lote.cantidad; i++) {
+                double bruto = lote.sueldosBrutos[i];
+                lote.descuentosISSS[i] = bruto * tasaISSS;
+                lote.descuentosAFP[i] = bruto * tasaAFP;
+                lote.descuentosRenta[i] = tabla.calcularDescuentoRenta(bruto);
+                double total = lote.descuentosISSS[i] + lote.descuentosAFP[i] + lote.descuentosRenta[i];
+                lote.totalesDescuentos[i] = total;
+                lote.salariosNetos[i] = bruto - total;
+            }
+        }
+    }
+
+    private static final class EtapaAgregacion extends Etapa {
+        private final SumaCompensada bruto = new SumaCompensada();
+        private final SumaCompensada descuentos = new SumaCompensada();
+        private final SumaCompensada neto = new SumaCompensada();
+        private final Map<String, SumaCompensada> netoPorTipo = new HashMap<>();
+
+        EtapaAgregacion(Control control, ArrayBlockingQueue<Lote> entrada, ArrayBlockingQueue<Lote> salida) {
+            super("agregacion", control, entrada, salida);
+        }
+
+        @Override
+        void procesar(Lote lote) {
+            for (int i = 0; i < lote.cantidad; i++) {
+                bruto.agregar(lote.sueldosBrutos[i]);
+                descuentos.agregar(lote.totalesDescuentos[i]);
+                neto.agregar(lote.salariosNetos[i]);
+                netoPorTipo.computeIfAbsent(lote.tipos[i], t -> new SumaCompensada()).agregar(lote.salariosNetos[i]);
+            }
+        }
+    }
+
+    private static final class EtapaEmision extends Etapa {
+        private final Writer destino;
+        private final StringBuilder linea = new StringBuilder(128);
+        private final char[] bloque;
+        private long recibos;
+
+        EtapaEmision(Control control, ArrayBlockingQueue<Lote> entrada, Writer destino) {
+            super("emision", control, entrada, null);
+            this.destino = destino == null || destino instanceof BufferedWriter
+                ? destino : new BufferedWriter(destino, NominaServices.TAMANO_BUFFER_REPORTE);
+            this.bloque = destino == null ? null : new char[NominaServices.TAMANO_BUFFER_REPORTE];
+        }
+
+        @Override
+        void procesar(Lote lote) throws IOException {
+            if (destino != null) {
+                for (int i = 0; i < lote.cantidad; i++) {
+                    linea.setLength(0);
+                    PLANTILLA_LINEA.llenar(linea)
+                        .texto(lote.empleados[i].getNombreCompleto())
+                        .texto(lote.tipos[i])
+                        .decimal(lote.sueldosBrutos[i])
+                        .decimal(lote.totalesDescuentos[i])
+                        .decimal(lote.salariosNetos[i])
+                        .fin();
+                    NominaServices.copiar(linea, bloque, destino);
+                }
+            }
+            recibos += lote.cantidad;
+        }
+
+        @Override
+        void terminar() throws IOException {
+            if (destino != null) {
+                destino.flush();
+            }
+        }
+    }
+
+    /**
+     * Clase interna con las mediciones de una etapa
+     * El rendimiento se calcula sobre el tiempo de trabajo de la etapa; la que
+     * tenga el menor es el cuello de botella de la corrida
+     */
+    public static class EstadisticasEtapa {
+        private final String nombre;
+        private final long empleados;
+        private final long lotes;
+        private final long nanosActivo;
+        private final long nanosEsperaEntrada;
+        private final long nanosBloqueoSalida;
+        private final long nanosTotales;
+        private final int profundidadMaximaCola;
+        private final double profundidadPromedioCola;
+        private final int capacidadCola;
+
+        public EstadisticasEtapa(String nombre, long empleados, long lotes, long nanosActivo,
+                long nanosEsperaEntrada, long nanosBloqueoSalida, long nanosTotales,
+                int profundidadMaximaCola, double profundidadPromedioCola, int capacidadCola) {
+            this.nombre = nombre;
+            this.empleados = empleados;
+            this.lotes = lotes;
+            this.nanosActivo = nanosActivo;
+            this.nanosEsperaEntrada = nanosEsperaEntrada;
+            this.nanosBloqueoSalida = nanosBloqueoSalida;
+            this.nanosTotales = nanosTotales;
+            this.profundidadMaximaCola = profundidadMaximaCola;
+            this.profundidadPromedioCola = profundidadPromedioCola;
+            this.capacidadCola = capacidadCola;
+        }
+
+        // Getters
+        public String getNombre() { return nombre; }
+        public long getEmpleados() { return empleados; }
+        public long getLotes() { return lotes; }
+        public long getNanosActivo() { return nanosActivo; }
+        public long getNanosEsperaEntrada() { return nanosEsperaEntrada; }
+        public long getNanosBloqueoSalida() { return nanosBloqueoSalida; }
+        public long getNanosTotales() { return nanosTotales; }
+        public int getProfundidadMaximaCola() { return profundidadMaximaCola; }
+        public double getProfundidadPromedioCola() { return profundidadPromedioCola; }
+        /** Capacidad de la cola de salida (0 en la última etapa, que no tiene) */
+        public int getCapacidadCola() { return capacidadCola; }
+
+        /**
+         * Empleados por segundo de trabajo de la etapa
+         */
+        public double getEmpleadosPorSegundo() {
+            return nanosActivo == 0 ? 0.0 : empleados * 1e9 / nanosActivo;
+        }
+
+        /**
+         * Fracción del tiempo de la etapa dedicada a trabajar (no a esperar)
+         */
+        public double getUtilizacion() {
+            return nanosTotales == 0 ? 0.0 : (double) nanosActivo / nanosTotales;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s: %d empleados en %d lotes - %.0f empleados/s - utilización %.1f%% - " +
+                "espera de entrada %.1f ms - bloqueo por cola llena %.1f ms - cola %d/%d máx (promedio %.1f)",
+                nombre, empleados, lotes, getEmpleadosPorSegundo(), getUtilizacion() * 100,
+                nanosEsperaEntrada / 1e6, nanosBloqueoSalida / 1e6,
+                profundidadMaximaCola, capacidadCola, profundidadPromedioCola
+            );
+        }
+    }
+
+    /**
+     * Clase interna con el resultado de una corrida
+     */
+    public static class ResultadoCorrida {
+        private final MotorNominaParalelo.TotalesNomina totales;
+        private final Map<String, Double> costoPorTipo;
+        private final long recibosEmitidos;
+        private final long nanosDuracion;
+        private final List<EstadisticasEtapa> etapas;
+
+        public ResultadoCorrida(MotorNominaParalelo.TotalesNomina totales, Map<String, Double> costoPorTipo,
+                long recibosEmitidos, long nanosDuracion, List<EstadisticasEtapa> etapas) {
+            this.totales = totales;
+            this.costoPorTipo = Collections.unmodifiableMap(costoPorTipo);
+            this.recibosEmitidos = recibosEmitidos;
+            this.nanosDuracion = nanosDuracion;
+            this.etapas = Collections.unmodifiableList(etapas);
+        }
+
+        // Getters
+        public MotorNominaParalelo.TotalesNomina getTotales() { return totales; }
+        public Map<String, Double> getCostoPorTipo() { return costoPorTipo; }
+        public long getRecibosEmitidos() { return recibosEmitidos; }
+        public long getNanosDuracion() { return nanosDuracion; }
+        public List<EstadisticasEtapa> getEtapas() { return etapas; }
+
+        /**
+         * Empleados por segundo de la corrida completa
+         */
+        public double getEmpleadosPorSegundo() {
+            return nanosDuracion == 0 ? 0.0 : totales.getTotalEmpleados() * 1e9 / nanosDuracion;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(
+                "=== CORRIDA DE NÓMINA ===\n" +
+                "Total de empleados: %d\n" +
+                "Sueldo bruto total: $%.2f\n" +
+                "Descuentos totales: $%.2f\n" +
+                "Salario neto total: $%.2f\n" +
+                "Recibos emitidos: %d\n" +
+                "Duración: %.1f ms (%.0f empleados/s)\n" +
+                "Etapas:",
+                totales.getTotalEmpleados(), totales.getTotalBruto(), totales.getTotalDescuentos(),
+                totales.getTotalNeto(), recibosEmitidos, nanosDuracion / 1e6, getEmpleadosPorSegundo()
+            ));
+            for (EstadisticasEtapa etapa : etapas) {
+                sb.append("\n  ").append(etapa);
+            }
+            return sb.toString();
+        }
+    }
+}
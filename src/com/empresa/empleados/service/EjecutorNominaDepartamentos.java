@@ -0,0 +1,481 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.Gerente;
+import com.empresa.empleados.model.JefeArea;
+import com.empresa.empleados.model.PlantillaRecibo;
+import com.empresa.empleados.model.Supervisor;
+import com.empresa.empleados.utils.SumaCompensada;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta la nómina de cada departamento como una tarea independiente
+ * El cálculo de las cifras corre en un pool acotado del tamaño de los núcleos;
+ * la escritura de recibos y de la auditoría, que pasa casi todo el tiempo
+ * esperando al disco, corre en hilos virtuales cuando la JVM los tiene (Java 21
+ * o superior). En JVM anteriores se usa un pool acotado de hilos de plataforma.
+ * Las tareas de una ejecución forman un alcance: si una falla se cancelan las
+ * demás, y la ejecución no termina hasta que todas terminaron o se cancelaron
+ */
+public class EjecutorNominaDepartamentos implements AutoCloseable {
+
+    public static final String SIN_DEPARTAMENTO = "Sin departamento";
+
+    // Hilos de plataforma para E/S cuando no hay hilos virtuales
+    public static final int HILOS_ES_RESPALDO = 64;
+
+    // Línea de auditoría: departamento;id;nombre;bruto;descuentos;neto
+    private static final PlantillaRecibo PLANTILLA_AUDITORIA = PlantillaRecibo.compilar(
+        "%s;%d;%s;%.2f;%.2f;%.2f\n");
+
+    /**
+     * Abre el destino de un departamento (recibos o auditoría)
+     * El ejecutor cierra el Writer al terminar el departamento
+     */
+    @FunctionalInterface
+    public interface AperturaDestino {
+        Writer abrir(String departamento) throws IOException;
+    }
+
+    private final ExecutorService ejecutorES;
+    private final ExecutorService poolCalculo;
+    private final boolean hilosVirtuales;
+    private final boolean propios;
+
+    /**
+     * Constructor con un hilo de cálculo por núcleo
+     */
+    public EjecutorNominaDepartamentos() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor con un pool de cálculo del tamaño indicado
+     * @param hilosCalculo Hilos de plataforma para calcular las cifras
+     */
+    public EjecutorNominaDepartamentos(int hilosCalculo) {
+        if (hilosCalculo < 1) {
+            throw new IllegalArgumentException("Los hilos de cálculo deben ser mayores que cero");
+        }
+        ExecutorService virtuales = crearEjecutorVirtual();
+        this.hilosVirtuales = virtuales != null;
+        this.ejecutorES = hilosVirtuales ? virtuales : crearPoolFijo(HILOS_ES_RESPALDO, "nomina-es-");
+        this.poolCalculo = crearPoolFijo(hilosCalculo, "nomina-calculo-");
+        this.propios = true;
+    }
+
+    /**
+     * Constructor con ejecutores externos, que no se cierran con close()
+     * @param ejecutorES Ejecutor de las tareas de cada departamento (E/S)
+     * @param poolCalculo Ejecutor del cálculo de cifras
+     */
+    public EjecutorNominaDepartamentos(ExecutorService ejecutorES, ExecutorService poolCalculo) {
+        if (ejecutorES == null || poolCalculo == null) {
+            throw new IllegalArgumentException("Los ejecutores no pueden ser nulos");
+        }
+        this.ejecutorES = ejecutorES;
+        this.poolCalculo = poolCalculo;
+        this.hilosVirtuales = false;
+        this.propios = false;
+    }
+
+    /**
+     * Indica si las tareas de E/S corren en hilos virtuales
+     */
+    public boolean usaHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    /**
+     * Obtiene el departamento con el que se agrupa un empleado
+     * Gerentes y supervisores por su departamento, jefes de área por su área;
+     * los demás (y los que no tienen uno) van a SIN_DEPARTAMENTO
+     * @param empleado Empleado a clasificar
+     * @return Nombre del departamento
+     */
+    public static String departamentoDe(Empleado empleado) {
+        String departamento = null;
+        if (empleado instanceof Gerente) {
+            departamento = ((Gerente) empleado).getDepartamento();
+        } else if (empleado instanceof JefeArea) {
+            departamento = ((JefeArea) empleado).getArea();
+        } else if (empleado instanceof Supervisor) {
+            departamento = ((Supervisor) empleado).getDepartamento();
+        }
+        return departamento == null ? SIN_DEPARTAMENTO : departamento;
+    }
+
+    /**
+     * Ejecuta la nómina de todos los departamentos a la vez
+     * Por cada departamento se calculan las cifras en el pool de cálculo y luego
+     * se escriben sus recibos (y su auditoría, si se indica) en su propio destino
+     * @param empleados Empleados de la nómina (sin nulos)
+     * @param recibos Apertura del destino de recibos de cada departamento
+     * @param auditoria Apertura del destino de auditoría, o null para no escribirla
+     * @return Resultado de cada departamento, ordenados por nombre
+     * @throws IOException si falla la escritura de algún departamento
+     */
+    public ResultadoEjecucion ejecutar(List<Empleado> empleados, AperturaDestino recibos,
+            AperturaDestino auditoria) throws IOException {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        if (recibos == null) {
+            throw new IllegalArgumentException("El destino de los recibos no puede ser nulo");
+        }
+        Map<String, List<Empleado>> porDepartamento = new TreeMap<>();
+        for (Empleado empleado : empleados) {
+            porDepartamento.computeIfAbsent(departamentoDe(empleado), d -> new ArrayList<>()).add(empleado);
+        }
+
+        long inicio = System.nanoTime();
+        LocalDate hoy = LocalDate.now();
+        CountDownLatch terminadas = new CountDownLatch(porDepartamento.size());
+        List<TareaDepartamento> tareas = new ArrayList<>(porDepartamento.size());
+        for (Map.Entry<String, List<Empleado>> entrada : porDepartamento.entrySet()) {
+            String departamento = entrada.getKey();
+            List<Empleado> delDepartamento = entrada.getValue();
+            tareas.add(new TareaDepartamento(terminadas,
+                () -> ejecutarDepartamento(departamento, delDepartamento, hoy, recibos, auditoria)));
+        }
+
+        ExecutorCompletionService<ResultadoDepartamento> alcance = new ExecutorCompletionService<>(ejecutorES);
+        Map<String, ResultadoDepartamento> resultados = new TreeMap<>();
+        try {
+            for (TareaDepartamento tarea : tareas) {
+                tarea.futuro = alcance.submit(tarea);
+            }
+            for (int i = 0; i < tareas.size(); i++) {
+                ResultadoDepartamento resultado = alcance.take().get();
+                resultados.put(resultado.getDepartamento(), resultado);
+            }
+        } catch (ExecutionException e) {
+            cancelar(tareas, terminadas);
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException("Falló la nómina de un departamento", causa);
+        } catch (InterruptedException e) {
+            cancelar(tareas, terminadas);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La nómina por departamento fue interrumpida", e);
+        } catch (RuntimeException | Error e) {
+            // Por ejemplo, un ejecutor que rechaza tareas: no se deja ninguna corriendo
+            cancelar(tareas, terminadas);
+            throw e;
+        }
+        return new ResultadoEjecucion(new ArrayList<>(resultados.values()), System.nanoTime() - inicio, hilosVirtuales);
+    }
+
+    private ResultadoDepartamento ejecutarDepartamento(String departamento, List<Empleado> empleados, LocalDate hoy,
+            AperturaDestino recibos, AperturaDestino auditoria) throws Exception {
+        long inicio = System.nanoTime();
+        Future<CifrasDepartamento> calculo = poolCalculo.submit(() -> calcular(empleados));
+        CifrasDepartamento cifras;
+        try {
+            cifras = calculo.get();
+        } catch (InterruptedException | CancellationException e) {
+            calculo.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+
+        char[] bloque = new char[NominaServices.TAMANO_BUFFER_REPORTE];
+        StringBuilder texto = new StringBuilder(1024);
+        String separador = System.lineSeparator();
+        try (Writer destino = conBuffer(recibos.abrir(departamento))) {
+            for (Empleado empleado : empleados) {
+                // Sin limpiar la marca de interrupción: el close() de abajo tampoco debe bloquearse
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Nómina de " + departamento + " cancelada");
+                }
+                texto.setLength(0);
+                empleado.escribirRecibo(texto, hoy).append(separador);
+                NominaServices.copiar(texto, bloque, destino);
+            }
+        }
+        if (auditoria != null) {
+            try (Writer destino = conBuffer(auditoria.abrir(departamento))) {
+                for (int i = 0; i < empleados.size(); i++) {
+                    Empleado empleado = empleados.get(i);
+                    texto.setLength(0);
+                    PLANTILLA_AUDITORIA.llenar(texto)
+                        .texto(departamento)
+                        .entero(empleado.getId())
+                        .texto(empleado.getNombreCompleto())
+                        .decimal(cifras.brutos[i])
+                        .decimal(cifras.descuentos[i])
+                        .decimal(cifras.netos[i])
+                        .fin();
+                    NominaServices.copiar(texto, bloque, destino);
+                }
+            }
+        }
+        return new ResultadoDepartamento(departamento, empleados.size(), cifras.bruto.obtener(),
+            cifras.totalDescuentos.obtener(), cifras.neto.obtener(), System.nanoTime() - inicio);
+    }
+
+    private static CifrasDepartamento calcular(List<Empleado> empleados) {
+        CifrasDepartamento cifras = new CifrasDepartamento(empleados.size());
+        for (int i = 0; i < empleados.size(); i++) {
+            Empleado empleado = empleados.get(i);
+            double bruto = empleado.calcularSueldoConBonificaciones();
+            double descuentos = empleado.calcularTotalDescuentos();
+            double neto = empleado.calcularSalarioNeto();
+            cifras.brutos[i] = bruto;
+            cifras.descuentos[i] = descuentos;
+            cifras.netos[i] = neto;
+            cifras.bruto.agregar(bruto);
+            cifras.totalDescuentos.agregar(descuentos);
+            cifras.neto.agregar(neto);
+        }
+        return cifras;
+    }
+
+    private static Writer conBuffer(Writer destino) throws IOException {
+        if (destino == null) {
+            throw new IOException("La apertura del destino devolvió null");
+        }
+        return destino instanceof BufferedWriter ? destino : new BufferedWriter(destino, NominaServices.TAMANO_BUFFER_REPORTE);
+    }
+
+    /**
+     * Cancela las tareas que falten y espera a que terminen las que ya empezaron,
+     * para que ninguna siga escribiendo después de que ejecutar() termina
+     */
+    private static void cancelar(List<TareaDepartamento> tareas, CountDownLatch terminadas) {
+        for (TareaDepartamento tarea : tareas) {
+            tarea.cancelar();
+        }
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                terminadas.await();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tarea de un departamento dentro del alcance de una ejecución
+     * La tarea o quien la cancela la "reclama" una sola vez; quien la reclama
+     * descuenta el latch al terminar, así se sabe cuándo no queda ninguna viva
+     */
+    private static final class TareaDepartamento implements Callable<ResultadoDepartamento> {
+        private final AtomicBoolean reclamada = new AtomicBoolean();
+        private final CountDownLatch terminadas;
+        private final Callable<ResultadoDepartamento> cuerpo;
+        private volatile Future<ResultadoDepartamento> futuro;
+
+        TareaDepartamento(CountDownLatch terminadas, Callable<ResultadoDepartamento> cuerpo) {
+            this.terminadas = terminadas;
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ResultadoDepartamento call() throws Exception {
+            if (!reclamada.compareAndSet(false, true)) {
+                throw new CancellationException("Departamento cancelado antes de empezar");
+            }
+            try {
+                return cuerpo.call();
+            } finally {
+                terminadas.countDown();
+            }
+        }
+
+        void cancelar() {
+            if (reclamada.compareAndSet(false, true)) {
+                terminadas.countDown();
+            }
+            Future<ResultadoDepartamento> actual = futuro;
+            if (actual != null) {
+                actual.cancel(true);
+            }
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; se busca por
+    // reflexión para que el proyecto siga compilando y corriendo en Java 17
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) fabrica.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService crearPoolFijo(int hilos, String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = tarea -> {
+            Thread hilo = new Thread(tarea, prefijo + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(hilos, hilos, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), fabrica);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Cierra los ejecutores creados por este objeto (no los externos)
+     */
+    @Override
+    public void close() {
+        if (propios) {
+            ejecutorES.shutdown();
+            poolCalculo.shutdown();
+        }
+    }
+
+    /**
+     * Cifras calculadas de un departamento, en el orden de sus empleados
+     */
+    private static final class CifrasDepartamento {
+        final double[] brutos;
+        final double[] descuentos;
+        final double[] netos;
+        final SumaCompensada bruto = new SumaCompensada();
+        final SumaCompensada totalDescuentos = new SumaCompensada();
+        final SumaCompensada neto = new SumaCompensada();
+
+        CifrasDepartamento(int empleados) {
+            brutos = new double[empleados];
+            descuentos = new double[empleados];
+            netos = new double[empleados];
+        }
+    }
+
+    /**
+     * Clase interna con el resultado de la nómina de un departamento
+     */
+    public static class ResultadoDepartamento {
+        private final String departamento;
+        private final int empleados;
+        private final double totalBruto;
+        private final double totalDescuentos;
+        private final double totalNeto;
+        private final long nanosDuracion;
+
+        public ResultadoDepartamento(String departamento, int empleados, double totalBruto,
+                double totalDescuentos, double totalNeto, long nanosDuracion) {
+            this.departamento = departamento;
+            this.empleados = empleados;
+            this.totalBruto = totalBruto;
+            this.totalDescuentos = totalDescuentos;
+            this.totalNeto = totalNeto;
+            this.nanosDuracion = nanosDuracion;
+        }
+
+        // Getters
+        public String getDepartamento() { return departamento; }
+        public int getEmpleados() { return empleados; }
+        public double getTotalBruto() { return totalBruto; }
+        public double getTotalDescuentos() { return totalDescuentos; }
+        public double getTotalNeto() { return totalNeto; }
+        public long getNanosDuracion() { return nanosDuracion; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d empleados - Bruto: $%.2f - Descuentos: $%.2f - Neto: $%.2f (%.1f ms)",
+                departamento, empleados, totalBruto, totalDescuentos, totalNeto, nanosDuracion / 1e6);
+        }
+    }
+
+    /**
+     * Clase interna con el resultado de una ejecución por departamentos
+     */
+    public static class ResultadoEjecucion {
+        private final List<ResultadoDepartamento> departamentos;
+        private final long nanosDuracion;
+        private final boolean hilosVirtuales;
+
+        public ResultadoEjecucion(List<ResultadoDepartamento> departamentos, long nanosDuracion, boolean hilosVirtuales) {
+            this.departamentos = Collections.unmodifiableList(departamentos);
+            this.nanosDuracion = nanosDuracion;
+            this.hilosVirtuales = hilosVirtuales;
+        }
+
+        // Getters
+        public List<ResultadoDepartamento> getDepartamentos() { return departamentos; }
+        public long getNanosDuracion() { return nanosDuracion; }
+        public boolean isHilosVirtuales() { return hilosVirtuales; }
+
+        public int getTotalEmpleados() {
+            int total = 0;
+            for (ResultadoDepartamento departamento : departamentos) {
+                total += departamento.getEmpleados();
+            }
+            return total;
+        }
+
+        /**
+         * Salario neto total de todos los departamentos
+         */
+        public double getTotalNeto() {
+            SumaCompensada total = new SumaCompensada();
+            for (ResultadoDepartamento departamento : departamentos) {
+                total.agregar(departamento.getTotalNeto());
+            }
+            return total.obtener();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(
+                "=== NÓMINA POR DEPARTAMENTO ===\n" +
+                "Departamentos: %d\n" +
+                "Total de empleados: %d\n" +
+                "Salario neto total: $%.2f\n" +
+                "Duración: %.1f ms\n" +
+                "Hilos de E/S: %s",
+                departamentos.size(), getTotalEmpleados(), getTotalNeto(), nanosDuracion / 1e6,
+                hilosVirtuales ? "virtuales" : "de plataforma"
+            ));
+            for (ResultadoDepartamento departamento : departamentos) {
+                sb.append("\n  ").append(departamento);
+            }
+            return sb.toString();
+        }
+    }
+}
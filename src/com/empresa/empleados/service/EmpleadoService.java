@@ -4,31 +4,77 @@ import com.empresa.empleados.model.Empleado;
 import com.empresa.empleados.model.Gerente;
 import com.empresa.empleados.model.Tecnico;
 import com.empresa.empleados.model.JefeArea;
+import com.empresa.empleados.model.ObservadorEmpleado;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
 import com.empresa.empleados.model.Supervisor;
+import com.empresa.empleados.model.TablaImpuestos;
+import com.empresa.empleados.utils.IndiceTrigramas;
+import com.empresa.empleados.utils.OrdenadorEmpleados;
+import com.empresa.empleados.utils.SumaCompensada;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para gestionar operaciones sobre empleados
- * Proporciona funcionalidades de búsqueda, filtrado y análisis
+ * Proporciona funcionalidades de búsqueda, filtrado y análisis.
+ * Los totales de nómina, las estadísticas de salarios y los conteos por tipo
+ * se mantienen al día en cada alta, baja y modificación de un empleado (el
+ * servicio se registra como observador de cada uno), por lo que consultarlos
+ * cuesta O(1) en lugar de recorrer la lista. Si cambia la tabla de impuestos
+ * vigente, los agregados se recalculan una vez en la siguiente consulta.
+ * Como cada empleado guarda una referencia al servicio, un servicio que ya no
+ * se usa debe cerrarse (close) para que sus empleados dejen de avisarle
  */
-public class EmpleadoService {
+public class EmpleadoService implements AutoCloseable {
     
     private List<Empleado> empleados;
+    // Índice para la búsqueda parcial por nombre
+    private final IndiceTrigramas indiceNombres;
+    // Empleados de cada clase concreta (Gerente, Tecnico, ...), en el orden de la lista
+    private final Map<Class<?>, List<Empleado>> empleadosPorClase;
+    
+    // Agregados de nómina: aporte de cada empleado (por identidad) y sus totales
+    private final Map<Empleado, Aporte> aportes;
+    private final SumaCompensada totalNomina;
+    private final SumaCompensada totalDescuentos;
+    // Multiconjunto de salarios netos (salario -> cantidad) para el mínimo y el máximo
+    private final TreeMap<Double, Integer> salariosNetos;
+    private final Map<String, AcumuladoTipo> acumuladoPorTipo;
+    private final ObservadorEmpleado observador;
+    // Tabla de impuestos con la que se calcularon los agregados
+    private TablaImpuestos tablaAgregados;
     
     /**
      * Constructor que inicializa la lista de empleados
      */
     public EmpleadoService() {
         this.empleados = new ArrayList<>();
+        this.indiceNombres = new IndiceTrigramas();
+        this.empleadosPorClase = new HashMap<>();
+        this.aportes = new IdentityHashMap<>();
+        this.totalNomina = new SumaCompensada();
+        this.totalDescuentos = new SumaCompensada();
+        this.salariosNetos = new TreeMap<>();
+        this.acumuladoPorTipo = new HashMap<>();
+        this.observador = this::actualizarAgregados;
+        this.tablaAgregados = RegistroTablasImpuestos.obtenerVigente();
     }
     
     /**
      * Constructor lista inicial de empleados
      */
     public EmpleadoService(List<Empleado> empleados) {
-        this.empleados = new ArrayList<>(empleados);
+        this();
+        for (Empleado empleado : empleados) {
+            if (empleado != null) {
+                this.empleados.add(empleado);
+                empleadosPorClase.computeIfAbsent(empleado.getClass(), c -> new ArrayList<>()).add(empleado);
+                registrar(empleado);
+            }
+        }
+        this.indiceNombres.construir(aportes.keySet());
     }
     
     // =============== OPERACIONES BÁSICAS ===============
@@ -38,18 +84,40 @@ public class EmpleadoService {
      */
     public boolean agregarEmpleado(Empleado empleado) {
         if (empleado == null) return false;
-        return empleados.add(empleado);
+        empleados.add(empleado);
+        empleadosPorClase.computeIfAbsent(empleado.getClass(), c -> new ArrayList<>()).add(empleado);
+        if (registrar(empleado)) {
+            indiceNombres.agregar(empleado);
+        }
+        return true;
     }
     
     /**
-     * Agrega múltiples empleados a la lista
+     * Agrega múltiples empleados a la lista (los nulos se ignoran)
      */
     public void agregarEmpleados(List<Empleado> nuevosEmpleados) {
         if (nuevosEmpleados != null) {
-            empleados.addAll(nuevosEmpleados);
+            for (Empleado empleado : nuevosEmpleados) {
+                agregarEmpleado(empleado);
+            }
         }
     }
     
+    /**
+     * Elimina un empleado de la lista (si aparece varias veces, solo la primera)
+     * @return true si el empleado estaba en la lista
+     */
+    public boolean eliminarEmpleado(Empleado empleado) {
+        if (empleado == null || !empleados.remove(empleado)) {
+            return false;
+        }
+        empleadosPorClase.get(empleado.getClass()).remove(empleado);
+        if (desregistrar(empleado)) {
+            indiceNombres.remover(empleado);
+        }
+        return true;
+    }
+    
     /**
      * Obtiene la lista completa de empleados
      */
@@ -68,23 +136,45 @@ public class EmpleadoService {
      * Limpia la lista de empleados
      */
     public void limpiarEmpleados() {
+        for (Empleado empleado : aportes.keySet()) {
+            empleado.removerObservador(observador);
+        }
         empleados.clear();
+        empleadosPorClase.clear();
+        indiceNombres.limpiar();
+        aportes.clear();
+        totalNomina.reiniciar();
+        totalDescuentos.reiniciar();
+        salariosNetos.clear();
+        acumuladoPorTipo.clear();
+    }
+    
+    /**
+     * Quita el observador del servicio de todos sus empleados y vacía la lista
+     * Equivale a limpiarEmpleados: el servicio puede seguir usándose, vacío
+     */
+    @Override
+    public void close() {
+        limpiarEmpleados();
     }
     
     // =============== BÚSQUEDAS Y FILTROS ===============
     
     /**
-     * Busca empleados por nombre (coincidencia parcial, ignora mayúsculas)
+     * Busca empleados por nombre (coincidencia parcial, ignora mayúsculas y tildes)
      */
     public List<Empleado> buscarPorNombre(String nombre) {
         if (nombre == null || nombre.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        
-        String nombreBusqueda = nombre.toLowerCase().trim();
-        return empleados.stream()
-            .filter(e -> e.getNombreCompleto().toLowerCase().contains(nombreBusqueda))
-            .collect(Collectors.toList());
+        return indiceNombres.buscar(nombre);
+    }
+    
+    /**
+     * Obtiene el tamaño y tiempo de construcción del índice de búsqueda por nombre
+     */
+    public IndiceTrigramas.EstadisticasIndice obtenerEstadisticasIndiceNombres() {
+        return indiceNombres.obtenerEstadisticas();
     }
     
     /**
@@ -136,30 +226,52 @@ public class EmpleadoService {
     // =============== ORDENAMIENTO ===============
     
     /**
-     * Ordena empleados alfabéticamente por primer apellido
+     * Ordena empleados alfabéticamente por primer apellido (reglas del español)
      */
     public List<Empleado> ordenarPorPrimerApellido() {
-        List<Empleado> empleadosOrdenados = new ArrayList<>(empleados);
-        empleadosOrdenados.sort(Comparator.comparing(Empleado::getPrimerApellido));
-        return empleadosOrdenados;
+        return new ArrayList<>(OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, true));
     }
     
     /**
      * Ordena empleados por salario neto (menor a mayor)
      */
     public List<Empleado> ordenarPorSalarioAscendente() {
-        List<Empleado> empleadosOrdenados = new ArrayList<>(empleados);
-        empleadosOrdenados.sort(Comparator.comparingDouble(Empleado::calcularSalarioNeto));
-        return empleadosOrdenados;
+        return new ArrayList<>(OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, true));
     }
     
     /**
      * Ordena empleados por salario neto (mayor a menor)
      */
     public List<Empleado> ordenarPorSalarioDescendente() {
-        List<Empleado> empleadosOrdenados = new ArrayList<>(empleados);
-        empleadosOrdenados.sort(Comparator.comparingDouble(Empleado::calcularSalarioNeto).reversed());
-        return empleadosOrdenados;
+        return new ArrayList<>(OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, false));
+    }
+    
+    /**
+     * Obtiene una página de empleados ordenados por primer apellido
+     * Solo selecciona los empleados de la página, sin ordenar la lista completa
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     */
+    public List<Empleado> ordenarPorPrimerApellido(int desde, int limite) {
+        return OrdenadorEmpleados.paginaPorPrimerApellido(empleados, desde, limite, true);
+    }
+    
+    /**
+     * Obtiene una página de empleados ordenados por salario neto (menor a mayor)
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     */
+    public List<Empleado> ordenarPorSalarioAscendente(int desde, int limite) {
+        return OrdenadorEmpleados.paginaPorSueldoNeto(empleados, desde, limite, true);
+    }
+    
+    /**
+     * Obtiene una página de empleados ordenados por salario neto (mayor a menor)
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     */
+    public List<Empleado> ordenarPorSalarioDescendente(int desde, int limite) {
+        return OrdenadorEmpleados.paginaPorSueldoNeto(empleados, desde, limite, false);
     }
     
     /**
@@ -177,31 +289,41 @@ public class EmpleadoService {
      * Cuenta empleados por tipo/rol
      */
     public Map<String, Long> contarEmpleadosPorTipo() {
-        return empleados.stream()
-            .collect(Collectors.groupingBy(
-                Empleado::getTipoEmpleado,
-                Collectors.counting()
-            ));
+        Map<String, Long> conteo = new HashMap<>();
+        for (Map.Entry<String, AcumuladoTipo> entrada : acumuladoPorTipo.entrySet()) {
+            conteo.put(entrada.getKey(), (long) entrada.getValue().cantidad);
+        }
+        return conteo;
+    }
+    
+    /**
+     * Obtiene el costo de nómina (suma de salarios netos) por tipo/rol
+     */
+    public Map<String, Double> calcularCostoNominaPorTipo() {
+        verificarTablaImpuestos();
+        Map<String, Double> costo = new HashMap<>();
+        for (Map.Entry<String, AcumuladoTipo> entrada : acumuladoPorTipo.entrySet()) {
+            costo.put(entrada.getKey(), entrada.getValue().salarios.obtener());
+        }
+        return costo;
     }
     
     /**
      * Obtiene estadísticas de salarios
      */
     public EstadisticasSalarios obtenerEstadisticasSalarios() {
+        verificarTablaImpuestos();
         if (empleados.isEmpty()) {
             return new EstadisticasSalarios(0, 0, 0, 0, 0);
         }
         
-        DoubleSummaryStatistics stats = empleados.stream()
-            .mapToDouble(Empleado::calcularSalarioNeto)
-            .summaryStatistics();
-        
+        double suma = totalNomina.obtener();
         return new EstadisticasSalarios(
-            stats.getCount(),
-            stats.getSum(),
-            stats.getAverage(),
-            stats.getMin(),
-            stats.getMax()
+            empleados.size(),
+            suma,
+            suma / empleados.size(),
+            salariosNetos.firstKey(),
+            salariosNetos.lastKey()
         );
     }
     
@@ -209,18 +331,16 @@ public class EmpleadoService {
      * Obtiene el total de la nómina (suma de todos los salarios netos)
      */
     public double calcularTotalNomina() {
-        return empleados.stream()
-            .mapToDouble(Empleado::calcularSalarioNeto)
-            .sum();
+        verificarTablaImpuestos();
+        return totalNomina.obtener();
     }
     
     /**
      * Obtiene el total de descuentos de toda la nómina
      */
     public double calcularTotalDescuentos() {
-        return empleados.stream()
-            .mapToDouble(e -> e.calcularTotalDescuentos(e.calcularSueldoConBonificaciones()))
-            .sum();
+        verificarTablaImpuestos();
+        return totalDescuentos.obtener();
     }
     
     // =============== MÉTODOS ESPECÍFICOS POR TIPO ===============
@@ -229,40 +349,70 @@ public class EmpleadoService {
      * Obtiene solo los gerentes
      */
     public List<Gerente> obtenerGerentes() {
-        return empleados.stream()
-            .filter(e -> e instanceof Gerente)
-            .map(e -> (Gerente) e)
-            .collect(Collectors.toList());
+        List<Gerente> resultado = new ArrayList<>();
+        recorrerPorTipo(Gerente.class, resultado::add);
+        return resultado;
     }
     
     /**
      * Obtiene solo los técnicos
      */
     public List<Tecnico> obtenerTecnicos() {
-        return empleados.stream()
-            .filter(e -> e instanceof Tecnico)
-            .map(e -> (Tecnico) e)
-            .collect(Collectors.toList());
+        List<Tecnico> resultado = new ArrayList<>();
+        recorrerPorTipo(Tecnico.class, resultado::add);
+        return resultado;
     }
     
     /**
      * Obtiene solo los jefes de área
      */
     public List<JefeArea> obtenerJefesArea() {
-        return empleados.stream()
-            .filter(e -> e instanceof JefeArea)
-            .map(e -> (JefeArea) e)
-            .collect(Collectors.toList());
+        List<JefeArea> resultado = new ArrayList<>();
+        recorrerPorTipo(JefeArea.class, resultado::add);
+        return resultado;
     }
     
     /**
      * Obtiene solo los supervisores
      */
     public List<Supervisor> obtenerSupervisores() {
-        return empleados.stream()
-            .filter(e -> e instanceof Supervisor)
-            .map(e -> (Supervisor) e)
-            .collect(Collectors.toList());
+        List<Supervisor> resultado = new ArrayList<>();
+        recorrerPorTipo(Supervisor.class, resultado::add);
+        return resultado;
+    }
+    
+    /**
+     * Recorre los empleados de un tipo sin copiarlos a una lista, en el orden de la lista
+     * Si el tipo corresponde a una sola clase concreta (Gerente, Tecnico, ...)
+     * recorre solo el índice de esa clase; un tipo más general (Empleado)
+     * recorre toda la lista
+     * @param tipo Clase de los empleados a recorrer (Gerente, Tecnico, ...)
+     * @param accion Acción a aplicar a cada empleado del tipo
+     */
+    public <T extends Empleado> void recorrerPorTipo(Class<T> tipo, Consumer<? super T> accion) {
+        if (tipo == null || accion == null) {
+            throw new IllegalArgumentException("El tipo y la acción no pueden ser nulos");
+        }
+        List<Empleado> deLaClase = null;
+        int clases = 0;
+        for (Map.Entry<Class<?>, List<Empleado>> entrada : empleadosPorClase.entrySet()) {
+            if (tipo.isAssignableFrom(entrada.getKey()) && !entrada.getValue().isEmpty()) {
+                deLaClase = entrada.getValue();
+                clases++;
+            }
+        }
+        if (clases == 1) {
+            for (Empleado empleado : deLaClase) {
+                accion.accept(tipo.cast(empleado));
+            }
+        } else if (clases > 1) {
+            // Varias clases: solo la lista completa conserva el orden entre ellas
+            for (Empleado empleado : empleados) {
+                if (tipo.isInstance(empleado)) {
+                    accion.accept(tipo.cast(empleado));
+                }
+            }
+        }
     }
     
     // =============== VALIDACIONES Y UTILIDADES ===============
@@ -284,6 +434,123 @@ public class EmpleadoService {
             .collect(Collectors.toList());
     }
     
+    // =============== AGREGADOS DE NÓMINA ===============
+    
+    /**
+     * Suma el aporte de un empleado a los agregados
+     * @return true si es la primera vez que aparece en la lista
+     */
+    private boolean registrar(Empleado empleado) {
+        Aporte aporte = aportes.get(empleado);
+        boolean nuevo = aporte == null;
+        if (nuevo) {
+            aporte = new Aporte(empleado);
+            aportes.put(empleado, aporte);
+            empleado.agregarObservador(observador);
+        }
+        aporte.ocurrencias++;
+        aplicar(aporte, 1);
+        return nuevo;
+    }
+    
+    /**
+     * Resta el aporte de un empleado a los agregados
+     * @return true si ya no quedan apariciones del empleado en la lista
+     */
+    private boolean desregistrar(Empleado empleado) {
+        Aporte aporte = aportes.get(empleado);
+        aplicar(aporte, -1);
+        if (--aporte.ocurrencias > 0) {
+            return false;
+        }
+        aportes.remove(empleado);
+        empleado.removerObservador(observador);
+        return true;
+    }
+    
+    /**
+     * Reemplaza el aporte anterior de un empleado modificado por el actual
+     */
+    private void actualizarAgregados(Empleado empleado) {
+        Aporte aporte = aportes.get(empleado);
+        if (aporte == null) {
+            return;
+        }
+        String nombreAnterior = aporte.nombreCompleto;
+        aplicar(aporte, -aporte.ocurrencias);
+        aporte.tomarValores(empleado);
+        aplicar(aporte, aporte.ocurrencias);
+        if (!aporte.nombreCompleto.equals(nombreAnterior)) {
+            indiceNombres.agregar(empleado);
+        }
+    }
+    
+    /**
+     * Recalcula todos los agregados si la tabla de impuestos vigente cambió
+     * desde el último cálculo (los empleados no avisan de ese cambio)
+     */
+    private void verificarTablaImpuestos() {
+        TablaImpuestos vigente = RegistroTablasImpuestos.obtenerVigente();
+        if (vigente == tablaAgregados) {
+            return;
+        }
+        tablaAgregados = vigente;
+        totalNomina.reiniciar();
+        totalDescuentos.reiniciar();
+        salariosNetos.clear();
+        acumuladoPorTipo.clear();
+        for (Map.Entry<Empleado, Aporte> entrada : aportes.entrySet()) {
+            Aporte aporte = entrada.getValue();
+            aporte.tomarValores(entrada.getKey());
+            aplicar(aporte, aporte.ocurrencias);
+        }
+    }
+    
+    /**
+     * Suma (veces > 0) o resta (veces < 0) un aporte a todos los agregados
+     */
+    private void aplicar(Aporte aporte, int veces) {
+        totalNomina.agregar(veces * aporte.salarioNeto);
+        totalDescuentos.agregar(veces * aporte.totalDescuentos);
+        salariosNetos.merge(aporte.salarioNeto, veces, (a, b) -> a + b == 0 ? null : a + b);
+        AcumuladoTipo acumulado = acumuladoPorTipo.computeIfAbsent(aporte.tipoEmpleado, t -> new AcumuladoTipo());
+        acumulado.salarios.agregar(veces * aporte.salarioNeto);
+        acumulado.cantidad += veces;
+        if (acumulado.cantidad == 0) {
+            acumuladoPorTipo.remove(aporte.tipoEmpleado);
+        }
+    }
+    
+    /**
+     * Valores con los que un empleado está sumado en los agregados
+     */
+    private static class Aporte {
+        private int ocurrencias;
+        private double salarioNeto;
+        private double totalDescuentos;
+        private String tipoEmpleado;
+        private String nombreCompleto;
+        
+        Aporte(Empleado empleado) {
+            tomarValores(empleado);
+        }
+        
+        void tomarValores(Empleado empleado) {
+            this.salarioNeto = empleado.calcularSalarioNeto();
+            this.totalDescuentos = empleado.calcularTotalDescuentos();
+            this.tipoEmpleado = empleado.getTipoEmpleado();
+            this.nombreCompleto = empleado.getNombreCompleto();
+        }
+    }
+    
+    /**
+     * Total de salarios netos y cantidad de empleados de un tipo
+     */
+    private static class AcumuladoTipo {
+        private final SumaCompensada salarios = new SumaCompensada();
+        private int cantidad;
+    }
+    
     /**
      * Clase interna para estadísticas de salarios
      */
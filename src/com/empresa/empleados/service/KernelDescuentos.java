@@ -0,0 +1,71 @@
+package com.empresa.empleados.service;
+
+import java.util.Optional;
+
+/**
+ * Núcleo de cálculo del total de descuentos de ley para arreglos de sueldos
+ * Hay una implementación escalar, siempre disponible, y una vectorial basada en
+ * jdk.incubator.vector que solo se usa si la JVM arrancó con ese módulo
+ * (--add-modules jdk.incubator.vector). Ambas dan resultados idénticos bit a
+ * bit a CalculadoraDescuentos.calcularTotalDescuentos
+ */
+public interface KernelDescuentos {
+    
+    String MODULO_VECTOR = "jdk.incubator.vector";
+    String CLASE_VECTORIAL = "com.empresa.empleados.service.KernelDescuentosVectorial";
+    
+    /**
+     * Calcula el total de descuentos (ISSS + AFP + renta) de un rango de sueldos
+     * @param sueldosBrutos Sueldos brutos de entrada
+     * @param desde Primera posición a calcular
+     * @param cantidad Número de sueldos a calcular
+     * @param totales Arreglo de salida; la posición i corresponde a sueldosBrutos[i]
+     */
+    void calcularTotalDescuentos(double[] sueldosBrutos, int desde, int cantidad, double[] totales);
+    
+    /**
+     * Nombre de la implementación, para reportes y benchmarks
+     */
+    String getNombre();
+    
+    /**
+     * Obtiene el mejor núcleo disponible: el vectorial si el módulo está
+     * cargado y su clase puede instanciarse, o el escalar en caso contrario
+     */
+    static KernelDescuentos obtener() {
+        return obtenerVectorial().orElseGet(KernelDescuentosEscalar::new);
+    }
+    
+    /**
+     * Obtiene el núcleo vectorial, si la JVM actual puede usarlo
+     * @return Optional vacío si el módulo no está cargado o la clase no se incluyó
+     */
+    static Optional<KernelDescuentos> obtenerVectorial() {
+        if (!ModuleLayer.boot().findModule(MODULO_VECTOR).isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> clase = Class.forName(CLASE_VECTORIAL);
+            return Optional.of((KernelDescuentos) clase.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Valida el rango y los arreglos de una llamada a calcularTotalDescuentos
+     * @return Posición siguiente a la última a calcular
+     */
+    static int validarRango(double[] sueldosBrutos, int desde, int cantidad, double[] totales) {
+        if (sueldosBrutos == null || totales == null) {
+            throw new IllegalArgumentException("Los arreglos no pueden ser nulos");
+        }
+        if (desde < 0 || cantidad < 0 || desde > sueldosBrutos.length - cantidad) {
+            throw new IllegalArgumentException("Rango fuera del arreglo de sueldos brutos");
+        }
+        if (totales.length < desde + cantidad) {
+            throw new IllegalArgumentException("El arreglo de salida es más corto que el rango a calcular");
+        }
+        return desde + cantidad;
+    }
+}
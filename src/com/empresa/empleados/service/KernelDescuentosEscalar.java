@@ -0,0 +1,25 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+
+/**
+ * Núcleo de descuentos escalar: aplica CalculadoraDescuentos sueldo por sueldo
+ * Es la referencia de exactitud y el respaldo cuando no hay Vector API
+ */
+public class KernelDescuentosEscalar implements KernelDescuentos {
+    
+    @Override
+    public void calcularTotalDescuentos(double[] sueldosBrutos, int desde, int cantidad, double[] totales) {
+        int hasta = KernelDescuentos.validarRango(sueldosBrutos, desde, cantidad, totales);
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        for (int i = desde; i < hasta; i++) {
+            totales[i] = CalculadoraDescuentos.calcularTotalDescuentos(sueldosBrutos[i], tabla);
+        }
+    }
+    
+    @Override
+    public String getNombre() {
+        return "escalar";
+    }
+}
@@ -0,0 +1,230 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.utils.SumaCompensada;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de cálculo de totales de nómina en paralelo sobre un ForkJoinPool
+ * Los empleados se dividen siempre por la mitad hasta llegar a bloques de un
+ * tamaño fijo, sin depender del número de hilos, y cada bloque se suma con
+ * compensación de Neumaier. Los resultados parciales se combinan siempre en el
+ * mismo orden (izquierda y luego derecha), por lo que los totales son
+ * idénticos bit a bit con cualquier cantidad de núcleos o paralelismo del pool
+ */
+public class MotorNominaParalelo {
+    
+    public static final int TAMANO_BLOQUE_PREDETERMINADO = 4096;
+    
+    private final ForkJoinPool pool;
+    private final int tamanoBloque;
+    
+    /**
+     * Constructor que usa el pool común de la JVM
+     */
+    public MotorNominaParalelo() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Constructor con un pool propio
+     * @param pool Pool en el que se ejecutan los cálculos
+     */
+    public MotorNominaParalelo(ForkJoinPool pool) {
+        this(pool, TAMANO_BLOQUE_PREDETERMINADO);
+    }
+    
+    /**
+     * Constructor con un pool y tamaño de bloque propios
+     * Los totales dependen del tamaño de bloque (no del pool), así que debe
+     * ser el mismo para obtener resultados comparables entre ejecuciones
+     * @param pool Pool en el que se ejecutan los cálculos
+     * @param tamanoBloque Cantidad de empleados que suma secuencialmente cada tarea
+     */
+    public MotorNominaParalelo(ForkJoinPool pool, int tamanoBloque) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo");
+        }
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser mayor que cero");
+        }
+        this.pool = pool;
+        this.tamanoBloque = tamanoBloque;
+    }
+    
+    /**
+     * Calcula los totales de sueldo bruto, descuentos y salario neto
+     * @param empleados Empleados de la nómina (sin nulos)
+     * @return Totales de la nómina
+     */
+    public TotalesNomina calcularTotales(List<Empleado> empleados) {
+        Empleado[] arreglo = aArreglo(empleados);
+        if (arreglo.length == 0) {
+            return new TotalesNomina(0, 0.0, 0.0, 0.0);
+        }
+        Sumas sumas = pool.invoke(new TareaTotales(arreglo, 0, arreglo.length, tamanoBloque));
+        return new TotalesNomina(arreglo.length, sumas.bruto.obtener(),
+                sumas.descuentos.obtener(), sumas.neto.obtener());
+    }
+    
+    /**
+     * Calcula el costo de nómina (suma de salarios netos) por tipo de empleado
+     * @param empleados Empleados de la nómina (sin nulos)
+     * @return Mapa con el costo total por tipo
+     */
+    public Map<String, Double> calcularCostoPorTipo(List<Empleado> empleados) {
+        Empleado[] arreglo = aArreglo(empleados);
+        Map<String, Double> resultado = new HashMap<>();
+        if (arreglo.length == 0) {
+            return resultado;
+        }
+        Map<String, SumaCompensada> sumas = pool.invoke(new TareaPorTipo(arreglo, 0, arreglo.length, tamanoBloque));
+        for (Map.Entry<String, SumaCompensada> entrada : sumas.entrySet()) {
+            resultado.put(entrada.getKey(), entrada.getValue().obtener());
+        }
+        return resultado;
+    }
+    
+    public int getTamanoBloque() { return tamanoBloque; }
+    public ForkJoinPool getPool() { return pool; }
+    
+    private static Empleado[] aArreglo(List<Empleado> empleados) {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        return empleados.toArray(new Empleado[0]);
+    }
+    
+    /**
+     * Sumas parciales de un rango de empleados
+     */
+    private static final class Sumas {
+        private final SumaCompensada bruto = new SumaCompensada();
+        private final SumaCompensada descuentos = new SumaCompensada();
+        private final SumaCompensada neto = new SumaCompensada();
+        
+        void combinar(Sumas otras) {
+            bruto.combinar(otras.bruto);
+            descuentos.combinar(otras.descuentos);
+            neto.combinar(otras.neto);
+        }
+    }
+    
+    private static final class TareaTotales extends RecursiveTask<Sumas> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Empleado[] empleados;
+        private final int desde;
+        private final int hasta;
+        private final int tamanoBloque;
+        
+        TareaTotales(Empleado[] empleados, int desde, int hasta, int tamanoBloque) {
+            this.empleados = empleados;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tamanoBloque = tamanoBloque;
+        }
+        
+        @Override
+        protected Sumas compute() {
+            if (hasta - desde <= tamanoBloque) {
+                Sumas sumas = new Sumas();
+                for (int i = desde; i < hasta; i++) {
+                    Empleado empleado = empleados[i];
+                    sumas.bruto.agregar(empleado.calcularSueldoConBonificaciones());
+                    sumas.descuentos.agregar(empleado.calcularTotalDescuentos());
+                    sumas.neto.agregar(empleado.calcularSalarioNeto());
+                }
+                return sumas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaTotales izquierda = new TareaTotales(empleados, desde, medio, tamanoBloque);
+            TareaTotales derecha = new TareaTotales(empleados, medio, hasta, tamanoBloque);
+            izquierda.fork();
+            Sumas resultado = derecha.compute();
+            // Combinar siempre izquierda + derecha para que el orden no dependa de los hilos
+            Sumas sumas = izquierda.join();
+            sumas.combinar(resultado);
+            return sumas;
+        }
+    }
+    
+    private static final class TareaPorTipo extends RecursiveTask<Map<String, SumaCompensada>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Empleado[] empleados;
+        private final int desde;
+        private final int hasta;
+        private final int tamanoBloque;
+        
+        TareaPorTipo(Empleado[] empleados, int desde, int hasta, int tamanoBloque) {
+            this.empleados = empleados;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tamanoBloque = tamanoBloque;
+        }
+        
+        @Override
+        protected Map<String, SumaCompensada> compute() {
+            if (hasta - desde <= tamanoBloque) {
+                Map<String, SumaCompensada> sumas = new HashMap<>();
+                for (int i = desde; i < hasta; i++) {
+                    Empleado empleado = empleados[i];
+                    sumas.computeIfAbsent(empleado.getTipoEmpleado(), t -> new SumaCompensada())
+                            .agregar(empleado.calcularSalarioNeto());
+                }
+                return sumas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaPorTipo izquierda = new TareaPorTipo(empleados, desde, medio, tamanoBloque);
+            TareaPorTipo derecha = new TareaPorTipo(empleados, medio, hasta, tamanoBloque);
+            izquierda.fork();
+            Map<String, SumaCompensada> resultado = derecha.compute();
+            Map<String, SumaCompensada> sumas = izquierda.join();
+            for (Map.Entry<String, SumaCompensada> entrada : resultado.entrySet()) {
+                sumas.computeIfAbsent(entrada.getKey(), t -> new SumaCompensada()).combinar(entrada.getValue());
+            }
+            return sumas;
+        }
+    }
+    
+    /**
+     * Clase interna con los totales de una nómina
+     */
+    public static class TotalesNomina {
+        private final int totalEmpleados;
+        private final double totalBruto;
+        private final double totalDescuentos;
+        private final double totalNeto;
+        
+        public TotalesNomina(int totalEmpleados, double totalBruto, double totalDescuentos, double totalNeto) {
+            this.totalEmpleados = totalEmpleados;
+            this.totalBruto = totalBruto;
+            this.totalDescuentos = totalDescuentos;
+            this.totalNeto = totalNeto;
+        }
+        
+        // Getters
+        public int getTotalEmpleados() { return totalEmpleados; }
+        public double getTotalBruto() { return totalBruto; }
+        public double getTotalDescuentos() { return totalDescuentos; }
+        public double getTotalNeto() { return totalNeto; }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "=== TOTALES DE NÓMINA ===\n" +
+                "Total de empleados: %d\n" +
+                "Sueldo bruto total: $%.2f\n" +
+                "Descuentos totales: $%.2f\n" +
+                "Salario neto total: $%.2f",
+                totalEmpleados, totalBruto, totalDescuentos, totalNeto
+            );
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+import com.empresa.empleados.utils.SumaCompensada;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nómina que entre una corrida y la siguiente solo recalcula lo que cambió
+ * Guarda las cifras de cada empleado de la corrida anterior junto con su
+ * versión (Empleado.getVersion()). En la corrida siguiente compara versiones
+ * y posiciones, vuelve a calcular solo a los empleados modificados, agregados
+ * o quitados, y corrige los totales y el costo por tipo restando sus cifras
+ * anteriores y sumando las nuevas, igual que EmpleadoService con sus agregados.
+ * Los empleados se identifican por referencia, no por posición: la lista nueva
+ * se alinea con la anterior y, donde dejan de coincidir, se busca al empleado
+ * hasta VENTANA_ALINEACION posiciones más adelante en la otra lista. Así quitar
+ * o agregar un empleado en cualquier parte solo recalcula a ese empleado y no
+ * a todos los que venían detrás. Un cambio de orden mayor que la ventana cuenta
+ * como quitar y volver a agregar a los empleados movidos. Si la tabla de impuestos
+ * vigente cambió (los empleados no avisan de eso) o cambió más de
+ * FRACCION_RECALCULO_COMPLETO de la lista, se recalcula todo, que además
+ * deja los totales idénticos a los de un recorrido secuencial.
+ * No es segura para uso concurrente
+ */
+public class NominaIncremental {
+
+    // Con más cambios que esta fracción de la lista, recalcular todo es más barato
+    public static final double FRACCION_RECALCULO_COMPLETO = 0.25;
+
+    // Posiciones que se miran hacia adelante para volver a alinear las listas
+    public static final int VENTANA_ALINEACION = 32;
+
+    // Cifras de la corrida anterior, en el orden de su lista
+    private Empleado[] empleados = new Empleado[0];
+    private int[] versiones = new int[0];
+    private double[] brutos = new double[0];
+    private double[] descuentos = new double[0];
+    private double[] netos = new double[0];
+    private String[] tipos = new String[0];
+    private int cantidad;
+    // Para cada posición de la lista nueva, su posición en la anterior o -1
+    private int[] origenes = new int[0];
+
+    private final SumaCompensada totalBruto = new SumaCompensada();
+    private final SumaCompensada totalDescuentos = new SumaCompensada();
+    private final SumaCompensada totalNeto = new SumaCompensada();
+    private final Map<String, AcumuladoTipo> acumuladoPorTipo = new HashMap<>();
+    // Tabla de impuestos de la corrida anterior; null si no hubo ninguna
+    private TablaImpuestos tabla;
+
+    /**
+     * Ejecuta la corrida recalculando solo a los empleados que cambiaron
+     * desde la corrida anterior (la primera corrida calcula a todos)
+     * @param lista Empleados de la nómina, sin nulos y en un orden estable
+     * @return Totales y costo por tipo de la nómina actual
+     */
+    public ResultadoIncremental ejecutar(List<Empleado> lista) {
+        if (lista == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        long inicio = System.nanoTime();
+        TablaImpuestos vigente = RegistroTablasImpuestos.obtenerVigente();
+        int recalculados;
+        boolean completo;
+        if (vigente != tabla) {
+            recalculados = recalcularTodo(lista, vigente);
+            completo = true;
+        } else {
+            // Primero solo se buscan los cambios, sin tocar los agregados
+            Empleado[] actuales = lista.toArray(new Empleado[0]);
+            int n = actuales.length;
+            if (origenes.length < n) {
+                origenes = new int[Math.max(n, origenes.length + (origenes.length >> 1))];
+            }
+            Posiciones cambiados = new Posiciones();
+            Posiciones agregados = new Posiciones();
+            Posiciones quitados = new Posiciones();
+            if (!alinear(actuales, cambiados, agregados, quitados)) {
+                recalculados = recalcularTodo(lista, vigente);
+                completo = true;
+            } else {
+                for (int c = 0; c < quitados.cantidad; c++) {
+                    aplicar(quitados.datos[c], -1);
+                }
+                for (int c = 0; c < cambiados.cantidad; c++) {
+                    aplicar(origenes[cambiados.datos[c]], -1);
+                }
+                reubicar(n);
+                for (int c = 0; c < cambiados.cantidad; c++) {
+                    int posicion = cambiados.datos[c];
+                    tomarCifras(posicion, actuales[posicion]);
+                    aplicar(posicion, 1);
+                }
+                for (int c = 0; c < agregados.cantidad; c++) {
+                    int posicion = agregados.datos[c];
+                    tomarCifras(posicion, actuales[posicion]);
+                    aplicar(posicion, 1);
+                }
+                recalculados = cambiados.cantidad + agregados.cantidad + quitados.cantidad;
+                completo = false;
+            }
+        }
+        return new ResultadoIncremental(
+            new MotorNominaParalelo.TotalesNomina(cantidad, totalBruto.obtener(),
+                totalDescuentos.obtener(), totalNeto.obtener()),
+            obtenerCostoPorTipo(), recalculados, completo, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Descarta las cifras guardadas para que la próxima corrida calcule a todos
+     * Sirve para eliminar el pequeño error de redondeo que dejan muchas correcciones
+     */
+    public void reiniciar() {
+        tabla = null;
+    }
+
+    /**
+     * Cantidad de empleados de la última corrida
+     */
+    public int getCantidadEmpleados() {
+        return cantidad;
+    }
+
+    /**
+     * Alinea la lista nueva con la de la corrida anterior y anota los cambios
+     * Deja en origenes la posición anterior de cada empleado que sigue en la
+     * lista (-1 para los agregados)
+     * @return false si cambió más de FRACCION_RECALCULO_COMPLETO de la lista
+     */
+    private boolean alinear(Empleado[] actuales, Posiciones cambiados, Posiciones agregados, Posiciones quitados) {
+        int n = actuales.length;
+        double limite = n * FRACCION_RECALCULO_COMPLETO;
+        int i = 0;
+        int j = 0;
+        while (i < n) {
+            Empleado empleado = actuales[i];
+            if (empleado == null) {
+                throw new IllegalArgumentException("La lista no puede contener empleados nulos");
+            }
+            if (j < cantidad && empleado == empleados[j]) {
+                origenes[i] = j;
+                if (empleado.getVersion() != versiones[j]) {
+                    cambiados.agregar(i);
+                }
+                i++;
+                j++;
+                continue;
+            }
+            int k = buscar(empleados, j + 1, cantidad, empleado);
+            if (k >= 0) {
+                // Se quitaron los empleados anteriores entre j y k
+                while (j < k) {
+                    quitados.agregar(j++);
+                }
+            } else if (j < cantidad && (k = buscar(actuales, i + 1, n, empleados[j])) >= 0) {
+                // Se agregaron los empleados nuevos entre i y k
+                while (i < k) {
+                    if (actuales[i] == null) {
+                        throw new IllegalArgumentException("La lista no puede contener empleados nulos");
+                    }
+                    origenes[i] = -1;
+                    agregados.agregar(i++);
+                }
+            } else {
+                // Empleado nuevo en el lugar de uno anterior, o agregado al final
+                origenes[i] = -1;
+                agregados.agregar(i++);
+                if (j < cantidad) {
+                    quitados.agregar(j++);
+                }
+            }
+            if (cambiados.cantidad + agregados.cantidad + quitados.cantidad > limite) {
+                return false;
+            }
+        }
+        while (j < cantidad) {
+            quitados.agregar(j++);
+        }
+        return cambiados.cantidad + agregados.cantidad + quitados.cantidad <= limite;
+    }
+
+    /**
+     * Busca un empleado por referencia dentro de la ventana de alineación
+     * @return Su posición en el arreglo, o -1 si no está en la ventana
+     */
+    private static int buscar(Empleado[] arreglo, int desde, int hasta, Empleado empleado) {
+        int fin = Math.min(hasta, desde + VENTANA_ALINEACION);
+        for (int p = desde; p < fin; p++) {
+            if (arreglo[p] == empleado) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Mueve las cifras guardadas a la posición que cada empleado ocupa en la
+     * lista nueva; si nadie cambió de posición se quedan donde están
+     */
+    private void reubicar(int n) {
+        boolean desplazados = false;
+        for (int i = 0; i < n && !desplazados; i++) {
+            desplazados = origenes[i] >= 0 && origenes[i] != i;
+        }
+        if (!desplazados) {
+            asegurarCapacidad(n);
+            for (int p = n; p < cantidad; p++) {
+                empleados[p] = null;
+                tipos[p] = null;
+            }
+        } else {
+            Empleado[] nuevosEmpleados = new Empleado[n];
+            int[] nuevasVersiones = new int[n];
+            double[] nuevosBrutos = new double[n];
+            double[] nuevosDescuentos = new double[n];
+            double[] nuevosNetos = new double[n];
+            String[] nuevosTipos = new String[n];
+            for (int i = 0; i < n; i++) {
+                int origen = origenes[i];
+                if (origen >= 0) {
+                    nuevosEmpleados[i] = empleados[origen];
+                    nuevasVersiones[i] = versiones[origen];
+                    nuevosBrutos[i] = brutos[origen];
+                    nuevosDescuentos[i] = descuentos[origen];
+                    nuevosNetos[i] = netos[origen];
+                    nuevosTipos[i] = tipos[origen];
+                }
+            }
+            empleados = nuevosEmpleados;
+            versiones = nuevasVersiones;
+            brutos = nuevosBrutos;
+            descuentos = nuevosDescuentos;
+            netos = nuevosNetos;
+            tipos = nuevosTipos;
+        }
+        cantidad = n;
+    }
+
+    private int recalcularTodo(List<Empleado> lista, TablaImpuestos vigente) {
+        // Se revisa la lista antes de tocar nada, para no dejar agregados a medias
+        for (Empleado empleado : lista) {
+            if (empleado == null) {
+                throw new IllegalArgumentException("La lista no puede contener empleados nulos");
+            }
+        }
+        int n = lista.size();
+        empleados = new Empleado[n];
+        versiones = new int[n];
+        brutos = new double[n];
+        descuentos = new double[n];
+        netos = new double[n];
+        tipos = new String[n];
+        totalBruto.reiniciar();
+        totalDescuentos.reiniciar();
+        totalNeto.reiniciar();
+        acumuladoPorTipo.clear();
+        int i = 0;
+        for (Empleado empleado : lista) {
+            tomarCifras(i, empleado);
+            aplicar(i, 1);
+            i++;
+        }
+        cantidad = n;
+        tabla = vigente;
+        return n;
+    }
+
+    /**
+     * Guarda las cifras actuales de un empleado en una posición
+     * La versión se lee antes de calcular: si el empleado cambia en medio, la
+     * próxima corrida lo vuelve a calcular
+     */
+    private void tomarCifras(int posicion, Empleado empleado) {
+        empleados[posicion] = empleado;
+        versiones[posicion] = empleado.getVersion();
+        brutos[posicion] = empleado.calcularSueldoConBonificaciones();
+        descuentos[posicion] = empleado.calcularTotalDescuentos();
+        netos[posicion] = empleado.calcularSalarioNeto();
+        tipos[posicion] = empleado.getTipoEmpleado();
+    }
+
+    /**
+     * Suma (signo 1) o resta (signo -1) las cifras de una posición a los agregados
+     */
+    private void aplicar(int posicion, int signo) {
+        totalBruto.agregar(signo * brutos[posicion]);
+        totalDescuentos.agregar(signo * descuentos[posicion]);
+        totalNeto.agregar(signo * netos[posicion]);
+        AcumuladoTipo acumulado = acumuladoPorTipo.computeIfAbsent(tipos[posicion], t -> new AcumuladoTipo());
+        acumulado.salarios.agregar(signo * netos[posicion]);
+        acumulado.cantidad += signo;
+        if (acumulado.cantidad == 0) {
+            acumuladoPorTipo.remove(tipos[posicion]);
+        }
+    }
+
+    private void asegurarCapacidad(int n) {
+        if (n <= empleados.length) {
+            return;
+        }
+        int capacidad = Math.max(n, empleados.length + (empleados.length >> 1));
+        empleados = Arrays.copyOf(empleados, capacidad);
+        versiones = Arrays.copyOf(versiones, capacidad);
+        brutos = Arrays.copyOf(brutos, capacidad);
+        descuentos = Arrays.copyOf(descuentos, capacidad);
+        netos = Arrays.copyOf(netos, capacidad);
+        tipos = Arrays.copyOf(tipos, capacidad);
+    }
+
+    private Map<String, Double> obtenerCostoPorTipo() {
+        Map<String, Double> costo = new HashMap<>();
+        for (Map.Entry<String, AcumuladoTipo> entrada : acumuladoPorTipo.entrySet()) {
+            costo.put(entrada.getKey(), entrada.getValue().salarios.obtener());
+        }
+        return costo;
+    }
+
+    /**
+     * Lista creciente de posiciones, sin cajas de Integer
+     */
+    private static final class Posiciones {
+        private int[] datos = new int[16];
+        private int cantidad;
+
+        private void agregar(int posicion) {
+            if (cantidad == datos.length) {
+                datos = Arrays.copyOf(datos, cantidad * 2);
+            }
+            datos[cantidad++] = posicion;
+        }
+    }
+
+    /**
+     * Total de salarios netos y cantidad de empleados de un tipo
+     */
+    private static final class AcumuladoTipo {
+        private final SumaCompensada salarios = new SumaCompensada();
+        private int cantidad;
+    }
+
+    /**
+     * Clase interna con el resultado de una corrida incremental
+     */
+    public static class ResultadoIncremental {
+        private final MotorNominaParalelo.TotalesNomina totales;
+        private final Map<String, Double> costoPorTipo;
+        private final int recalculados;
+        private final boolean completo;
+        private final long nanosDuracion;
+
+        public ResultadoIncremental(MotorNominaParalelo.TotalesNomina totales, Map<String, Double> costoPorTipo,
+                int recalculados, boolean completo, long nanosDuracion) {
+            this.totales = totales;
+            this.costoPorTipo = Collections.unmodifiableMap(costoPorTipo);
+            this.recalculados = recalculados;
+            this.completo = completo;
+            this.nanosDuracion = nanosDuracion;
+        }
+
+        // Getters
+        public MotorNominaParalelo.TotalesNomina getTotales() { return totales; }
+        public Map<String, Double> getCostoPorTipo() { return costoPorTipo; }
+        public int getRecalculados() { return recalculados; }
+        public boolean isCompleto() { return completo; }
+        public long getNanosDuracion() { return nanosDuracion; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "=== NÓMINA INCREMENTAL ===\n" +
+                "Total de empleados: %d\n" +
+                "Sueldo bruto total: $%.2f\n" +
+                "Descuentos totales: $%.2f\n" +
+                "Salario neto total: $%.2f\n" +
+                "Empleados recalculados: %d (%s)\n" +
+                "Duración: %.1f ms",
+                totales.getTotalEmpleados(), totales.getTotalBruto(), totales.getTotalDescuentos(),
+                totales.getTotalNeto(), recalculados, completo ? "corrida completa" : "solo cambios",
+                nanosDuracion / 1e6
+            );
+        }
+    }
+}
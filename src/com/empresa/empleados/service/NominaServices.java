@@ -3,31 +3,73 @@ package com.empresa.empleados.service;
 import com.empresa.empleados.model.Empleado;
 import com.empresa.empleados.model.Gerente;
 import com.empresa.empleados.model.JefeArea;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
 import com.empresa.empleados.model.Supervisor;
+import com.empresa.empleados.model.TablaImpuestos;
 import com.empresa.empleados.model.Tecnico;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Servicio de alto nivel para gestionar la nómina de la empresa
  * Coordina operaciones con EmpleadoService y CalculadoraDescuentos
  */
-public class NominaServices {
+public class NominaServices implements AutoCloseable {
+    
+    // Tamaño del búfer de los reportes en flujo
+    public static final int TAMANO_BUFFER_REPORTE = 8192;
     
     private final EmpleadoService empleadoService;
+    // Resúmenes de descuentos ya calculados, por sueldo bruto
+    private final CacheResumenDescuentos cacheResumenes;
+    // Cifras de la corrida anterior, para recalcular solo lo que cambió
+    private final NominaIncremental nominaIncremental = new NominaIncremental();
     
     /**
      * Constructor que inicializa el servicio con una instancia de EmpleadoService
      * @param empleadoService Servicio para gestionar empleados
      */
     public NominaServices(EmpleadoService empleadoService) {
+        this(empleadoService, new CacheResumenDescuentos());
+    }
+    
+    /**
+     * Constructor que permite compartir una caché de resúmenes de descuentos
+     * @param empleadoService Servicio para gestionar empleados
+     * @param cacheResumenes Caché de resúmenes de descuentos
+     */
+    public NominaServices(EmpleadoService empleadoService, CacheResumenDescuentos cacheResumenes) {
         if (empleadoService == null) {
             throw new IllegalArgumentException("El servicio de empleados no puede ser nulo");
         }
+        if (cacheResumenes == null) {
+            throw new IllegalArgumentException("La caché de resúmenes no puede ser nula");
+        }
         this.empleadoService = empleadoService;
+        this.cacheResumenes = cacheResumenes;
+    }
+    
+    /**
+     * Cierra el servicio de empleados recibido (EmpleadoService.close), para que
+     * sus empleados dejen de avisarle de cada modificación
+     */
+    @Override
+    public void close() {
+        empleadoService.close();
     }
     
     // GESTIÓN DE EMPLEADOS
@@ -41,6 +83,15 @@ public class NominaServices {
         return empleadoService.agregarEmpleado(empleado);
     }
     
+    /**
+     * Elimina un empleado de la nómina
+     * @param empleado Empleado a eliminar
+     * @return true si se eliminó correctamente
+     */
+    public boolean eliminarEmpleado(Empleado empleado) {
+        return empleadoService.eliminarEmpleado(empleado);
+    }
+    
     /**
      * Agrega múltiples empleados a la nómina
      * @param empleados Lista de empleados a agregar
@@ -83,14 +134,123 @@ public class NominaServices {
         return empleadoService.calcularTotalDescuentos();
     }
     
+    /**
+     * Calcula los totales de la nómina en paralelo
+     * Los totales son idénticos sin importar el paralelismo del pool del motor
+     * @param motor Motor de cálculo en paralelo
+     * @return Totales de sueldo bruto, descuentos y salario neto
+     */
+    public MotorNominaParalelo.TotalesNomina calcularTotalesNomina(MotorNominaParalelo motor) {
+        if (motor == null) {
+            throw new IllegalArgumentException("El motor de nómina no puede ser nulo");
+        }
+        return motor.calcularTotales(obtenerTodosLosEmpleados());
+    }
+    
+    /**
+     * Ejecuta una corrida de nómina en etapas (bonificaciones, descuentos,
+     * agregación y emisión) calculando las cifras de cada empleado una sola vez
+     * @param corrida Corrida con la configuración de colas y lotes
+     * @param destino Destino de las líneas de recibo, o null para no escribirlas
+     * @return Totales, costo por tipo y estadísticas de cada etapa
+     * @throws IOException si falla la escritura de los recibos
+     */
+    public CorridaNomina.ResultadoCorrida ejecutarCorrida(CorridaNomina corrida, Writer destino) throws IOException {
+        if (corrida == null) {
+            throw new IllegalArgumentException("La corrida de nómina no puede ser nula");
+        }
+        return corrida.ejecutar(obtenerTodosLosEmpleados(), destino);
+    }
+    
+    /**
+     * Ejecuta la nómina de todos los departamentos a la vez, cada uno con sus
+     * propios destinos de recibos y de auditoría
+     * @param ejecutor Ejecutor con el pool de cálculo y los hilos de E/S
+     * @param recibos Apertura del destino de recibos de cada departamento
+     * @param auditoria Apertura del destino de auditoría, o null para no escribirla
+     * @return Resultado de cada departamento
+     * @throws IOException si falla la escritura de algún departamento
+     */
+    public EjecutorNominaDepartamentos.ResultadoEjecucion ejecutarNominaPorDepartamento(
+            EjecutorNominaDepartamentos ejecutor, EjecutorNominaDepartamentos.AperturaDestino recibos,
+            EjecutorNominaDepartamentos.AperturaDestino auditoria) throws IOException {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor de nómina no puede ser nulo");
+        }
+        return ejecutor.ejecutar(obtenerTodosLosEmpleados(), recibos, auditoria);
+    }
+    
+    /**
+     * Ejecuta una corrida de nómina que solo recalcula a los empleados
+     * modificados, agregados o quitados desde la corrida anterior de este
+     * servicio y corrige con ellos los totales y el costo por tipo
+     * @return Totales, costo por tipo y cantidad de empleados recalculados
+     */
+    public NominaIncremental.ResultadoIncremental ejecutarNominaIncremental() {
+        return nominaIncremental.ejecutar(obtenerTodosLosEmpleados());
+    }
+    
+    /**
+     * Calcula los totales de la nómina en centavos exactos
+     * Aplica las reglas de Empleado (ISSS y AFP sin tope), como calcularCostoTotalNomina.
+     * Cada descuento se redondea al centavo (HALF_UP) y las sumas no pierden precisión
+     * @return Totales de la nómina en centavos
+     */
+    public CalculadoraNominaCentavos.TotalesCentavos calcularTotalesNominaCentavos() {
+        return CalculadoraNominaCentavos.calcularTotales(obtenerTodosLosEmpleados());
+    }
+    
     /**
      * Obtiene un resumen detallado de descuentos para todos los empleados
+     * Los empleados con el mismo sueldo bruto comparten el mismo resumen
      * @return Lista de resúmenes de descuentos
      */
     public List<CalculadoraDescuentos.ResumenDescuentos> obtenerResumenDescuentosNomina() {
-        return obtenerTodosLosEmpleados().stream()
-                .map(e -> CalculadoraDescuentos.obtenerResumenDescuentos(e.calcularSueldoConBonificaciones()))
-                .collect(Collectors.toList());
+        return obtenerResumenDescuentosNomina(RegistroTablasImpuestos.obtenerVigente());
+    }
+    
+    /**
+     * Obtiene el resumen de descuentos de todos los empleados para un período
+     * Usa la tabla de impuestos que estaba vigente en la fecha indicada
+     * @param periodo Fecha del período a calcular
+     * @return Lista de resúmenes de descuentos
+     */
+    public List<CalculadoraDescuentos.ResumenDescuentos> obtenerResumenDescuentosNomina(LocalDate periodo) {
+        return obtenerResumenDescuentosNomina(RegistroTablasImpuestos.obtenerTabla(periodo));
+    }
+    
+    private List<CalculadoraDescuentos.ResumenDescuentos> obtenerResumenDescuentosNomina(TablaImpuestos tabla) {
+        List<Empleado> empleados = obtenerTodosLosEmpleados();
+        List<CalculadoraDescuentos.ResumenDescuentos> resumenes = new ArrayList<>(empleados.size());
+        for (Empleado empleado : empleados) {
+            resumenes.add(cacheResumenes.obtener(empleado.calcularSueldoConBonificaciones(), tabla));
+        }
+        return resumenes;
+    }
+    
+    /**
+     * Obtiene los contadores de aciertos y fallos de la caché de resúmenes
+     * @return Estadísticas de la caché
+     */
+    public CacheResumenDescuentos.EstadisticasCache obtenerEstadisticasCacheResumenes() {
+        return cacheResumenes.obtenerEstadisticas();
+    }
+    
+    /**
+     * Calcula los descuentos de todos los empleados en un solo lote
+     * A diferencia de obtenerResumenDescuentosNomina, no crea un objeto por
+     * empleado: los resultados quedan en los arreglos del lote, en el mismo
+     * orden que obtenerTodosLosEmpleados
+     * @return Lote con los sueldos brutos y sus descuentos
+     */
+    public CalculadoraDescuentos.LoteDescuentos obtenerLoteDescuentosNomina() {
+        List<Empleado> empleados = obtenerTodosLosEmpleados();
+        CalculadoraDescuentos.LoteDescuentos lote = new CalculadoraDescuentos.LoteDescuentos(empleados.size());
+        for (Empleado empleado : empleados) {
+            lote.agregarSueldoBruto(empleado.calcularSueldoConBonificaciones());
+        }
+        CalculadoraDescuentos.calcularDescuentosLote(lote);
+        return lote;
     }
     
     // =============== REPORTES Y ANÁLISIS ===============
@@ -119,6 +279,46 @@ public class NominaServices {
         return empleadoService.ordenarPorSalarioDescendente();
     }
     
+    /**
+     * Genera una página del reporte por primer apellido
+     * Devuelve lo mismo que la sublista de generarReportePorApellido sin ordenar toda la nómina
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     * @return Lista con los empleados de la página
+     */
+    public List<Empleado> generarReportePorApellido(int desde, int limite) {
+        return empleadoService.ordenarPorPrimerApellido(desde, limite);
+    }
+    
+    /**
+     * Genera una página del reporte por salario neto (ascendente)
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     * @return Lista con los empleados de la página
+     */
+    public List<Empleado> generarReportePorSalarioAscendente(int desde, int limite) {
+        return empleadoService.ordenarPorSalarioAscendente(desde, limite);
+    }
+    
+    /**
+     * Genera una página del reporte por salario neto (descendente)
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     * @return Lista con los empleados de la página
+     */
+    public List<Empleado> generarReportePorSalarioDescendente(int desde, int limite) {
+        return empleadoService.ordenarPorSalarioDescendente(desde, limite);
+    }
+    
+    /**
+     * Obtiene los k empleados con mayor salario neto
+     * @param k Cantidad de empleados
+     * @return Lista de hasta k empleados, de mayor a menor salario neto
+     */
+    public List<Empleado> generarTopSalarios(int k) {
+        return generarReportePorSalarioDescendente(0, k);
+    }
+    
     /**
      * Genera un conteo de empleados por tipo/rol
      * @return Mapa con el conteo por tipo de empleado
@@ -225,6 +425,153 @@ public class NominaServices {
                 .collect(Collectors.toList());
     }
     
+    // =============== REPORTES EN FLUJO ===============
+    // Escriben cada línea apenas la generan, con búferes de tamaño fijo: la
+    // memoria no depende del número de filas. El destino se vacía (flush) al
+    // terminar, pero no se cierra
+    
+    /**
+     * Escribe el reporte de gerentes, una línea por gerente
+     * @param destino Destino del reporte
+     * @return Número de líneas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long generarReporteGerentes(Writer destino) throws IOException {
+        return escribirReporte(destino, Gerente.class, Gerente::escribirResumenGerencial);
+    }
+    
+    /**
+     * Escribe el reporte de jefes de área, una línea por jefe de área
+     * @param destino Destino del reporte
+     * @return Número de líneas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long generarReporteJefesArea(Writer destino) throws IOException {
+        return escribirReporte(destino, JefeArea.class, JefeArea::escribirResumenJefeArea);
+    }
+    
+    /**
+     * Escribe el reporte de supervisores, una línea por supervisor
+     * @param destino Destino del reporte
+     * @return Número de líneas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long generarReporteSupervisores(Writer destino) throws IOException {
+        return escribirReporte(destino, Supervisor.class, Supervisor::escribirResumenSupervisor);
+    }
+    
+    /**
+     * Escribe el reporte de técnicos, una línea por técnico
+     * @param destino Destino del reporte
+     * @return Número de líneas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long generarReporteTecnicos(Writer destino) throws IOException {
+        return escribirReporte(destino, Tecnico.class, Tecnico::escribirResumenTecnico);
+    }
+    
+    /**
+     * Escribe el recibo de cada empleado (el texto de toString), separados por
+     * una línea en blanco. Todos los recibos se arman en el mismo StringBuilder
+     * y la edad se calcula con una sola fecha de referencia
+     * @param destino Destino del reporte
+     * @return Número de recibos escritos
+     * @throws IOException si falla la escritura
+     */
+    public long generarRecibos(Writer destino) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino del reporte no puede ser nulo");
+        }
+        Writer conBuffer = destino instanceof BufferedWriter ? destino : new BufferedWriter(destino, TAMANO_BUFFER_REPORTE);
+        LocalDate hoy = LocalDate.now();
+        String separador = System.lineSeparator();
+        StringBuilder recibo = new StringBuilder(1024);
+        char[] bloque = new char[TAMANO_BUFFER_REPORTE];
+        IOException[] error = {null};
+        long[] recibos = {0};
+        empleadoService.recorrerPorTipo(Empleado.class, empleado -> {
+            if (error[0] != null) {
+                return;
+            }
+            recibo.setLength(0);
+            empleado.escribirRecibo(recibo, hoy).append(separador);
+            try {
+                copiar(recibo, bloque, conBuffer);
+                recibos[0]++;
+            } catch (IOException e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+        conBuffer.flush();
+        return recibos[0];
+    }
+    
+    /**
+     * Copia el texto al destino por bloques, sin crear un String intermedio
+     * @param texto Texto a escribir
+     * @param bloque Arreglo reutilizable para la copia
+     * @param destino Destino del texto
+     * @throws IOException si falla la escritura
+     */
+    static void copiar(StringBuilder texto, char[] bloque, Writer destino) throws IOException {
+        for (int desde = 0; desde < texto.length(); desde += bloque.length) {
+            int hasta = Math.min(texto.length(), desde + bloque.length);
+            texto.getChars(desde, hasta, bloque, 0);
+            destino.write(bloque, 0, hasta - desde);
+        }
+    }
+    
+    /**
+     * Crea un Writer UTF-8 con búfer acotado sobre un OutputStream, para los reportes en flujo
+     * @param salida Flujo de salida (no se cierra al terminar un reporte)
+     * @return Writer sobre el flujo
+     */
+    public static Writer escritorPara(OutputStream salida) {
+        if (salida == null) {
+            throw new IllegalArgumentException("El flujo de salida no puede ser nulo");
+        }
+        return new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER_REPORTE);
+    }
+    
+    /**
+     * Crea un Writer UTF-8 con búfer acotado sobre un canal, para los reportes en flujo
+     * @param canal Canal de salida (no se cierra al terminar un reporte)
+     * @return Writer sobre el canal
+     */
+    public static Writer escritorPara(WritableByteChannel canal) {
+        if (canal == null) {
+            throw new IllegalArgumentException("El canal no puede ser nulo");
+        }
+        return Channels.newWriter(canal, StandardCharsets.UTF_8.newEncoder(), TAMANO_BUFFER_REPORTE);
+    }
+    
+    private <T extends Empleado> long escribirReporte(Writer destino, Class<T> tipo,
+            BiConsumer<T, Formatter> escribirLinea) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino del reporte no puede ser nulo");
+        }
+        // El Formatter escribe por partes pequeñas: el búfer las agrupa antes de llegar al destino
+        Writer conBuffer = destino instanceof BufferedWriter ? destino : new BufferedWriter(destino, TAMANO_BUFFER_REPORTE);
+        Formatter formatter = new Formatter(conBuffer);
+        long[] lineas = {0};
+        empleadoService.recorrerPorTipo(tipo, empleado -> {
+            // El Formatter guarda la primera IOException en lugar de lanzarla
+            if (formatter.ioException() == null) {
+                escribirLinea.accept(empleado, formatter);
+                formatter.format("%n");
+                lineas[0]++;
+            }
+        });
+        formatter.flush();
+        if (formatter.ioException() != null) {
+            throw formatter.ioException();
+        }
+        return lineas[0];
+    }
+    
     // =============== VALIDACIONES Y UTILIDADES ===============
     
     /**
@@ -241,10 +588,6 @@ public class NominaServices {
      * @return Mapa con el costo total de nómina por tipo
      */
     public Map<String, Double> obtenerCostoNominaPorTipo() {
-        return obtenerTodosLosEmpleados().stream()
-                .collect(Collectors.groupingBy(
-                        Empleado::getTipoEmpleado,
-                        Collectors.summingDouble(Empleado::calcularSalarioNeto)
-                ));
+        return empleadoService.calcularCostoNominaPorTipo();
     }
 }
\ No newline at end of file
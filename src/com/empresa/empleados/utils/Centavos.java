@@ -0,0 +1,68 @@
+package com.empresa.empleados.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utilidades para montos de dinero representados como long en centavos
+ * Un monto de $1,234.56 se guarda como 123456L. Las sumas y restas de centavos
+ * son exactas y no crean objetos; la única conversión que puede redondear es
+ * desdeDouble, que usa redondeo HALF_UP sobre la representación decimal del
+ * double (la misma que muestra Double.toString)
+ */
+public final class Centavos {
+    
+    public static final long CENTAVOS_POR_DOLAR = 100L;
+    
+    /**
+     * Constructor privado para evitar instanciación (clase utilitaria)
+     */
+    private Centavos() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+    
+    /**
+     * Convierte un monto en dólares a centavos, redondeando HALF_UP
+     * Los montos que ya son un número exacto de centavos no crean objetos
+     * @param monto Monto en dólares
+     * @return Monto en centavos
+     */
+    public static long desdeDouble(double monto) {
+        if (Double.isNaN(monto) || Double.isInfinite(monto)) {
+            throw new IllegalArgumentException("El monto debe ser un número finito: " + monto);
+        }
+        double escalado = monto * CENTAVOS_POR_DOLAR;
+        if (Math.abs(escalado) < 1e15) {
+            long centavos = (long) escalado;
+            if (centavos == escalado && centavos / (double) CENTAVOS_POR_DOLAR == monto) {
+                return centavos;
+            }
+        }
+        BigDecimal redondeado = BigDecimal.valueOf(monto).setScale(2, RoundingMode.HALF_UP);
+        return redondeado.movePointRight(2).longValueExact();
+    }
+    
+    /**
+     * Convierte centavos a dólares (puede perder exactitud en montos enormes)
+     * @param centavos Monto en centavos
+     */
+    public static double aDouble(long centavos) {
+        return centavos / (double) CENTAVOS_POR_DOLAR;
+    }
+    
+    /**
+     * Convierte centavos a BigDecimal con dos decimales, sin pérdida
+     * @param centavos Monto en centavos
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+    
+    /**
+     * Formatea centavos como dólares con dos decimales (por ejemplo "-12.05")
+     * @param centavos Monto en centavos
+     */
+    public static String formatear(long centavos) {
+        return aBigDecimal(centavos).toPlainString();
+    }
+}
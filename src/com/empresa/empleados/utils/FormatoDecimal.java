@@ -0,0 +1,141 @@
+package com.empresa.empleados.utils;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Escritura de números con decimales fijos directo en un StringBuilder
+ * Produce exactamente el mismo texto que String.format("%.2f") (o "%.1f", etc.)
+ * con el Locale de formato por defecto, pero sin analizar el patrón ni crear
+ * un Formatter en cada llamada. Los valores que quedan muy cerca de un empate
+ * de redondeo, los enormes y los no finitos se delegan al Formatter de la JDK
+ * para no cambiar ni un carácter
+ */
+public final class FormatoDecimal {
+
+    /** Máximo de decimales que se escriben por el camino rápido */
+    public static final int MAX_DECIMALES = 6;
+
+    /** Por debajo de este valor escalado el producto por 10^n es exacto a 1e-8 */
+    private static final double LIMITE_ESCALADO = 1e8;
+
+    /** Distancia mínima al empate .5 para confiar en el redondeo en double */
+    private static final double MARGEN_EMPATE = 1e-6;
+
+    private static final long[] POTENCIAS_DIEZ = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    private static final String[] PATRONES = {"%.0f", "%.1f", "%.2f", "%.3f", "%.4f", "%.5f", "%.6f"};
+
+    /** Símbolos del último Locale usado; se recalculan solo si cambia el Locale por defecto */
+    private static volatile Simbolos simbolos = new Simbolos(Locale.getDefault(Locale.Category.FORMAT));
+
+    /**
+     * Constructor privado para evitar instanciación (clase utilitaria)
+     */
+    private FormatoDecimal() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+
+    /**
+     * Agrega el valor con el número de decimales indicado, igual que "%.Nf"
+     * @param destino Buffer donde se escribe
+     * @param valor Valor a escribir
+     * @param decimales Decimales a mostrar (0 a MAX_DECIMALES)
+     * @return El mismo destino, para encadenar
+     */
+    public static StringBuilder agregar(StringBuilder destino, double valor, int decimales) {
+        if (decimales < 0 || decimales > MAX_DECIMALES) {
+            throw new IllegalArgumentException("Los decimales deben estar entre 0 y " + MAX_DECIMALES + ": " + decimales);
+        }
+        Simbolos s = simbolosActuales();
+        if (!Double.isFinite(valor)) {
+            return conFormatter(destino, s.locale, PATRONES[decimales], valor);
+        }
+
+        long escala = POTENCIAS_DIEZ[decimales];
+        double absoluto = Math.abs(valor);
+        double escalado = absoluto * escala;
+        if (escalado >= LIMITE_ESCALADO) {
+            return conFormatter(destino, s.locale, PATRONES[decimales], valor);
+        }
+        double piso = Math.floor(escalado);
+        double fraccion = escalado - piso;
+        if (Math.abs(fraccion - 0.5) < MARGEN_EMPATE) {
+            // Cerca del empate decide la representación decimal del double, no el binario
+            return conFormatter(destino, s.locale, PATRONES[decimales], valor);
+        }
+        long redondeado = (long) piso + (fraccion > 0.5 ? 1 : 0);
+
+        // El Formatter muestra el signo aunque el valor redondee a cero (incluido -0.0)
+        if (Double.compare(valor, 0.0) < 0) {
+            destino.append('-');
+        }
+        int inicio = destino.length();
+        destino.append(redondeado / escala);
+        if (decimales > 0) {
+            destino.append(s.separadorDecimal);
+            long resto = redondeado % escala;
+            for (long p = escala / 10; p > 0; p /= 10) {
+                destino.append((char) ('0' + (resto / p) % 10));
+            }
+        }
+        return localizarDigitos(destino, inicio, s.cero);
+    }
+
+    /**
+     * Agrega un entero igual que "%d" con el Locale de formato por defecto
+     * @param destino Buffer donde se escribe
+     * @param valor Valor a escribir
+     * @return El mismo destino, para encadenar
+     */
+    public static StringBuilder agregarEntero(StringBuilder destino, long valor) {
+        int inicio = destino.length();
+        destino.append(valor);
+        return localizarDigitos(destino, inicio, simbolosActuales().cero);
+    }
+
+    // Igual que el Formatter: cada dígito ASCII se desplaza al cero del Locale
+    private static StringBuilder localizarDigitos(StringBuilder destino, int inicio, char cero) {
+        if (cero != '0') {
+            for (int i = inicio; i < destino.length(); i++) {
+                char c = destino.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    destino.setCharAt(i, (char) (c - '0' + cero));
+                }
+            }
+        }
+        return destino;
+    }
+
+    private static StringBuilder conFormatter(StringBuilder destino, Locale locale, String patron, Object valor) {
+        new Formatter(destino, locale).format(patron, valor);
+        return destino;
+    }
+
+    private static Simbolos simbolosActuales() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Simbolos s = simbolos;
+        if (!s.locale.equals(locale)) {
+            s = new Simbolos(locale);
+            simbolos = s;
+        }
+        return s;
+    }
+
+    /**
+     * Separador y cero del Locale, con las mismas reglas que usa Formatter
+     */
+    private static final class Simbolos {
+        final Locale locale;
+        final char separadorDecimal;
+        final char cero;
+
+        Simbolos(Locale locale) {
+            this.locale = locale;
+            DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+            this.separadorDecimal = locale.equals(Locale.US) ? '.' : dfs.getDecimalSeparator();
+            this.cero = locale.equals(Locale.US) ? '0' : dfs.getZeroDigit();
+        }
+    }
+}
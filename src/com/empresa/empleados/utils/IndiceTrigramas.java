@@ -0,0 +1,345 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.model.Empleado;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de trigramas sobre el nombre completo de los empleados para búsquedas
+ * parciales. Los nombres se normalizan sin tildes ni mayúsculas, de modo que
+ * "gomez" encuentra a "Gómez". Cada empleado recibe un número de documento
+ * creciente y cada trigrama guarda la lista ordenada de documentos que lo
+ * contienen. Una búsqueda intersecta esas listas empezando por la más corta y
+ * después verifica cada candidato contra su nombre normalizado.
+ * Las bajas se marcan y el índice se compacta cuando la mitad está eliminada.
+ * No es seguro para uso concurrente.
+ */
+public class IndiceTrigramas {
+    
+    private static final int N = 3;
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    // Letras U+00C0..U+00FF sin tilde y en minúscula ('*' = sin equivalente simple)
+    private static final String LATIN_1_SIN_TILDES =
+            "aaaaaa*ceeeeiiii*nooooo**uuuuy**" +
+            "aaaaaa*ceeeeiiii*nooooo**uuuuy*y";
+    
+    // Trigrama codificado en un long -> documentos que lo contienen, en orden creciente
+    private final Map<Long, ListaDocumentos> documentosPorTrigrama;
+    // Documento asignado a cada empleado indexado
+    private final Map<Empleado, Integer> documentoPorEmpleado;
+    private Empleado[] empleados;
+    private String[] nombresNormalizados;
+    private int totalDocumentos;
+    private int eliminados;
+    private long entradas;
+    private long nanosConstruccion;
+    
+    public IndiceTrigramas() {
+        this.documentosPorTrigrama = new HashMap<>();
+        this.documentoPorEmpleado = new IdentityHashMap<>();
+        this.empleados = new Empleado[CAPACIDAD_INICIAL];
+        this.nombresNormalizados = new String[CAPACIDAD_INICIAL];
+    }
+    
+    /**
+     * Normaliza un texto para búsqueda: sin espacios extremos, sin tildes ni
+     * diéresis y en minúsculas
+     * @param texto Texto a normalizar
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String recortado = texto.trim();
+        StringBuilder sb = null;
+        for (int i = 0; i < recortado.length(); i++) {
+            char c = recortado.charAt(i);
+            char plegado;
+            if (c < 128) {
+                plegado = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+            } else if (c >= 0xC0 && c <= 0xFF && LATIN_1_SIN_TILDES.charAt(c - 0xC0) != '*') {
+                plegado = LATIN_1_SIN_TILDES.charAt(c - 0xC0);
+            } else {
+                // Fuera de Latin-1 se recurre a la descomposición Unicode completa
+                String sinMarcas = MARCAS_DIACRITICAS.matcher(
+                        Normalizer.normalize(recortado, Normalizer.Form.NFD)).replaceAll("");
+                return sinMarcas.toLowerCase();
+            }
+            if (plegado != c && sb == null) {
+                sb = new StringBuilder(recortado.length());
+                sb.append(recortado, 0, i);
+            }
+            if (sb != null) {
+                sb.append(plegado);
+            }
+        }
+        return sb == null ? recortado : sb.toString();
+    }
+    
+    /**
+     * Reconstruye el índice completo con una colección de empleados
+     * @param empleados Empleados a indexar
+     */
+    public void construir(Collection<? extends Empleado> empleados) {
+        limpiar();
+        for (Empleado empleado : empleados) {
+            agregar(empleado);
+        }
+    }
+    
+    /**
+     * Indexa un empleado con su nombre completo actual
+     * Si ya estaba indexado, se reindexa con el nombre nuevo
+     * @param empleado Empleado a indexar
+     */
+    public void agregar(Empleado empleado) {
+        if (empleado == null) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        remover(empleado);
+        indexar(empleado, normalizar(empleado.getNombreCompleto()));
+        nanosConstruccion += System.nanoTime() - inicio;
+    }
+    
+    private void indexar(Empleado empleado, String nombre) {
+        if (totalDocumentos == empleados.length) {
+            empleados = Arrays.copyOf(empleados, totalDocumentos * 2);
+            nombresNormalizados = Arrays.copyOf(nombresNormalizados, totalDocumentos * 2);
+        }
+        int documento = totalDocumentos++;
+        empleados[documento] = empleado;
+        nombresNormalizados[documento] = nombre;
+        documentoPorEmpleado.put(empleado, documento);
+        for (int i = 0; i + N <= nombre.length(); i++) {
+            ListaDocumentos lista = documentosPorTrigrama.get(codificar(nombre, i));
+            if (lista == null) {
+                lista = new ListaDocumentos();
+                documentosPorTrigrama.put(codificar(nombre, i), lista);
+            }
+            if (lista.agregar(documento)) {
+                entradas++;
+            }
+        }
+    }
+    
+    /**
+     * Retira un empleado del índice
+     * @param empleado Empleado a retirar
+     */
+    public void remover(Empleado empleado) {
+        Integer documento = documentoPorEmpleado.remove(empleado);
+        if (documento == null) {
+            return;
+        }
+        empleados[documento] = null;
+        nombresNormalizados[documento] = null;
+        eliminados++;
+        if (eliminados >= MINIMO_PARA_COMPACTAR && eliminados * 2 >= totalDocumentos) {
+            compactar();
+        }
+    }
+    
+    /**
+     * Reconstruye las listas sin los documentos eliminados, conservando el orden
+     */
+    private void compactar() {
+        Empleado[] vivos = empleados;
+        String[] nombres = nombresNormalizados;
+        int total = totalDocumentos;
+        documentosPorTrigrama.clear();
+        documentoPorEmpleado.clear();
+        empleados = new Empleado[Math.max(CAPACIDAD_INICIAL, total - eliminados)];
+        nombresNormalizados = new String[empleados.length];
+        totalDocumentos = 0;
+        eliminados = 0;
+        entradas = 0;
+        for (int i = 0; i < total; i++) {
+            if (vivos[i] != null) {
+                indexar(vivos[i], nombres[i]);
+            }
+        }
+    }
+    
+    /**
+     * Vacía el índice y reinicia el tiempo de construcción acumulado
+     */
+    public void limpiar() {
+        documentosPorTrigrama.clear();
+        documentoPorEmpleado.clear();
+        empleados = new Empleado[CAPACIDAD_INICIAL];
+        nombresNormalizados = new String[CAPACIDAD_INICIAL];
+        totalDocumentos = 0;
+        eliminados = 0;
+        entradas = 0;
+        nanosConstruccion = 0;
+    }
+    
+    /**
+     * Busca empleados cuyo nombre completo contiene el texto indicado
+     * (ignora mayúsculas, tildes y espacios extremos)
+     * @param texto Texto a buscar
+     * @return Lista de empleados que coinciden, en orden de indexación
+     */
+    public List<Empleado> buscar(String texto) {
+        String consulta = normalizar(texto);
+        List<Empleado> resultado = new ArrayList<>();
+        if (consulta.isEmpty()) {
+            return resultado;
+        }
+        if (consulta.length() < N) {
+            // Sin trigramas en la consulta: se recorren los nombres ya normalizados
+            for (int i = 0; i < totalDocumentos; i++) {
+                if (nombresNormalizados[i] != null && nombresNormalizados[i].contains(consulta)) {
+                    resultado.add(empleados[i]);
+                }
+            }
+            return resultado;
+        }
+        
+        int totalTrigramas = consulta.length() - N + 1;
+        ListaDocumentos[] listas = new ListaDocumentos[totalTrigramas];
+        for (int i = 0; i < totalTrigramas; i++) {
+            listas[i] = documentosPorTrigrama.get(codificar(consulta, i));
+            if (listas[i] == null) {
+                return resultado; // Un trigrama ausente descarta la búsqueda
+            }
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamano, b.tamano));
+        
+        // Posición de avance en cada lista; los candidatos llegan en orden creciente
+        int[] posiciones = new int[totalTrigramas];
+        ListaDocumentos menor = listas[0];
+        candidatos:
+        for (int k = 0; k < menor.tamano; k++) {
+            int documento = menor.documentos[k];
+            for (int j = 1; j < totalTrigramas; j++) {
+                posiciones[j] = listas[j].avanzarHasta(documento, posiciones[j]);
+                if (posiciones[j] == listas[j].tamano) {
+                    break candidatos; // Una lista se agotó: no hay más coincidencias
+                }
+                if (listas[j].documentos[posiciones[j]] != documento) {
+                    continue candidatos;
+                }
+            }
+            String nombre = nombresNormalizados[documento];
+            if (nombre != null && nombre.contains(consulta)) {
+                resultado.add(empleados[documento]);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Codifica los tres caracteres a partir de una posición en un long
+     */
+    private static long codificar(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32)
+                | ((long) texto.charAt(inicio + 1) << 16)
+                | texto.charAt(inicio + 2);
+    }
+    
+    /**
+     * Lista creciente de números de documento de un trigrama
+     */
+    private static final class ListaDocumentos {
+        private int[] documentos = new int[4];
+        private int tamano;
+        
+        /**
+         * Agrega un documento al final; ignora repeticiones del mismo nombre
+         */
+        boolean agregar(int documento) {
+            if (tamano > 0 && documentos[tamano - 1] == documento) {
+                return false;
+            }
+            if (tamano == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamano * 2);
+            }
+            documentos[tamano++] = documento;
+            return true;
+        }
+        
+        /**
+         * Búsqueda exponencial: primera posición desde "desde" con documento >= objetivo
+         */
+        int avanzarHasta(int objetivo, int desde) {
+            if (desde >= tamano || documentos[desde] >= objetivo) {
+                return desde;
+            }
+            int salto = 1;
+            int bajo = desde;
+            int alto = desde + 1;
+            while (alto < tamano && documentos[alto] < objetivo) {
+                bajo = alto;
+                salto <<= 1;
+                alto = desde + salto;
+            }
+            alto = Math.min(alto, tamano);
+            // documentos[bajo] < objetivo y (alto == tamano o documentos[alto] >= objetivo)
+            while (bajo + 1 < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (documentos[medio] < objetivo) {
+                    bajo = medio;
+                } else {
+                    alto = medio;
+                }
+            }
+            return alto;
+        }
+    }
+    
+    /**
+     * Obtiene el tamaño del índice y el tiempo invertido en construirlo
+     */
+    public EstadisticasIndice obtenerEstadisticas() {
+        return new EstadisticasIndice(documentoPorEmpleado.size(), documentosPorTrigrama.size(),
+                entradas, nanosConstruccion);
+    }
+    
+    /**
+     * Clase interna para el tamaño y tiempo de construcción del índice
+     */
+    public static class EstadisticasIndice {
+        private final int empleadosIndexados;
+        private final int trigramasDistintos;
+        private final long entradas;
+        private final long nanosConstruccion;
+        
+        public EstadisticasIndice(int empleadosIndexados, int trigramasDistintos,
+                                  long entradas, long nanosConstruccion) {
+            this.empleadosIndexados = empleadosIndexados;
+            this.trigramasDistintos = trigramasDistintos;
+            this.entradas = entradas;
+            this.nanosConstruccion = nanosConstruccion;
+        }
+        
+        // Getters
+        public int getEmpleadosIndexados() { return empleadosIndexados; }
+        public int getTrigramasDistintos() { return trigramasDistintos; }
+        public long getEntradas() { return entradas; }
+        public long getNanosConstruccion() { return nanosConstruccion; }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "=== ÍNDICE DE TRIGRAMAS ===\n" +
+                "Empleados indexados: %d\n" +
+                "Trigramas distintos: %d\n" +
+                "Entradas en listas: %d\n" +
+                "Tiempo de construcción: %.3f ms",
+                empleadosIndexados, trigramasDistintos, entradas, nanosConstruccion / 1_000_000.0
+            );
+        }
+    }
+}
@@ -1,30 +1,45 @@
 package com.empresa.empleados.utils;
 
 import com.empresa.empleados.model.Empleado;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
  * Utilidad para ordenar empleados y contarlos por rol.
  */
 public class OrdenadorEmpleados {
+
+    // A partir de este tamaño los arreglos de claves se ordenan con Arrays.parallelSort
+    public static final int UMBRAL_ORDEN_PARALELO = 1 << 13;
     
-	//Ordena la lista de empleados por primer apellido
+	//Orden por apellidos en español: primer apellido, segundo apellido y nombres (ver Empleado.getClaveOrdenApellidos)
+    public static final Comparator<Empleado> ORDEN_APELLIDOS =
+            Comparator.comparing(Empleado::getClaveOrdenApellidos, Arrays::compareUnsigned);
+
+	//Ordena la lista de empleados por primer apellido con las reglas del español
     public static List<Empleado> ordenarPorPrimerApellido(List<Empleado> empleados, boolean ascending) {
         if (empleados == null || empleados.isEmpty()) {
             return List.of(); // Devuelve lista vacía si la entrada es nula o vacía
         }
 
-        Comparator<Empleado> comparador = Comparator.comparing(Empleado::getPrimerApellido, String.CASE_INSENSITIVE_ORDER);
-        if (!ascending) {
-            comparador = comparador.reversed();
+        // Las claves de orden se calculan una vez por empleado y quedan guardadas en él
+        Empleado[] origen = empleados.toArray(new Empleado[0]);
+        byte[][] claves = new byte[origen.length][];
+        for (int i = 0; i < origen.length; i++) {
+            claves[i] = origen[i].getClaveOrdenApellidos();
         }
 
-        return empleados.stream()
-                .sorted(comparador)
-                .collect(Collectors.toList());
+        int[] indices = ordenarIndicesPorBytes(claves, ascending);
+        List<Empleado> ordenados = new ArrayList<>(origen.length);
+        for (int indice : indices) {
+            ordenados.add(origen[indice]);
+        }
+        return ordenados;
     }
 	
 	
@@ -34,14 +49,386 @@ public class OrdenadorEmpleados {
             return List.of(); // Devuelve lista vacía si la entrada es nula o vacía
         }
 
-        Comparator<Empleado> comparador = Comparator.comparingDouble(Empleado::calcularSalarioNeto);
-        if (!ascendente) {
-            comparador = comparador.reversed();
+        return ordenarPorClave(empleados, Empleado::calcularSalarioNeto, ascendente);
+    }
+
+    /**
+     * Ordena empleados por una clave numérica que se calcula una sola vez por empleado
+     * El orden es el de Comparator.comparingDouble (Double.compare) y es estable:
+     * los empleados con la misma clave conservan su orden original, también en
+     * orden descendente, igual que con comparador.reversed()
+     *
+     * @param empleados Lista de empleados
+     * @param clave Función que obtiene la clave de cada empleado
+     * @param ascendente true para ordenar de menor a mayor
+     * @return Nueva lista ordenada
+     */
+    public static List<Empleado> ordenarPorClave(List<Empleado> empleados,
+            ToDoubleFunction<? super Empleado> clave, boolean ascendente) {
+        if (empleados == null || empleados.isEmpty()) {
+            return List.of(); // Devuelve lista vacía si la entrada es nula o vacía
+        }
+        if (clave == null) {
+            throw new IllegalArgumentException("La función de clave no puede ser nula");
         }
 
-        return empleados.stream()
-                .sorted(comparador)
-                .collect(Collectors.toList());
+        Empleado[] origen = empleados.toArray(new Empleado[0]);
+        double[] claves = new double[origen.length];
+        for (int i = 0; i < origen.length; i++) {
+            claves[i] = clave.applyAsDouble(origen[i]);
+        }
+
+        int[] indices = ordenarIndices(claves, ascendente);
+        List<Empleado> ordenados = new ArrayList<>(origen.length);
+        for (int indice : indices) {
+            ordenados.add(origen[indice]);
+        }
+        return ordenados;
+    }
+
+    /**
+     * Obtiene la permutación que ordena un arreglo de claves, sin mover las claves
+     * Cada clave se convierte a un long que se ordena igual que Double.compare
+     * (-0.0 antes de 0.0 y NaN al final) y solo se ordena ese arreglo primitivo.
+     * Después cada clave se reemplaza por su rango entre las claves distintas y
+     * los índices se reparten por rango (ordenamiento por conteo), que es estable:
+     * en los empates queda primero el índice menor, sin comparadores ni objetos
+     * por elemento
+     *
+     * @param claves Claves a ordenar (no se modifican)
+     * @param ascendente true para ordenar de menor a mayor
+     * @return Índices de las claves en el orden pedido
+     */
+    public static int[] ordenarIndices(double[] claves, boolean ascendente) {
+        if (claves == null) {
+            throw new IllegalArgumentException("El arreglo de claves no puede ser nulo");
+        }
+        int n = claves.length;
+        long[] ordenables = new long[n];
+        for (int i = 0; i < n; i++) {
+            ordenables[i] = claveOrdenable(claves[i]);
+        }
+
+        // Claves distintas en orden
+        long[] distintas = ordenables.clone();
+        if (n >= UMBRAL_ORDEN_PARALELO) {
+            Arrays.parallelSort(distintas);
+        } else {
+            Arrays.sort(distintas);
+        }
+        int cantidadDistintas = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || distintas[i] != distintas[cantidadDistintas - 1]) {
+                distintas[cantidadDistintas++] = distintas[i];
+            }
+        }
+
+        int[] rangos = new int[n];
+        for (int i = 0; i < n; i++) {
+            rangos[i] = Arrays.binarySearch(distintas, 0, cantidadDistintas, ordenables[i]);
+        }
+        return repartirPorRango(rangos, cantidadDistintas, ascendente);
+    }
+
+    /**
+     * Obtiene la permutación que ordena claves de bytes comparadas sin signo
+     * (Arrays.compareUnsigned). Los índices se ordenan con un ordenamiento
+     * estable que solo compara bytes, así que los empates conservan su orden
+     * original también en orden descendente
+     *
+     * @param claves Claves a ordenar (no se modifican)
+     * @param ascendente true para ordenar de menor a mayor
+     * @return Índices de las claves en el orden pedido
+     */
+    public static int[] ordenarIndicesPorBytes(byte[][] claves, boolean ascendente) {
+        if (claves == null) {
+            throw new IllegalArgumentException("El arreglo de claves no puede ser nulo");
+        }
+        int n = claves.length;
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        Comparator<Integer> comparador = ascendente
+                ? (a, b) -> Arrays.compareUnsigned(claves[a], claves[b])
+                : (a, b) -> Arrays.compareUnsigned(claves[b], claves[a]);
+        // Ambos ordenamientos de objetos son estables
+        if (n >= UMBRAL_ORDEN_PARALELO) {
+            Arrays.parallelSort(orden, comparador);
+        } else {
+            Arrays.sort(orden, comparador);
+        }
+
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = orden[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Ordenamiento por conteo de los índices según su rango (estable)
+     * @param rangos Rango de cada índice entre 0 y cantidadRangos - 1 (se modifica si es descendente)
+     */
+    private static int[] repartirPorRango(int[] rangos, int cantidadRangos, boolean ascendente) {
+        int n = rangos.length;
+        int[] inicios = new int[cantidadRangos + 1];
+        for (int i = 0; i < n; i++) {
+            if (!ascendente) {
+                rangos[i] = cantidadRangos - 1 - rangos[i];
+            }
+            inicios[rangos[i] + 1]++;
+        }
+        for (int r = 0; r < cantidadRangos; r++) {
+            inicios[r + 1] += inicios[r];
+        }
+
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[inicios[rangos[i]]++] = i;
+        }
+        return indices;
+    }
+
+    //Obtiene una página de la lista ordenada por apellidos, sin ordenar la lista completa
+    public static List<Empleado> paginaPorPrimerApellido(List<Empleado> empleados, int desde, int limite, boolean ascending) {
+        return paginaPorComparador(empleados, ascending ? ORDEN_APELLIDOS : ORDEN_APELLIDOS.reversed(), desde, limite);
+    }
+
+    //Obtiene los k empleados con mayor (o menor) sueldo neto
+    public static List<Empleado> primerosPorSueldoNeto(List<Empleado> empleados, int k, boolean ascendente) {
+        return paginaPorSueldoNeto(empleados, 0, k, ascendente);
+    }
+
+    //Obtiene una página de la lista ordenada por sueldo neto, sin ordenar la lista completa
+    public static List<Empleado> paginaPorSueldoNeto(List<Empleado> empleados, int desde, int limite, boolean ascendente) {
+        return paginaPorClave(empleados, Empleado::calcularSalarioNeto, ascendente, desde, limite);
+    }
+
+    /**
+     * Obtiene los elementos [desde, desde + limite) del orden de ordenarPorClave
+     * Recorre la lista una vez con un montículo acotado de desde + limite
+     * posiciones (la peor en la raíz), así que cuesta O(n log k) y la memoria
+     * es proporcional a k, no a n. El resultado es idéntico a la sublista
+     * correspondiente del ordenamiento completo, empates incluidos
+     *
+     * @param empleados Lista de empleados
+     * @param clave Función que obtiene la clave de cada empleado
+     * @param ascendente true para ordenar de menor a mayor
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     * @return Nueva lista con la página pedida
+     */
+    public static List<Empleado> paginaPorClave(List<Empleado> empleados,
+            ToDoubleFunction<? super Empleado> clave, boolean ascendente, int desde, int limite) {
+        validarPagina(desde, limite);
+        if (clave == null) {
+            throw new IllegalArgumentException("La función de clave no puede ser nula");
+        }
+        int k = tamanoMonticulo(empleados, desde, limite);
+        if (k <= desde) {
+            return List.of();
+        }
+
+        // Montículo de máximos según el orden pedido: la raíz es la que quedaría más atrás
+        double[] claves = new double[k];
+        int[] posiciones = new int[k];
+        Empleado[] elegidos = new Empleado[k];
+        int tamano = 0;
+        int posicion = 0;
+        for (Empleado empleado : empleados) {
+            double valor = clave.applyAsDouble(empleado);
+            if (tamano < k) {
+                claves[tamano] = valor;
+                posiciones[tamano] = posicion;
+                elegidos[tamano] = empleado;
+                subir(claves, posiciones, elegidos, tamano++, ascendente);
+            } else if (vaAntes(valor, posicion, claves[0], posiciones[0], ascendente)) {
+                // Las posiciones crecen, así que un empate con la raíz nunca entra
+                claves[0] = valor;
+                posiciones[0] = posicion;
+                elegidos[0] = empleado;
+                bajar(claves, posiciones, elegidos, 0, k, ascendente);
+            }
+            posicion++;
+        }
+
+        // Se extrae la raíz hacia el final: queda en orden de la primera a la última
+        for (int fin = k - 1; fin > 0; fin--) {
+            intercambiar(claves, posiciones, elegidos, 0, fin);
+            bajar(claves, posiciones, elegidos, 0, fin, ascendente);
+        }
+        return new ArrayList<>(Arrays.asList(elegidos).subList(desde, k));
+    }
+
+    /**
+     * Obtiene los elementos [desde, desde + limite) del orden estable de un comparador
+     * Igual que paginaPorClave, con un montículo acotado de desde + limite
+     * posiciones; los empates se resuelven por posición original
+     *
+     * @param empleados Lista de empleados
+     * @param comparador Orden de los empleados
+     * @param desde Posición del primer empleado de la página
+     * @param limite Cantidad máxima de empleados de la página
+     * @return Nueva lista con la página pedida
+     */
+    public static List<Empleado> paginaPorComparador(List<Empleado> empleados,
+            Comparator<? super Empleado> comparador, int desde, int limite) {
+        validarPagina(desde, limite);
+        if (comparador == null) {
+            throw new IllegalArgumentException("El comparador no puede ser nulo");
+        }
+        int k = tamanoMonticulo(empleados, desde, limite);
+        if (k <= desde) {
+            return List.of();
+        }
+
+        Empleado[] elegidos = new Empleado[k];
+        int[] posiciones = new int[k];
+        int tamano = 0;
+        int posicion = 0;
+        for (Empleado empleado : empleados) {
+            if (tamano < k) {
+                elegidos[tamano] = empleado;
+                posiciones[tamano] = posicion;
+                subir(elegidos, posiciones, tamano++, comparador);
+            } else if (comparador.compare(empleado, elegidos[0]) < 0) {
+                elegidos[0] = empleado;
+                posiciones[0] = posicion;
+                bajar(elegidos, posiciones, 0, k, comparador);
+            }
+            posicion++;
+        }
+
+        for (int fin = k - 1; fin > 0; fin--) {
+            intercambiar(elegidos, posiciones, 0, fin);
+            bajar(elegidos, posiciones, 0, fin, comparador);
+        }
+        return new ArrayList<>(Arrays.asList(elegidos).subList(desde, k));
+    }
+
+    private static void validarPagina(int desde, int limite) {
+        if (desde < 0) {
+            throw new IllegalArgumentException("La posición inicial no puede ser negativa");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+    }
+
+    /**
+     * Posiciones que debe guardar el montículo: hasta el final de la página, sin pasar del total
+     */
+    private static int tamanoMonticulo(List<Empleado> empleados, int desde, int limite) {
+        if (empleados == null) {
+            return 0;
+        }
+        return (int) Math.min((long) desde + limite, empleados.size());
+    }
+
+    // ----- Montículo con clave primitiva -----
+
+    /**
+     * true si (clave, posición) a va antes que b en el orden pedido
+     */
+    private static boolean vaAntes(double claveA, int posicionA, double claveB, int posicionB, boolean ascendente) {
+        int comparacion = Double.compare(claveA, claveB);
+        if (comparacion != 0) {
+            return ascendente ? comparacion < 0 : comparacion > 0;
+        }
+        return posicionA < posicionB;
+    }
+
+    private static void subir(double[] claves, int[] posiciones, Empleado[] elegidos, int i, boolean ascendente) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!vaAntes(claves[padre], posiciones[padre], claves[i], posiciones[i], ascendente)) {
+                return;
+            }
+            intercambiar(claves, posiciones, elegidos, i, padre);
+            i = padre;
+        }
+    }
+
+    private static void bajar(double[] claves, int[] posiciones, Empleado[] elegidos, int i, int tamano, boolean ascendente) {
+        while (true) {
+            int mayor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamano && vaAntes(claves[mayor], posiciones[mayor], claves[izquierdo], posiciones[izquierdo], ascendente)) {
+                mayor = izquierdo;
+            }
+            if (derecho < tamano && vaAntes(claves[mayor], posiciones[mayor], claves[derecho], posiciones[derecho], ascendente)) {
+                mayor = derecho;
+            }
+            if (mayor == i) {
+                return;
+            }
+            intercambiar(claves, posiciones, elegidos, i, mayor);
+            i = mayor;
+        }
+    }
+
+    private static void intercambiar(double[] claves, int[] posiciones, Empleado[] elegidos, int a, int b) {
+        double clave = claves[a];
+        claves[a] = claves[b];
+        claves[b] = clave;
+        intercambiar(elegidos, posiciones, a, b);
+    }
+
+    // ----- Montículo con comparador -----
+
+    private static boolean vaAntes(Empleado a, int posicionA, Empleado b, int posicionB, Comparator<? super Empleado> comparador) {
+        int comparacion = comparador.compare(a, b);
+        return comparacion != 0 ? comparacion < 0 : posicionA < posicionB;
+    }
+
+    private static void subir(Empleado[] elegidos, int[] posiciones, int i, Comparator<? super Empleado> comparador) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!vaAntes(elegidos[padre], posiciones[padre], elegidos[i], posiciones[i], comparador)) {
+                return;
+            }
+            intercambiar(elegidos, posiciones, i, padre);
+            i = padre;
+        }
+    }
+
+    private static void bajar(Empleado[] elegidos, int[] posiciones, int i, int tamano, Comparator<? super Empleado> comparador) {
+        while (true) {
+            int mayor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamano && vaAntes(elegidos[mayor], posiciones[mayor], elegidos[izquierdo], posiciones[izquierdo], comparador)) {
+                mayor = izquierdo;
+            }
+            if (derecho < tamano && vaAntes(elegidos[mayor], posiciones[mayor], elegidos[derecho], posiciones[derecho], comparador)) {
+                mayor = derecho;
+            }
+            if (mayor == i) {
+                return;
+            }
+            intercambiar(elegidos, posiciones, i, mayor);
+            i = mayor;
+        }
+    }
+
+    private static void intercambiar(Empleado[] elegidos, int[] posiciones, int a, int b) {
+        Empleado empleado = elegidos[a];
+        elegidos[a] = elegidos[b];
+        elegidos[b] = empleado;
+        int posicion = posiciones[a];
+        posiciones[a] = posiciones[b];
+        posiciones[b] = posicion;
+    }
+
+    /**
+     * Convierte un double en un long con el mismo orden que Double.compare
+     */
+    static long claveOrdenable(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        // En los negativos se invierten los bits de magnitud para que el orden quede al revés
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
     }
 
     /**
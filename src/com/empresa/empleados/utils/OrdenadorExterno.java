@@ -0,0 +1,550 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.model.ClavesOrdenEspanol;
+import com.empresa.empleados.model.Empleado;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ordenamiento externo de filas de nómina que no caben en memoria
+ * Las filas se acumulan hasta llenar el presupuesto de memoria; entonces se
+ * ordenan (igual que OrdenadorEmpleados, por claves precalculadas) y se
+ * escriben como una corrida en un archivo temporal con un formato binario
+ * compacto a través de un FileChannel. Al final las corridas se mezclan de a
+ * k con un árbol de perdedores: cada fila emitida cuesta log2(k) comparaciones
+ * de su clave y cada corrida ocupa solo su búfer de lectura. Si hay más
+ * corridas de las que caben en el presupuesto, se mezclan en varias pasadas.
+ * El orden es estable y coincide con el del ordenamiento en memoria. Si todo
+ * cabe en el presupuesto no se escribe ningún archivo
+ */
+public class OrdenadorExterno {
+
+    public static final long PRESUPUESTO_MINIMO = 256 * 1024;
+    // Búfer de lectura de cada corrida durante la mezcla (y de escritura de la salida)
+    public static final int TAMANO_BUFFER = 64 * 1024;
+    // Estimado de memoria de una Fila y su clave sin contar el texto
+    private static final int TAMANO_BASE_FILA = 160;
+
+    /**
+     * Criterios de ordenamiento
+     */
+    public enum Criterio {
+        // Primer apellido, segundo apellido y nombres con las reglas del español
+        APELLIDOS,
+        SALARIO_NETO
+    }
+
+    private final long presupuestoBytes;
+    private final Path directorioTemporal;
+
+    /**
+     * Crea un ordenador que usa el directorio temporal del sistema
+     * @param presupuestoBytes Memoria máxima para filas y búferes
+     */
+    public OrdenadorExterno(long presupuestoBytes) {
+        this(presupuestoBytes, null);
+    }
+
+    /**
+     * Crea un ordenador con un directorio para las corridas
+     * @param presupuestoBytes Memoria máxima para filas y búferes
+     * @param directorioTemporal Directorio de los archivos de corridas (null para el del sistema)
+     */
+    public OrdenadorExterno(long presupuestoBytes, Path directorioTemporal) {
+        if (presupuestoBytes < PRESUPUESTO_MINIMO) {
+            throw new IllegalArgumentException("El presupuesto de memoria debe ser de al menos " + PRESUPUESTO_MINIMO + " bytes");
+        }
+        this.presupuestoBytes = presupuestoBytes;
+        this.directorioTemporal = directorioTemporal;
+    }
+
+    /**
+     * Ordena filas y las entrega en orden al destino
+     * @param filas Filas a ordenar (se recorren una sola vez)
+     * @param criterio Criterio de ordenamiento
+     * @param ascendente true para ordenar de menor a mayor
+     * @param destino Recibe cada fila en orden
+     * @return Estadísticas del ordenamiento
+     * @throws IOException si falla la escritura o lectura de las corridas
+     */
+    public EstadisticasOrden ordenar(Iterator<Fila> filas, Criterio criterio, boolean ascendente,
+            Consumer<? super Fila> destino) throws IOException {
+        if (filas == null || criterio == null || destino == null) {
+            throw new IllegalArgumentException("Las filas, el criterio y el destino no pueden ser nulos");
+        }
+        // Todos los archivos creados, para borrarlos al terminar
+        List<Path> temporales = new ArrayList<>();
+        List<Path> corridas = new ArrayList<>();
+        long totalFilas = 0;
+        long bytesEscritos = 0;
+        int pasadas = 0;
+        try {
+            // Fase 1: corridas ordenadas de tamaño acotado por el presupuesto
+            List<Fila> pendientes = new ArrayList<>();
+            List<byte[]> claves = new ArrayList<>();
+            long memoria = 0;
+            while (filas.hasNext()) {
+                Fila fila = filas.next();
+                if (fila == null) {
+                    throw new IllegalArgumentException("Las filas no pueden ser nulas");
+                }
+                byte[] clave = clave(fila, criterio);
+                pendientes.add(fila);
+                claves.add(clave);
+                memoria += fila.tamanoEstimado() + clave.length;
+                totalFilas++;
+                // Se reserva un búfer para la escritura de la corrida
+                if (memoria >= presupuestoBytes - TAMANO_BUFFER) {
+                    bytesEscritos += escribirCorrida(nuevoTemporal(temporales, corridas), pendientes, claves, ascendente);
+                    pendientes.clear();
+                    claves.clear();
+                    memoria = 0;
+                }
+            }
+
+            if (corridas.isEmpty()) {
+                // Todo cupo en memoria
+                int[] orden = OrdenadorEmpleados.ordenarIndicesPorBytes(claves.toArray(new byte[0][]), ascendente);
+                for (int indice : orden) {
+                    destino.accept(pendientes.get(indice));
+                }
+                return new EstadisticasOrden(totalFilas, 0, 0, 0);
+            }
+            if (!pendientes.isEmpty()) {
+                bytesEscritos += escribirCorrida(nuevoTemporal(temporales, corridas), pendientes, claves, ascendente);
+                pendientes.clear();
+                claves.clear();
+            }
+            int totalCorridas = corridas.size();
+
+            // Fase 2: pasadas intermedias mientras haya más corridas que búferes de lectura;
+            // cada grupo de corridas consecutivas se reemplaza en su lugar por su mezcla
+            int maximoVias = (int) Math.max(2, presupuestoBytes / TAMANO_BUFFER - 1);
+            while (corridas.size() > maximoVias) {
+                List<Path> siguientes = new ArrayList<>();
+                for (int desde = 0; desde < corridas.size(); desde += maximoVias) {
+                    List<Path> grupo = corridas.subList(desde, Math.min(desde + maximoVias, corridas.size()));
+                    if (grupo.size() == 1) {
+                        siguientes.add(grupo.get(0));
+                        continue;
+                    }
+                    try (EscritorCorrida escritor = new EscritorCorrida(nuevoTemporal(temporales, siguientes))) {
+                        mezclar(grupo, ascendente, escritor::escribir);
+                        bytesEscritos += escritor.bytesEscritos;
+                    }
+                    for (Path corrida : grupo) {
+                        Files.deleteIfExists(corrida);
+                    }
+                }
+                corridas = siguientes;
+                pasadas++;
+            }
+
+            // Fase 3: mezcla final hacia el destino
+            mezclar(corridas, ascendente, (clave, fila) -> destino.accept(fila));
+            pasadas++;
+            return new EstadisticasOrden(totalFilas, totalCorridas, pasadas, bytesEscritos);
+        } finally {
+            for (Path temporal : temporales) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * Ordena empleados como filas de nómina
+     * @param empleados Empleados a ordenar
+     * @param criterio Criterio de ordenamiento
+     * @param ascendente true para ordenar de menor a mayor
+     * @param destino Recibe cada fila en orden
+     * @return Estadísticas del ordenamiento
+     * @throws IOException si falla la escritura o lectura de las corridas
+     */
+    public EstadisticasOrden ordenarEmpleados(Iterable<? extends Empleado> empleados, Criterio criterio,
+            boolean ascendente, Consumer<? super Fila> destino) throws IOException {
+        if (empleados == null) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula");
+        }
+        Iterator<? extends Empleado> iterador = empleados.iterator();
+        Iterator<Fila> filas = new Iterator<Fila>() {
+            @Override
+            public boolean hasNext() {
+                return iterador.hasNext();
+            }
+
+            @Override
+            public Fila next() {
+                return Fila.desde(iterador.next());
+            }
+        };
+        return ordenar(filas, criterio, ascendente, destino);
+    }
+
+    /**
+     * Clave de una fila: bytes que se comparan sin signo (Arrays.compareUnsigned)
+     */
+    static byte[] clave(Fila fila, Criterio criterio) {
+        if (criterio == Criterio.APELLIDOS) {
+            return ClavesOrdenEspanol.claveCompuesta(fila.primerApellido, fila.segundoApellido, fila.nombres);
+        }
+        // El bit de signo invertido hace que el orden sin signo coincida con Double.compare
+        long valor = OrdenadorEmpleados.claveOrdenable(fila.salarioNeto) ^ Long.MIN_VALUE;
+        byte[] clave = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            clave[i] = (byte) valor;
+            valor >>>= 8;
+        }
+        return clave;
+    }
+
+    /**
+     * Crea un archivo temporal y lo agrega a la lista de corridas
+     */
+    private Path nuevoTemporal(List<Path> temporales, List<Path> corridas) throws IOException {
+        Path archivo = directorioTemporal == null
+                ? Files.createTempFile("corrida", ".bin")
+                : Files.createTempFile(directorioTemporal, "corrida", ".bin");
+        temporales.add(archivo);
+        corridas.add(archivo);
+        return archivo;
+    }
+
+    /**
+     * Ordena las filas pendientes y las escribe como una corrida
+     * @return Bytes escritos
+     */
+    private static long escribirCorrida(Path corrida, List<Fila> filas, List<byte[]> claves, boolean ascendente) throws IOException {
+        int[] orden = OrdenadorEmpleados.ordenarIndicesPorBytes(claves.toArray(new byte[0][]), ascendente);
+        try (EscritorCorrida escritor = new EscritorCorrida(corrida)) {
+            for (int indice : orden) {
+                escritor.escribir(claves.get(indice), filas.get(indice));
+            }
+            return escritor.bytesEscritos;
+        }
+    }
+
+    /**
+     * Mezcla corridas ordenadas con un árbol de perdedores
+     * Cada nodo interno guarda la corrida que perdió el partido en ese nodo y
+     * la raíz (posición 0) a la ganadora; al avanzar la ganadora solo se
+     * repiten los partidos de su camino hasta la raíz. Los empates los gana la
+     * corrida anterior, que contiene filas que venían antes: la mezcla es estable
+     */
+    private static void mezclar(List<Path> corridas, boolean ascendente, SalidaMezcla salida) throws IOException {
+        int k = corridas.size();
+        LectorCorrida[] lectores = new LectorCorrida[k];
+        try {
+            for (int i = 0; i < k; i++) {
+                lectores[i] = new LectorCorrida(corridas.get(i));
+                lectores[i].avanzar();
+            }
+            int[] arbol = new int[Math.max(k, 1)];
+            int[] ganadores = new int[2 * k];
+            for (int i = 0; i < k; i++) {
+                ganadores[k + i] = i;
+            }
+            for (int nodo = k - 1; nodo >= 1; nodo--) {
+                int a = ganadores[2 * nodo];
+                int b = ganadores[2 * nodo + 1];
+                boolean ganaA = gana(lectores, a, b, ascendente);
+                ganadores[nodo] = ganaA ? a : b;
+                arbol[nodo] = ganaA ? b : a;
+            }
+            arbol[0] = ganadores[1];
+
+            while (lectores[arbol[0]].fila != null) {
+                int ganador = arbol[0];
+                LectorCorrida lector = lectores[ganador];
+                salida.escribir(lector.clave, lector.fila);
+                lector.avanzar();
+                for (int nodo = (ganador + k) >>> 1; nodo >= 1; nodo >>>= 1) {
+                    if (gana(lectores, arbol[nodo], ganador, ascendente)) {
+                        int perdedor = ganador;
+                        ganador = arbol[nodo];
+                        arbol[nodo] = perdedor;
+                    }
+                }
+                arbol[0] = ganador;
+            }
+        } finally {
+            for (LectorCorrida lector : lectores) {
+                if (lector != null) {
+                    lector.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * true si la fila actual de la corrida a va antes que la de b (una corrida agotada siempre pierde)
+     */
+    private static boolean gana(LectorCorrida[] lectores, int a, int b, boolean ascendente) {
+        if (lectores[a].fila == null) {
+            return false;
+        }
+        if (lectores[b].fila == null) {
+            return true;
+        }
+        int comparacion = Arrays.compareUnsigned(lectores[a].clave, lectores[b].clave);
+        if (comparacion != 0) {
+            return ascendente ? comparacion < 0 : comparacion > 0;
+        }
+        return a < b;
+    }
+
+    @FunctionalInterface
+    private interface SalidaMezcla {
+        void escribir(byte[] clave, Fila fila) throws IOException;
+    }
+
+    // =============== FORMATO BINARIO DE LAS CORRIDAS ===============
+    // Cada registro: longitud total (int), clave (int + bytes), id (int),
+    // sueldo bruto, total descuentos y salario neto (double) y los textos
+    // nombres, primer apellido, segundo apellido y tipo (int + UTF-8, -1 si es nulo)
+
+    /**
+     * Escribe registros en una corrida a través de un búfer
+     */
+    private static final class EscritorCorrida implements AutoCloseable {
+        private final FileChannel canal;
+        private ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+        private long bytesEscritos;
+
+        private EscritorCorrida(Path archivo) throws IOException {
+            this.canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void escribir(byte[] clave, Fila fila) throws IOException {
+            byte[][] textos = {
+                utf8(fila.nombres), utf8(fila.primerApellido), utf8(fila.segundoApellido), utf8(fila.tipoEmpleado)
+            };
+            int longitud = Integer.BYTES + clave.length + Integer.BYTES + 3 * Double.BYTES;
+            for (byte[] texto : textos) {
+                longitud += Integer.BYTES + (texto == null ? 0 : texto.length);
+            }
+            if (buffer.remaining() < Integer.BYTES + longitud) {
+                vaciar();
+                if (buffer.capacity() < Integer.BYTES + longitud) {
+                    buffer = ByteBuffer.allocate(Integer.BYTES + longitud);
+                }
+            }
+            buffer.putInt(longitud);
+            buffer.putInt(clave.length).put(clave);
+            buffer.putInt(fila.id);
+            buffer.putDouble(fila.sueldoBruto).putDouble(fila.totalDescuentos).putDouble(fila.salarioNeto);
+            for (byte[] texto : textos) {
+                if (texto == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(texto.length).put(texto);
+                }
+            }
+            bytesEscritos += Integer.BYTES + longitud;
+        }
+
+        private static byte[] utf8(String texto) {
+            return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                vaciar();
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    /**
+     * Lee los registros de una corrida en orden; fila y clave quedan en null al terminar
+     */
+    private static final class LectorCorrida implements AutoCloseable {
+        private final FileChannel canal;
+        private ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+        private byte[] clave;
+        private Fila fila;
+
+        private LectorCorrida(Path archivo) throws IOException {
+            this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        private void avanzar() throws IOException {
+            if (!asegurar(Integer.BYTES)) {
+                clave = null;
+                fila = null;
+                return;
+            }
+            int longitud = buffer.getInt();
+            if (!asegurar(longitud)) {
+                throw new IOException("Corrida truncada");
+            }
+            clave = new byte[buffer.getInt()];
+            buffer.get(clave);
+            int id = buffer.getInt();
+            double sueldoBruto = buffer.getDouble();
+            double totalDescuentos = buffer.getDouble();
+            double salarioNeto = buffer.getDouble();
+            String nombres = leerTexto();
+            String primerApellido = leerTexto();
+            String segundoApellido = leerTexto();
+            String tipoEmpleado = leerTexto();
+            fila = new Fila(id, nombres, primerApellido, segundoApellido, tipoEmpleado,
+                    sueldoBruto, totalDescuentos, salarioNeto);
+        }
+
+        private String leerTexto() {
+            int longitud = buffer.getInt();
+            if (longitud < 0) {
+                return null;
+            }
+            String texto = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), longitud, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + longitud);
+            return texto;
+        }
+
+        /**
+         * Deja al menos n bytes disponibles en el búfer; false si la corrida terminó antes
+         */
+        private boolean asegurar(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return true;
+            }
+            if (buffer.capacity() < n) {
+                ByteBuffer mayor = ByteBuffer.allocate(n);
+                mayor.put(buffer);
+                buffer = mayor;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < n) {
+                if (canal.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+
+    /**
+     * Fila de nómina inmutable: datos de un recibo que se ordenan
+     */
+    public static final class Fila {
+        private final int id;
+        private final String nombres;
+        private final String primerApellido;
+        private final String segundoApellido;
+        private final String tipoEmpleado;
+        private final double sueldoBruto;
+        private final double totalDescuentos;
+        private final double salarioNeto;
+
+        public Fila(int id, String nombres, String primerApellido, String segundoApellido, String tipoEmpleado,
+                double sueldoBruto, double totalDescuentos, double salarioNeto) {
+            this.id = id;
+            this.nombres = nombres;
+            this.primerApellido = primerApellido;
+            this.segundoApellido = segundoApellido;
+            this.tipoEmpleado = tipoEmpleado;
+            this.sueldoBruto = sueldoBruto;
+            this.totalDescuentos = totalDescuentos;
+            this.salarioNeto = salarioNeto;
+        }
+
+        /**
+         * Crea la fila con los datos actuales de un empleado
+         */
+        public static Fila desde(Empleado empleado) {
+            if (empleado == null) {
+                throw new IllegalArgumentException("El empleado no puede ser nulo");
+            }
+            return new Fila(empleado.getId(), empleado.getNombres(), empleado.getPrimerApellido(),
+                    empleado.getSegundoApellido(), empleado.getTipoEmpleado(),
+                    empleado.calcularSueldoConBonificaciones(), empleado.calcularTotalDescuentos(),
+                    empleado.calcularSalarioNeto());
+        }
+
+        /**
+         * Memoria aproximada de la fila (objetos y texto en UTF-16)
+         */
+        private long tamanoEstimado() {
+            return TAMANO_BASE_FILA + 2L * (longitud(nombres) + longitud(primerApellido)
+                    + longitud(segundoApellido) + longitud(tipoEmpleado));
+        }
+
+        private static int longitud(String texto) {
+            return texto == null ? 0 : texto.length();
+        }
+
+        // Getters
+        public int getId() { return id; }
+        public String getNombres() { return nombres; }
+        public String getPrimerApellido() { return primerApellido; }
+        public String getSegundoApellido() { return segundoApellido; }
+        public String getTipoEmpleado() { return tipoEmpleado; }
+        public double getSueldoBruto() { return sueldoBruto; }
+        public double getTotalDescuentos() { return totalDescuentos; }
+        public double getSalarioNeto() { return salarioNeto; }
+    }
+
+    /**
+     * Clase interna con los datos de un ordenamiento externo
+     */
+    public static class EstadisticasOrden {
+        private final long filas;
+        private final int corridas;
+        private final int pasadasMezcla;
+        private final long bytesEscritos;
+
+        public EstadisticasOrden(long filas, int corridas, int pasadasMezcla, long bytesEscritos) {
+            this.filas = filas;
+            this.corridas = corridas;
+            this.pasadasMezcla = pasadasMezcla;
+            this.bytesEscritos = bytesEscritos;
+        }
+
+        // Getters
+        public long getFilas() { return filas; }
+        public int getCorridas() { return corridas; }
+        public int getPasadasMezcla() { return pasadasMezcla; }
+        public long getBytesEscritos() { return bytesEscritos; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "=== ORDENAMIENTO EXTERNO ===\n" +
+                "Filas: %d\n" +
+                "Corridas: %d\n" +
+                "Pasadas de mezcla: %d\n" +
+                "Bytes escritos: %d",
+                filas, corridas, pasadasMezcla, bytesEscritos
+            );
+        }
+    }
+}
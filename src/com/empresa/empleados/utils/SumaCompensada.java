@@ -0,0 +1,51 @@
+package com.empresa.empleados.utils;
+
+/**
+ * Acumulador de sumas de double con compensación de Neumaier
+ * Guarda aparte el error de redondeo de cada suma, de modo que sumar y restar
+ * muchos valores (por ejemplo, al mantener totales de nómina al día) no
+ * acumula el error que tendría un simple total += valor
+ */
+public final class SumaCompensada {
+    
+    private double suma;
+    private double compensacion;
+    
+    /**
+     * Agrega un valor a la suma (un valor negativo lo resta)
+     * @param valor Valor a agregar
+     */
+    public void agregar(double valor) {
+        double t = suma + valor;
+        if (Math.abs(suma) >= Math.abs(valor)) {
+            compensacion += (suma - t) + valor;
+        } else {
+            compensacion += (valor - t) + suma;
+        }
+        suma = t;
+    }
+    
+    /**
+     * Agrega el resultado de otro acumulador, conservando su compensación
+     * @param otra Acumulador a combinar
+     */
+    public void combinar(SumaCompensada otra) {
+        agregar(otra.suma);
+        agregar(otra.compensacion);
+    }
+    
+    /**
+     * Obtiene la suma acumulada
+     */
+    public double obtener() {
+        return suma + compensacion;
+    }
+    
+    /**
+     * Vuelve la suma a cero
+     */
+    public void reiniciar() {
+        suma = 0.0;
+        compensacion = 0.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.empresa.empleados;
+
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conjunto de datos compartido por los benchmarks de la línea base
+ * Genera con DatosSinteticos la misma nómina para cada tamaño de la escala,
+ * de 10^3 a 10^7 empleados, con una semilla fija para que las corridas antes
+ * y después de un cambio midan exactamente los mismos datos. Los benchmarks lo
+ * reciben como parámetro; el tamaño se elige en la línea de comandos con
+ * -p tamano=... (10^7 empleados ocupan unos 3.2 GB de heap)
+ */
+@State(Scope.Benchmark)
+public class DatosNomina {
+
+    public static final long SEMILLA = 42L;
+
+    // Los mismos valores de la anotación Param, para quien arme una corrida
+    public static final List<String> ESCALA = Collections.unmodifiableList(
+        Arrays.asList("1000", "10000", "100000", "1000000", "10000000"));
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int tamano;
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        empleados = DatosSinteticos.generar(tamano, SEMILLA);
+    }
+
+    public List<Empleado> getEmpleados() {
+        return empleados;
+    }
+}
@@ -0,0 +1,87 @@
+package com.empresa.empleados;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.Gerente;
+import com.empresa.empleados.model.JefeArea;
+import com.empresa.empleados.model.Supervisor;
+import com.empresa.empleados.model.Tecnico;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de empleados sintéticos para los benchmarks
+ * Mantiene la misma proporción que DataLoader: 2 gerentes, 3 jefes de área,
+ * 5 supervisores y 15 técnicos por cada 25 empleados
+ */
+public final class DatosSinteticos {
+
+    private static final String[] NOMBRES = {
+        "Ana Sofía", "Carlos Eduardo", "María Elena", "José Antonio", "Laura Beatriz",
+        "Ricardo Andrés", "Carmen Julia", "Juan Carlos", "Gabriela", "Luis Ángel"
+    };
+    private static final String[] APELLIDOS = {
+        "Gómez", "López", "Cruz", "Morales", "Hernández", "Ramírez", "Díaz",
+        "Pineda", "Molina", "Rivas", "Álvarez", "Sánchez", "Martínez", "Pérez"
+    };
+
+    private DatosSinteticos() {
+    }
+
+    /**
+     * Genera una lista de empleados con nombres completos únicos
+     * @param cantidad Número de empleados a generar
+     * @param semilla Semilla para que los datos sean reproducibles
+     */
+    public static List<Empleado> generar(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            empleados.add(crear(i, random));
+        }
+        return empleados;
+    }
+
+    private static Empleado crear(int i, Random random) {
+        String nombres = NOMBRES[random.nextInt(NOMBRES.length)];
+        String primerApellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+        // El sufijo numérico garantiza que el nombre completo sea único
+        String segundoApellido = APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + i;
+        LocalDate nacimiento = LocalDate.of(1960 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28));
+        char sexo = random.nextBoolean() ? 'M' : 'F';
+        String email = "empleado" + i + "@empresa.com";
+
+        int posicion = i % 25;
+        if (posicion < 2) {
+            return new Gerente(nombres, primerApellido, segundoApellido, "San Salvador", nacimiento, sexo,
+                    "2222-0000", email, "Departamento " + random.nextInt(20),
+                    random.nextInt(60), random.nextBoolean());
+        }
+        if (posicion < 5) {
+            JefeArea jefe = new JefeArea(nombres, primerApellido, segundoApellido, "San Salvador", nacimiento, sexo,
+                    "2222-0000", email, "Área " + random.nextInt(50), "Técnica",
+                    random.nextInt(20), random.nextBoolean());
+            jefe.setPresupuestoAnualACargo(random.nextInt(500000));
+            jefe.setTotalMetas(10);
+            jefe.setMetasAlcanzadas(random.nextInt(11));
+            return jefe;
+        }
+        if (posicion < 10) {
+            Supervisor supervisor = new Supervisor(nombres, primerApellido, segundoApellido, "San Salvador", nacimiento,
+                    sexo, "2222-0000", email, "Departamento " + random.nextInt(20), "Directa",
+                    random.nextInt(15), random.nextBoolean());
+            supervisor.setDiasTrabajadosMes(15 + random.nextInt(10));
+            supervisor.setTotalIncidentes(20);
+            supervisor.setIncidentesResueltos(random.nextInt(21));
+            return supervisor;
+        }
+        Tecnico tecnico = new Tecnico(nombres, primerApellido, segundoApellido, "San Salvador", nacimiento, sexo,
+                "2222-0000", email, "Mecánica", random.nextInt(30), "Mañana", random.nextInt(10) == 0);
+        if (random.nextBoolean()) {
+            tecnico.agregarCertificacion("Certificación " + random.nextInt(5));
+        }
+        return tecnico;
+    }
+}
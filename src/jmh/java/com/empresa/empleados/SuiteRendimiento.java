@@ -0,0 +1,85 @@
+package com.empresa.empleados;
+
+import com.empresa.empleados.service.NominaServicesBenchmark;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Corre la línea base de rendimiento de la nómina y guarda el resultado en JSON
+ * Incluye los caminos críticos: descuentos (uno por uno y por lotes), salario
+ * neto por subclase, carga y búsquedas del repositorio, ordenamientos y
+ * agregados de NominaServices. Cada cambio de rendimiento se compara contra el
+ * JSON de la corrida anterior.
+ * Uso: SuiteRendimiento [archivo.json] [tamaño...]. Sin tamaños, todos corren
+ * con la escala de DatosNomina (de 10^3 a 10^7; 10^7 necesita unos 3.2 GB solo
+ * para los empleados); con tamaños, todos corren con esos valores de
+ * {@code tamano}. NominaServicesBenchmark corre aparte y solo con los tamaños
+ * que no pasan de su TAMANO_MAXIMO
+ */
+public final class SuiteRendimiento {
+
+    public static final String ARCHIVO_PREDETERMINADO = "jmh-linea-base.json";
+
+    /**
+     * Expresiones de los benchmarks que forman la línea base
+     */
+    public static final List<String> LINEA_BASE = Arrays.asList(
+        "service\\.CalculadoraDescuentosBenchmark\\.",
+        "model\\.SalarioNetoBenchmark\\.",
+        "data\\.EmpleadoRepositoryBenchmark\\.",
+        "utils\\.OrdenadorEmpleadosBenchmark\\.",
+        "service\\.NominaServicesBenchmark\\."
+    );
+
+    // Benchmark de la línea base con un tamaño máximo propio
+    private static final String SERVICIOS = "service\\.NominaServicesBenchmark\\.";
+
+    private SuiteRendimiento() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String archivo = args.length > 0 ? args[0] : ARCHIVO_PREDETERMINADO;
+        List<String> tamanos = args.length > 1
+            ? Arrays.asList(Arrays.copyOfRange(args, 1, args.length))
+            : DatosNomina.ESCALA;
+        for (String tamano : tamanos) {
+            if (!tamano.matches("\\d+")) {
+                throw new IllegalArgumentException("Tamaño inválido: " + tamano);
+            }
+        }
+
+        List<RunResult> resultados = new ArrayList<>();
+        ChainedOptionsBuilder opciones = new OptionsBuilder();
+        for (String expresion : LINEA_BASE) {
+            if (!expresion.equals(SERVICIOS)) {
+                opciones.include(expresion);
+            }
+        }
+        opciones.param("tamano", tamanos.toArray(new String[0]));
+        resultados.addAll(new Runner(opciones.build()).run());
+
+        List<String> tamanosServicios = new ArrayList<>();
+        for (String tamano : tamanos) {
+            if (Long.parseLong(tamano) <= NominaServicesBenchmark.TAMANO_MAXIMO) {
+                tamanosServicios.add(tamano);
+            }
+        }
+        if (!tamanosServicios.isEmpty()) {
+            resultados.addAll(new Runner(new OptionsBuilder()
+                .include(SERVICIOS)
+                .param("tamano", tamanosServicios.toArray(new String[0]))
+                .build()).run());
+        }
+
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, archivo).writeOut(resultados);
+    }
+}
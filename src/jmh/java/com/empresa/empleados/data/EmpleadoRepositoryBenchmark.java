@@ -0,0 +1,121 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.DatosNomina;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la carga masiva y las búsquedas por nombre de EmpleadoRepository
+ * sobre la escala de DatosNomina. Con el índice por nombre, el tiempo de
+ * agregarEmpleados dividido entre el tamaño debe mantenerse aproximadamente
+ * constante (crecimiento lineal). Las consultas por índice secundario deben
+ * depender del tamaño del resultado.
+ * Un empleado solo puede estar en un repositorio a la vez, así que la carga
+ * masiva y las consultas usan estados separados: cada benchmark registra los
+ * empleados en un solo repositorio. Con 10^7 empleados el repositorio y sus
+ * índices necesitan cerca de 10 GB
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class EmpleadoRepositoryBenchmark {
+
+    /**
+     * Repositorio cargado con toda la nómina, para las consultas
+     */
+    @State(Scope.Benchmark)
+    public static class Consultas {
+        private EmpleadoRepository repositorio;
+        private String nombreBuscado;
+        private Empleado empleadoBuscado;
+
+        @Setup(Level.Trial)
+        public void preparar(DatosNomina datos) {
+            List<Empleado> empleados = datos.getEmpleados();
+            repositorio = new EmpleadoRepository(empleados);
+            empleadoBuscado = empleados.get(empleados.size() / 2);
+            nombreBuscado = empleadoBuscado.getNombreCompleto().toUpperCase();
+        }
+    }
+
+    /**
+     * Repositorio de la última carga masiva; se limpia después de cada
+     * invocación para que los empleados puedan registrarse de nuevo
+     */
+    @State(Scope.Benchmark)
+    public static class Carga {
+        private EmpleadoRepository cargado;
+
+        @TearDown(Level.Invocation)
+        public void liberar() {
+            if (cargado != null) {
+                cargado.limpiarRepositorio();
+                cargado = null;
+            }
+        }
+    }
+
+    @Benchmark
+    public int cargaMasiva(DatosNomina datos, Carga carga) {
+        carga.cargado = new EmpleadoRepository();
+        return carga.cargado.agregarEmpleados(datos.getEmpleados());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean buscarPorNombreCompleto(Consultas consultas) {
+        return consultas.repositorio.buscarPorNombreCompleto(consultas.nombreBuscado).isPresent();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean existeEmpleado(Consultas consultas) {
+        return consultas.repositorio.existeEmpleado(consultas.nombreBuscado);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean buscarPorId(Consultas consultas) {
+        return consultas.repositorio.buscarPorId(consultas.empleadoBuscado.getId()).isPresent();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean actualizarPorId(Consultas consultas) {
+        return consultas.repositorio.actualizarPorId(consultas.empleadoBuscado.getId(), consultas.empleadoBuscado);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int obtenerGerentes(Consultas consultas) {
+        return consultas.repositorio.obtenerGerentes().size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int buscarPorPrimerApellido(Consultas consultas) {
+        return consultas.repositorio.buscarPorPrimerApellido("Gómez").size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int obtenerCumpleanosPorMes(Consultas consultas) {
+        return consultas.repositorio.obtenerCumpleañosPorMes(3).size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento de actualizaciones concurrentes según el número de segmentos
+ * Con 1 segmento cada escritura copia el arreglo completo bajo un único
+ * bloqueo; con más segmentos las escrituras se reparten y copian menos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+public class EscrituraSegmentadaBenchmark {
+
+    @Param({"10000", "200000"})
+    public int tamano;
+
+    @Param({"1", "4", "16", "64"})
+    public int segmentos;
+
+    private List<Empleado> empleados;
+    private EmpleadoRepositoryConcurrente repositorio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        repositorio = new EmpleadoRepositoryConcurrente(segmentos);
+        repositorio.agregarEmpleados(empleados);
+    }
+
+    @Benchmark
+    public boolean actualizar() {
+        return repositorio.actualizarEmpleado(empleados.get(ThreadLocalRandom.current().nextInt(tamano)));
+    }
+
+    @TearDown(Level.Trial)
+    public void reportarContencion() {
+        for (EmpleadoRepositoryConcurrente.MetricasSegmento metricas : repositorio.obtenerMetricasSegmentos()) {
+            if (metricas.getAdquisicionesContendidas() > 0) {
+                System.out.println(metricas);
+            }
+        }
+    }
+}
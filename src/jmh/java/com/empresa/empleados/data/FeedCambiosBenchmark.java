@@ -0,0 +1,143 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicación de un millón de cambios con un productor y varios suscriptores
+ * en sus propios hilos (la meta es 5 millones de cambios por segundo, es
+ * decir, menos de 200 ms por invocación), y el costo del feed sobre las altas
+ * en lote del repositorio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FeedCambiosBenchmark {
+
+    private static final int CAMBIOS = 1_000_000;
+
+    @Param({"1", "4"})
+    public int suscriptores;
+
+    @Param({"durmiendo", "bloqueante"})
+    public String espera;
+
+    private FeedCambios feed;
+    private List<FeedCambios.Suscripcion> suscripciones;
+    private List<Thread> lectores;
+    private List<Empleado> empleados;
+    // Repositorio cargado en la última invocación; se limpia después de cada
+    // una para que los empleados puedan registrarse de nuevo
+    private EmpleadoRepository cargado;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        feed = new FeedCambios();
+        suscripciones = new ArrayList<>();
+        lectores = new ArrayList<>();
+        for (int i = 0; i < suscriptores; i++) {
+            FeedCambios.Suscripcion suscripcion = feed.suscribir("bloqueante".equals(espera)
+                ? FeedCambios.EstrategiaEspera.bloqueante()
+                : FeedCambios.EstrategiaEspera.durmiendo(FeedCambios.EstrategiaEspera.NANOS_DORMIR_PREDETERMINADO));
+            Thread lector = new Thread(() -> {
+                long[] suma = new long[1];
+                try {
+                    while (true) {
+                        suscripcion.procesar((cambio, ultimo) -> suma[0] += cambio.getId());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "lector-feed-" + i);
+            lector.setDaemon(true);
+            lector.start();
+            suscripciones.add(suscripcion);
+            lectores.add(lector);
+        }
+        empleados = DatosSinteticos.generar(100_000, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws InterruptedException {
+        for (Thread lector : lectores) {
+            lector.interrupt();
+            lector.join();
+        }
+        for (FeedCambios.Suscripcion suscripcion : suscripciones) {
+            suscripcion.close();
+        }
+    }
+
+    @Benchmark
+    public long publicarUnoPorUno() {
+        Empleado empleado = empleados.get(0);
+        long ultima = -1;
+        for (int i = 0; i < CAMBIOS; i++) {
+            ultima = feed.publicar(FeedCambios.TipoCambio.ACTUALIZADO, i, empleado, empleado);
+        }
+        esperarLectores(ultima);
+        return ultima;
+    }
+
+    @Benchmark
+    public long publicarEnLote() {
+        Empleado empleado = empleados.get(0);
+        long ultima = -1;
+        feed.iniciarLote();
+        for (int i = 0; i < CAMBIOS; i++) {
+            ultima = feed.publicar(FeedCambios.TipoCambio.AGREGADO, i, empleado, null);
+        }
+        feed.terminarLote();
+        esperarLectores(ultima);
+        return ultima;
+    }
+
+    @Benchmark
+    public int agregarEmpleadosSinFeed() {
+        cargado = new EmpleadoRepository();
+        return cargado.agregarEmpleados(empleados);
+    }
+
+    @Benchmark
+    public int agregarEmpleadosConFeed() {
+        cargado = new EmpleadoRepository();
+        cargado.obtenerFeedCambios().suscribir().close();
+        return cargado.agregarEmpleados(empleados);
+    }
+
+    @TearDown(Level.Invocation)
+    public void liberarCarga() {
+        if (cargado != null) {
+            cargado.limpiarRepositorio();
+            cargado = null;
+        }
+    }
+
+    private void esperarLectores(long ultima) {
+        for (FeedCambios.Suscripcion suscripcion : suscripciones) {
+            while (suscripcion.getCursor() < ultima) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento multihilo: 7 lectores y 1 escritor sobre el mismo repositorio
+ * Compara EmpleadoRepository protegido con un bloqueo global (como se usa hoy
+ * para atender clientes concurrentes) contra EmpleadoRepositoryConcurrente
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepositorioConcurrenteBenchmark {
+
+    @Param({"10000", "200000"})
+    public int tamano;
+
+    private List<Empleado> empleados;
+    private EmpleadoRepository repositorioConBloqueo;
+    private EmpleadoRepositoryConcurrente repositorioConcurrente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        repositorioConBloqueo = new EmpleadoRepository(empleados);
+        repositorioConcurrente = new EmpleadoRepositoryConcurrente(empleados);
+    }
+
+    private Empleado aleatorio() {
+        return empleados.get(ThreadLocalRandom.current().nextInt(tamano));
+    }
+
+    // =============== BLOQUEO GLOBAL ===============
+
+    @Benchmark
+    @Group("bloqueoGlobal")
+    @GroupThreads(6)
+    public boolean bloqueoGlobalBuscar() {
+        String nombre = aleatorio().getNombreCompleto();
+        synchronized (repositorioConBloqueo) {
+            return repositorioConBloqueo.existeEmpleado(nombre);
+        }
+    }
+
+    @Benchmark
+    @Group("bloqueoGlobal")
+    @GroupThreads(1)
+    public int bloqueoGlobalListar() {
+        synchronized (repositorioConBloqueo) {
+            return repositorioConBloqueo.obtenerTodosLosEmpleados().size();
+        }
+    }
+
+    @Benchmark
+    @Group("bloqueoGlobal")
+    @GroupThreads(1)
+    public boolean bloqueoGlobalActualizar() {
+        Empleado empleado = aleatorio();
+        synchronized (repositorioConBloqueo) {
+            return repositorioConBloqueo.actualizarEmpleado(empleado);
+        }
+    }
+
+    // =============== CONCURRENTE ===============
+
+    @Benchmark
+    @Group("concurrente")
+    @GroupThreads(6)
+    public boolean concurrenteBuscar() {
+        return repositorioConcurrente.existeEmpleado(aleatorio().getNombreCompleto());
+    }
+
+    @Benchmark
+    @Group("concurrente")
+    @GroupThreads(1)
+    public int concurrenteListar() {
+        return repositorioConcurrente.obtenerTodosLosEmpleados().size();
+    }
+
+    @Benchmark
+    @Group("concurrente")
+    @GroupThreads(1)
+    public boolean concurrenteActualizar() {
+        return repositorioConcurrente.actualizarEmpleado(aleatorio());
+    }
+}
@@ -0,0 +1,88 @@
+package com.empresa.empleados.model;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.utils.FormatoDecimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recibos de toda la nómina con la plantilla precompilada
+ * toString crea un buffer y un String por recibo; escribirRecibo reutiliza el
+ * mismo buffer y la misma fecha. Los dos últimos comparan solo la escritura de
+ * los montos: String.format contra FormatoDecimal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReciboBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamano;
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        for (Empleado empleado : empleados) {
+            empleado.calcularSalarioNeto();
+        }
+    }
+
+    @Benchmark
+    public void toStringPorEmpleado(Blackhole bh) {
+        for (Empleado empleado : empleados) {
+            bh.consume(empleado.toString());
+        }
+    }
+
+    @Benchmark
+    public long bufferReutilizado() {
+        LocalDate hoy = LocalDate.now();
+        StringBuilder recibo = new StringBuilder(1024);
+        long caracteres = 0;
+        for (Empleado empleado : empleados) {
+            recibo.setLength(0);
+            caracteres += empleado.escribirRecibo(recibo, hoy).length();
+        }
+        return caracteres;
+    }
+
+    @Benchmark
+    public long montosStringFormat() {
+        long caracteres = 0;
+        for (Empleado empleado : empleados) {
+            caracteres += String.format("%.2f", empleado.calcularSalarioNeto()).length();
+        }
+        return caracteres;
+    }
+
+    @Benchmark
+    public long montosFormatoDecimal() {
+        StringBuilder monto = new StringBuilder(32);
+        long caracteres = 0;
+        for (Empleado empleado : empleados) {
+            monto.setLength(0);
+            caracteres += FormatoDecimal.agregar(monto, empleado.calcularSalarioNeto(), 2).length();
+        }
+        return caracteres;
+    }
+}
@@ -0,0 +1,82 @@
+package com.empresa.empleados.model;
+
+import com.empresa.empleados.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporte repetido: ordenar por salario neto y sumar la nómina varias veces
+ * sobre los mismos empleados. La variante "sinCache" llama a un setter antes
+ * de cada uso para forzar el recálculo, como ocurría antes de guardar los
+ * valores de nómina en cada empleado
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReporteRepetidoBenchmark {
+
+    @Param({"10000", "100000"})
+    public int tamano;
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+    }
+
+    @Benchmark
+    public double ordenarYSumarConCache() {
+        List<Empleado> ordenados = new ArrayList<>(empleados);
+        ordenados.sort(Comparator.comparingDouble(Empleado::calcularSalarioNeto));
+        double total = 0;
+        for (Empleado empleado : ordenados) {
+            total += empleado.calcularSueldoConBonificaciones() + empleado.calcularTotalDescuentos();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double ordenarYSumarSinCache() {
+        List<Empleado> ordenados = new ArrayList<>(empleados);
+        ordenados.sort(Comparator.comparingDouble(e -> {
+            e.setSueldoBase(e.getSueldoBase());
+            return e.calcularSalarioNeto();
+        }));
+        double total = 0;
+        for (Empleado empleado : ordenados) {
+            empleado.setSueldoBase(empleado.getSueldoBase());
+            total += empleado.calcularSueldoConBonificaciones();
+            empleado.setSueldoBase(empleado.getSueldoBase());
+            total += empleado.calcularTotalDescuentos();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int reporteTexto() {
+        int longitud = 0;
+        for (Empleado empleado : empleados) {
+            longitud += empleado.toString().length();
+        }
+        return longitud;
+    }
+}
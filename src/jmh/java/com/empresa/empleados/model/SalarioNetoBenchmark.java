@@ -0,0 +1,73 @@
+package com.empresa.empleados.model;
+
+import com.empresa.empleados.DatosNomina;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salario neto de cada subclase de Empleado sobre la escala de DatosNomina
+ * Con los valores de nómina en caché solo se mide la lectura; al reasignar el
+ * sueldo base se invalida la caché y cada llamada vuelve a calcular
+ * bonificaciones y descuentos, que es lo que pasa después de un cambio de datos
+ * o de tabla de impuestos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SalarioNetoBenchmark {
+
+    @Param({"Gerente", "JefeArea", "Supervisor", "Tecnico"})
+    public String tipo;
+
+    private Empleado[] empleados;
+
+    @Setup(Level.Trial)
+    public void preparar(DatosNomina datos) {
+        List<Empleado> delTipo = new ArrayList<>();
+        for (Empleado empleado : datos.getEmpleados()) {
+            if (empleado.getClass().getSimpleName().equals(tipo)) {
+                delTipo.add(empleado);
+            }
+        }
+        empleados = delTipo.toArray(new Empleado[0]);
+        for (Empleado empleado : empleados) {
+            empleado.calcularSalarioNeto();
+        }
+    }
+
+    @Benchmark
+    public double conCache() {
+        double total = 0;
+        for (Empleado empleado : empleados) {
+            total += empleado.calcularSalarioNeto();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double recalculando() {
+        double total = 0;
+        for (Empleado empleado : empleados) {
+            empleado.setSueldoBase(empleado.getSueldoBase());
+            total += empleado.calcularSalarioNeto();
+        }
+        return total;
+    }
+}
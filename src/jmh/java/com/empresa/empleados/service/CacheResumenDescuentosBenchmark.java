@@ -0,0 +1,67 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resúmenes de descuentos de toda la nómina con y sin la caché por sueldo
+ * Los datos sintéticos tienen pocos sueldos brutos distintos (unos cientos),
+ * como una nómina real; con la caché casi todas las consultas son aciertos y
+ * no se crea un ResumenDescuentos por empleado. Conviene correrlo también con
+ * -prof gc para comparar la memoria asignada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CacheResumenDescuentosBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int tamano;
+
+    private NominaServices nomina;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nomina = new NominaServices(new EmpleadoService(DatosSinteticos.generar(tamano, 42L)));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        nomina.close();
+    }
+
+    @Benchmark
+    public List<CalculadoraDescuentos.ResumenDescuentos> conCache() {
+        return nomina.obtenerResumenDescuentosNomina();
+    }
+
+    @Benchmark
+    public List<CalculadoraDescuentos.ResumenDescuentos> sinCache() {
+        List<Empleado> empleados = nomina.obtenerTodosLosEmpleados();
+        List<CalculadoraDescuentos.ResumenDescuentos> resumenes = new ArrayList<>(empleados.size());
+        for (Empleado empleado : empleados) {
+            resumenes.add(CalculadoraDescuentos.obtenerResumenDescuentos(empleado.calcularSueldoConBonificaciones()));
+        }
+        return resumenes;
+    }
+}
@@ -0,0 +1,93 @@
+package com.empresa.empleados.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de descuentos de un lote de sueldos: un ResumenDescuentos por
+ * sueldo (como obtenerResumenDescuentosNomina) contra el cálculo por lotes
+ * sobre arreglos. Los sueldos se reparten entre todos los tramos de renta en
+ * orden aleatorio para que las ramas no sean predecibles
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CalculadoraDescuentosBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int tamano;
+
+    private double[] sueldosBrutos;
+    private double[] isss;
+    private double[] afp;
+    private double[] renta;
+    private double[] total;
+    private double[] neto;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random aleatorio = new Random(42L);
+        sueldosBrutos = new double[tamano];
+        for (int i = 0; i < tamano; i++) {
+            sueldosBrutos[i] = Math.round(aleatorio.nextDouble() * 600000) / 100.0;
+        }
+        isss = new double[tamano];
+        afp = new double[tamano];
+        renta = new double[tamano];
+        total = new double[tamano];
+        neto = new double[tamano];
+    }
+
+    @Benchmark
+    public List<CalculadoraDescuentos.ResumenDescuentos> resumenPorSueldo() {
+        List<CalculadoraDescuentos.ResumenDescuentos> resumenes = new ArrayList<>(tamano);
+        for (double sueldoBruto : sueldosBrutos) {
+            resumenes.add(CalculadoraDescuentos.obtenerResumenDescuentos(sueldoBruto));
+        }
+        return resumenes;
+    }
+
+    @Benchmark
+    public void escalarEnArreglos(Blackhole blackhole) {
+        for (int i = 0; i < tamano; i++) {
+            double sueldoBruto = sueldosBrutos[i];
+            isss[i] = CalculadoraDescuentos.calcularDescuentoISSS(sueldoBruto);
+            afp[i] = CalculadoraDescuentos.calcularDescuentoAFP(sueldoBruto);
+            renta[i] = CalculadoraDescuentos.calcularDescuentoRenta(sueldoBruto);
+            total[i] = isss[i] + afp[i] + renta[i];
+            neto[i] = sueldoBruto - total[i];
+        }
+        blackhole.consume(neto);
+    }
+
+    @Benchmark
+    public void lote(Blackhole blackhole) {
+        CalculadoraDescuentos.calcularDescuentosLote(sueldosBrutos, isss, afp, renta, total, neto);
+        blackhole.consume(neto);
+    }
+
+    @Benchmark
+    public void loteSoloNeto(Blackhole blackhole) {
+        CalculadoraDescuentos.calcularSalariosNetosLote(sueldosBrutos, neto);
+        blackhole.consume(neto);
+    }
+}
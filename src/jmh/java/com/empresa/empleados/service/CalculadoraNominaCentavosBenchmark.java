@@ -0,0 +1,104 @@
+package com.empresa.empleados.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de descuentos de un lote de sueldos en centavos (long) contra el
+ * cálculo en double y contra BigDecimal, que es la alternativa exacta habitual.
+ * El cálculo en centavos debe quedar cerca del de double y muy por debajo de
+ * BigDecimal, que crea varios objetos por descuento
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CalculadoraNominaCentavosBenchmark {
+
+    private static final BigDecimal TASA_ISSS = new BigDecimal("0.075");
+    private static final BigDecimal TASA_AFP = new BigDecimal("0.0775");
+    private static final BigDecimal TOPE_ISSS = new BigDecimal("75.00");
+    private static final BigDecimal TOPE_AFP = new BigDecimal("503.75");
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamano;
+
+    private long[] sueldosCentavos;
+    private double[] sueldosDolares;
+    private BigDecimal[] sueldosDecimales;
+    private long[] isss;
+    private long[] afp;
+    private long[] renta;
+    private long[] total;
+    private long[] neto;
+    private double[] netoDolares;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random aleatorio = new Random(42L);
+        sueldosCentavos = new long[tamano];
+        sueldosDolares = new double[tamano];
+        sueldosDecimales = new BigDecimal[tamano];
+        for (int i = 0; i < tamano; i++) {
+            long centavos = (long) (aleatorio.nextDouble() * 600000);
+            sueldosCentavos[i] = centavos;
+            sueldosDolares[i] = centavos / 100.0;
+            sueldosDecimales[i] = BigDecimal.valueOf(centavos, 2);
+        }
+        isss = new long[tamano];
+        afp = new long[tamano];
+        renta = new long[tamano];
+        total = new long[tamano];
+        neto = new long[tamano];
+        netoDolares = new double[tamano];
+    }
+
+    @Benchmark
+    public long[] loteCentavos() {
+        CalculadoraNominaCentavos.calcularDescuentosLote(sueldosCentavos, isss, afp, renta, total, neto);
+        return neto;
+    }
+
+    @Benchmark
+    public double[] loteDouble() {
+        CalculadoraDescuentos.calcularSalariosNetosLote(sueldosDolares, netoDolares);
+        return netoDolares;
+    }
+
+    @Benchmark
+    public long totalCentavos() {
+        long suma = 0;
+        for (long sueldo : sueldosCentavos) {
+            suma += CalculadoraNominaCentavos.calcularTotalDescuentos(sueldo);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        // Solo ISSS y AFP: basta para mostrar el costo de las asignaciones
+        BigDecimal suma = BigDecimal.ZERO;
+        for (BigDecimal sueldo : sueldosDecimales) {
+            suma = suma.add(sueldo.multiply(TASA_ISSS).setScale(2, RoundingMode.HALF_UP).min(TOPE_ISSS))
+                       .add(sueldo.multiply(TASA_AFP).setScale(2, RoundingMode.HALF_UP).min(TOPE_AFP));
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,79 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrida de nómina en etapas contra los recorridos separados de antes
+ * (totales, costo por tipo y una línea por empleado con String.format).
+ * Antes de cada invocación se invalidan las cifras guardadas en los
+ * empleados, como pasa al empezar un período con datos nuevos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CorridaNominaBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamano;
+
+    @Param({"4", "16"})
+    public int capacidadCola;
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+    }
+
+    @Setup(Level.Invocation)
+    public void invalidarCifras() {
+        for (Empleado empleado : empleados) {
+            empleado.setSueldoBase(empleado.getSueldoBase());
+        }
+    }
+
+    @Benchmark
+    public CorridaNomina.ResultadoCorrida corridaEnEtapas() throws IOException {
+        Writer destino = NominaServices.escritorPara(OutputStream.nullOutputStream());
+        return new CorridaNomina(capacidadCola, CorridaNomina.TAMANO_LOTE_PREDETERMINADO).ejecutar(empleados, destino);
+    }
+
+    @Benchmark
+    public double recorridosSeparados() throws IOException {
+        MotorNominaParalelo motor = new MotorNominaParalelo();
+        double total = motor.calcularTotales(empleados).getTotalNeto();
+        total += motor.calcularCostoPorTipo(empleados).size();
+        Writer destino = NominaServices.escritorPara(OutputStream.nullOutputStream());
+        for (Empleado empleado : empleados) {
+            destino.write(String.format("%s (%s) - Bruto: $%.2f - Descuentos: $%.2f - Neto: $%.2f\n",
+                empleado.getNombreCompleto(), empleado.getTipoEmpleado(),
+                empleado.calcularSueldoConBonificaciones(), empleado.calcularTotalDescuentos(),
+                empleado.calcularSalarioNeto()));
+        }
+        destino.flush();
+        return total;
+    }
+}
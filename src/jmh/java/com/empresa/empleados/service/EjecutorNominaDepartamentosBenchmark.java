@@ -0,0 +1,117 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Nómina por departamento con una tarea por departamento contra el recorrido
+ * secuencial de antes, departamento por departamento. Cada escritura al
+ * destino espera {@code latenciaMicros} para simular un disco o una red lentos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EjecutorNominaDepartamentosBenchmark {
+
+    @Param({"100000"})
+    public int tamano;
+
+    @Param({"0", "200"})
+    public int latenciaMicros;
+
+    private List<Empleado> empleados;
+    private EjecutorNominaDepartamentos ejecutor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        ejecutor = new EjecutorNominaDepartamentos();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ejecutor.close();
+    }
+
+    @Benchmark
+    public EjecutorNominaDepartamentos.ResultadoEjecucion tareaPorDepartamento() throws IOException {
+        return ejecutor.ejecutar(empleados, departamento -> new DestinoLento(latenciaMicros),
+            departamento -> new DestinoLento(latenciaMicros));
+    }
+
+    @Benchmark
+    public double secuencial() throws IOException {
+        Map<String, List<Empleado>> porDepartamento = new TreeMap<>();
+        for (Empleado empleado : empleados) {
+            porDepartamento.computeIfAbsent(EjecutorNominaDepartamentos.departamentoDe(empleado),
+                d -> new ArrayList<>()).add(empleado);
+        }
+        double total = 0;
+        for (Map.Entry<String, List<Empleado>> entrada : porDepartamento.entrySet()) {
+            try (Writer recibos = new BufferedWriter(new DestinoLento(latenciaMicros));
+                 Writer auditoria = new BufferedWriter(new DestinoLento(latenciaMicros))) {
+                for (Empleado empleado : entrada.getValue()) {
+                    recibos.write(empleado.toString());
+                    recibos.write(System.lineSeparator());
+                }
+                for (Empleado empleado : entrada.getValue()) {
+                    double neto = empleado.calcularSalarioNeto();
+                    auditoria.write(String.format("%s;%d;%s;%.2f;%.2f;%.2f\n", entrada.getKey(), empleado.getId(),
+                        empleado.getNombreCompleto(), empleado.calcularSueldoConBonificaciones(),
+                        empleado.calcularTotalDescuentos(), neto));
+                    total += neto;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class DestinoLento extends Writer {
+        private final long nanos;
+
+        DestinoLento(int micros) {
+            this.nanos = TimeUnit.MICROSECONDS.toNanos(micros);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            if (nanos > 0) {
+                LockSupport.parkNanos(nanos);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
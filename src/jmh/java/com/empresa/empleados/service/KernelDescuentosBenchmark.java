@@ -0,0 +1,66 @@
+package com.empresa.empleados.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Núcleo escalar contra núcleo vectorial para el total de descuentos
+ * La JVM del benchmark arranca con jdk.incubator.vector; requiere que
+ * src/vector esté compilado en el classpath, si no, el núcleo vectorial
+ * cae al escalar y ambas mediciones coinciden
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class KernelDescuentosBenchmark {
+
+    @Param({"1000", "100000", "5000000"})
+    public int tamano;
+
+    private double[] sueldosBrutos;
+    private double[] totales;
+    private KernelDescuentos escalar;
+    private KernelDescuentos vectorial;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random aleatorio = new Random(42L);
+        sueldosBrutos = new double[tamano];
+        for (int i = 0; i < tamano; i++) {
+            sueldosBrutos[i] = Math.round(aleatorio.nextDouble() * 600000) / 100.0;
+        }
+        totales = new double[tamano];
+        escalar = new KernelDescuentosEscalar();
+        vectorial = KernelDescuentos.obtener();
+        System.out.println("Núcleo seleccionado: " + vectorial.getNombre());
+    }
+
+    @Benchmark
+    public void escalar(Blackhole blackhole) {
+        escalar.calcularTotalDescuentos(sueldosBrutos, 0, tamano, totales);
+        blackhole.consume(totales);
+    }
+
+    @Benchmark
+    public void vectorial(Blackhole blackhole) {
+        vectorial.calcularTotalDescuentos(sueldosBrutos, 0, tamano, totales);
+        blackhole.consume(totales);
+    }
+}
@@ -0,0 +1,73 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalabilidad del motor de nómina en paralelo según el número de hilos
+ * Con paralelismo 1 mide el costo secuencial de referencia; el resultado
+ * es el mismo en todas las variantes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class MotorNominaParaleloBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int tamano;
+
+    @Param({"1", "4", "8", "16", "32"})
+    public int paralelismo;
+
+    private List<Empleado> empleados;
+    private ForkJoinPool pool;
+    private MotorNominaParalelo motor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        pool = new ForkJoinPool(paralelismo);
+        motor = new MotorNominaParalelo(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double calcularTotales() {
+        return motor.calcularTotales(empleados).getTotalNeto();
+    }
+
+    @Benchmark
+    public Map<String, Double> calcularCostoPorTipo() {
+        return motor.calcularCostoPorTipo(empleados);
+    }
+
+    @Benchmark
+    public double secuencialStream() {
+        return empleados.stream().mapToDouble(Empleado::calcularSalarioNeto).sum();
+    }
+}
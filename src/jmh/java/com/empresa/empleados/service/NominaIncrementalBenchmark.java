@@ -0,0 +1,76 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrida incremental contra el recálculo completo de totales y costo por
+ * tipo. Antes de cada invocación se modifica una fracción de los empleados
+ * ({@code cambios}, 0.01 = 1%), como pasa entre dos corridas de nómina
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NominaIncrementalBenchmark {
+
+    @Param({"1000000"})
+    public int tamano;
+
+    @Param({"0.01"})
+    public double cambios;
+
+    private List<Empleado> empleados;
+    private NominaIncremental incremental;
+    private MotorNominaParalelo motor;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        incremental = new NominaIncremental();
+        incremental.ejecutar(empleados);
+        motor = new MotorNominaParalelo();
+        random = new Random(7L);
+    }
+
+    @Setup(Level.Invocation)
+    public void modificarEmpleados() {
+        int cantidad = (int) (tamano * cambios);
+        for (int i = 0; i < cantidad; i++) {
+            Empleado empleado = empleados.get(random.nextInt(tamano));
+            empleado.setSueldoBase(empleado.getSueldoBase() + 0.01);
+        }
+    }
+
+    @Benchmark
+    public NominaIncremental.ResultadoIncremental soloCambios() {
+        return incremental.ejecutar(empleados);
+    }
+
+    @Benchmark
+    public double recalculoCompleto() {
+        double total = motor.calcularTotales(empleados).getTotalNeto();
+        Map<String, Double> porTipo = motor.calcularCostoPorTipo(empleados);
+        return total + porTipo.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosNomina;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregados de NominaServices sobre la nómina sintética
+ * Los totales, estadísticas, costos y conteos por tipo se mantienen al día
+ * con cada alta o cambio, así que deben costar lo mismo con cualquier tamaño;
+ * los totales en centavos, el lote de descuentos, la corrida incremental y el
+ * top de salarios recorren a todos los empleados. Usa los datos de
+ * DatosNomina, pero solo hasta TAMANO_MAXIMO: el servicio guarda índices y
+ * aportes por empleado (unos 850 MB por millón), así que 10^7 no cabe en el
+ * heap. Con un tamaño mayor la preparación falla en lugar de quedarse sin
+ * memoria; SuiteRendimiento ya no se los pide
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class NominaServicesBenchmark {
+
+    // Mayor tamaño de DatosNomina que cabe en el heap de este benchmark
+    public static final int TAMANO_MAXIMO = 1_000_000;
+
+    private NominaServices nomina;
+
+    @Setup(Level.Trial)
+    public void preparar(DatosNomina datos) {
+        if (datos.tamano > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("NominaServicesBenchmark admite hasta " + TAMANO_MAXIMO
+                    + " empleados, no " + datos.tamano);
+        }
+        nomina = new NominaServices(new EmpleadoService(datos.getEmpleados()));
+        nomina.ejecutarNominaIncremental();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        nomina.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double costoTotal() {
+        return nomina.calcularCostoTotalNomina();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public EmpleadoService.EstadisticasSalarios estadisticas() {
+        return nomina.obtenerEstadisticasNomina();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Map<String, Double> costoPorTipo() {
+        return nomina.obtenerCostoNominaPorTipo();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Map<String, Long> conteoPorTipo() {
+        return nomina.generarConteoPorTipo();
+    }
+
+    @Benchmark
+    public CalculadoraNominaCentavos.TotalesCentavos totalesCentavos() {
+        return nomina.calcularTotalesNominaCentavos();
+    }
+
+    @Benchmark
+    public CalculadoraDescuentos.LoteDescuentos loteDescuentos() {
+        return nomina.obtenerLoteDescuentosNomina();
+    }
+
+    @Benchmark
+    public NominaIncremental.ResultadoIncremental incrementalSinCambios() {
+        return nomina.ejecutarNominaIncremental();
+    }
+
+    @Benchmark
+    public List<Empleado> topSalarios() {
+        return nomina.generarTopSalarios(100);
+    }
+}
@@ -0,0 +1,68 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.DatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporte de técnicos como lista de Strings impresa línea por línea contra el reporte en flujo
+ * Ambos escriben los mismos bytes a un destino que los descarta; la lista
+ * retiene un String por fila hasta terminar, el flujo solo su búfer. Conviene
+ * correrlo con -prof gc para comparar la memoria asignada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReporteEnFlujoBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamano;
+
+    private NominaServices nomina;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nomina = new NominaServices(new EmpleadoService(DatosSinteticos.generar(tamano, 42L)));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        nomina.close();
+    }
+
+    @Benchmark
+    public void lista() {
+        PrintStream salida = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        for (String linea : nomina.generarReporteTecnicos()) {
+            salida.println(linea);
+        }
+        salida.flush();
+    }
+
+    @Benchmark
+    public long enFlujo() throws IOException {
+        Writer destino = NominaServices.escritorPara(OutputStream.nullOutputStream());
+        return nomina.generarReporteTecnicos(destino);
+    }
+}
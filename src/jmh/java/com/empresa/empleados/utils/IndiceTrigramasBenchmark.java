@@ -0,0 +1,67 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda parcial por nombre con índice de trigramas contra el
+ * recorrido completo con toLowerCase().contains() que se usaba antes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class IndiceTrigramasBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tamano;
+
+    @Param({"gomez 12345", "hernández 50", "luis"})
+    public String consulta;
+
+    private List<Empleado> empleados;
+    private IndiceTrigramas indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(tamano, 42L);
+        indice = new IndiceTrigramas();
+        indice.construir(empleados);
+        System.out.println();
+        System.out.println(indice.obtenerEstadisticas());
+    }
+
+    @Benchmark
+    public int buscarConIndice() {
+        return indice.buscar(consulta).size();
+    }
+
+    @Benchmark
+    public int buscarRecorriendo() {
+        String busqueda = consulta.trim().toLowerCase();
+        int encontrados = 0;
+        for (Empleado empleado : empleados) {
+            if (empleado.getNombreCompleto().toLowerCase().contains(busqueda)) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+}
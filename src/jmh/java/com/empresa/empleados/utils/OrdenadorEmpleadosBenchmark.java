@@ -0,0 +1,74 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.DatosNomina;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenamientos de empleados: comparador sobre objetos contra claves precalculadas
+ * El comparador vuelve a pedir el salario neto de ambos empleados en cada
+ * comparación; con claves precalculadas se lee una vez por empleado y solo se
+ * ordenan arreglos primitivos. Para los apellidos, el Collator español recorre
+ * sus reglas en cada comparación, mientras que las claves de orden guardadas
+ * en cada empleado se comparan byte a byte. Los datos son los de
+ * DatosNomina, de 10^3 a 10^7 empleados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class OrdenadorEmpleadosBenchmark {
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void preparar(DatosNomina datos) {
+        empleados = datos.getEmpleados();
+    }
+
+    @Benchmark
+    public List<Empleado> comparador() {
+        List<Empleado> ordenados = new ArrayList<>(empleados);
+        ordenados.sort(Comparator.comparingDouble(Empleado::calcularSalarioNeto).reversed());
+        return ordenados;
+    }
+
+    @Benchmark
+    public List<Empleado> clavesPrecalculadas() {
+        return OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, false);
+    }
+
+    @Benchmark
+    public List<Empleado> apellidosCollator() {
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("es"));
+        List<Empleado> ordenados = new ArrayList<>(empleados);
+        ordenados.sort(Comparator.comparing(Empleado::getPrimerApellido, collator)
+                .thenComparing(Empleado::getSegundoApellido, collator)
+                .thenComparing(Empleado::getNombres, collator));
+        return ordenados;
+    }
+
+    @Benchmark
+    public List<Empleado> apellidosClavesGuardadas() {
+        return OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, true);
+    }
+}
@@ -0,0 +1,65 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenamiento externo con presupuesto de memoria contra el ordenamiento en memoria
+ * Con 1M de empleados y 16 MB de presupuesto, el externo escribe decenas de
+ * corridas y las mezcla en una pasada; con 1 GB cabe todo y no toca disco, lo
+ * que mide el costo propio de las filas y las claves
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrdenadorExternoBenchmark {
+
+    @Param({"16", "1024"})
+    public int presupuestoMB;
+
+    @Param({"SALARIO_NETO", "APELLIDOS"})
+    public OrdenadorExterno.Criterio criterio;
+
+    private List<Empleado> empleados;
+    private OrdenadorExterno ordenador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(1_000_000, 42L);
+        ordenador = new OrdenadorExterno((long) presupuestoMB << 20);
+        // Claves de apellidos y valores de nómina ya calculados en ambos caminos
+        OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, true);
+    }
+
+    @Benchmark
+    public OrdenadorExterno.EstadisticasOrden externo(Blackhole agujero) throws IOException {
+        return ordenador.ordenarEmpleados(empleados, criterio, true, agujero::consume);
+    }
+
+    @Benchmark
+    public List<Empleado> enMemoria() {
+        return criterio == OrdenadorExterno.Criterio.APELLIDOS
+                ? OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, true)
+                : OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, true);
+    }
+}
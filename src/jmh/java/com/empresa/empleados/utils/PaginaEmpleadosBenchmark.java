@@ -0,0 +1,64 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.DatosSinteticos;
+import com.empresa.empleados.model.Empleado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primeros k empleados por salario y por apellido sobre 1M de empleados
+ * El montículo acotado recorre la nómina una vez y guarda solo k posiciones;
+ * se compara contra ordenar todo y tomar la sublista
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PaginaEmpleadosBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int k;
+
+    private List<Empleado> empleados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        empleados = DatosSinteticos.generar(1_000_000, 42L);
+    }
+
+    @Benchmark
+    public List<Empleado> primerosPorSalario() {
+        return OrdenadorEmpleados.primerosPorSueldoNeto(empleados, k, false);
+    }
+
+    @Benchmark
+    public List<Empleado> primerosPorSalarioOrdenandoTodo() {
+        return new ArrayList<>(OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, false).subList(0, k));
+    }
+
+    @Benchmark
+    public List<Empleado> primerosPorApellido() {
+        return OrdenadorEmpleados.paginaPorPrimerApellido(empleados, 0, k, true);
+    }
+
+    @Benchmark
+    public List<Empleado> primerosPorApellidoOrdenandoTodo() {
+        return new ArrayList<>(OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, true).subList(0, k));
+    }
+}
@@ -0,0 +1,132 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmpleadoRepositoryConcurrenteTest {
+
+    private static Tecnico crearTecnico(int numero) {
+        return new Tecnico(
+            "Técnico", "Número", String.valueOf(numero),
+            "San Salvador", LocalDate.of(1990, 1, 1 + numero % 28), 'M',
+            "1234-5678", "tecnico" + numero + "@empresa.com", "Mecánica"
+        );
+    }
+
+    @Test
+    void testInstantaneaNoCambiaConEscriturasPosteriores() {
+        EmpleadoRepositoryConcurrente repositorio = new EmpleadoRepositoryConcurrente();
+        repositorio.agregarEmpleado(crearTecnico(1));
+        List<Empleado> instantanea = repositorio.obtenerTodosLosEmpleados();
+
+        repositorio.agregarEmpleado(crearTecnico(2));
+        repositorio.eliminarEmpleado("Técnico Número 1");
+
+        assertEquals(1, instantanea.size(), "La instantánea anterior no debe cambiar");
+        assertEquals("Técnico Número 1", instantanea.get(0).getNombreCompleto());
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.add(crearTecnico(3)),
+                "La instantánea debe ser inmutable");
+        assertEquals(1, repositorio.obtenerTotalEmpleados(), "Debe quedar 1 empleado");
+    }
+
+    @Test
+    void testEscriturasConcurrentes() throws Exception {
+        EmpleadoRepositoryConcurrente repositorio = new EmpleadoRepositoryConcurrente();
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int hilo = 0; hilo < 8; hilo++) {
+            final int inicio = hilo;
+            tareas.add(hilos.submit(() -> {
+                for (int i = inicio; i < 4000; i += 8) {
+                    repositorio.agregarEmpleado(crearTecnico(i));
+                    if (i % 2 == 0) {
+                        repositorio.eliminarEmpleado("Técnico Número " + i);
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+
+        assertEquals(2000, repositorio.obtenerTotalEmpleados(), "Deben quedar los 2000 técnicos impares");
+        assertTrue(repositorio.existeEmpleado("técnico número 3999"), "Debe encontrarse un técnico impar");
+        assertFalse(repositorio.existeEmpleado("Técnico Número 3998"), "Los pares deben haberse eliminado");
+    }
+
+    @Test
+    void testActualizarConservaPosicion() {
+        EmpleadoRepositoryConcurrente repositorio = new EmpleadoRepositoryConcurrente(
+                List.of(crearTecnico(1), crearTecnico(2)));
+        Tecnico reemplazo = crearTecnico(1);
+        assertTrue(repositorio.actualizarEmpleado(reemplazo), "Debe actualizar el empleado existente");
+        assertSame(reemplazo, repositorio.obtenerTodosLosEmpleados().get(0), "Debe ocupar la misma posición");
+        assertFalse(repositorio.actualizarEmpleado(crearTecnico(9)), "No debe actualizar un empleado inexistente");
+    }
+
+    @Test
+    void testModoSegmentadoEscriturasConcurrentes() throws Exception {
+        EmpleadoRepositoryConcurrente repositorio = new EmpleadoRepositoryConcurrente(6);
+        assertEquals(8, repositorio.getNumeroSegmentos(), "Debe redondear a potencia de 2");
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int hilo = 0; hilo < 8; hilo++) {
+            final int inicio = hilo;
+            tareas.add(hilos.submit(() -> {
+                for (int i = inicio; i < 4000; i += 8) {
+                    repositorio.agregarEmpleado(crearTecnico(i));
+                    if (i % 2 == 0) {
+                        repositorio.eliminarEmpleado("Técnico Número " + i);
+                    } else {
+                        repositorio.actualizarEmpleado(crearTecnico(i));
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+
+        // Las métricas se leen antes que el total y el listado, que también bloquean los segmentos
+        long adquisiciones = 0;
+        int empleados = 0;
+        for (EmpleadoRepositoryConcurrente.MetricasSegmento metricas : repositorio.obtenerMetricasSegmentos()) {
+            adquisiciones += metricas.getAdquisiciones();
+            empleados += metricas.getEmpleados();
+            assertTrue(metricas.getAdquisicionesContendidas() <= metricas.getAdquisiciones(),
+                    "Las adquisiciones contendidas no pueden superar al total");
+        }
+        assertEquals(2000, empleados, "Las métricas deben reflejar los empleados de cada segmento");
+        assertEquals(8000, adquisiciones, "Cada escritura (4000 altas, 2000 bajas y 2000 cambios) debe contar una adquisición");
+        assertEquals(2000, repositorio.obtenerTotalEmpleados(), "Deben quedar los 2000 técnicos impares");
+        assertEquals(2000, repositorio.obtenerTodosLosEmpleados().size(), "El listado debe coincidir con el total");
+    }
+
+    @Test
+    void testModoSegmentadoLimpiar() {
+        EmpleadoRepositoryConcurrente repositorio = new EmpleadoRepositoryConcurrente(4);
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            empleados.add(crearTecnico(i));
+        }
+        empleados.add(crearTecnico(5));
+        assertEquals(100, repositorio.agregarEmpleados(empleados), "Debe descartar el duplicado");
+        assertEquals(100, repositorio.obtenerTotalEmpleados(), "Debe contar 100 empleados");
+
+        repositorio.limpiarRepositorio();
+        assertEquals(0, repositorio.obtenerTotalEmpleados(), "El repositorio debe quedar vacío");
+        assertFalse(repositorio.existeEmpleado("Técnico Número 5"), "No debe quedar el índice por nombre");
+        assertThrows(IllegalArgumentException.class, () -> new EmpleadoRepositoryConcurrente(0));
+    }
+}
@@ -0,0 +1,246 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmpleadoRepositoryTest {
+    private EmpleadoRepository repositorio;
+    private Gerente gerente;
+    private Tecnico tecnico;
+
+    @BeforeEach
+    void setUp() {
+        gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, true
+        );
+        tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com",
+            "Mecánica", 5, "Mañana", true
+        );
+        repositorio = new EmpleadoRepository(Arrays.asList(gerente, tecnico));
+    }
+
+    @Test
+    void testBuscarPorNombreCompletoIgnoraMayusculasYEspacios() {
+        assertSame(gerente, repositorio.buscarPorNombreCompleto("  ANA SOFÍA gómez martínez ").orElse(null),
+                "Debe encontrar al gerente sin importar mayúsculas ni espacios extremos");
+        assertFalse(repositorio.buscarPorNombreCompleto("No Existe").isPresent(), "No debe encontrar un nombre inexistente");
+    }
+
+    @Test
+    void testAgregarEmpleadoDuplicado() {
+        Tecnico duplicado = new Tecnico(
+            "juan carlos", "PINEDA", "alvarado",
+            "Santa Tecla", LocalDate.of(1991, 2, 1), 'M',
+            "987654321", "otro@empresa.com", "Electrónica"
+        );
+        assertFalse(repositorio.agregarEmpleado(duplicado), "No debe agregar un nombre repetido");
+        assertEquals(2, repositorio.obtenerTotalEmpleados(), "El total no debe cambiar");
+    }
+
+    @Test
+    void testAgregarEmpleadosIgnoraRepetidosDelLote() {
+        repositorio.limpiarRepositorio();
+        assertEquals(2, repositorio.agregarEmpleados(Arrays.asList(gerente, tecnico, gerente, null)),
+                "Debe agregar solo los empleados distintos");
+    }
+
+    @Test
+    void testActualizarEmpleadoConservaPosicion() {
+        Tecnico reemplazo = new Tecnico(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Santa Tecla", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com", "Redes"
+        );
+        assertTrue(repositorio.actualizarEmpleado(reemplazo), "Debe actualizar el empleado existente");
+        List<Empleado> todos = repositorio.obtenerTodosLosEmpleados();
+        assertSame(reemplazo, todos.get(0), "El reemplazo debe ocupar la posición del original");
+        assertEquals(2, todos.size(), "El total no debe cambiar");
+    }
+
+    @Test
+    void testActualizarEmpleadoRenombrado() {
+        tecnico.setPrimerApellido("Molina");
+        assertTrue(repositorio.actualizarEmpleado(tecnico), "Debe reindexar al empleado renombrado");
+        assertTrue(repositorio.existeEmpleado("Juan Carlos Molina Alvarado"), "Debe encontrarse con el nombre nuevo");
+        assertFalse(repositorio.existeEmpleado("Juan Carlos Pineda Alvarado"), "No debe encontrarse con el nombre anterior");
+    }
+
+    @Test
+    void testEliminarYLimpiar() {
+        assertTrue(repositorio.eliminarEmpleado("juan carlos pineda alvarado"), "Debe eliminar al técnico");
+        assertFalse(repositorio.existeEmpleado("Juan Carlos Pineda Alvarado"), "El técnico ya no debe existir");
+        assertTrue(repositorio.agregarEmpleado(tecnico), "Debe poder volver a agregarse tras eliminarlo");
+
+        repositorio.limpiarRepositorio();
+        assertEquals(0, repositorio.obtenerTotalEmpleados(), "El repositorio debe quedar vacío");
+        assertTrue(repositorio.agregarEmpleado(gerente), "Debe poder agregarse tras limpiar");
+    }
+
+    @Test
+    void testConsultasPorIndicesSecundarios() {
+        assertEquals(1, repositorio.obtenerPorTipo("gerente").size(), "Debe encontrar 1 gerente por tipo");
+        assertSame(tecnico, repositorio.obtenerTecnicos().get(0), "Debe devolver al técnico");
+        assertEquals(1, repositorio.buscarPorPrimerApellido(" GÓMEZ ").size(), "Debe encontrar el apellido Gómez");
+        assertEquals(1, repositorio.obtenerCumpleañosPorMes(3).size(), "Debe encontrar 1 cumpleaños en marzo");
+    }
+
+    @Test
+    void testIndicesSeActualizanConLasMutaciones() {
+        tecnico.setPrimerApellido("Gómez");
+        repositorio.actualizarEmpleado(tecnico);
+        assertEquals(2, repositorio.buscarPorPrimerApellido("Gómez").size(), "El índice debe reflejar el apellido nuevo");
+        assertTrue(repositorio.buscarPorPrimerApellido("Pineda").isEmpty(), "El apellido anterior ya no debe indexarse");
+
+        repositorio.eliminarEmpleado("Ana Sofía Gómez Martínez");
+        assertTrue(repositorio.obtenerGerentes().isEmpty(), "El gerente eliminado no debe aparecer");
+
+        repositorio.limpiarRepositorio();
+        assertTrue(repositorio.obtenerTecnicos().isEmpty(), "Los índices deben vaciarse al limpiar");
+    }
+
+    @Test
+    void testRegistrarIndicePersonalizado() {
+        IndiceSecundario<Character> porSexo = repositorio.registrarIndice("sexo", Empleado::getSexo);
+        assertEquals(1, porSexo.contar('F'), "Debe indexar a los empleados existentes");
+
+        repositorio.agregarEmpleado(new Supervisor(
+            "Carmen", "Díaz", "Mendoza",
+            "Soyapango, San Salvador", LocalDate.of(1983, 4, 25), 'F',
+            "6789-0123", "carmen.diaz@empresa.com", "Logística"
+        ));
+        assertEquals(2, repositorio.buscarPorIndice("sexo", 'F').size(), "Debe indexar a los empleados nuevos");
+        assertThrows(IllegalArgumentException.class, () -> repositorio.registrarIndice("sexo", Empleado::getSexo),
+                "No debe permitir nombres de índice repetidos");
+        assertThrows(IllegalArgumentException.class, () -> repositorio.buscarPorIndice("noExiste", 'F'),
+                "Debe fallar al consultar un índice inexistente");
+    }
+
+    @Test
+    void testIdsDensosYReutilizados() {
+        assertEquals(0, gerente.getId(), "El primer empleado debe recibir el id 0");
+        assertEquals(1, tecnico.getId(), "El segundo empleado debe recibir el id 1");
+        assertSame(tecnico, repositorio.buscarPorId(1).orElse(null), "Debe encontrar al técnico por id");
+
+        assertTrue(repositorio.eliminarPorId(0), "Debe eliminar al gerente por id");
+        assertEquals(-1, gerente.getId(), "El empleado eliminado debe quedar sin id");
+        assertFalse(repositorio.existeEmpleado("Ana Sofía Gómez Martínez"), "El índice por nombre debe actualizarse");
+        assertFalse(repositorio.buscarPorId(0).isPresent(), "El id eliminado debe quedar libre");
+        assertFalse(repositorio.eliminarPorId(0), "No debe eliminar dos veces el mismo id");
+
+        Supervisor supervisor = new Supervisor(
+            "Carmen", "Díaz", "Mendoza",
+            "Soyapango, San Salvador", LocalDate.of(1983, 4, 25), 'F',
+            "6789-0123", "carmen.diaz@empresa.com", "Logística"
+        );
+        repositorio.agregarEmpleado(supervisor);
+        assertEquals(0, supervisor.getId(), "Debe reutilizar el id liberado");
+    }
+
+    @Test
+    void testListadoEnOrdenDeAltaAunqueSeReutiliceElId() {
+        Supervisor supervisor = new Supervisor(
+            "Carmen", "Díaz", "Mendoza",
+            "Soyapango, San Salvador", LocalDate.of(1983, 4, 25), 'F',
+            "6789-0123", "carmen.diaz@empresa.com", "Logística"
+        );
+        repositorio.eliminarEmpleado(gerente.getNombreCompleto());
+        repositorio.agregarEmpleado(supervisor);
+        assertEquals(0, supervisor.getId(), "Debe reutilizar el id del gerente");
+        assertEquals(List.of(tecnico, supervisor), repositorio.obtenerTodosLosEmpleados(),
+                "El empleado nuevo debe aparecer al final aunque tome un id anterior");
+
+        List<Empleado> esperados = new ArrayList<>(List.of(tecnico, supervisor));
+        for (int i = 0; i < 100; i++) {
+            Tecnico nuevo = new Tecnico(
+                "Técnico " + i, "Pérez", "López",
+                "San Salvador", LocalDate.of(1990, 1, 1), 'M',
+                "1234-5678", "tecnico" + i + "@empresa.com", "Mecánica"
+            );
+            repositorio.agregarEmpleado(nuevo);
+            esperados.add(nuevo);
+        }
+        // Bajas suficientes para que el orden se compacte varias veces
+        for (int i = 0; i < esperados.size(); i += 3) {
+            repositorio.eliminarPorId(esperados.get(i).getId());
+        }
+        for (int i = 1; i < esperados.size(); i += 3) {
+            repositorio.eliminarPorId(esperados.get(i).getId());
+        }
+        List<Empleado> quedan = new ArrayList<>();
+        for (int i = 2; i < esperados.size(); i += 3) {
+            quedan.add(esperados.get(i));
+        }
+        assertEquals(quedan, repositorio.obtenerTodosLosEmpleados(), "Las bajas no deben alterar el orden de los demás");
+        Tecnico ultimo = new Tecnico(
+            "Último", "Pérez", "López",
+            "San Salvador", LocalDate.of(1990, 1, 1), 'M',
+            "1234-5678", "ultimo@empresa.com", "Mecánica"
+        );
+        repositorio.agregarEmpleado(ultimo);
+        quedan.add(ultimo);
+        assertEquals(quedan, repositorio.obtenerTodosLosEmpleados(), "Un alta tras compactar debe ir al final");
+        assertEquals(quedan.size(), repositorio.obtenerTotalEmpleados(), "El total debe coincidir con el listado");
+    }
+
+    @Test
+    void testEmpleadoNoPuedeEstarEnDosRepositorios() {
+        EmpleadoRepository otro = new EmpleadoRepository();
+        assertFalse(otro.agregarEmpleado(gerente), "Otro repositorio debe rechazar a un empleado ya registrado");
+        assertEquals(0, otro.agregarEmpleados(Arrays.asList(gerente, tecnico)), "Tampoco debe aceptarlos en lote");
+        assertEquals(0, gerente.getId(), "El primer repositorio debe conservar el id del gerente");
+        Gerente homonimo = new Gerente(
+            "Otro", "Gerente", "Distinto",
+            "San Salvador", LocalDate.of(1980, 1, 1), 'M',
+            "1111-2222", "otro@empresa.com", "Finanzas", 1, false
+        );
+        otro.agregarEmpleado(homonimo);
+        assertFalse(otro.actualizarPorId(homonimo.getId(), gerente), "No debe reemplazar con un empleado de otro repositorio");
+        assertThrows(IllegalStateException.class, () -> gerente.asignarId(otro, 5),
+                "Solo el repositorio dueño puede cambiar el id");
+
+        assertTrue(repositorio.eliminarPorId(gerente.getId()), "El primer repositorio debe poder eliminarlo");
+        assertEquals(List.of(tecnico), repositorio.obtenerTodosLosEmpleados(), "Debe eliminar al gerente de su propio lugar");
+        assertTrue(otro.agregarEmpleado(gerente), "Una vez eliminado, otro repositorio puede registrarlo");
+        assertSame(gerente, otro.buscarPorId(gerente.getId()).orElse(null), "Debe encontrarse en el nuevo repositorio");
+    }
+
+    @Test
+    void testIdEstableAlRenombrar() {
+        tecnico.setNombres("Pedro");
+        assertTrue(repositorio.actualizarEmpleado(tecnico), "Debe reindexar al empleado renombrado");
+        assertEquals(1, tecnico.getId(), "El id no debe cambiar al renombrar");
+        assertSame(tecnico, repositorio.buscarPorNombreCompleto("Pedro Pineda Alvarado").orElse(null),
+                "El nombre nuevo debe apuntar al mismo id");
+    }
+
+    @Test
+    void testActualizarPorId() {
+        Tecnico reemplazo = new Tecnico(
+            "Luis", "Pineda", "Alvarado",
+            "Santa Tecla", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "luis.pineda@empresa.com", "Redes"
+        );
+        assertTrue(repositorio.actualizarPorId(1, reemplazo), "Debe reemplazar al técnico por id");
+        assertEquals(1, reemplazo.getId(), "El reemplazo debe heredar el id");
+        assertEquals(-1, tecnico.getId(), "El empleado reemplazado debe quedar sin id");
+        assertFalse(repositorio.existeEmpleado("Juan Carlos Pineda Alvarado"), "El nombre anterior debe desindexarse");
+        assertSame(reemplazo, repositorio.obtenerTecnicos().get(0), "Los índices secundarios deben actualizarse");
+
+        assertFalse(repositorio.actualizarPorId(1, gerente), "No debe mover a un empleado registrado con otro id");
+        assertFalse(repositorio.actualizarPorId(7, tecnico), "No debe actualizar un id libre");
+    }
+}
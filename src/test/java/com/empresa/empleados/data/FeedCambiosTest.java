@@ -0,0 +1,291 @@
+package com.empresa.empleados.data;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedCambiosTest {
+    private EmpleadoRepository repositorio;
+    private Gerente gerente;
+    private Tecnico tecnico;
+
+    @BeforeEach
+    void setUp() {
+        gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, true
+        );
+        tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com",
+            "Mecánica", 5, "Mañana", true
+        );
+        repositorio = new EmpleadoRepository();
+    }
+
+    private static List<Empleado> tecnicos(int cantidad) {
+        List<Empleado> tecnicos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            tecnicos.add(new Tecnico(
+                "Técnico", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1990, 1, 1 + i % 28), 'M',
+                "1234-5678", "tecnico" + i + "@empresa.com", "Mecánica"
+            ));
+        }
+        return tecnicos;
+    }
+
+    /**
+     * Copia de un cambio, porque las casillas del feed se reutilizan
+     */
+    private static String describir(FeedCambios.Cambio cambio) {
+        return cambio.getSecuencia() + ":" + cambio.getTipo() + ":" + cambio.getId();
+    }
+
+    @Test
+    void testCadaModificacionPublicaUnCambioEnOrden() {
+        FeedCambios.Suscripcion suscripcion = repositorio.obtenerFeedCambios().suscribir();
+        repositorio.agregarEmpleado(gerente);
+        repositorio.agregarEmpleado(tecnico);
+        repositorio.actualizarEmpleado(gerente);
+        repositorio.eliminarEmpleado(tecnico.getNombreCompleto());
+        repositorio.agregarEmpleado(gerente);
+        repositorio.limpiarRepositorio();
+
+        List<String> recibidos = new ArrayList<>();
+        assertEquals(5, suscripcion.procesarDisponibles((cambio, ultimo) -> recibidos.add(describir(cambio))),
+            "Debe publicar una alta, una actualización, una baja y una limpieza (la alta repetida no cuenta)");
+        assertEquals(Arrays.asList("0:AGREGADO:0", "1:AGREGADO:1", "2:ACTUALIZADO:0", "3:ELIMINADO:1", "4:LIMPIADO:-1"),
+            recibidos, "Los cambios deben llegar en orden y con secuencias consecutivas");
+        assertEquals(0, suscripcion.procesarDisponibles((cambio, ultimo) -> fail("No debe haber más cambios")));
+    }
+
+    @Test
+    void testActualizacionIncluyeAlEmpleadoAnterior() {
+        repositorio.agregarEmpleado(gerente);
+        FeedCambios.Suscripcion suscripcion = repositorio.obtenerFeedCambios().suscribir();
+        Gerente reemplazo = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Santa Tecla", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Finanzas", 4, false
+        );
+        repositorio.actualizarEmpleado(reemplazo);
+        suscripcion.procesarDisponibles((cambio, ultimo) -> {
+            assertEquals(FeedCambios.TipoCambio.ACTUALIZADO, cambio.getTipo());
+            assertSame(reemplazo, cambio.getEmpleado(), "Debe traer al empleado nuevo");
+            assertSame(gerente, cambio.getAnterior(), "Debe traer al empleado reemplazado");
+        });
+    }
+
+    @Test
+    void testLoteSePublicaJunto() {
+        FeedCambios.Suscripcion suscripcion = repositorio.obtenerFeedCambios().suscribir();
+        repositorio.agregarEmpleado(gerente);
+        List<Empleado> lote = tecnicos(50);
+        assertEquals(50, repositorio.agregarEmpleados(lote), "Debe agregar todo el lote");
+
+        List<Long> lotes = new ArrayList<>();
+        List<Boolean> ultimos = new ArrayList<>();
+        suscripcion.procesarDisponibles((cambio, ultimo) -> {
+            lotes.add(cambio.getLote());
+            ultimos.add(ultimo);
+        });
+        assertEquals(51, lotes.size(), "Debe recibir la alta suelta y las del lote");
+        assertEquals(0L, (long) lotes.get(0), "La alta suelta es su propio lote");
+        for (int i = 1; i < lotes.size(); i++) {
+            assertEquals(1L, (long) lotes.get(i), "Las altas del lote comparten el número de su primer cambio");
+        }
+        assertEquals(1, ultimos.stream().filter(b -> b).count(), "Solo el último cambio disponible lo indica");
+        assertTrue(ultimos.get(ultimos.size() - 1), "El último cambio del lote es el último disponible");
+    }
+
+    @Test
+    void testVariosSuscriptoresConCursorPropio() {
+        FeedCambios feed = repositorio.obtenerFeedCambios();
+        FeedCambios.Suscripcion primera = feed.suscribir();
+        repositorio.agregarEmpleado(gerente);
+        FeedCambios.Suscripcion segunda = feed.suscribir();
+        repositorio.agregarEmpleado(tecnico);
+
+        assertEquals(2, primera.getPendientes(), "La primera suscripción ve ambas altas");
+        assertEquals(1, segunda.getPendientes(), "La segunda solo ve lo publicado después de suscribirse");
+        assertEquals(2, primera.procesarDisponibles((cambio, ultimo) -> { }));
+        assertEquals(1, segunda.procesarDisponibles((cambio, ultimo) ->
+            assertSame(tecnico, cambio.getEmpleado(), "La segunda debe recibir solo al técnico")));
+        assertEquals(1, primera.getCursor(), "El cursor queda en la última secuencia leída");
+    }
+
+    @Test
+    void testSuscripcionCerradaNoFrenaAlRepositorio() {
+        FeedCambios.Suscripcion suscripcion = repositorio.obtenerFeedCambios(4).suscribir();
+        suscripcion.close();
+        repositorio.agregarEmpleados(tecnicos(100));
+        assertEquals(99, repositorio.obtenerFeedCambios().getUltimaSecuencia(), "Debe publicar sin esperar a nadie");
+        assertThrows(IllegalStateException.class, () -> suscripcion.procesarDisponibles((cambio, ultimo) -> { }));
+    }
+
+    @Test
+    void testSuscripcionEstancadaSeDesconecta() throws Exception {
+        FeedCambios feed = repositorio.obtenerFeedCambios(4);
+        feed.setEsperaMaximaNanos(20_000_000L);
+        FeedCambios.Suscripcion olvidada = feed.suscribir();
+        FeedCambios.Suscripcion conFalla = feed.suscribir();
+        // El manejador falla en el primer cambio y el hilo del lector muere sin cerrar la suscripción
+        Thread lector = new Thread(() -> {
+            try {
+                conFalla.procesar((cambio, ultimo) -> {
+                    throw new IllegalStateException("Falla del manejador");
+                });
+            } catch (IllegalStateException e) {
+                // El hilo termina aquí, sin cerrar la suscripción
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lector.setDaemon(true);
+        lector.start();
+
+        Thread productor = new Thread(() -> repositorio.agregarEmpleados(tecnicos(50)));
+        productor.setDaemon(true);
+        productor.start();
+        productor.join(10_000);
+        assertFalse(productor.isAlive(), "Los lectores estancados no deben detener al repositorio");
+        assertEquals(50, repositorio.obtenerTotalEmpleados(), "Deben agregarse todos los empleados");
+        assertEquals(49, feed.getUltimaSecuencia(), "Deben publicarse todos los cambios");
+        assertTrue(olvidada.isDesconectada(), "La suscripción que nunca leyó debe desconectarse");
+        assertTrue(conFalla.isDesconectada(), "La suscripción cuyo lector murió debe desconectarse");
+        assertThrows(IllegalStateException.class, () -> olvidada.procesarDisponibles((cambio, ultimo) -> { }),
+                "Una suscripción desconectada no puede seguir leyendo");
+
+        FeedCambios.Suscripcion activa = feed.suscribir();
+        repositorio.agregarEmpleado(gerente);
+        assertEquals(1, activa.procesarDisponibles((cambio, ultimo) -> { }), "Las suscripciones nuevas leen normalmente");
+        assertFalse(activa.isDesconectada(), "Una suscripción al día no se desconecta");
+        assertThrows(IllegalArgumentException.class, () -> feed.setEsperaMaximaNanos(0));
+    }
+
+    @Test
+    void testProductorEsperaAlLectorMasLento() throws Exception {
+        List<FeedCambios.EstrategiaEspera> estrategias = Arrays.asList(
+            FeedCambios.EstrategiaEspera.activa(),
+            FeedCambios.EstrategiaEspera.cediendo(),
+            FeedCambios.EstrategiaEspera.durmiendo(10_000),
+            FeedCambios.EstrategiaEspera.bloqueante());
+        for (FeedCambios.EstrategiaEspera estrategia : estrategias) {
+            EmpleadoRepository repositorio = new EmpleadoRepository();
+            FeedCambios feed = repositorio.obtenerFeedCambios(8);
+            FeedCambios.Suscripcion suscripcion = feed.suscribir(estrategia);
+            int total = 5000;
+            AtomicLong esperada = new AtomicLong();
+            AtomicReference<String> error = new AtomicReference<>();
+            Thread lector = new Thread(() -> {
+                try {
+                    while (esperada.get() < total) {
+                        suscripcion.procesar((cambio, ultimo) -> {
+                            if (cambio.getSecuencia() != esperada.getAndIncrement()) {
+                                error.compareAndSet(null, "Secuencia " + cambio.getSecuencia() + " fuera de orden");
+                            }
+                        });
+                    }
+                } catch (InterruptedException e) {
+                    error.compareAndSet(null, "Lector interrumpido");
+                }
+            });
+            lector.setDaemon(true);
+            lector.start();
+
+            List<Empleado> todos = tecnicos(total);
+            repositorio.agregarEmpleados(todos.subList(0, total / 2));
+            for (Empleado empleado : todos.subList(total / 2, total)) {
+                repositorio.agregarEmpleado(empleado);
+            }
+            lector.join(30_000);
+            assertFalse(lector.isAlive(), "El lector debe terminar");
+            assertNull(error.get(), "No debe perder ni desordenar cambios");
+            assertEquals(total, esperada.get(), "Debe recibir todos los cambios aunque el búfer sea de 8");
+            suscripcion.close();
+        }
+    }
+
+    @Test
+    void testEsperaInterrumpible() throws Exception {
+        FeedCambios.Suscripcion suscripcion = repositorio.obtenerFeedCambios().suscribir(
+            FeedCambios.EstrategiaEspera.bloqueante());
+        AtomicReference<Throwable> resultado = new AtomicReference<>();
+        Thread lector = new Thread(() -> {
+            try {
+                suscripcion.procesar((cambio, ultimo) -> { });
+            } catch (Throwable e) {
+                resultado.set(e);
+            }
+        });
+        lector.start();
+        lector.interrupt();
+        lector.join(10_000);
+        assertTrue(resultado.get() instanceof InterruptedException, "La espera debe responder a la interrupción");
+    }
+
+    @Test
+    void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FeedCambios(0));
+        assertThrows(IllegalArgumentException.class, () -> new FeedCambios().suscribir(null));
+        assertThrows(IllegalArgumentException.class, () -> FeedCambios.EstrategiaEspera.durmiendo(0));
+        assertThrows(IllegalArgumentException.class, () -> new FeedCambios().suscribir().procesarDisponibles(null));
+        assertEquals(16, new FeedCambios(10).getCapacidad(), "La capacidad se redondea a potencia de 2");
+    }
+
+    @Test
+    void testFeedUnicoAunqueSePidaDesdeVariosHilos() throws Exception {
+        int hilos = 8;
+        CountDownLatch salida = new CountDownLatch(1);
+        List<FeedCambios> feeds = new CopyOnWriteArrayList<>();
+        List<Thread> suscriptores = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            Thread hilo = new Thread(() -> {
+                try {
+                    salida.await();
+                    feeds.add(repositorio.obtenerFeedCambios());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            hilo.start();
+            suscriptores.add(hilo);
+        }
+        salida.countDown();
+        for (Thread hilo : suscriptores) {
+            hilo.join(10_000);
+        }
+        assertEquals(hilos, feeds.size(), "Todos los hilos deben obtener un feed");
+        for (FeedCambios feed : feeds) {
+            assertSame(feeds.get(0), feed, "Todos los hilos deben recibir el mismo feed");
+        }
+        FeedCambios.Suscripcion suscripcion = feeds.get(0).suscribir();
+        repositorio.agregarEmpleado(gerente);
+        assertEquals(1, suscripcion.getPendientes(), "El repositorio debe publicar en el feed compartido");
+    }
+
+    @Test
+    void testCapacidadDistintaSeRechaza() {
+        FeedCambios feed = repositorio.obtenerFeedCambios(10);
+        assertSame(feed, repositorio.obtenerFeedCambios(16), "La misma capacidad redondeada devuelve el feed existente");
+        assertSame(feed, repositorio.obtenerFeedCambios(), "Sin capacidad devuelve el feed existente");
+        assertThrows(IllegalArgumentException.class, () -> repositorio.obtenerFeedCambios(32),
+            "No debe ignorar una capacidad distinta a la del feed existente");
+    }
+}
@@ -0,0 +1,53 @@
+package com.empresa.empleados.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClavesOrdenEspanolTest {
+
+    private static int comparar(byte[] a, byte[] b) {
+        return Integer.signum(Arrays.compareUnsigned(a, b));
+    }
+
+    @Test
+    void testClavesOrdenanComoCollatorEspanol() {
+        String[] textos = {"Gómez", "Gomez", "gomez", "Díaz", "Diaz", "Ángel", "Angel", "Avila",
+                "Ñandú", "Nuñez", "Núñez", "Ortiz", "Cruz", "Cruza", "Zúñiga", "Peña", "Penz", ""};
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("es"));
+        for (String a : textos) {
+            for (String b : textos) {
+                assertEquals(Integer.signum(collator.compare(a, b)),
+                        comparar(ClavesOrdenEspanol.clave(a), ClavesOrdenEspanol.clave(b)),
+                        "La clave de '" + a + "' y '" + b + "' debe ordenar igual que el Collator");
+            }
+        }
+    }
+
+    @Test
+    void testAcentosYEñeQuedanEnSuLugar() {
+        assertTrue(comparar(ClavesOrdenEspanol.clave("Ángel"), ClavesOrdenEspanol.clave("Avila")) < 0,
+                "Ángel debe ir antes que Avila");
+        assertTrue(comparar(ClavesOrdenEspanol.clave("Gómez"), ClavesOrdenEspanol.clave("Gonzalez")) < 0,
+                "Gómez debe ir antes que Gonzalez");
+        assertTrue(comparar(ClavesOrdenEspanol.clave("Nuñez"), ClavesOrdenEspanol.clave("Nuzco")) < 0,
+                "La Ñ debe ir después de la N");
+        assertTrue(comparar(ClavesOrdenEspanol.clave("Núñez"), ClavesOrdenEspanol.clave("Nunez")) > 0,
+                "La Ñ no debe confundirse con la N");
+    }
+
+    @Test
+    void testClaveCompuestaOrdenaPorPartes() {
+        byte[] cruzLopez = ClavesOrdenEspanol.claveCompuesta("Cruz", "López", "Ana");
+        byte[] cruzaAlvarez = ClavesOrdenEspanol.claveCompuesta("Cruza", "Álvarez", "Ana");
+        byte[] cruzAlvarez = ClavesOrdenEspanol.claveCompuesta("Cruz", "Álvarez", "Luis");
+        assertTrue(comparar(cruzLopez, cruzaAlvarez) < 0, "El primer apellido decide antes que el segundo");
+        assertTrue(comparar(cruzAlvarez, cruzLopez) < 0, "Con el mismo primer apellido decide el segundo");
+        assertEquals(0, comparar(ClavesOrdenEspanol.claveCompuesta("Cruz", null, "Ana"),
+                ClavesOrdenEspanol.claveCompuesta("Cruz", "", "Ana")), "Un nombre nulo se ordena como vacío");
+    }
+}
@@ -0,0 +1,139 @@
+package com.empresa.empleados.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlantillaReciboTest {
+
+    // Recibo común armado con String.format, tal como lo hacía toString antes de la plantilla
+    private static String reciboConStringFormat(Empleado e) {
+        return String.format(
+            "=== %s ===\n" +
+            "Nombre: %s\n" +
+            "Dirección: %s\n" +
+            "Fecha Nacimiento: %s (Edad: %d años)\n" +
+            "Sexo: %s\n" +
+            "Teléfono: %s\n" +
+            "Email: %s\n" +
+            "Sueldo Base: $%.2f\n" +
+            "Bonificaciones: $%.2f\n" +
+            "Sueldo Total: $%.2f\n" +
+            "Descuento ISSS (7.5%%): $%.2f\n" +
+            "Descuento AFP (7.75%%): $%.2f\n" +
+            "Descuento Renta: $%.2f\n" +
+            "Total Descuentos: $%.2f\n" +
+            "Salario Neto: $%.2f\n",
+            e.getTipoEmpleado(),
+            e.getNombreCompleto(),
+            e.getDireccion(),
+            e.getFechaNacimiento().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+            e.calcularEdad(),
+            (e.getSexo() == 'M') ? "Masculino" : "Femenino",
+            e.getTelefono(),
+            e.getEmail(),
+            e.getSueldoBase(),
+            e.calcularBonificaciones(),
+            e.calcularSueldoConBonificaciones(),
+            e.calcularDescuentoISSS(e.calcularSueldoConBonificaciones()),
+            e.calcularDescuentoAFP(e.calcularSueldoConBonificaciones()),
+            e.calcularDescuentoRenta(e.calcularSueldoConBonificaciones()),
+            e.calcularTotalDescuentos(),
+            e.calcularSalarioNeto());
+    }
+
+    private static Gerente crearGerente() {
+        Gerente gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 7, true
+        );
+        gerente.agregarEquipoACargo("Finanzas");
+        gerente.agregarEquipoACargo("Ventas");
+        return gerente;
+    }
+
+    @Test
+    void testCompilarSeparaTextosYHuecos() {
+        PlantillaRecibo plantilla = PlantillaRecibo.compilar("%s tiene %d años (%.1f%%) y gana $%.2f\n");
+        assertEquals(4, plantilla.getCantidadHuecos(), "Debe reconocer los cuatro huecos");
+        String texto = plantilla.llenar(new StringBuilder())
+            .texto("Ana").entero(30).decimal(12.25).decimal(1500.5)
+            .fin().toString();
+        assertEquals(String.format("%s tiene %d años (%.1f%%) y gana $%.2f\n", "Ana", 30, 12.25, 1500.5), texto,
+            "El resultado debe ser idéntico a String.format");
+    }
+
+    @Test
+    void testCompilarRechazaEspecificadoresNoSoportados() {
+        assertThrows(IllegalArgumentException.class, () -> PlantillaRecibo.compilar(null));
+        assertThrows(IllegalArgumentException.class, () -> PlantillaRecibo.compilar("Total: %x"));
+        assertThrows(IllegalArgumentException.class, () -> PlantillaRecibo.compilar("Total: %10.2f"));
+        assertThrows(IllegalArgumentException.class, () -> PlantillaRecibo.compilar("Total: %"));
+    }
+
+    @Test
+    void testLlenarEnOtroOrdenFalla() {
+        PlantillaRecibo plantilla = PlantillaRecibo.compilar("%s: %.2f");
+        assertThrows(IllegalStateException.class, () -> plantilla.llenar(new StringBuilder()).decimal(1.0),
+            "Un decimal no puede llenar un hueco %s");
+        assertThrows(IllegalStateException.class, () -> plantilla.llenar(new StringBuilder()).texto("a").fin(),
+            "No se puede terminar con huecos vacíos");
+        assertThrows(IllegalStateException.class,
+            () -> plantilla.llenar(new StringBuilder()).texto("a").decimal(1.0).entero(2),
+            "No se pueden agregar más valores que huecos");
+    }
+
+    @Test
+    void testToStringIgualAlFormatoAnterior() {
+        Gerente gerente = crearGerente();
+        String esperado = reciboConStringFormat(gerente) + String.format(
+            "Departamento: %s\n" +
+            "Empleados a cargo: %d\n" +
+            "Auto de empresa: %s\n" +
+            "Bonificación por gestión: $%.2f\n" +
+            "Bonificación por auto: $%.2f\n",
+            gerente.getDepartamento(),
+            gerente.getNumeroEmpleadosACargo(),
+            "Sí",
+            gerente.calcularBonificacionGestion(),
+            gerente.calcularBonificacionAuto()) + "Equipos a cargo: Finanzas, Ventas\n";
+        assertEquals(esperado, gerente.toString(), "El recibo del gerente no debe cambiar ni un carácter");
+
+        Tecnico tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", null,
+            "Mecánica", 5, "Mañana", true
+        );
+        tecnico.setSueldoBase(1000.005);
+        assertTrue(tecnico.toString().startsWith(reciboConStringFormat(tecnico)),
+            "Los datos comunes del técnico deben coincidir, incluidos los nulos y los empates de redondeo");
+        assertFalse(tecnico.toString().contains("Certificaciones"), "Sin certificaciones no se agrega la línea");
+    }
+
+    @Test
+    void testEscribirReciboUsaLaFechaIndicada() {
+        Gerente gerente = crearGerente();
+        LocalDate[] fechas = {LocalDate.of(2025, 3, 14), LocalDate.of(2025, 3, 15), LocalDate.of(1970, 1, 1)};
+        for (LocalDate hoy : fechas) {
+            int edad = Period.between(gerente.getFechaNacimiento(), hoy).getYears();
+            String recibo = gerente.escribirRecibo(new StringBuilder(), hoy).toString();
+            assertTrue(recibo.contains("Fecha Nacimiento: 15/03/1975 (Edad: " + edad + " años)\n"),
+                "La edad al " + hoy + " debe ser " + edad);
+        }
+    }
+
+    @Test
+    void testEscribirReciboReutilizaElBuffer() {
+        Gerente gerente = crearGerente();
+        StringBuilder buffer = new StringBuilder("Encabezado\n");
+        gerente.escribirRecibo(buffer, LocalDate.now());
+        assertEquals("Encabezado\n" + gerente.toString(), buffer.toString(), "El recibo se agrega al final del buffer");
+    }
+}
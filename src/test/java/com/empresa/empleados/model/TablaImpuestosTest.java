@@ -0,0 +1,103 @@
+package com.empresa.empleados.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablaImpuestosTest {
+
+    private static final String TABLA_2030 =
+        "vigenteDesde=2030-01-01\n" +
+        "isss.tasa=0.08\n" +
+        "isss.salarioMaximo=1000.00\n" +
+        "afp.tasa=0.0775\n" +
+        "afp.salarioMaximo=6500.00\n" +
+        "renta.tramo.2.desde=500.00\n" +
+        "renta.tramo.2.cuotaFija=0.00\n" +
+        "renta.tramo.2.tasa=0.10\n" +
+        "renta.tramo.3.desde=1000.00\n" +
+        "renta.tramo.3.cuotaFija=50.00\n" +
+        "renta.tramo.3.tasa=0.25\n";
+
+    @AfterEach
+    void tearDown() {
+        RegistroTablasImpuestos.restablecer();
+    }
+
+    @Test
+    void testTablaPredeterminada() {
+        TablaImpuestos tabla = TablaImpuestos.PREDETERMINADA;
+        // Tramo 3: $42.32 + ($1500 - $895.24) * 20%
+        assertEquals(42.32 + ((1500.0 - 895.24) * 0.20), tabla.calcularDescuentoRenta(1500.0),
+                "La renta debe coincidir con la fórmula del tramo 3");
+        assertEquals(0.0, tabla.calcularDescuentoRenta(472.0), "$472 está exento de renta");
+        assertEquals(1, tabla.obtenerTramoRenta(472.0), "$472 está en el tramo 1");
+        assertEquals(4, tabla.obtenerTramoRenta(3000.0), "$3000 está en el tramo 4");
+        assertEquals(75.0, tabla.calcularDescuentoISSS(2000.0), 0.0001, "El ISSS debe topar en $75");
+        assertEquals(50_375, tabla.getTopeAFPCentavos(), "El tope de AFP debe ser $503.75");
+        assertTrue(Double.isNaN(tabla.calcularDescuentoRenta(Double.NaN)), "NaN debe propagarse");
+    }
+
+    @Test
+    void testCargarDesdeArchivo() throws IOException {
+        TablaImpuestos tabla = TablaImpuestos.cargar(new StringReader(TABLA_2030));
+        assertEquals(LocalDate.of(2030, 1, 1), tabla.getVigenteDesde(), "Debe leer la fecha de vigencia");
+        assertEquals(2, tabla.getNumeroTramosGravados(), "Debe leer dos tramos gravados");
+        assertEquals(800, tabla.getTasaISSSDiezmilesimas(), "La tasa de ISSS debe ser 8.00%");
+        // Tramo 3: $50 + ($1200 - $1000) * 25% = $100
+        assertEquals(100.0, tabla.calcularDescuentoRenta(1200.0), 0.0001, "Debe aplicar el tramo 3 cargado");
+        assertEquals(3, tabla.obtenerTramoRenta(120_000L), "$1200 en centavos está en el tramo 3");
+    }
+
+    @Test
+    void testCargarValidaLaTabla() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TablaImpuestos.cargar(new StringReader(TABLA_2030.replace("afp.tasa=0.0775\n", ""))),
+                "Debe exigir la tasa de AFP");
+        assertThrows(IllegalArgumentException.class,
+                () -> TablaImpuestos.cargar(new StringReader(TABLA_2030.replace("desde=1000.00", "desde=400.00"))),
+                "Los tramos deben estar en orden ascendente");
+        assertThrows(IllegalArgumentException.class,
+                () -> TablaImpuestos.cargar(new StringReader(TABLA_2030.replace("0.08", "0.081234"))),
+                "Las tasas admiten como máximo cuatro decimales");
+    }
+
+    @Test
+    void testRegistroPorFechaDeVigencia() throws IOException {
+        TablaImpuestos futura = TablaImpuestos.cargar(new StringReader(TABLA_2030));
+        TablaImpuestos historica = TablaImpuestos.cargar(new StringReader(TABLA_2030.replace("2030-01-01", "2001-06-01")));
+        RegistroTablasImpuestos.registrar(futura);
+        RegistroTablasImpuestos.registrar(historica);
+
+        assertSame(historica, RegistroTablasImpuestos.obtenerVigente(), "Hoy rige la tabla de 2001");
+        assertSame(TablaImpuestos.PREDETERMINADA, RegistroTablasImpuestos.obtenerTabla(LocalDate.of(2001, 5, 31)),
+                "Antes de 2001-06-01 rige la tabla predeterminada");
+        assertSame(historica, RegistroTablasImpuestos.obtenerTabla(LocalDate.of(2001, 6, 1)),
+                "La tabla rige desde su fecha de vigencia");
+        assertSame(futura, RegistroTablasImpuestos.obtenerTabla(LocalDate.of(2031, 1, 1)),
+                "En 2031 rige la tabla de 2030");
+        assertEquals(3, RegistroTablasImpuestos.obtenerTablas().size(), "Debe haber tres tablas registradas");
+    }
+
+    @Test
+    void testCambioDeTablaRecalculaEmpleado() throws IOException {
+        Tecnico tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com", "Mecánica"
+        );
+        double netoAnterior = tecnico.calcularSalarioNeto();
+        TablaImpuestos nueva = TablaImpuestos.cargar(new StringReader(TABLA_2030.replace("2030-01-01", "2001-06-01")));
+        RegistroTablasImpuestos.registrar(nueva);
+
+        double sueldo = tecnico.calcularSueldoConBonificaciones();
+        assertEquals(sueldo - tecnico.calcularTotalDescuentos(sueldo, nueva), tecnico.calcularSalarioNeto(),
+                "El neto debe calcularse con la tabla nueva");
+        assertNotEquals(netoAnterior, tecnico.calcularSalarioNeto(), "El neto en caché debe invalidarse");
+    }
+}
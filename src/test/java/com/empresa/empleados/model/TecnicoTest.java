@@ -0,0 +1,62 @@
+package com.empresa.empleados.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TecnicoTest {
+    private Tecnico tecnico;
+
+    @BeforeEach
+    void setUp() {
+        tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com",
+            "Mecánica", 5, "Mañana", true
+        );
+    }
+
+    @Test
+    void testCalcularSalarioNetoCasoNormal() {
+        // Sueldo base: $800
+        // Bonificación: (5 horas * $10) + liderazgo (3% * $800) = $50 + $24 = $74
+        // Sueldo total: $874
+        // Descuentos: ISSS $65.55 + AFP $67.735 + Renta (10% * $402) $40.20 = $173.485
+        assertEquals(874.0, tecnico.calcularSueldoConBonificaciones(), 0.001, "El sueldo total debe ser $874");
+        assertEquals(700.515, tecnico.calcularSalarioNeto(), 0.001, "El salario neto debe ser $700.515");
+    }
+
+    @Test
+    void testSettersInvalidanValoresCalculados() {
+        double netoInicial = tecnico.calcularSalarioNeto();
+        tecnico.setHorasExtrasMes(15);
+        assertEquals(974.0, tecnico.calcularSueldoConBonificaciones(), 0.001, "Debe recalcular tras cambiar las horas extra");
+        tecnico.setSueldoBase(1000.0);
+        assertEquals(1180.0, tecnico.calcularSueldoConBonificaciones(), 0.001, "Debe recalcular tras cambiar el sueldo base");
+        tecnico.setSueldoBase(800.0);
+        tecnico.setHorasExtrasMes(5);
+        assertEquals(netoInicial, tecnico.calcularSalarioNeto(), "Debe volver al valor inicial");
+    }
+
+    @Test
+    void testCertificacionesInvalidanValoresCalculados() {
+        double totalInicial = tecnico.calcularSueldoConBonificaciones();
+        tecnico.agregarCertificacion("Soldadura");
+        assertEquals(totalInicial + 16.0, tecnico.calcularSueldoConBonificaciones(), 0.001,
+                "Cada certificación debe sumar 2% del sueldo base");
+        tecnico.removerCertificacion("Soldadura");
+        assertEquals(totalInicial, tecnico.calcularSueldoConBonificaciones(), 0.001,
+                "Debe recalcular al quitar la certificación");
+        assertThrows(UnsupportedOperationException.class, () -> tecnico.getCertificaciones().add("Redes"),
+                "Las certificaciones solo deben cambiar con agregarCertificacion/removerCertificacion");
+    }
+
+    @Test
+    void testTotalDescuentosCoincideConElCalculoDirecto() {
+        double sueldoTotal = tecnico.calcularSueldoConBonificaciones();
+        assertEquals(tecnico.calcularTotalDescuentos(sueldoTotal), tecnico.calcularTotalDescuentos(),
+                "El total de descuentos guardado debe coincidir con el cálculo directo");
+    }
+}
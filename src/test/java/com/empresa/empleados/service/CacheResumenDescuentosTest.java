@@ -0,0 +1,63 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheResumenDescuentosTest {
+
+    @AfterEach
+    void tearDown() {
+        RegistroTablasImpuestos.restablecer();
+    }
+
+    @Test
+    void testReutilizaResumenDelMismoSueldo() {
+        CacheResumenDescuentos cache = new CacheResumenDescuentos();
+        CalculadoraDescuentos.ResumenDescuentos primero = cache.obtener(800.0);
+        assertSame(primero, cache.obtener(800.0), "El mismo sueldo debe devolver el mismo resumen");
+        assertEquals(CalculadoraDescuentos.obtenerResumenDescuentos(800.0).toString(), primero.toString(),
+                "El resumen debe ser idéntico al de CalculadoraDescuentos");
+
+        CacheResumenDescuentos.EstadisticasCache estadisticas = cache.obtenerEstadisticas();
+        assertEquals(1, estadisticas.getAciertos(), "Debe contar un acierto");
+        assertEquals(1, estadisticas.getFallos(), "Debe contar un fallo");
+        assertEquals(0.5, estadisticas.getTasaAciertos(), 0.0001, "La tasa de aciertos debe ser 50%");
+    }
+
+    @Test
+    void testSueldosQueCompartenCasilla() {
+        // Con 2 casillas, varios sueldos distintos se reemplazan entre sí
+        CacheResumenDescuentos cache = new CacheResumenDescuentos(2);
+        for (double sueldo = 400.0; sueldo < 410.0; sueldo += 0.01) {
+            assertEquals(sueldo, cache.obtener(sueldo).getSueldoBruto(), "Nunca debe devolver otro sueldo");
+        }
+        assertEquals(2, cache.getCapacidad(), "La capacidad no debe crecer");
+        assertThrows(IllegalArgumentException.class, () -> new CacheResumenDescuentos(0),
+                "Debe rechazar una capacidad de cero");
+    }
+
+    @Test
+    void testCambioDeTablaInvalidaLaCache() throws IOException {
+        CacheResumenDescuentos cache = new CacheResumenDescuentos();
+        CalculadoraDescuentos.ResumenDescuentos anterior = cache.obtener(1000.0);
+        TablaImpuestos nueva = TablaImpuestos.cargar(new StringReader(
+            "vigenteDesde=2001-01-01\n" +
+            "isss.tasa=0.08\n" +
+            "isss.salarioMaximo=1000.00\n" +
+            "afp.tasa=0.0775\n" +
+            "afp.salarioMaximo=6500.00\n"));
+        RegistroTablasImpuestos.registrar(nueva);
+
+        CalculadoraDescuentos.ResumenDescuentos actual = cache.obtener(1000.0);
+        assertNotSame(anterior, actual, "Un cambio de tabla debe invalidar el resumen guardado");
+        assertSame(nueva, actual.getTabla(), "El resumen debe calcularse con la tabla nueva");
+        assertEquals(80.0, actual.getDescuentoISSS(), 0.0001, "El ISSS debe usar la tasa nueva");
+    }
+}
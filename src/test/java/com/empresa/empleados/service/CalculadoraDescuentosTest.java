@@ -164,4 +164,68 @@ public class CalculadoraDescuentosTest {
                 "Salario Neto: $794.70");
         assertEquals(expected, resumen.toString(), "El resumen debe tener el formato correcto");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculoPorLotesIdenticoAlIndividual() {
+        double[] sueldos = {
+            0.0, -0.0, -50.0, 472.0, Math.nextUp(472.0), 895.24, Math.nextUp(895.24),
+            1000.0, 2038.10, Math.nextUp(2038.10), 6500.0, 12345.67, Double.NaN
+        };
+        double[] isss = new double[sueldos.length];
+        double[] afp = new double[sueldos.length];
+        double[] renta = new double[sueldos.length];
+        double[] total = new double[sueldos.length];
+        double[] neto = new double[sueldos.length];
+        double[] soloNeto = new double[sueldos.length];
+        CalculadoraDescuentos.calcularDescuentosLote(sueldos, isss, afp, renta, total, neto);
+        CalculadoraDescuentos.calcularSalariosNetosLote(sueldos, soloNeto);
+
+        for (int i = 0; i < sueldos.length; i++) {
+            CalculadoraDescuentos.ResumenDescuentos resumen = CalculadoraDescuentos.obtenerResumenDescuentos(sueldos[i]);
+            assertEquals(resumen.getDescuentoISSS(), isss[i], "ISSS debe coincidir para " + sueldos[i]);
+            assertEquals(resumen.getDescuentoAFP(), afp[i], "AFP debe coincidir para " + sueldos[i]);
+            assertEquals(resumen.getDescuentoRenta(), renta[i], "Renta debe coincidir para " + sueldos[i]);
+            assertEquals(resumen.getTotalDescuentos(), total[i], "El total debe coincidir para " + sueldos[i]);
+            assertEquals(resumen.getSalarioNeto(), neto[i], "El neto debe coincidir para " + sueldos[i]);
+            assertEquals(CalculadoraDescuentos.calcularSalarioNeto(sueldos[i]), soloNeto[i],
+                    "El neto del lote debe coincidir para " + sueldos[i]);
+        }
+    }
+
+    @Test
+    void testCalculoPorLotesValidaArreglos() {
+        double[] sueldos = new double[4];
+        double[] corto = new double[3];
+        double[] salida = new double[4];
+        assertThrows(IllegalArgumentException.class,
+                () -> CalculadoraDescuentos.calcularDescuentosLote(sueldos, salida, salida, salida, salida, corto),
+                "Debe rechazar un arreglo de salida más corto");
+        assertThrows(IllegalArgumentException.class,
+                () -> CalculadoraDescuentos.calcularDescuentosLote(sueldos, 2, 3, salida, salida, salida, salida, salida),
+                "Debe rechazar un rango fuera del arreglo");
+        assertThrows(IllegalArgumentException.class,
+                () -> CalculadoraDescuentos.calcularSalariosNetosLote(sueldos, null),
+                "Debe rechazar un arreglo nulo");
+    }
+
+    @Test
+    void testLoteDescuentosReutilizable() {
+        CalculadoraDescuentos.LoteDescuentos lote = new CalculadoraDescuentos.LoteDescuentos(2);
+        lote.agregarSueldoBruto(1000.0);
+        CalculadoraDescuentos.calcularDescuentosLote(lote);
+        CalculadoraDescuentos.ResumenDescuentos esperado = CalculadoraDescuentos.obtenerResumenDescuentos(1000.0);
+        assertEquals(esperado.getDescuentoISSS(), lote.getDescuentosISSS()[0], "El ISSS del lote debe coincidir exactamente");
+        assertEquals(esperado.getDescuentoAFP(), lote.getDescuentosAFP()[0], "La AFP del lote debe coincidir exactamente");
+        assertEquals(esperado.getDescuentoRenta(), lote.getDescuentosRenta()[0], "La renta del lote debe coincidir exactamente");
+        assertEquals(esperado.getSalarioNeto(), lote.getSalariosNetos()[0], "El neto del lote debe coincidir exactamente");
+        assertEquals(esperado.getTotalDescuentos(), lote.obtenerResumen(0).getTotalDescuentos(),
+                "El resumen debe salir del lote");
+
+        lote.limpiar();
+        lote.agregarSueldoBruto(400.0);
+        lote.agregarSueldoBruto(800.0);
+        CalculadoraDescuentos.calcularDescuentosLote(lote);
+        assertEquals(0.0, lote.getDescuentosRenta()[0], "$400 está exento de renta");
+        assertThrows(IllegalStateException.class, () -> lote.agregarSueldoBruto(900.0), "El lote debe estar lleno");
+    }
+}
@@ -0,0 +1,127 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.Gerente;
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.Supervisor;
+import com.empresa.empleados.model.TablaImpuestos;
+import com.empresa.empleados.model.Tecnico;
+import com.empresa.empleados.utils.Centavos;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculadoraNominaCentavosTest {
+
+    @Test
+    void testConversionDesdeDoubleRedondeaHalfUp() {
+        assertEquals(101, Centavos.desdeDouble(1.005), "$1.005 debe redondearse a 101 centavos");
+        assertEquals(-101, Centavos.desdeDouble(-1.005), "Los empates negativos se alejan de cero");
+        assertEquals(30, Centavos.desdeDouble(0.1 + 0.2), "0.1 + 0.2 debe ser 30 centavos");
+        assertEquals(123456, Centavos.desdeDouble(1234.56), "Un monto exacto no debe cambiar");
+        assertEquals("-12.05", Centavos.formatear(-1205), "Debe formatear con dos decimales");
+        assertThrows(IllegalArgumentException.class, () -> Centavos.desdeDouble(Double.NaN),
+                "Debe rechazar NaN");
+    }
+
+    @Test
+    void testDescuentosRedondeadosPorConcepto() {
+        // $1,500.00: ISSS tope $75.00, AFP $116.25, renta $42.32 + $604.76 * 20% = $163.272 -> $163.27
+        long sueldo = 150_000;
+        assertEquals(7_500, CalculadoraNominaCentavos.calcularDescuentoISSS(sueldo), "ISSS debe topar en $75.00");
+        assertEquals(11_625, CalculadoraNominaCentavos.calcularDescuentoAFP(sueldo), "AFP debe ser $116.25");
+        assertEquals(16_327, CalculadoraNominaCentavos.calcularDescuentoRenta(sueldo), "Renta debe ser $163.27");
+        assertEquals(35_452, CalculadoraNominaCentavos.calcularTotalDescuentos(sueldo), "Total debe ser $354.52");
+        assertEquals(114_548, CalculadoraNominaCentavos.calcularSalarioNeto(sueldo), "Neto debe ser $1,145.48");
+
+        // $333.33: ISSS 7.5% = $24.99975 -> $25.00, AFP 7.75% = $25.832775 -> $25.83
+        assertEquals(2_500, CalculadoraNominaCentavos.calcularDescuentoISSS(33_333), "ISSS debe redondear HALF_UP");
+        assertEquals(2_583, CalculadoraNominaCentavos.calcularDescuentoAFP(33_333), "AFP debe redondear HALF_UP");
+        assertEquals(0, CalculadoraNominaCentavos.calcularTotalDescuentos(-5_000), "Un sueldo negativo no tiene descuentos");
+    }
+
+    @Test
+    void testCoincideConCalculadoraDescuentosAlCentavo() {
+        // El cálculo en double puede caer a un centavo de distancia en los empates de redondeo
+        for (long sueldo = 0; sueldo <= 1_000_000; sueldo += 37) {
+            double dolares = Centavos.aDouble(sueldo);
+            assertEquals(Centavos.desdeDouble(CalculadoraDescuentos.calcularDescuentoAFP(dolares)),
+                    CalculadoraNominaCentavos.calcularDescuentoAFP(sueldo), 1, "AFP debe coincidir para " + sueldo);
+            assertEquals(Centavos.desdeDouble(CalculadoraDescuentos.calcularDescuentoRenta(dolares)),
+                    CalculadoraNominaCentavos.calcularDescuentoRenta(sueldo), 1, "Renta debe coincidir para " + sueldo);
+        }
+    }
+
+    @Test
+    void testLoteIdenticoAlIndividual() {
+        long[] sueldos = {0, -1, 47_200, 47_201, 89_524, 89_525, 203_810, 203_811, 650_000, 1_234_567};
+        int n = sueldos.length;
+        long[] isss = new long[n], afp = new long[n], renta = new long[n], total = new long[n], neto = new long[n];
+        CalculadoraNominaCentavos.calcularDescuentosLote(sueldos, isss, afp, renta, total, neto);
+        for (int i = 0; i < n; i++) {
+            assertEquals(CalculadoraNominaCentavos.calcularTotalDescuentos(sueldos[i]), total[i],
+                    "El total del lote debe coincidir para " + sueldos[i]);
+            assertEquals(sueldos[i], neto[i] + isss[i] + afp[i] + renta[i], "Bruto = neto + descuentos al centavo");
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> CalculadoraNominaCentavos.calcularDescuentosLote(sueldos, isss, afp, renta, total, new long[1]),
+                "Debe rechazar un arreglo de salida más corto");
+    }
+
+    @Test
+    void testTotalesCuadranAlCentavo() {
+        Empleado tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com", "Mecánica"
+        );
+        Empleado supervisor = new Supervisor(
+            "Carmen", "Díaz", "Mendoza",
+            "Soyapango, San Salvador", LocalDate.of(1983, 4, 25), 'F',
+            "6789-0123", "carmen.diaz@empresa.com", "Logística"
+        );
+        List<Empleado> empleados = Arrays.asList(tecnico, supervisor);
+        CalculadoraNominaCentavos.TotalesCentavos totales = CalculadoraNominaCentavos.calcularTotales(empleados);
+
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        long bruto = 0;
+        long neto = 0;
+        for (Empleado empleado : empleados) {
+            long sueldo = CalculadoraNominaCentavos.obtenerSueldoBruto(empleado);
+            bruto += sueldo;
+            neto += sueldo - CalculadoraNominaCentavos.calcularDescuentoISSSEmpleado(sueldo, tabla)
+                    - CalculadoraNominaCentavos.calcularDescuentoAFPEmpleado(sueldo, tabla)
+                    - CalculadoraNominaCentavos.calcularDescuentoRenta(sueldo, tabla);
+        }
+        assertEquals(2, totales.getTotalEmpleados(), "Debe contar a los dos empleados");
+        assertEquals(bruto, totales.getTotalBruto(), "El bruto debe ser la suma exacta");
+        assertEquals(neto, totales.getTotalNeto(), "El neto total debe ser la suma de los netos");
+        assertEquals(totales.getTotalBruto(), totales.getTotalNeto() + totales.getTotalDescuentos(),
+                "Bruto = neto + descuentos al centavo");
+    }
+
+    @Test
+    void testTotalesAplicanLasReglasDeEmpleado() {
+        Gerente gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, false
+        );
+        gerente.setSueldoBase(5000.0);
+        CalculadoraNominaCentavos.TotalesCentavos totales =
+                CalculadoraNominaCentavos.calcularTotales(Arrays.asList(gerente));
+
+        double sueldo = gerente.calcularSueldoConBonificaciones();
+        assertEquals(Centavos.desdeDouble(gerente.calcularDescuentoISSS(sueldo)), totales.getTotalISSS(),
+                "El ISSS del total no debe aplicar el tope de CalculadoraDescuentos");
+        assertEquals(Centavos.desdeDouble(gerente.calcularDescuentoAFP(sueldo)), totales.getTotalAFP(),
+                "La AFP del total no debe aplicar el tope de CalculadoraDescuentos");
+        assertTrue(Math.abs(Centavos.desdeDouble(gerente.calcularSalarioNeto()) - totales.getTotalNeto()) <= 1,
+                "El neto en centavos debe coincidir con el de Empleado salvo por el redondeo");
+    }
+}
@@ -0,0 +1,166 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.*;
+import com.empresa.empleados.utils.SumaCompensada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CorridaNominaTest {
+    private List<Empleado> empleados;
+
+    @BeforeEach
+    void setUp() {
+        empleados = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Tecnico tecnico = new Tecnico(
+                "Técnico", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1990, 1, 1 + i % 28), 'M',
+                "1234-5678", "tecnico" + i + "@empresa.com", "Mecánica",
+                i % 37, "Mañana", i % 3 == 0
+            );
+            tecnico.setSueldoBase(400.0 + (i % 1000) * 3.17);
+            empleados.add(tecnico);
+            if (i % 10 == 0) {
+                empleados.add(new Gerente(
+                    "Gerente", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1975, 3, 15), 'F',
+                    "1234-5678", "gerente" + i + "@empresa.com",
+                    "Dirección General", i % 40, i % 2 == 0
+                ));
+            }
+        }
+    }
+
+    @Test
+    void testTotalesIgualesAlRecorridoSecuencial() {
+        SumaCompensada bruto = new SumaCompensada();
+        SumaCompensada descuentos = new SumaCompensada();
+        SumaCompensada neto = new SumaCompensada();
+        Map<String, SumaCompensada> porTipo = new HashMap<>();
+        for (Empleado empleado : empleados) {
+            bruto.agregar(empleado.calcularSueldoConBonificaciones());
+            descuentos.agregar(empleado.calcularTotalDescuentos());
+            neto.agregar(empleado.calcularSalarioNeto());
+            porTipo.computeIfAbsent(empleado.getTipoEmpleado(), t -> new SumaCompensada())
+                .agregar(empleado.calcularSalarioNeto());
+        }
+
+        CorridaNomina.ResultadoCorrida resultado = new CorridaNomina(2, 64).ejecutar(empleados);
+        MotorNominaParalelo.TotalesNomina totales = resultado.getTotales();
+        assertEquals(empleados.size(), totales.getTotalEmpleados(), "Debe procesar a todos los empleados");
+        assertEquals(bruto.obtener(), totales.getTotalBruto(), "El bruto debe ser idéntico al secuencial");
+        assertEquals(descuentos.obtener(), totales.getTotalDescuentos(), "Los descuentos deben ser idénticos al secuencial");
+        assertEquals(neto.obtener(), totales.getTotalNeto(), "El neto debe ser idéntico al secuencial");
+        assertEquals(porTipo.keySet(), resultado.getCostoPorTipo().keySet(), "Debe tener los mismos tipos");
+        for (Map.Entry<String, SumaCompensada> entrada : porTipo.entrySet()) {
+            assertEquals(entrada.getValue().obtener(), resultado.getCostoPorTipo().get(entrada.getKey()),
+                "El costo de " + entrada.getKey() + " debe ser idéntico al secuencial");
+        }
+        assertEquals(empleados.size(), resultado.getRecibosEmitidos(), "La emisión debe contar todos los recibos");
+    }
+
+    @Test
+    void testEstadisticasPorEtapa() {
+        int tamanoLote = 64;
+        CorridaNomina.ResultadoCorrida resultado = new CorridaNomina(2, tamanoLote).ejecutar(empleados);
+        List<CorridaNomina.EstadisticasEtapa> etapas = resultado.getEtapas();
+        assertEquals(5, etapas.size(), "Debe informar las cinco etapas");
+        long lotes = (empleados.size() + tamanoLote - 1) / tamanoLote;
+        for (CorridaNomina.EstadisticasEtapa etapa : etapas) {
+            assertEquals(empleados.size(), etapa.getEmpleados(), "La etapa " + etapa.getNombre() + " debe ver a todos");
+            assertEquals(lotes, etapa.getLotes(), "La etapa " + etapa.getNombre() + " debe procesar todos los lotes");
+            assertTrue(etapa.getProfundidadMaximaCola() <= etapa.getCapacidadCola(),
+                "La cola de " + etapa.getNombre() + " nunca supera su capacidad");
+            assertTrue(etapa.getEmpleadosPorSegundo() > 0, "Debe medir el rendimiento de " + etapa.getNombre());
+        }
+        assertEquals(0, etapas.get(etapas.size() - 1).getCapacidadCola(), "La emisión no tiene cola de salida");
+        assertTrue(resultado.toString().startsWith("=== CORRIDA DE NÓMINA ==="), "El resumen debe tener encabezado");
+    }
+
+    @Test
+    void testEmiteUnaLineaPorEmpleadoEnOrden() throws IOException {
+        StringWriter destino = new StringWriter();
+        new CorridaNomina(1, 7).ejecutar(empleados, destino);
+        String[] lineas = destino.toString().split("\n");
+        assertEquals(empleados.size(), lineas.length, "Debe escribir una línea por empleado");
+        for (int i = 0; i < empleados.size(); i += 997) {
+            Empleado empleado = empleados.get(i);
+            assertEquals(String.format("%s (%s) - Bruto: $%.2f - Descuentos: $%.2f - Neto: $%.2f",
+                    empleado.getNombreCompleto(), empleado.getTipoEmpleado(),
+                    empleado.calcularSueldoConBonificaciones(), empleado.calcularTotalDescuentos(),
+                    empleado.calcularSalarioNeto()),
+                lineas[i], "La línea " + i + " debe corresponder al empleado en la misma posición");
+        }
+    }
+
+    @Test
+    void testErrorDeEscrituraDetieneLaCorrida() {
+        Writer fallido = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Disco lleno");
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("Disco lleno");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IOException error = assertThrows(IOException.class, () -> new CorridaNomina(1, 16).ejecutar(empleados, fallido));
+        assertEquals("Disco lleno", error.getMessage(), "Debe propagar el error del destino");
+    }
+
+    @Test
+    void testErrorEnUnaEtapaSePropaga() {
+        List<Empleado> conNulo = new ArrayList<>(empleados);
+        conNulo.add(100, null);
+        assertThrows(NullPointerException.class, () -> new CorridaNomina(1, 16).ejecutar(conNulo),
+            "Un empleado nulo debe hacer fallar la corrida en lugar de bloquearla");
+    }
+
+    @Test
+    void testUsaLaFabricaDeHilos() {
+        AtomicInteger creados = new AtomicInteger();
+        CorridaNomina corrida = new CorridaNomina(4, 128, tarea -> {
+            creados.incrementAndGet();
+            Thread hilo = new Thread(tarea);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        corrida.ejecutar(empleados);
+        assertEquals(5, creados.get(), "Debe crear un hilo por etapa");
+    }
+
+    @Test
+    void testListaVacia() {
+        CorridaNomina.ResultadoCorrida resultado = new CorridaNomina().ejecutar(Collections.emptyList());
+        assertEquals(0, resultado.getTotales().getTotalEmpleados(), "No debe haber empleados");
+        assertEquals(0.0, resultado.getTotales().getTotalNeto(), 0.0, "El neto debe ser cero");
+        assertTrue(resultado.getCostoPorTipo().isEmpty(), "No debe haber costos por tipo");
+    }
+
+    @Test
+    void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new CorridaNomina(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CorridaNomina(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CorridaNomina(10, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new CorridaNomina().ejecutar(null));
+    }
+}
@@ -0,0 +1,189 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.*;
+import com.empresa.empleados.utils.SumaCompensada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EjecutorNominaDepartamentosTest {
+    private List<Empleado> empleados;
+    private EjecutorNominaDepartamentos ejecutor;
+
+    @BeforeEach
+    void setUp() {
+        empleados = new ArrayList<>();
+        String[] departamentos = {"Finanzas", "Ventas", "Producción"};
+        for (int i = 0; i < 300; i++) {
+            String departamento = departamentos[i % departamentos.length];
+            empleados.add(new Supervisor(
+                "Supervisor", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1985, 7, 1 + i % 28), 'M',
+                "5678-9012", "supervisor" + i + "@empresa.com",
+                departamento, "Directa", i % 12, i % 2 == 0
+            ));
+            if (i % 30 == 0) {
+                empleados.add(new Gerente(
+                    "Gerente", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1975, 3, 15), 'F',
+                    "1234-5678", "gerente" + i + "@empresa.com",
+                    departamento, i % 40, true
+                ));
+                empleados.add(new JefeArea(
+                    "Jefa", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1980, 5, 10), 'F',
+                    "2345-6789", "jefa" + i + "@empresa.com",
+                    departamento, "Operativa", 10, true
+                ));
+            }
+            if (i % 50 == 0) {
+                empleados.add(new Tecnico(
+                    "Técnico", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1990, 1, 14), 'M',
+                    "123456789", "tecnico" + i + "@empresa.com",
+                    "Mecánica", 5, "Mañana", false
+                ));
+            }
+        }
+        ejecutor = new EjecutorNominaDepartamentos(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ejecutor.close();
+    }
+
+    @Test
+    void testDepartamentoDe() {
+        for (Empleado empleado : empleados) {
+            String departamento = EjecutorNominaDepartamentos.departamentoDe(empleado);
+            if (empleado instanceof Tecnico) {
+                assertEquals(EjecutorNominaDepartamentos.SIN_DEPARTAMENTO, departamento, "Los técnicos no tienen departamento");
+            } else {
+                assertNotEquals(EjecutorNominaDepartamentos.SIN_DEPARTAMENTO, departamento, "Debe usar el departamento o el área");
+            }
+        }
+    }
+
+    @Test
+    void testRecibosYAuditoriaPorDepartamento() throws IOException {
+        Map<String, StringWriter> recibos = new ConcurrentHashMap<>();
+        Map<String, StringWriter> auditorias = new ConcurrentHashMap<>();
+        EjecutorNominaDepartamentos.ResultadoEjecucion resultado = ejecutor.ejecutar(empleados,
+            departamento -> recibos.computeIfAbsent(departamento, d -> new StringWriter()),
+            departamento -> auditorias.computeIfAbsent(departamento, d -> new StringWriter()));
+
+        assertEquals(4, resultado.getDepartamentos().size(), "Tres departamentos más los que no tienen");
+        assertEquals(empleados.size(), resultado.getTotalEmpleados(), "Debe procesar a todos los empleados");
+        for (EjecutorNominaDepartamentos.ResultadoDepartamento departamento : resultado.getDepartamentos()) {
+            StringBuilder esperado = new StringBuilder();
+            SumaCompensada neto = new SumaCompensada();
+            int cantidad = 0;
+            for (Empleado empleado : empleados) {
+                if (EjecutorNominaDepartamentos.departamentoDe(empleado).equals(departamento.getDepartamento())) {
+                    esperado.append(empleado.toString()).append(System.lineSeparator());
+                    neto.agregar(empleado.calcularSalarioNeto());
+                    cantidad++;
+                }
+            }
+            assertEquals(cantidad, departamento.getEmpleados(), "Cantidad de " + departamento.getDepartamento());
+            assertEquals(neto.obtener(), departamento.getTotalNeto(), "Neto de " + departamento.getDepartamento());
+            assertEquals(esperado.toString(), recibos.get(departamento.getDepartamento()).toString(),
+                "Los recibos de " + departamento.getDepartamento() + " deben ser los de toString, en orden");
+            assertEquals(cantidad, auditorias.get(departamento.getDepartamento()).toString().split("\n").length,
+                "Debe haber una línea de auditoría por empleado de " + departamento.getDepartamento());
+        }
+    }
+
+    @Test
+    void testMilesDeDepartamentosALaVez() throws IOException {
+        List<Empleado> muchos = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            muchos.add(new Gerente(
+                "Gerente", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1975, 3, 15), 'F',
+                "1234-5678", "gerente" + i + "@empresa.com",
+                "Departamento " + i, i % 40, i % 2 == 0
+            ));
+        }
+        AtomicInteger abiertos = new AtomicInteger();
+        EjecutorNominaDepartamentos.ResultadoEjecucion resultado = ejecutor.ejecutar(muchos,
+            departamento -> {
+                abiertos.incrementAndGet();
+                return Writer.nullWriter();
+            }, null);
+        assertEquals(3000, resultado.getDepartamentos().size(), "Debe correr un departamento por gerente");
+        assertEquals(3000, abiertos.get(), "Debe abrir un destino por departamento");
+    }
+
+    @Test
+    void testUnaFallaCancelaLosDemasDepartamentos() {
+        AtomicInteger abiertos = new AtomicInteger();
+        AtomicInteger cerrados = new AtomicInteger();
+        IOException error = assertThrows(IOException.class, () -> ejecutor.ejecutar(empleados, departamento -> {
+            abiertos.incrementAndGet();
+            return new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    if (departamento.equals("Ventas")) {
+                        throw new IOException("Disco lleno");
+                    }
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Cancelado");
+                    }
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                    cerrados.incrementAndGet();
+                }
+            };
+        }, null));
+        assertEquals("Disco lleno", error.getMessage(), "Debe propagar el primer error");
+        assertEquals(abiertos.get(), cerrados.get(), "Al terminar no debe quedar ningún departamento escribiendo");
+    }
+
+    @Test
+    void testEjecutoresExternosNoSeCierran() throws IOException {
+        ExecutorService es = Executors.newFixedThreadPool(2);
+        ExecutorService calculo = Executors.newFixedThreadPool(1);
+        try (EjecutorNominaDepartamentos externo = new EjecutorNominaDepartamentos(es, calculo)) {
+            assertFalse(externo.usaHilosVirtuales(), "Con ejecutores externos no se crean hilos virtuales");
+            externo.ejecutar(empleados, departamento -> Writer.nullWriter(), null);
+        }
+        assertFalse(es.isShutdown(), "El ejecutor externo de E/S sigue abierto");
+        assertFalse(calculo.isShutdown(), "El pool externo de cálculo sigue abierto");
+        es.shutdown();
+        calculo.shutdown();
+    }
+
+    @Test
+    void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new EjecutorNominaDepartamentos(0));
+        assertThrows(IllegalArgumentException.class, () -> new EjecutorNominaDepartamentos(null, null));
+        assertThrows(IllegalArgumentException.class, () -> ejecutor.ejecutar(null, d -> Writer.nullWriter(), null));
+        assertThrows(IllegalArgumentException.class, () -> ejecutor.ejecutar(empleados, null, null));
+    }
+}
@@ -0,0 +1,198 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de búsquedas, agregados y reportes de EmpleadoService sobre
+ * empleados reales (EmpleadoServiceTest depende de setSalarioBase, que el
+ * modelo no tiene)
+ */
+public class EmpleadoServiceConsultasTest {
+    private EmpleadoService servicio;
+    private Gerente gerente;
+    private Tecnico tecnico;
+    private JefeArea jefeArea;
+    private Supervisor supervisor;
+
+    @BeforeEach
+    void setUp() {
+        gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, true
+        );
+        gerente.setSueldoBase(5000.0);
+
+        tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com",
+            "Mecánica", 5, "Mañana", true
+        );
+        tecnico.setSueldoBase(2000.0);
+
+        jefeArea = new JefeArea(
+            "María Elena", "Cruz", "Sánchez",
+            "Colonia Escalón, San Salvador", LocalDate.of(1980, 5, 10), 'F',
+            "2345-6789", "maria.cruz@empresa.com",
+            "Operaciones", "Operativa", 10, true
+        );
+        jefeArea.setSueldoBase(3000.0);
+
+        supervisor = new Supervisor(
+            "Ricardo Andrés", "Ramírez", "García",
+            "Mejicanos, San Salvador", LocalDate.of(1985, 7, 12), 'M',
+            "5678-9012", "ricardo.ramirez@empresa.com",
+            "Producción", "Directa", 5, true
+        );
+        supervisor.setSueldoBase(2500.0);
+
+        servicio = new EmpleadoService(Arrays.asList(gerente, tecnico, jefeArea, supervisor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        servicio.close();
+    }
+
+    @Test
+    void testBuscarPorNombreIgnoraTildes() {
+        List<Empleado> resultados = servicio.buscarPorNombre("sofia gomez");
+        assertEquals(1, resultados.size(), "Debe encontrar a Ana Sofía Gómez escribiendo sin tildes");
+        assertTrue(resultados.contains(gerente), "Debe contener al gerente");
+    }
+
+    @Test
+    void testAgregadosSeActualizanAlModificarEmpleado() {
+        double totalAnterior = servicio.calcularTotalNomina();
+        double netoAnterior = tecnico.calcularSalarioNeto();
+        tecnico.setHorasExtrasMes(tecnico.getHorasExtrasMes() + 10);
+        assertEquals(totalAnterior - netoAnterior + tecnico.calcularSalarioNeto(), servicio.calcularTotalNomina(), 0.0001,
+                "El total debe reflejar el cambio del técnico sin volver a agregarlo");
+        assertEquals(servicio.obtenerTodosLosEmpleados().stream().mapToDouble(Empleado::calcularSalarioNeto).max().getAsDouble(),
+                servicio.obtenerEstadisticasSalarios().getSalarioMaximo(), "El máximo debe coincidir con el recálculo");
+    }
+
+    @Test
+    void testEliminarEmpleadoActualizaAgregados() {
+        double totalAnterior = servicio.calcularTotalNomina();
+        assertTrue(servicio.eliminarEmpleado(gerente), "Debe eliminar al gerente");
+        assertEquals(totalAnterior - gerente.calcularSalarioNeto(), servicio.calcularTotalNomina(), 0.0001,
+                "El total debe descontar al gerente");
+        assertFalse(servicio.contarEmpleadosPorTipo().containsKey("GERENTE"), "No deben quedar gerentes en el conteo");
+        assertFalse(servicio.eliminarEmpleado(gerente), "No debe eliminar dos veces al mismo empleado");
+
+        double totalSinGerente = servicio.calcularTotalNomina();
+        gerente.setSueldoBase(9000.0);
+        assertEquals(totalSinGerente, servicio.calcularTotalNomina(), "Un empleado eliminado no debe afectar los totales");
+    }
+
+    @Test
+    void testCerrarDesconectaALosEmpleados() {
+        EmpleadoService otro = new EmpleadoService(Arrays.asList(gerente, tecnico));
+        otro.close();
+        assertEquals(0, otro.obtenerTotalEmpleados(), "Un servicio cerrado debe quedar vacío");
+        double totalAnterior = servicio.calcularTotalNomina();
+        double netoAnterior = tecnico.calcularSalarioNeto();
+        tecnico.setSueldoBase(2200.0);
+        assertEquals(0.0, otro.calcularTotalNomina(), "Un servicio cerrado no debe seguir los cambios de sus empleados");
+        assertEquals(totalAnterior - netoAnterior + tecnico.calcularSalarioNeto(), servicio.calcularTotalNomina(), 0.0001,
+                "Cerrar otro servicio no debe desconectar a este");
+    }
+
+    @Test
+    void testRecorrerPorTipoUsaElIndiceEnOrden() {
+        Tecnico otroTecnico = new Tecnico(
+            "Luis Alberto", "Mejía", "Rivas",
+            "Soyapango, San Salvador", LocalDate.of(1992, 4, 2), 'M',
+            "8765-4321", "luis.mejia@empresa.com",
+            "Electricidad", 3, "Tarde", false
+        );
+        servicio.agregarEmpleado(otroTecnico);
+        assertEquals(List.of(tecnico, otroTecnico), servicio.obtenerTecnicos(), "Los técnicos deben salir en el orden de la lista");
+        servicio.eliminarEmpleado(tecnico);
+        assertEquals(List.of(otroTecnico), servicio.obtenerTecnicos(), "El técnico eliminado no debe aparecer");
+        assertEquals(List.of(gerente), servicio.obtenerGerentes(), "Debe seguir el gerente");
+
+        List<Empleado> recorridos = new ArrayList<>();
+        servicio.recorrerPorTipo(Empleado.class, recorridos::add);
+        assertEquals(servicio.obtenerTodosLosEmpleados(), recorridos, "Un tipo general debe recorrer toda la lista en orden");
+        servicio.limpiarEmpleados();
+        assertTrue(servicio.obtenerSupervisores().isEmpty(), "Limpiar debe vaciar también el índice por tipo");
+    }
+
+    @Test
+    void testRenombrarEmpleadoActualizaBusquedaPorNombre() {
+        tecnico.setNombres("Josué Daniel");
+        assertEquals(1, servicio.buscarPorNombre("josue").size(), "Debe encontrarse por el nombre nuevo");
+        assertTrue(servicio.buscarPorNombre("Juan Carlos").isEmpty(), "No debe encontrarse por el nombre anterior");
+    }
+
+    @Test
+    void testAgregadosSeRecalculanAlCambiarTablaImpuestos() throws IOException {
+        TablaImpuestos sinRenta = TablaImpuestos.cargar(new StringReader(
+            "vigenteDesde=2001-01-01\n" +
+            "isss.tasa=0.075\n" +
+            "isss.salarioMaximo=1000.00\n" +
+            "afp.tasa=0.0775\n" +
+            "afp.salarioMaximo=6500.00\n"));
+        try {
+            RegistroTablasImpuestos.registrar(sinRenta);
+            double esperado = 0;
+            for (Empleado empleado : servicio.obtenerTodosLosEmpleados()) {
+                esperado += empleado.calcularSalarioNeto();
+            }
+            assertEquals(esperado, servicio.calcularTotalNomina(), 0.0001,
+                    "El total debe recalcularse con la tabla vigente");
+        } finally {
+            RegistroTablasImpuestos.restablecer();
+        }
+    }
+
+    @Test
+    void testOrdenarPorPrimerApellidoConReglasDelEspanol() {
+        tecnico.setPrimerApellido("Ávila");
+        supervisor.setPrimerApellido("Núñez");
+        jefeArea.setPrimerApellido("Nunes");
+        List<Empleado> ordenados = servicio.ordenarPorPrimerApellido();
+        assertEquals("Ávila", ordenados.get(0).getPrimerApellido(), "Ávila debe ir primero a pesar de la tilde");
+        assertEquals("Gómez", ordenados.get(1).getPrimerApellido(), "Gómez debe ir segundo");
+        assertEquals("Nunes", ordenados.get(2).getPrimerApellido(), "La N debe ir antes que la Ñ");
+        assertEquals("Núñez", ordenados.get(3).getPrimerApellido(), "Núñez debe ir último");
+    }
+
+    @Test
+    void testClaveOrdenApellidosSeRecalculaAlCambiarNombre() {
+        byte[] clave = gerente.getClaveOrdenApellidos();
+        gerente.setSueldoBase(gerente.getSueldoBase() + 100);
+        assertSame(clave, gerente.getClaveOrdenApellidos(), "Cambiar el sueldo no debe recalcular la clave");
+        gerente.setPrimerApellido("Alas");
+        assertNotSame(clave, gerente.getClaveOrdenApellidos(), "Cambiar un apellido debe recalcular la clave");
+        assertSame(gerente, servicio.ordenarPorPrimerApellido().get(0), "El empleado renombrado debe quedar primero");
+    }
+
+    @Test
+    void testPaginasCoincidenConOrdenamientoCompleto() {
+        assertEquals(servicio.ordenarPorSalarioDescendente().subList(1, 3), servicio.ordenarPorSalarioDescendente(1, 2),
+                "La página descendente debe coincidir con la sublista del ordenamiento completo");
+        assertEquals(servicio.ordenarPorSalarioAscendente().subList(0, 2), servicio.ordenarPorSalarioAscendente(0, 2),
+                "La página ascendente debe coincidir con la sublista del ordenamiento completo");
+        assertEquals(servicio.ordenarPorPrimerApellido().subList(2, 4), servicio.ordenarPorPrimerApellido(2, 10),
+                "La última página debe recortarse al total de empleados");
+        assertTrue(servicio.ordenarPorSalarioDescendente(4, 10).isEmpty(), "Una página fuera de rango debe estar vacía");
+        assertThrows(IllegalArgumentException.class, () -> servicio.ordenarPorSalarioDescendente(-1, 10));
+    }
+}
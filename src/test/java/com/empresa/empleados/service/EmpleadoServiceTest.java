@@ -221,4 +221,4 @@ public class EmpleadoServiceTest {
         assertTrue(servicio.existeEmpleado("Ana Sofía Gómez Martínez"), "Debe existir el gerente");
         assertFalse(servicio.existeEmpleado("No Existe"), "No debe existir un empleado con ese nombre");
     }
-}
\ No newline at end of file
+}
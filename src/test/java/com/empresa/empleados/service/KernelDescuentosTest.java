@@ -0,0 +1,78 @@
+package com.empresa.empleados.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KernelDescuentosTest {
+
+    /**
+     * Sueldos de prueba: casos límite de cada tramo y tope, más sueldos aleatorios
+     * La cantidad no es múltiplo del número de carriles para cubrir el resto escalar
+     */
+    private static double[] crearSueldos() {
+        double[] limites = {
+            0.0, -0.0, -100.0, 472.0, 895.24, 1000.0, 2038.10, 6500.0,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        double[] sueldos = new double[10_003];
+        int i = 0;
+        for (double limite : limites) {
+            sueldos[i++] = limite;
+            sueldos[i++] = Math.nextUp(limite);
+            sueldos[i++] = Math.nextDown(limite);
+        }
+        Random aleatorio = new Random(7L);
+        for (; i < sueldos.length; i++) {
+            sueldos[i] = Math.round(aleatorio.nextDouble() * 800000) / 100.0;
+        }
+        return sueldos;
+    }
+
+    private static void verificarExactitud(KernelDescuentos kernel) {
+        double[] sueldos = crearSueldos();
+        double[] totales = new double[sueldos.length];
+        kernel.calcularTotalDescuentos(sueldos, 0, sueldos.length, totales);
+        for (int i = 0; i < sueldos.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(CalculadoraDescuentos.calcularTotalDescuentos(sueldos[i])),
+                    Double.doubleToRawLongBits(totales[i]),
+                    kernel.getNombre() + " debe coincidir bit a bit para " + sueldos[i]);
+        }
+    }
+
+    @Test
+    void testKernelEscalarExacto() {
+        verificarExactitud(new KernelDescuentosEscalar());
+    }
+
+    @Test
+    void testKernelDisponibleExacto() {
+        // Vectorial si la JVM de pruebas arrancó con el módulo, escalar si no
+        verificarExactitud(KernelDescuentos.obtener());
+    }
+
+    @Test
+    void testSinModuloVectorialUsaEscalar() {
+        if (!ModuleLayer.boot().findModule(KernelDescuentos.MODULO_VECTOR).isPresent()) {
+            assertFalse(KernelDescuentos.obtenerVectorial().isPresent(), "Sin el módulo no debe haber núcleo vectorial");
+            assertEquals("escalar", KernelDescuentos.obtener().getNombre(), "Debe usarse el núcleo escalar");
+        }
+    }
+
+    @Test
+    void testRangoParcialYValidaciones() {
+        KernelDescuentos kernel = KernelDescuentos.obtener();
+        double[] sueldos = {800.0, 1000.0, 5000.0};
+        double[] totales = new double[3];
+        kernel.calcularTotalDescuentos(sueldos, 1, 1, totales);
+        assertEquals(0.0, totales[0], "No debe escribir fuera del rango");
+        assertEquals(CalculadoraDescuentos.calcularTotalDescuentos(1000.0), totales[1], "Debe calcular el rango pedido");
+        assertEquals(0.0, totales[2], "No debe escribir fuera del rango");
+        assertThrows(IllegalArgumentException.class,
+                () -> kernel.calcularTotalDescuentos(sueldos, 2, 2, totales), "Debe rechazar un rango fuera del arreglo");
+        assertThrows(IllegalArgumentException.class,
+                () -> kernel.calcularTotalDescuentos(sueldos, 0, 3, new double[2]), "Debe rechazar una salida corta");
+    }
+}
@@ -0,0 +1,92 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MotorNominaParaleloTest {
+    private List<Empleado> empleados;
+
+    @BeforeEach
+    void setUp() {
+        empleados = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            Tecnico tecnico = new Tecnico(
+                "Técnico", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1990, 1, 1 + i % 28), 'M',
+                "1234-5678", "tecnico" + i + "@empresa.com", "Mecánica",
+                i % 37, "Mañana", i % 3 == 0
+            );
+            tecnico.setSueldoBase(400.0 + (i % 1000) * 3.17);
+            empleados.add(tecnico);
+            if (i % 10 == 0) {
+                empleados.add(new Gerente(
+                    "Gerente", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1975, 3, 15), 'F',
+                    "1234-5678", "gerente" + i + "@empresa.com",
+                    "Dirección General", i % 40, i % 2 == 0
+                ));
+            }
+        }
+    }
+
+    @Test
+    void testTotalesIdenticosConCualquierParalelismo() {
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        try {
+            MotorNominaParalelo.TotalesNomina secuencial = new MotorNominaParalelo(unHilo, 256).calcularTotales(empleados);
+            MotorNominaParalelo.TotalesNomina paralelo = new MotorNominaParalelo(cuatroHilos, 256).calcularTotales(empleados);
+            assertEquals(Double.doubleToLongBits(secuencial.getTotalNeto()), Double.doubleToLongBits(paralelo.getTotalNeto()),
+                    "El total neto debe ser idéntico bit a bit");
+            assertEquals(Double.doubleToLongBits(secuencial.getTotalDescuentos()), Double.doubleToLongBits(paralelo.getTotalDescuentos()),
+                    "El total de descuentos debe ser idéntico bit a bit");
+            assertEquals(Double.doubleToLongBits(secuencial.getTotalBruto()), Double.doubleToLongBits(paralelo.getTotalBruto()),
+                    "El total bruto debe ser idéntico bit a bit");
+
+            Map<String, Double> porTipoSecuencial = new MotorNominaParalelo(unHilo, 256).calcularCostoPorTipo(empleados);
+            Map<String, Double> porTipoParalelo = new MotorNominaParalelo(cuatroHilos, 256).calcularCostoPorTipo(empleados);
+            assertEquals(porTipoSecuencial, porTipoParalelo, "El costo por tipo debe ser idéntico");
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+    }
+
+    @Test
+    void testTotalesCoincidenConElServicio() {
+        try (EmpleadoService servicio = new EmpleadoService(empleados)) {
+            MotorNominaParalelo.TotalesNomina totales = new MotorNominaParalelo().calcularTotales(empleados);
+            assertEquals(empleados.size(), totales.getTotalEmpleados(), "Debe contar todos los empleados");
+            assertEquals(servicio.calcularTotalNomina(), totales.getTotalNeto(), 1e-6, "El total neto debe coincidir");
+            assertEquals(servicio.calcularTotalDescuentos(), totales.getTotalDescuentos(), 1e-6,
+                    "El total de descuentos debe coincidir");
+            assertEquals(totales.getTotalBruto() - totales.getTotalDescuentos(), totales.getTotalNeto(), 1e-6,
+                    "El neto debe ser el bruto menos los descuentos");
+            Map<String, Double> porTipo = new MotorNominaParalelo().calcularCostoPorTipo(empleados);
+            assertEquals(servicio.calcularCostoNominaPorTipo().keySet(), porTipo.keySet(), "Debe tener los mismos tipos");
+            assertEquals(totales.getTotalNeto(), porTipo.get("GERENTE") + porTipo.get("TÉCNICO"), 1e-6,
+                    "La suma por tipo debe coincidir con el total");
+        }
+    }
+
+    @Test
+    void testListaVaciaYParametrosInvalidos() {
+        assertEquals(0.0, new MotorNominaParalelo().calcularTotales(new ArrayList<>()).getTotalNeto(),
+                "Una nómina vacía debe sumar cero");
+        assertTrue(new MotorNominaParalelo().calcularCostoPorTipo(new ArrayList<>()).isEmpty(),
+                "Una nómina vacía no debe tener tipos");
+        assertThrows(IllegalArgumentException.class, () -> new MotorNominaParalelo(null),
+                "Debe rechazar un pool nulo");
+        assertThrows(IllegalArgumentException.class, () -> new MotorNominaParalelo(ForkJoinPool.commonPool(), 0),
+                "Debe rechazar un tamaño de bloque no positivo");
+    }
+}
@@ -0,0 +1,229 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.data.EmpleadoRepository;
+import com.empresa.empleados.model.*;
+import com.empresa.empleados.utils.SumaCompensada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NominaIncrementalTest {
+    private List<Empleado> empleados;
+    private NominaIncremental nomina;
+
+    @BeforeEach
+    void setUp() {
+        empleados = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Tecnico tecnico = new Tecnico(
+                "Técnico", "Número", String.valueOf(i),
+                "San Salvador", LocalDate.of(1990, 1, 1 + i % 28), 'M',
+                "1234-5678", "tecnico" + i + "@empresa.com", "Mecánica",
+                i % 37, "Mañana", i % 3 == 0
+            );
+            tecnico.setSueldoBase(400.0 + (i % 1000) * 3.17);
+            empleados.add(tecnico);
+            if (i % 10 == 0) {
+                Supervisor supervisor = new Supervisor(
+                    "Supervisor", "Número", String.valueOf(i),
+                    "San Salvador", LocalDate.of(1985, 7, 20), 'M',
+                    "5678-9012", "supervisor" + i + "@empresa.com",
+                    "Producción", "Directa", i % 12, i % 2 == 0
+                );
+                supervisor.setTotalIncidentes(20);
+                empleados.add(supervisor);
+            }
+        }
+        nomina = new NominaIncremental();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RegistroTablasImpuestos.restablecer();
+    }
+
+    /**
+     * Compara contra un recorrido secuencial completo
+     */
+    private void verificar(NominaIncremental.ResultadoIncremental resultado, double tolerancia) {
+        SumaCompensada bruto = new SumaCompensada();
+        SumaCompensada descuentos = new SumaCompensada();
+        SumaCompensada neto = new SumaCompensada();
+        Map<String, SumaCompensada> porTipo = new HashMap<>();
+        for (Empleado empleado : empleados) {
+            bruto.agregar(empleado.calcularSueldoConBonificaciones());
+            descuentos.agregar(empleado.calcularTotalDescuentos());
+            neto.agregar(empleado.calcularSalarioNeto());
+            porTipo.computeIfAbsent(empleado.getTipoEmpleado(), t -> new SumaCompensada())
+                .agregar(empleado.calcularSalarioNeto());
+        }
+        MotorNominaParalelo.TotalesNomina totales = resultado.getTotales();
+        assertEquals(empleados.size(), totales.getTotalEmpleados(), "Debe contar a todos los empleados");
+        assertEquals(bruto.obtener(), totales.getTotalBruto(), tolerancia, "El bruto debe coincidir con el secuencial");
+        assertEquals(descuentos.obtener(), totales.getTotalDescuentos(), tolerancia, "Los descuentos deben coincidir con el secuencial");
+        assertEquals(neto.obtener(), totales.getTotalNeto(), tolerancia, "El neto debe coincidir con el secuencial");
+        assertEquals(porTipo.keySet(), resultado.getCostoPorTipo().keySet(), "Debe tener los mismos tipos");
+        for (Map.Entry<String, SumaCompensada> entrada : porTipo.entrySet()) {
+            assertEquals(entrada.getValue().obtener(), resultado.getCostoPorTipo().get(entrada.getKey()), tolerancia,
+                "El costo de " + entrada.getKey() + " debe coincidir con el secuencial");
+        }
+    }
+
+    @Test
+    void testLaVersionAvanzaConCadaModificacion() {
+        Tecnico tecnico = (Tecnico) empleados.get(0);
+        int version = tecnico.getVersion();
+        tecnico.setHorasExtrasMes(12);
+        assertEquals(version + 1, tecnico.getVersion(), "Un setter debe avanzar la versión");
+        tecnico.agregarCertificacion("Soldadura");
+        assertEquals(version + 2, tecnico.getVersion(), "Agregar a una lista debe avanzar la versión");
+        tecnico.calcularSalarioNeto();
+        new EmpleadoRepository().agregarEmpleado(tecnico);
+        assertEquals(version + 2, tecnico.getVersion(), "Calcular o asignar el id no cambia la versión");
+    }
+
+    @Test
+    void testPrimeraCorridaEsCompletaEIdenticaAlSecuencial() {
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertTrue(resultado.isCompleto(), "La primera corrida calcula a todos");
+        assertEquals(empleados.size(), resultado.getRecalculados(), "Debe recalcular a todos");
+        verificar(resultado, 0.0);
+    }
+
+    @Test
+    void testSoloRecalculaLosModificados() {
+        nomina.ejecutar(empleados);
+        ((Tecnico) empleados.get(0)).setHorasExtrasMes(40);
+        ((Tecnico) empleados.get(500)).setSueldoBase(2500.0);
+        ((Supervisor) empleados.get(12)).setIncidentesResueltos(20);
+
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertFalse(resultado.isCompleto(), "Con pocos cambios no debe recalcular todo");
+        assertEquals(3, resultado.getRecalculados(), "Solo deben recalcularse los tres modificados");
+        verificar(resultado, 1e-6);
+
+        resultado = nomina.ejecutar(empleados);
+        assertEquals(0, resultado.getRecalculados(), "Sin cambios no se recalcula a nadie");
+        verificar(resultado, 1e-6);
+    }
+
+    @Test
+    void testCambioDeTipoMueveElCosto() {
+        nomina.ejecutar(empleados);
+        Gerente gerente = crearGerente("Único");
+        Gerente otroGerente = crearGerente("Segundo");
+        empleados.set(5, gerente);
+        empleados.add(otroGerente);
+
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertEquals(3, resultado.getRecalculados(), "El quitado, el que lo reemplaza y el agregado deben recalcularse");
+        assertTrue(resultado.getCostoPorTipo().containsKey(gerente.getTipoEmpleado()), "Debe aparecer el tipo nuevo");
+        verificar(resultado, 1e-6);
+
+        empleados.remove(empleados.size() - 1);
+        empleados.set(5, empleados.get(6));
+        empleados.set(6, gerente);
+        resultado = nomina.ejecutar(empleados);
+        assertEquals(3, resultado.getRecalculados(),
+            "Solo deben recalcularse el quitado y el gerente movido (que sale y vuelve a entrar)");
+        verificar(resultado, 1e-6);
+    }
+
+    private static Gerente crearGerente(String segundoApellido) {
+        return new Gerente(
+            "Gerente", "Nuevo", segundoApellido,
+            "San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "gerente@empresa.com", "Dirección", 10, true
+        );
+    }
+
+    @Test
+    void testQuitarDelInicioNoDesplazaALosDemas() {
+        nomina.ejecutar(empleados);
+        empleados.remove(0);
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertFalse(resultado.isCompleto(), "Quitar un empleado del inicio no recalcula todo");
+        assertEquals(1, resultado.getRecalculados(), "Solo debe restarse el quitado");
+        assertEquals(empleados.size(), nomina.getCantidadEmpleados(), "Debe contar a los que quedan");
+        verificar(resultado, 1e-6);
+    }
+
+    @Test
+    void testQuitarDelFinalRestaSusCifras() {
+        nomina.ejecutar(empleados);
+        for (int i = 0; i < 100; i++) {
+            empleados.remove(empleados.size() - 1);
+        }
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertFalse(resultado.isCompleto(), "Quitar pocos empleados no recalcula todo");
+        assertEquals(100, resultado.getRecalculados(), "Deben restarse los cien quitados");
+        verificar(resultado, 1e-6);
+    }
+
+    @Test
+    void testMuchosCambiosRecalculaTodo() {
+        nomina.ejecutar(empleados);
+        for (int i = 0; i < empleados.size(); i += 2) {
+            empleados.get(i).setSueldoBase(empleados.get(i).getSueldoBase() + 1.0);
+        }
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertTrue(resultado.isCompleto(), "Con la mitad de la lista cambiada conviene recalcular todo");
+        verificar(resultado, 0.0);
+    }
+
+    @Test
+    void testCambioDeTablaRecalculaTodo() throws IOException {
+        nomina.ejecutar(empleados);
+        RegistroTablasImpuestos.registrar(TablaImpuestos.cargar(new StringReader(
+            "vigenteDesde=2001-06-01\n" +
+            "isss.tasa=0.08\n" +
+            "isss.salarioMaximo=1000.00\n" +
+            "afp.tasa=0.0775\n" +
+            "afp.salarioMaximo=6500.00\n" +
+            "renta.tramo.2.desde=500.00\n" +
+            "renta.tramo.2.cuotaFija=0.00\n" +
+            "renta.tramo.2.tasa=0.10\n" +
+            "renta.tramo.3.desde=1000.00\n" +
+            "renta.tramo.3.cuotaFija=50.00\n" +
+            "renta.tramo.3.tasa=0.25\n")));
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertTrue(resultado.isCompleto(), "Una tabla nueva obliga a recalcular a todos");
+        verificar(resultado, 0.0);
+    }
+
+    @Test
+    void testAgregarEnMedioYEmpleadoRepetido() {
+        nomina.ejecutar(empleados);
+        empleados.add(3, crearGerente("Intermedio"));
+        empleados.add(empleados.get(0));
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertFalse(resultado.isCompleto(), "Agregar dos empleados no recalcula todo");
+        assertEquals(2, resultado.getRecalculados(), "Solo deben calcularse el agregado en medio y el repetido al final");
+        verificar(resultado, 1e-6);
+    }
+
+    @Test
+    void testReiniciarYNulos() {
+        nomina.ejecutar(empleados);
+        nomina.reiniciar();
+        assertTrue(nomina.ejecutar(empleados).isCompleto(), "Después de reiniciar se recalcula todo");
+
+        List<Empleado> conNulo = new ArrayList<>(empleados);
+        conNulo.set(3, null);
+        assertThrows(IllegalArgumentException.class, () -> nomina.ejecutar(conNulo));
+        assertThrows(IllegalArgumentException.class, () -> nomina.ejecutar(null));
+        NominaIncremental.ResultadoIncremental resultado = nomina.ejecutar(empleados);
+        assertEquals(0, resultado.getRecalculados(), "Una lista rechazada no debe alterar las cifras guardadas");
+        verificar(resultado, 0.0);
+    }
+}
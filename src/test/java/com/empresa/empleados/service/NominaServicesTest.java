@@ -0,0 +1,152 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NominaServicesTest {
+    private NominaServices nomina;
+
+    @BeforeEach
+    void setUp() {
+        Gerente gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, true
+        );
+        Tecnico tecnico = new Tecnico(
+            "Juan Carlos", "Pineda", "Alvarado",
+            "Cuscatancingo, San Salvador", LocalDate.of(1990, 1, 14), 'M',
+            "123456789", "juan.pineda@empresa.com",
+            "Mecánica", 5, "Mañana", true
+        );
+        Tecnico otroTecnico = new Tecnico(
+            "Luis Ángel", "Núñez", "Díaz",
+            "Mejicanos, San Salvador", LocalDate.of(1992, 8, 2), 'M',
+            "7654-3210", "luis.nunez@empresa.com",
+            "Electricidad", 0, "Noche", false
+        );
+        JefeArea jefeArea = new JefeArea(
+            "María Elena", "Cruz", "Sánchez",
+            "Colonia Escalón, San Salvador", LocalDate.of(1980, 5, 10), 'F',
+            "2345-6789", "maria.cruz@empresa.com",
+            "Operaciones", "Operativa", 10, true
+        );
+        Supervisor supervisor = new Supervisor(
+            "Ricardo Andrés", "Ramírez", "García",
+            "Mejicanos, San Salvador", LocalDate.of(1985, 7, 12), 'M',
+            "5678-9012", "ricardo.ramirez@empresa.com",
+            "Producción", "Directa", 5, true
+        );
+        nomina = new NominaServices(new EmpleadoService(
+            Arrays.asList(gerente, tecnico, jefeArea, otroTecnico, supervisor)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nomina.close();
+    }
+
+    private static String unirLineas(List<String> lineas) {
+        StringBuilder sb = new StringBuilder();
+        for (String linea : lineas) {
+            sb.append(linea).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testReportesEnFlujoCoincidenConLasListas() throws IOException {
+        StringWriter gerentes = new StringWriter();
+        StringWriter jefes = new StringWriter();
+        StringWriter supervisores = new StringWriter();
+        StringWriter tecnicos = new StringWriter();
+        assertEquals(1, nomina.generarReporteGerentes(gerentes), "Debe escribir una línea por gerente");
+        assertEquals(1, nomina.generarReporteJefesArea(jefes), "Debe escribir una línea por jefe de área");
+        assertEquals(1, nomina.generarReporteSupervisores(supervisores), "Debe escribir una línea por supervisor");
+        assertEquals(2, nomina.generarReporteTecnicos(tecnicos), "Debe escribir una línea por técnico");
+        assertEquals(unirLineas(nomina.generarReporteGerentes()), gerentes.toString(), "El reporte de gerentes debe ser idéntico");
+        assertEquals(unirLineas(nomina.generarReporteJefesArea()), jefes.toString(), "El reporte de jefes debe ser idéntico");
+        assertEquals(unirLineas(nomina.generarReporteSupervisores()), supervisores.toString(), "El reporte de supervisores debe ser idéntico");
+        assertEquals(unirLineas(nomina.generarReporteTecnicos()), tecnicos.toString(), "El reporte de técnicos debe ser idéntico");
+    }
+
+    @Test
+    void testReporteEnFlujoHaciaBytesEsUtf8() throws IOException {
+        String esperado = unirLineas(nomina.generarReporteTecnicos());
+
+        ByteArrayOutputStream flujo = new ByteArrayOutputStream();
+        nomina.generarReporteTecnicos(NominaServices.escritorPara(flujo));
+        assertEquals(esperado, new String(flujo.toByteArray(), StandardCharsets.UTF_8), "El flujo debe recibir el reporte en UTF-8");
+
+        ByteArrayOutputStream porCanal = new ByteArrayOutputStream();
+        nomina.generarReporteTecnicos(NominaServices.escritorPara(Channels.newChannel(porCanal)));
+        assertEquals(esperado, new String(porCanal.toByteArray(), StandardCharsets.UTF_8), "El canal debe recibir el reporte en UTF-8");
+    }
+
+    @Test
+    void testReporteEnFlujoPropagaErroresDeEscritura() {
+        Writer fallido = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Disco lleno");
+            }
+
+            @Override
+            public void flush() throws IOException {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IOException error = assertThrows(IOException.class, () -> nomina.generarReporteTecnicos(fallido));
+        assertEquals("Disco lleno", error.getMessage(), "Debe propagar el error del destino");
+    }
+
+    @Test
+    void testRecibosEnFlujoCoincidenConToString() throws IOException {
+        StringBuilder esperado = new StringBuilder();
+        for (Empleado empleado : nomina.obtenerTodosLosEmpleados()) {
+            esperado.append(empleado.toString()).append(System.lineSeparator());
+        }
+        StringWriter recibos = new StringWriter();
+        assertEquals(5, nomina.generarRecibos(recibos), "Debe escribir un recibo por empleado");
+        assertEquals(esperado.toString(), recibos.toString(), "Cada recibo debe ser idéntico a toString");
+
+        Writer fallido = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Disco lleno");
+            }
+
+            @Override
+            public void flush() throws IOException {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IOException.class, () -> nomina.generarRecibos(fallido), "Debe propagar el error del destino");
+    }
+
+    @Test
+    void testReporteEnFlujoDestinoNulo() {
+        assertThrows(IllegalArgumentException.class, () -> nomina.generarReporteGerentes((Writer) null));
+    }
+}
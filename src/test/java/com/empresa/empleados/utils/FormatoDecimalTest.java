@@ -0,0 +1,77 @@
+package com.empresa.empleados.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormatoDecimalTest {
+
+    private final Locale localeOriginal = Locale.getDefault(Locale.Category.FORMAT);
+
+    @AfterEach
+    void restaurarLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, localeOriginal);
+    }
+
+    private static String formatear(double valor, int decimales) {
+        return FormatoDecimal.agregar(new StringBuilder(), valor, decimales).toString();
+    }
+
+    private static void verificarComoStringFormat(double valor) {
+        for (int decimales = 0; decimales <= FormatoDecimal.MAX_DECIMALES; decimales++) {
+            assertEquals(String.format("%." + decimales + "f", valor), formatear(valor, decimales),
+                    "Debe escribir " + valor + " con " + decimales + " decimales igual que String.format");
+        }
+    }
+
+    @Test
+    void testEmpatesSeRedondeanComoFormatter() {
+        double[] valores = {0.005, 0.015, 0.125, 1.005, 2.675, 1.115, 4.35, 0.045, 123456.785, 1000000.005, -0.125, -2.675};
+        for (double valor : valores) {
+            verificarComoStringFormat(valor);
+        }
+        assertEquals("1.01", formatear(1.005, 2), "1.005 se muestra como 1.01 aunque el double sea menor");
+        assertEquals("2.68", formatear(2.675, 2), "2.675 se muestra como 2.68 aunque el double sea menor");
+    }
+
+    @Test
+    void testSignosYValoresEspeciales() {
+        double[] valores = {0.0, -0.0, -0.004, -0.005, -1e-9, 1e7, 99999999.995, 1e15, 1e300,
+                Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double valor : valores) {
+            verificarComoStringFormat(valor);
+        }
+        assertEquals("-0.00", formatear(-0.0, 2), "El cero negativo conserva el signo como en String.format");
+    }
+
+    @Test
+    void testValoresAleatoriosCoincidenConStringFormat() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            verificarComoStringFormat(random.nextDouble() * 20_000 - 10_000);
+            verificarComoStringFormat(random.nextInt(2_000_000) / 200.0);
+        }
+    }
+
+    @Test
+    void testUsaElSeparadorDelLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+        assertEquals(String.format("%.2f", 1234.5), formatear(1234.5, 2), "Debe usar el separador decimal del Locale");
+        assertEquals("1234,50", formatear(1234.5, 2), "En alemán el separador decimal es la coma");
+
+        Locale.setDefault(Locale.Category.FORMAT, new Locale("th", "TH", "TH"));
+        assertEquals(String.format("%.2f", 1234.5), formatear(1234.5, 2), "Debe usar los dígitos del Locale");
+        assertEquals(String.format("%d", 1234L), FormatoDecimal.agregarEntero(new StringBuilder(), 1234L).toString(),
+                "Los enteros también deben usar los dígitos del Locale");
+    }
+
+    @Test
+    void testDecimalesFueraDeRango() {
+        assertThrows(IllegalArgumentException.class, () -> formatear(1.0, -1));
+        assertThrows(IllegalArgumentException.class, () -> formatear(1.0, FormatoDecimal.MAX_DECIMALES + 1));
+    }
+}
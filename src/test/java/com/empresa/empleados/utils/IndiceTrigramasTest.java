@@ -0,0 +1,80 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+    private Gerente gerente;
+    private Supervisor supervisor;
+
+    @BeforeEach
+    void setUp() {
+        gerente = new Gerente(
+            "Ana Sofía", "Gómez", "Martínez",
+            "Calle Principal 123, San Salvador", LocalDate.of(1975, 3, 15), 'F',
+            "1234-5678", "ana.gomez@empresa.com",
+            "Dirección General", 2, true
+        );
+        supervisor = new Supervisor(
+            "Carmen Julia", "Díaz", "Mendoza",
+            "Soyapango, San Salvador", LocalDate.of(1983, 4, 25), 'F',
+            "6789-0123", "carmen.diaz@empresa.com", "Logística"
+        );
+        indice = new IndiceTrigramas();
+        indice.construir(Arrays.asList(gerente, supervisor));
+    }
+
+    @Test
+    void testNormalizarQuitaTildesYMayusculas() {
+        assertEquals("jose angel nunez", IndiceTrigramas.normalizar("  José ÁNGEL Núñez "),
+                "Debe quitar tildes, mayúsculas y espacios extremos");
+    }
+
+    @Test
+    void testBuscarIgnoraTildes() {
+        List<Empleado> resultados = indice.buscar("gomez mar");
+        assertEquals(1, resultados.size(), "Debe encontrar a Gómez escribiendo sin tilde");
+        assertSame(gerente, resultados.get(0), "Debe ser el gerente");
+        assertSame(supervisor, indice.buscar("DÍAZ").get(0), "Debe encontrar a Díaz con mayúsculas y tilde");
+    }
+
+    @Test
+    void testBuscarConsultaCorta() {
+        assertEquals(2, indice.buscar("ar").size(), "Las consultas de menos de 3 letras también deben funcionar");
+    }
+
+    @Test
+    void testBuscarVerificaLaSubcadenaCompleta() {
+        // Todos los trigramas de "martinez mart" están en "gomez martinez", pero no es subcadena
+        assertTrue(indice.buscar("martinez mart").isEmpty(), "No debe devolver falsos positivos");
+    }
+
+    @Test
+    void testRemoverYReindexar() {
+        indice.remover(gerente);
+        assertTrue(indice.buscar("gomez").isEmpty(), "El empleado retirado no debe encontrarse");
+
+        supervisor.setPrimerApellido("Rivas");
+        indice.agregar(supervisor);
+        assertTrue(indice.buscar("diaz").isEmpty(), "No debe encontrarse con el nombre anterior");
+        assertEquals(1, indice.buscar("rivas").size(), "Debe encontrarse con el nombre nuevo");
+    }
+
+    @Test
+    void testEstadisticas() {
+        IndiceTrigramas.EstadisticasIndice estadisticas = indice.obtenerEstadisticas();
+        assertEquals(2, estadisticas.getEmpleadosIndexados(), "Debe haber 2 empleados indexados");
+        assertTrue(estadisticas.getTrigramasDistintos() > 0, "Debe haber trigramas indexados");
+        assertTrue(estadisticas.getEntradas() >= estadisticas.getTrigramasDistintos(),
+                "Cada trigrama tiene al menos una entrada");
+    }
+}
@@ -0,0 +1,54 @@
+package com.empresa.empleados.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la permutación por claves primitivas de OrdenadorEmpleados
+ */
+public class OrdenadorEmpleadosIndicesTest {
+
+    @Test
+    void testOrdenarIndicesEsEstableEnAmbosSentidos() {
+        double[] claves = {3.0, 1.0, 3.0, 2.0, 1.0};
+        assertArrayEquals(new int[] {1, 4, 3, 0, 2}, OrdenadorEmpleados.ordenarIndices(claves, true),
+                "Los empates deben conservar el orden original en orden ascendente");
+        assertArrayEquals(new int[] {0, 2, 3, 1, 4}, OrdenadorEmpleados.ordenarIndices(claves, false),
+                "Los empates deben conservar el orden original en orden descendente");
+        assertArrayEquals(new double[] {3.0, 1.0, 3.0, 2.0, 1.0}, claves, "Las claves no deben modificarse");
+    }
+
+    @Test
+    void testOrdenarIndicesCoincideConDoubleCompare() {
+        double[] claves = {Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, -1.5, Double.NEGATIVE_INFINITY, 2.5};
+        assertArrayEquals(new int[] {5, 4, 2, 1, 6, 3, 0}, OrdenadorEmpleados.ordenarIndices(claves, true),
+                "El orden debe ser el de Double.compare (-0.0 antes de 0.0 y NaN al final)");
+    }
+
+    @Test
+    void testOrdenarIndicesGrandeCoincideConComparador() {
+        // Por encima del umbral se usa Arrays.parallelSort
+        int n = OrdenadorEmpleados.UMBRAL_ORDEN_PARALELO * 2;
+        double[] claves = new double[n];
+        Integer[] esperado = new Integer[n];
+        Random aleatorio = new Random(42L);
+        for (int i = 0; i < n; i++) {
+            claves[i] = aleatorio.nextInt(200) * 25.5;
+            esperado[i] = i;
+        }
+        Arrays.sort(esperado, (a, b) -> Double.compare(claves[b], claves[a]));
+        int[] indices = OrdenadorEmpleados.ordenarIndices(claves, false);
+        for (int i = 0; i < n; i++) {
+            assertEquals(esperado[i].intValue(), indices[i], "El índice en la posición " + i + " debe coincidir con el comparador");
+        }
+    }
+
+    @Test
+    void testOrdenarIndicesNuloLanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> OrdenadorEmpleados.ordenarIndices(null, true));
+    }
+}
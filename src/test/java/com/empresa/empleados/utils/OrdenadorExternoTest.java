@@ -0,0 +1,133 @@
+package com.empresa.empleados.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrdenadorExternoTest {
+
+    private static final String[] APELLIDOS = {"Gómez", "Gomez", "Núñez", "Nunes", "Álvarez", "Avila", "Díaz"};
+
+    @TempDir
+    Path directorio;
+
+    private static List<OrdenadorExterno.Fila> generarFilas(int cantidad) {
+        Random aleatorio = new Random(42L);
+        List<OrdenadorExterno.Fila> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            // Pocos sueldos distintos para que haya muchos empates
+            double sueldo = 400 + aleatorio.nextInt(50) * 100;
+            filas.add(new OrdenadorExterno.Fila(i, "Nombre " + aleatorio.nextInt(10),
+                    APELLIDOS[aleatorio.nextInt(APELLIDOS.length)],
+                    i % 9 == 0 ? null : APELLIDOS[aleatorio.nextInt(APELLIDOS.length)],
+                    "Tecnico", sueldo, sueldo * 0.2, sueldo * 0.8));
+        }
+        return filas;
+    }
+
+    /**
+     * Orden esperado: el ordenamiento en memoria de las mismas claves
+     */
+    private static List<OrdenadorExterno.Fila> ordenEnMemoria(List<OrdenadorExterno.Fila> filas,
+            OrdenadorExterno.Criterio criterio, boolean ascendente) {
+        byte[][] claves = new byte[filas.size()][];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = OrdenadorExterno.clave(filas.get(i), criterio);
+        }
+        List<OrdenadorExterno.Fila> ordenadas = new ArrayList<>(filas.size());
+        for (int indice : OrdenadorEmpleados.ordenarIndicesPorBytes(claves, ascendente)) {
+            ordenadas.add(filas.get(indice));
+        }
+        return ordenadas;
+    }
+
+    private static void verificarMismoOrden(List<OrdenadorExterno.Fila> esperado, List<OrdenadorExterno.Fila> obtenido) {
+        assertEquals(esperado.size(), obtenido.size(), "Debe devolver todas las filas");
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i).getId(), obtenido.get(i).getId(), "La fila en la posición " + i + " debe coincidir");
+        }
+    }
+
+    @Test
+    void testConCorridasCoincideConOrdenEnMemoria() throws IOException {
+        List<OrdenadorExterno.Fila> filas = generarFilas(20000);
+        OrdenadorExterno ordenador = new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO, directorio);
+        for (OrdenadorExterno.Criterio criterio : OrdenadorExterno.Criterio.values()) {
+            for (boolean ascendente : new boolean[] {true, false}) {
+                List<OrdenadorExterno.Fila> obtenido = new ArrayList<>();
+                OrdenadorExterno.EstadisticasOrden estadisticas =
+                        ordenador.ordenar(filas.iterator(), criterio, ascendente, obtenido::add);
+                assertTrue(estadisticas.getCorridas() > 1, "Con el presupuesto mínimo debe escribir varias corridas");
+                verificarMismoOrden(ordenEnMemoria(filas, criterio, ascendente), obtenido);
+            }
+        }
+    }
+
+    @Test
+    void testVariasPasadasDeMezclaConservanElOrdenEstable() throws IOException {
+        // Con el presupuesto mínimo solo se mezclan pocas corridas a la vez
+        List<OrdenadorExterno.Fila> filas = generarFilas(60000);
+        List<OrdenadorExterno.Fila> obtenido = new ArrayList<>();
+        OrdenadorExterno.EstadisticasOrden estadisticas = new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO, directorio)
+                .ordenar(filas.iterator(), OrdenadorExterno.Criterio.SALARIO_NETO, false, obtenido::add);
+        assertTrue(estadisticas.getPasadasMezcla() > 1, "Debe necesitar más de una pasada de mezcla");
+        verificarMismoOrden(ordenEnMemoria(filas, OrdenadorExterno.Criterio.SALARIO_NETO, false), obtenido);
+    }
+
+    @Test
+    void testConservaTodosLosDatosDeLaFila() throws IOException {
+        List<OrdenadorExterno.Fila> filas = generarFilas(20000);
+        List<OrdenadorExterno.Fila> obtenido = new ArrayList<>();
+        new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO, directorio)
+                .ordenar(filas.iterator(), OrdenadorExterno.Criterio.APELLIDOS, true, obtenido::add);
+        for (OrdenadorExterno.Fila fila : obtenido) {
+            OrdenadorExterno.Fila original = filas.get(fila.getId());
+            assertEquals(original.getNombres(), fila.getNombres(), "Los nombres deben conservarse");
+            assertEquals(original.getPrimerApellido(), fila.getPrimerApellido(), "El primer apellido debe conservarse");
+            assertEquals(original.getSegundoApellido(), fila.getSegundoApellido(), "El segundo apellido (o su ausencia) debe conservarse");
+            assertEquals(original.getSueldoBruto(), fila.getSueldoBruto(), "El sueldo bruto debe conservarse");
+            assertEquals(original.getSalarioNeto(), fila.getSalarioNeto(), "El salario neto debe conservarse");
+        }
+    }
+
+    @Test
+    void testSinDesbordeNoEscribeArchivos() throws IOException {
+        List<OrdenadorExterno.Fila> filas = generarFilas(100);
+        List<OrdenadorExterno.Fila> obtenido = new ArrayList<>();
+        OrdenadorExterno.EstadisticasOrden estadisticas = new OrdenadorExterno(64L << 20, directorio)
+                .ordenar(filas.iterator(), OrdenadorExterno.Criterio.SALARIO_NETO, true, obtenido::add);
+        assertEquals(0, estadisticas.getCorridas(), "Si todo cabe en memoria no debe haber corridas");
+        assertEquals(0, estadisticas.getBytesEscritos(), "Si todo cabe en memoria no debe escribir bytes");
+        verificarMismoOrden(ordenEnMemoria(filas, OrdenadorExterno.Criterio.SALARIO_NETO, true), obtenido);
+    }
+
+    @Test
+    void testBorraLasCorridasAlTerminar() throws IOException {
+        new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO, directorio)
+                .ordenar(generarFilas(20000).iterator(), OrdenadorExterno.Criterio.APELLIDOS, true, fila -> { });
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count(), "No deben quedar archivos temporales");
+        }
+    }
+
+    @Test
+    void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO - 1));
+        OrdenadorExterno ordenador = new OrdenadorExterno(OrdenadorExterno.PRESUPUESTO_MINIMO, directorio);
+        assertThrows(IllegalArgumentException.class,
+                () -> ordenador.ordenar(null, OrdenadorExterno.Criterio.APELLIDOS, true, fila -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> ordenador.ordenar(Arrays.asList((OrdenadorExterno.Fila) null).iterator(),
+                        OrdenadorExterno.Criterio.APELLIDOS, true, fila -> { }));
+    }
+}
@@ -0,0 +1,84 @@
+package com.empresa.empleados.utils;
+
+import com.empresa.empleados.model.Empleado;
+import com.empresa.empleados.model.Tecnico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de los primeros K y las páginas de OrdenadorEmpleados
+ */
+public class PaginaEmpleadosTest {
+
+    private List<Empleado> empleados;
+
+    @BeforeEach
+    void setUp() {
+        empleados = new ArrayList<>();
+        empleados.add(crearTecnico("Ana", "Gómez", 4000.0));
+        empleados.add(crearTecnico("Juan", "Cruz", 2500.0));
+        empleados.add(crearTecnico("Ricardo", "Ramírez", 2000.0));
+        empleados.add(crearTecnico("Carlos", "Pineda", 1500.0));
+    }
+
+    private static Tecnico crearTecnico(String nombres, String primerApellido, double sueldoBase) {
+        Tecnico tecnico = new Tecnico(
+            nombres, primerApellido, "López",
+            "San Salvador", LocalDate.of(1990, 1, 1), 'M',
+            "1234-5678", nombres.toLowerCase() + "@empresa.com", "Mecánica"
+        );
+        tecnico.setSueldoBase(sueldoBase);
+        return tecnico;
+    }
+
+    @Test
+    void testPrimerosPorSueldoNetoDescendente() {
+        List<Empleado> primeros = OrdenadorEmpleados.primerosPorSueldoNeto(empleados, 2, false);
+        assertEquals(2, primeros.size(), "Debe devolver 2 empleados");
+        assertSame(empleados.get(0), primeros.get(0), "El primero debe ser el de sueldo $4000");
+        assertSame(empleados.get(1), primeros.get(1), "El segundo debe ser el de sueldo $2500");
+        assertTrue(primeros.get(0).calcularSalarioNeto() > primeros.get(1).calcularSalarioNeto(),
+                "Los primeros deben salir de mayor a menor salario neto");
+    }
+
+    @Test
+    void testPaginasCoincidenConOrdenamientoCompleto() {
+        List<Empleado> porSueldo = OrdenadorEmpleados.ordenarPorSueldoNeto(empleados, true);
+        List<Empleado> porApellido = OrdenadorEmpleados.ordenarPorPrimerApellido(empleados, false);
+        for (int desde = 0; desde <= empleados.size(); desde++) {
+            for (int limite = 0; limite <= empleados.size(); limite++) {
+                int hasta = Math.min(desde + limite, empleados.size());
+                assertEquals(porSueldo.subList(desde, hasta), OrdenadorEmpleados.paginaPorSueldoNeto(empleados, desde, limite, true),
+                        "La página por sueldo [" + desde + ", " + hasta + ") debe coincidir con el ordenamiento completo");
+                assertEquals(porApellido.subList(desde, hasta), OrdenadorEmpleados.paginaPorPrimerApellido(empleados, desde, limite, false),
+                        "La página por apellido [" + desde + ", " + hasta + ") debe coincidir con el ordenamiento completo");
+            }
+        }
+    }
+
+    @Test
+    void testPaginaConEmpatesConservaOrdenOriginal() {
+        double[] sueldos = {2000.0, 1000.0, 2000.0, 2000.0, 1000.0, 3000.0};
+        List<Empleado> conEmpates = new ArrayList<>();
+        for (int i = 0; i < sueldos.length; i++) {
+            conEmpates.add(crearTecnico("Empleado" + i, "Apellido", sueldos[i]));
+        }
+        List<Empleado> pagina = OrdenadorEmpleados.paginaPorSueldoNeto(conEmpates, 1, 3, false);
+        assertEquals(List.of(conEmpates.get(0), conEmpates.get(2), conEmpates.get(3)), pagina,
+                "Los empates deben salir en su orden original");
+    }
+
+    @Test
+    void testPaginaFueraDeRangoYParametrosInvalidos() {
+        assertTrue(OrdenadorEmpleados.paginaPorSueldoNeto(empleados, 10, 5, true).isEmpty(), "Una página fuera de rango debe estar vacía");
+        assertTrue(OrdenadorEmpleados.paginaPorSueldoNeto(null, 0, 5, true).isEmpty(), "Debe devolver una lista vacía para entrada nula");
+        assertThrows(IllegalArgumentException.class, () -> OrdenadorEmpleados.paginaPorSueldoNeto(empleados, -1, 5, true));
+        assertThrows(IllegalArgumentException.class, () -> OrdenadorEmpleados.primerosPorSueldoNeto(empleados, -1, true));
+    }
+}
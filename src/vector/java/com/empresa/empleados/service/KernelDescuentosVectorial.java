@@ -0,0 +1,65 @@
+package com.empresa.empleados.service;
+
+import com.empresa.empleados.model.RegistroTablasImpuestos;
+import com.empresa.empleados.model.TablaImpuestos;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleo de descuentos con la Vector API (jdk.incubator.vector)
+ * Procesa tantos sueldos a la vez como carriles tenga el vector preferido de la
+ * CPU. Los topes de ISSS y AFP se aplican con max/min por carril y el tramo de
+ * renta se elige con máscaras de comparación: se calcula la fórmula de cada
+ * tramo de la tabla vigente en todos los carriles y se mezcla el resultado
+ * según la máscara, igual
+ * que la versión escalar (incluidos sueldos <= 0 y NaN). El resto que no llena
+ * un vector se calcula de forma escalar.
+ * Se compila aparte (src/vector) con --add-modules jdk.incubator.vector y se
+ * carga por reflexión desde KernelDescuentos.obtener
+ */
+public class KernelDescuentosVectorial implements KernelDescuentos {
+    
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+    
+    @Override
+    public void calcularTotalDescuentos(double[] sueldosBrutos, int desde, int cantidad, double[] totales) {
+        int hasta = KernelDescuentos.validarRango(sueldosBrutos, desde, cantidad, totales);
+        TablaImpuestos tabla = RegistroTablasImpuestos.obtenerVigente();
+        double tasaISSS = tabla.getTasaISSS();
+        double topeISSS = tabla.getTopeISSS();
+        double tasaAFP = tabla.getTasaAFP();
+        double topeAFP = tabla.getTopeAFP();
+        double[] excesos = tabla.getExcesosRenta();
+        double[] cuotasFijas = tabla.getCuotasFijasRenta();
+        double[] tasas = tabla.getTasasRenta();
+        
+        int i = desde;
+        int limiteVectorial = desde + ESPECIE.loopBound(cantidad);
+        for (; i < limiteVectorial; i += ESPECIE.length()) {
+            DoubleVector s = DoubleVector.fromArray(ESPECIE, sueldosBrutos, i);
+            
+            DoubleVector isss = s.mul(tasaISSS).max(0.0).min(topeISSS);
+            DoubleVector afp = s.mul(tasaAFP).max(0.0).min(topeAFP);
+            
+            // Cada tramo superado reemplaza al anterior (NaN los supera todos)
+            DoubleVector renta = DoubleVector.zero(ESPECIE);
+            for (int k = 0; k < excesos.length; k++) {
+                DoubleVector tramo = s.sub(excesos[k]).mul(tasas[k]).add(cuotasFijas[k]);
+                VectorMask<Double> superado = s.compare(VectorOperators.LE, excesos[k]).not();
+                renta = renta.blend(tramo, superado);
+            }
+            
+            isss.add(afp).add(renta).intoArray(totales, i);
+        }
+        for (; i < hasta; i++) {
+            totales[i] = CalculadoraDescuentos.calcularTotalDescuentos(sueldosBrutos[i], tabla);
+        }
+    }
+    
+    @Override
+    public String getNombre() {
+        return "vectorial (" + ESPECIE.length() + " carriles)";
+    }
+}